@@ -0,0 +1,9 @@
+#!/bin/sh
+# Builds the benchmarks and runs them. Any arguments are passed on to JMH, for example:
+#   ./run.sh                                      run every benchmark on every file
+#   ./run.sh ExportBenchmark -p file=toh-12.txt   run one benchmark class on one file
+#   ./run.sh -l                                   list the benchmarks
+set -e
+cd "$(dirname "$0")"
+mvn -B -q package
+java -Dbench.files="$(cd ../files && pwd)" -jar target/benchmarks.jar "$@"
@@ -0,0 +1,67 @@
+package cs3500.animator.bench;
+
+import cs3500.animator.model.AnimationModel.Builder;
+import cs3500.animator.model.IAnimationModel;
+import cs3500.animator.utils.AnimationReader;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * The bundled animation files the benchmarks run against, from the smallest to the largest. The
+ * directory holding them is given by the {@code bench.files} system property, and defaults to the
+ * {@code files} directory next to the benchmark module.
+ */
+@State(Scope.Benchmark)
+public class AnimationFiles {
+  @Param({"smalldemo.txt", "toh-3.txt", "toh-5.txt", "buildings.txt", "toh-8.txt",
+      "hanoi.txt", "fallingsand.txt", "toh-12.txt", "big-bang-big-crunch.txt"})
+  public String file;
+
+  private Path path;
+  private IAnimationModel model;
+  private int lastTick;
+
+  /**
+   * Locates the file and loads it into a model.
+   * @throws IOException if the file cannot be read
+   */
+  @Setup
+  public void load() throws IOException {
+    path = Paths.get(System.getProperty("bench.files", "../files"), file);
+    model = AnimationReader.parseFile(path, new Builder());
+    lastTick = model.getEvents().values().stream()
+        .filter(events -> !events.isEmpty())
+        .mapToInt(events -> events.get(events.size() - 1).getEndTime())
+        .max().orElse(0);
+  }
+
+  /**
+   * Returns the path of the file.
+   * @return the path of the file
+   */
+  public Path getPath() {
+    return path;
+  }
+
+  /**
+   * Returns the model loaded from the file. Benchmarks that edit it must leave it as they found
+   * it.
+   * @return the model
+   */
+  public IAnimationModel getModel() {
+    return model;
+  }
+
+  /**
+   * Returns the last tick at which any shape of the model moves.
+   * @return the last tick of the animation
+   */
+  public int getLastTick() {
+    return lastTick;
+  }
+}
@@ -0,0 +1,81 @@
+package cs3500.animator.bench;
+
+import cs3500.animator.model.IAnimationModel;
+import cs3500.animator.model.events.Event;
+import cs3500.animator.model.events.IEvent;
+import cs3500.animator.model.shapes.IReadOnlyShape;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures editing a loaded animation: inserting a keyframe into an event of a shape with
+ * {@code insertFrame()}, then removing the event that starts at the new keyframe with
+ * {@code removeEvent()}, which merges it back and leaves the model as it was. Each operation
+ * edits up to {@value #EDITS} different shapes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EditBenchmark {
+  static final int EDITS = 64;
+
+  private final List<String> ids = new ArrayList<>();
+  private final List<IEvent> split = new ArrayList<>();
+  private final List<IEvent> inserted = new ArrayList<>();
+
+  /**
+   * Picks the events to split: the first event of each shape that lasts at least two ticks and
+   * is not the last event of the shape, so that removing the second half merges it back.
+   * @param files the animation to edit
+   */
+  @Setup
+  public void pickEvents(AnimationFiles files) {
+    IAnimationModel model = files.getModel();
+    for (IReadOnlyShape shape : model.getShapes()) {
+      List<IEvent> events = model.getEventsById(shape.getName());
+      for (int i = 0; i < events.size() - 1 && ids.size() < EDITS; i++) {
+        IEvent event = events.get(i);
+        if (event.getEndTime() - event.getStartTime() >= 2) {
+          int middle = (event.getStartTime() + event.getEndTime()) / 2;
+          ids.add(shape.getName());
+          split.add(event);
+          inserted.add(new Event(middle, event.getStartPosn(), event.getStartColor(),
+              event.getStartWidth(), event.getStartHeight(), event.getEndTime(),
+              event.getEndPosn(), event.getEndColor(), event.getEndWidth(),
+              event.getEndHeight()));
+          break;
+        }
+      }
+    }
+  }
+
+  /**
+   * Inserts a keyframe into, and then removes it from, each picked shape.
+   * @param files the animation to edit
+   */
+  @Benchmark
+  public void insertAndRemoveFrame(AnimationFiles files) {
+    IAnimationModel model = files.getModel();
+    for (int i = 0; i < ids.size(); i++) {
+      IEvent event = split.get(i);
+      IEvent frame = inserted.get(i);
+      model.insertFrame(ids.get(i), frame.getStartTime(), event.getStartPosn(),
+          event.getStartColor(), event.getStartWidth(), event.getStartHeight());
+      model.removeEvent(ids.get(i), frame);
+    }
+  }
+}
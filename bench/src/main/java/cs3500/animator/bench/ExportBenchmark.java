@@ -0,0 +1,74 @@
+package cs3500.animator.bench;
+
+import cs3500.animator.view.text.SVGView;
+import cs3500.animator.view.text.TextualView;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures exporting each animation as text and as SVG, one shape after another and in parallel
+ * on the common fork-join pool.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExportBenchmark {
+  private static final int TEMPO = 20;
+
+  /**
+   * Renders the SVG view.
+   * @param files the animation to export
+   * @return the output
+   */
+  @Benchmark
+  public StringBuilder svg(AnimationFiles files) {
+    StringBuilder out = new StringBuilder();
+    new SVGView(out, TEMPO).render(files.getModel());
+    return out;
+  }
+
+  /**
+   * Renders the SVG view in parallel.
+   * @param files the animation to export
+   * @return the output
+   */
+  @Benchmark
+  public StringBuilder svgParallel(AnimationFiles files) {
+    StringBuilder out = new StringBuilder();
+    new SVGView(out, TEMPO, ForkJoinPool.commonPool()).render(files.getModel());
+    return out;
+  }
+
+  /**
+   * Renders the textual view.
+   * @param files the animation to export
+   * @return the output
+   */
+  @Benchmark
+  public StringBuilder text(AnimationFiles files) {
+    StringBuilder out = new StringBuilder();
+    new TextualView(out, TEMPO).render(files.getModel());
+    return out;
+  }
+
+  /**
+   * Renders the textual view in parallel.
+   * @param files the animation to export
+   * @return the output
+   */
+  @Benchmark
+  public StringBuilder textParallel(AnimationFiles files) {
+    StringBuilder out = new StringBuilder();
+    new TextualView(out, TEMPO, ForkJoinPool.commonPool()).render(files.getModel());
+    return out;
+  }
+}
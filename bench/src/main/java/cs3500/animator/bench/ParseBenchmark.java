@@ -0,0 +1,64 @@
+package cs3500.animator.bench;
+
+import cs3500.animator.model.AnimationModel.Builder;
+import cs3500.animator.model.IAnimationModel;
+import cs3500.animator.utils.AnimationReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures reading each animation file into a model, through a {@code Readable}, through a
+ * memory-mapped file, and through the parallel reader.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParseBenchmark {
+
+  /**
+   * Reads the file through a buffered reader.
+   * @param files the file to read
+   * @return the model
+   * @throws IOException if the file cannot be read
+   */
+  @Benchmark
+  public IAnimationModel parseReadable(AnimationFiles files) throws IOException {
+    try (Reader reader = Files.newBufferedReader(files.getPath(), StandardCharsets.UTF_8)) {
+      return AnimationReader.parseFile(reader, new Builder());
+    }
+  }
+
+  /**
+   * Reads the file through a memory mapping.
+   * @param files the file to read
+   * @return the model
+   * @throws IOException if the file cannot be read
+   */
+  @Benchmark
+  public IAnimationModel parseMapped(AnimationFiles files) throws IOException {
+    return AnimationReader.parseFile(files.getPath(), new Builder());
+  }
+
+  /**
+   * Reads the file in parallel chunks.
+   * @param files the file to read
+   * @return the model
+   * @throws IOException if the file cannot be read
+   */
+  @Benchmark
+  public IAnimationModel parseParallel(AnimationFiles files) throws IOException {
+    return AnimationReader.parseFileParallel(files.getPath(), new Builder());
+  }
+}
@@ -0,0 +1,53 @@
+package cs3500.animator.bench;
+
+import cs3500.animator.model.FrameBuffer;
+import cs3500.animator.model.IAnimationModel;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures sampling every tick of an animation, from the first to the last, as a visual view
+ * playing it through would.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SampleBenchmark {
+
+  /**
+   * Samples every tick with {@code getShapesAtTick()}.
+   * @param files the animation to sample
+   * @param blackhole consumes the frames
+   */
+  @Benchmark
+  public void getShapesAtTick(AnimationFiles files, Blackhole blackhole) {
+    IAnimationModel model = files.getModel();
+    for (int tick = 0; tick <= files.getLastTick(); tick++) {
+      blackhole.consume(model.getShapesAtTick(tick));
+    }
+  }
+
+  /**
+   * Samples every tick into a reused {@code FrameBuffer}.
+   * @param files the animation to sample
+   * @param blackhole consumes the frames
+   */
+  @Benchmark
+  public void sampleTick(AnimationFiles files, Blackhole blackhole) {
+    IAnimationModel model = files.getModel();
+    FrameBuffer frame = new FrameBuffer();
+    for (int tick = 0; tick <= files.getLastTick(); tick++) {
+      model.sampleTick(tick, frame);
+      blackhole.consume(frame.size());
+    }
+  }
+}
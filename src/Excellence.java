@@ -1,20 +1,24 @@
 import cs3500.animator.controller.AnimatorControllerCreator;
 import cs3500.animator.controller.IAnimationController;
 import cs3500.animator.model.AnimationModel.Builder;
+import cs3500.animator.model.CachedAnimationModel;
+import cs3500.animator.model.ConcurrentAnimationModel;
 import cs3500.animator.model.IAnimationModel;
-import cs3500.animator.model.IReadOnlyAnimationModel;
 import cs3500.animator.utils.AnimationBuilder;
 import cs3500.animator.utils.AnimationReader;
 import cs3500.animator.view.AnimatorViewCreator;
+import cs3500.animator.view.FramePipeline;
 import cs3500.animator.view.IAnimationView;
-import java.awt.Point;
+import cs3500.animator.view.TimeWarp;
+import java.io.BufferedOutputStream;
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Scanner;
+import java.io.PrintStream;
+import java.nio.file.InvalidPathException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
 import javax.swing.JFrame;
 import javax.swing.JOptionPane;
 
@@ -24,6 +28,7 @@ import javax.swing.JOptionPane;
  * by catching any exceptions thrown.
  */
 public class Excellence {
+  private static final long DEFAULT_CACHE_MEGABYTES = 64;
 
   /**
    * Runs the Excellence animator.
@@ -32,11 +37,12 @@ public class Excellence {
   public static void main(String[] args) {
     String file = "";
     String slomo = "";
-    boolean slomoExists = false;
     String outType = "";
     Appendable out = System.out;
     String viewType = "";
     int tempo = 1;
+    long cacheMegabytes = DEFAULT_CACHE_MEGABYTES;
+    int prerender = FramePipeline.DEFAULT_DEPTH;
 
     try {
       for (int i = 0; i < args.length; i++) {
@@ -46,7 +52,6 @@ public class Excellence {
             break;
           case "-out":
             outType = args[i + 1];
-            out = getOut(args[i + 1]);
             break;
           case "-view":
             viewType = args[i + 1];
@@ -54,15 +59,30 @@ public class Excellence {
           case "-speed":
             tempo = Integer.parseInt(args[i + 1]);
             break;
+          case "-cache":
+            cacheMegabytes = Long.parseLong(args[i + 1]);
+            if (cacheMegabytes < 0) {
+              throw new IllegalArgumentException("Invalid args!");
+            }
+            break;
+          case "-prerender":
+            prerender = Integer.parseInt(args[i + 1]);
+            if (prerender < 0) {
+              throw new IllegalArgumentException("Invalid args!");
+            }
+            break;
           case "-slomo":
             slomo = args[i + 1];
-            slomoExists = true;
             break;
           default:
             throw new IllegalArgumentException("Invalid args!");
         }
         i++;
       }
+      // the PNG view writes one file per frame, named after the output rather than into it
+      if (!outType.equals("") && !viewType.equals("png")) {
+        out = getOut(outType);
+      }
     }
     catch (IllegalStateException e) {
       popupError("Output file could not be created!");
@@ -71,43 +91,35 @@ public class Excellence {
       popupError("Invalid command-line arguments/formatting!");
     }
 
-    IReadOnlyAnimationModel model = buildModel(file);
+    // the concurrent model lets the frame pipeline sample while the animation is being edited
+    IAnimationModel model = new ConcurrentAnimationModel(buildModel(file));
+    if (replaysFrames(viewType)) {
+      model = new CachedAnimationModel(model, cacheMegabytes * 1024 * 1024);
+    }
 
-    int slomoTempo = 0;
-    List<Point> intervals = new ArrayList<>();
+    TimeWarp warp = TimeWarp.NONE;
 
     // parsing the slomo file
     try {
       if (!slomo.equals("")) {
-        Readable slomoFile = new FileReader(slomo);
-        Scanner s = new Scanner(slomoFile);
-        slomoTempo = Integer.parseInt(s.nextLine());
-        while (s.hasNextLine()) {
-          String line = s.nextLine();
-          String[] arr = line.split(" ");
-          if (arr[0].equals("slomo")) {
-            intervals.add(new Point(Integer.parseInt(arr[1]), Integer.parseInt(arr[2])));
-          }
-          else if (slomoExists){
-            throw new IllegalArgumentException("Slomo file could not be parsed!");
-          }
-        }
+        warp = TimeWarp.parse(new FileReader(slomo), tempo);
       }
     }
     catch (FileNotFoundException e) {
       popupError("Slo-mo file not found!");
     }
-    catch (IndexOutOfBoundsException | IllegalArgumentException e) {
+    catch (IllegalArgumentException e) {
       popupError("Slomo file could not be parsed!");
     }
 
     // TODO: 4/23/2021 MODIFIED 
     try {
-      IAnimationView view = AnimatorViewCreator.create(viewType, out, tempo, slomoTempo, intervals);
+      IAnimationView view = AnimatorViewCreator.create(viewType, out, outType, tempo,
+          warp, prerender);
       IAnimationController controller = AnimatorControllerCreator.create(viewType,
           tempo, model, view);
       controller.play();
-      if (!outType.equals("")) {
+      if (!outType.equals("") && !viewType.equals("png")) {
         closeOut(outType, out);
       }
     }
@@ -120,7 +132,28 @@ public class Excellence {
   }
 
   /**
-   * Generates the correct appendable to be passed to the view depending the given outType.
+   * Determines whether the given view plays the animation on screen, and so may sample the same
+   * ticks again as it loops or seeks. Only those views are given a frame cache; the exports
+   * sample every tick once, on several threads, which the cache would only serialize.
+   * @param viewType type of the view
+   * @return true if the view plays the animation on screen
+   */
+  private static boolean replaysFrames(String viewType) {
+    switch (viewType) {
+      case "visual":
+      case "interactive":
+      case "outline":
+      case "discrete":
+      case "slomo":
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Generates the correct appendable to be passed to the view depending the given outType. Files
+   * are written through a {@code PrintStream}, so that they can take both text and binary views.
    * @param outType name of the output file
    * @return an appendable depending on outType
    * @throws IllegalStateException if output file could not be created for some reason
@@ -130,7 +163,7 @@ public class Excellence {
       return System.out;
     }
     try {
-      return new FileWriter(outType);
+      return new PrintStream(new BufferedOutputStream(new FileOutputStream(outType)));
     }
     catch (IOException e) {
       throw new IllegalStateException("Output file could not be created!");
@@ -145,12 +178,10 @@ public class Excellence {
    */
   private static void closeOut(String outType, Appendable out) throws IllegalStateException {
     if (!outType.equals("System.out")) {
-      FileWriter output = (FileWriter) out;
-      try {
-        output.flush();
-        output.close();
-      }
-      catch (IOException e) {
+      PrintStream output = (PrintStream) out;
+      boolean failed = output.checkError();
+      output.close();
+      if (failed) {
         throw new IllegalStateException("Write file could not be closed!");
       }
     }
@@ -158,18 +189,21 @@ public class Excellence {
 
   /**
    * Builds the correct model instance using the given file name to be parsed by the
-   * {@code AnimationReader}.
+   * {@code AnimationReader}, which memory-maps the file and parses it in parallel.
    * @param file name of the file
    * @return the new model instance
    */
   private static IAnimationModel buildModel(String file) {
     AnimationBuilder<IAnimationModel> builder = new Builder();
     try {
-      AnimationReader.parseFile(new FileReader(file), builder);
+      AnimationReader.parseFileParallel(Paths.get(file), builder);
     }
-    catch (FileNotFoundException e) {
+    catch (NoSuchFileException e) {
       popupError("File not found!");
     }
+    catch (IOException | InvalidPathException e) {
+      popupError("File could not be read!");
+    }
     return builder.build();
   }
 
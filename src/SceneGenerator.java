@@ -0,0 +1,429 @@
+import cs3500.animator.model.shapes.ShapeType;
+import java.awt.Color;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates synthetic animation files of any size, for testing and benchmarking the animator on
+ * scenes much larger than the bundled ones. A scene is described by its workload, its number of
+ * shapes, the number of motions of each shape, the mix of shape types, the canvas size, and the
+ * seed of the random number generator, so the same arguments always produce the same file. The
+ * file is streamed to its output as it is generated, and the generator only keeps a few numbers
+ * per shape in memory, so scenes of millions of shapes can be written.
+ *
+ * <p>
+ * Two workloads are supported:
+ * <ul>
+ * <li>{@code sort}: a bar chart of random heights sorted by odd-even transposition sort (a
+ * parallel bubble sort). Each step compares every other pair of neighboring bars and swaps those
+ * that are out of order, and every bar gets one motion per step; once sorted, the bars stay
+ * still.</li>
+ * <li>{@code walk}: shapes moving independently in random walks, each starting at a random tick
+ * and taking steps of random lengths, sometimes also changing size and color.</li>
+ * </ul>
+ * </p>
+ */
+public class SceneGenerator {
+  private static final int SORT_STEP_TICKS = 20;
+  private static final int WALK_MAX_STEP_TICKS = 20;
+  private static final int WALK_MAX_START_TICK = 100;
+  private static final int WALK_MAX_DISTANCE = 10;
+
+  /**
+   * The kinds of scenes the generator produces.
+   */
+  public enum Workload {
+    SORT, WALK
+  }
+
+  private final Workload workload;
+  private final int shapes;
+  private final int motions;
+  private final ShapeType[] types;
+  private final int[] weights;
+  private final int totalWeight;
+  private final int width;
+  private final int height;
+  private final long seed;
+
+  private final Writer out;
+  private final char[] line;
+  private int length;
+
+  /**
+   * Constructs a {@code SceneGenerator} object.
+   * @param workload kind of scene to generate
+   * @param shapes number of shapes
+   * @param motions number of motions of each shape
+   * @param mix relative weight of each shape type; types left out are not used
+   * @param width canvas width
+   * @param height canvas height
+   * @param seed seed of the random number generator
+   * @param out writer to stream the file to
+   * @throws IllegalArgumentException if any argument is null, a count or size is not positive,
+   *         or the mix has no positive weight
+   */
+  public SceneGenerator(Workload workload, int shapes, int motions, Map<ShapeType, Integer> mix,
+      int width, int height, long seed, Writer out) throws IllegalArgumentException {
+    if (workload == null) {
+      throw new IllegalArgumentException("Workload cannot be null!");
+    }
+    if (mix == null) {
+      throw new IllegalArgumentException("Shape mix cannot be null!");
+    }
+    if (out == null) {
+      throw new IllegalArgumentException("Writer cannot be null!");
+    }
+    if (shapes <= 0 || motions <= 0) {
+      throw new IllegalArgumentException("Shape and motion counts must be positive!");
+    }
+    if (width <= 0 || height <= 0) {
+      throw new IllegalArgumentException("Canvas dimensions must be positive!");
+    }
+    this.types = new ShapeType[mix.size()];
+    this.weights = new int[mix.size()];
+    int total = 0;
+    int i = 0;
+    for (Map.Entry<ShapeType, Integer> entry : mix.entrySet()) {
+      if (entry.getKey() == null || entry.getValue() == null || entry.getValue() < 0) {
+        throw new IllegalArgumentException("Invalid shape mix!");
+      }
+      types[i] = entry.getKey();
+      weights[i] = entry.getValue();
+      total += entry.getValue();
+      i++;
+    }
+    if (total <= 0) {
+      throw new IllegalArgumentException("Shape mix must have a positive weight!");
+    }
+    this.workload = workload;
+    this.shapes = shapes;
+    this.motions = motions;
+    this.totalWeight = total;
+    this.width = width;
+    this.height = height;
+    this.seed = seed;
+    this.out = out;
+    this.line = new char[256];
+    this.length = 0;
+  }
+
+  /**
+   * Generates the scene and writes it to the writer, which is flushed but not closed.
+   * @throws IOException if the writer cannot be written to
+   */
+  public void generate() throws IOException {
+    Random rand = new Random(seed);
+    text("canvas").number(0).number(0).number(width).number(height).endLine();
+    for (int i = 0; i < shapes; i++) {
+      text("shape ").name(i).text(" ")
+          .text(pickType(rand).toString().toLowerCase()).endLine();
+    }
+    if (workload == Workload.SORT) {
+      generateSort(rand);
+    }
+    else {
+      generateWalk(rand);
+    }
+    out.flush();
+  }
+
+  /**
+   * Generates the motions of the sort workload, one step of the sort at a time.
+   * @param rand random number generator
+   * @throws IOException if the writer cannot be written to
+   */
+  private void generateSort(Random rand) throws IOException {
+    int barWidth = Math.max(1, width / shapes);
+    int[] heights = new int[shapes];
+    int[] colors = new int[shapes];
+    int[] order = new int[shapes];
+    int[] slots = new int[shapes];
+    int[] previous = new int[shapes];
+    for (int i = 0; i < shapes; i++) {
+      heights[i] = rand.nextInt(height) + 1;
+      colors[i] = Color.HSBtoRGB(rand.nextFloat(), (rand.nextInt(2000) + 1000) / 10000f, 0.9f);
+      order[i] = i;
+      slots[i] = i;
+    }
+    for (int step = 0; step < motions; step++) {
+      System.arraycopy(slots, 0, previous, 0, shapes);
+      for (int p = step % 2; p + 1 < shapes; p += 2) {
+        int left = order[p];
+        int right = order[p + 1];
+        if (heights[left] > heights[right]) {
+          order[p] = right;
+          order[p + 1] = left;
+          slots[right] = p;
+          slots[left] = p + 1;
+        }
+      }
+      int start = step * SORT_STEP_TICKS;
+      for (int i = 0; i < shapes; i++) {
+        int y = height - heights[i];
+        motion(i, start, previous[i] * barWidth, y, barWidth, heights[i], colors[i],
+            start + SORT_STEP_TICKS, slots[i] * barWidth, y, barWidth, heights[i], colors[i]);
+      }
+    }
+  }
+
+  /**
+   * Generates the motions of the random walk workload, one shape at a time.
+   * @param rand random number generator
+   * @throws IOException if the writer cannot be written to
+   */
+  private void generateWalk(Random rand) throws IOException {
+    int maxSize = Math.max(2, Math.min(width, height) / 10);
+    for (int i = 0; i < shapes; i++) {
+      int w = rand.nextInt(maxSize) + 1;
+      int h = rand.nextInt(maxSize) + 1;
+      int x = rand.nextInt(Math.max(1, width - w));
+      int y = rand.nextInt(Math.max(1, height - h));
+      int rgb = rand.nextInt(0x1000000);
+      int t = rand.nextInt(WALK_MAX_START_TICK);
+      for (int m = 0; m < motions; m++) {
+        int t2 = t + rand.nextInt(WALK_MAX_STEP_TICKS) + 1;
+        int x2 = clamp(x + rand.nextInt(2 * WALK_MAX_DISTANCE + 1) - WALK_MAX_DISTANCE,
+            width - w);
+        int y2 = clamp(y + rand.nextInt(2 * WALK_MAX_DISTANCE + 1) - WALK_MAX_DISTANCE,
+            height - h);
+        int w2 = w;
+        int h2 = h;
+        int rgb2 = rgb;
+        if (rand.nextInt(8) == 0) {
+          w2 = Math.max(1, w + rand.nextInt(5) - 2);
+          h2 = Math.max(1, h + rand.nextInt(5) - 2);
+        }
+        if (rand.nextInt(8) == 0) {
+          rgb2 = rand.nextInt(0x1000000);
+        }
+        motion(i, t, x, y, w, h, rgb, t2, x2, y2, w2, h2, rgb2);
+        t = t2;
+        x = x2;
+        y = y2;
+        w = w2;
+        h = h2;
+        rgb = rgb2;
+      }
+    }
+  }
+
+  /**
+   * Clamps a coordinate to the canvas.
+   * @param value coordinate
+   * @param max largest coordinate allowed
+   * @return the clamped coordinate
+   */
+  private static int clamp(int value, int max) {
+    return Math.max(0, Math.min(Math.max(0, max), value));
+  }
+
+  /**
+   * Picks a shape type according to the mix.
+   * @param rand random number generator
+   * @return the shape type
+   */
+  private ShapeType pickType(Random rand) {
+    int pick = rand.nextInt(totalWeight);
+    for (int i = 0; i < types.length; i++) {
+      pick -= weights[i];
+      if (pick < 0) {
+        return types[i];
+      }
+    }
+    return types[types.length - 1];
+  }
+
+  /**
+   * Writes a motion line.
+   * @param shape index of the shape
+   * @param t1 start time
+   * @param x1 start x-coordinate
+   * @param y1 start y-coordinate
+   * @param w1 start width
+   * @param h1 start height
+   * @param rgb1 start color
+   * @param t2 end time
+   * @param x2 end x-coordinate
+   * @param y2 end y-coordinate
+   * @param w2 end width
+   * @param h2 end height
+   * @param rgb2 end color
+   * @throws IOException if the writer cannot be written to
+   */
+  private void motion(int shape, int t1, int x1, int y1, int w1, int h1, int rgb1,
+      int t2, int x2, int y2, int w2, int h2, int rgb2) throws IOException {
+    text("motion ").name(shape)
+        .number(t1).number(x1).number(y1).number(w1).number(h1)
+        .number((rgb1 >> 16) & 0xFF).number((rgb1 >> 8) & 0xFF).number(rgb1 & 0xFF)
+        .text(" ")
+        .number(t2).number(x2).number(y2).number(w2).number(h2)
+        .number((rgb2 >> 16) & 0xFF).number((rgb2 >> 8) & 0xFF).number(rgb2 & 0xFF)
+        .endLine();
+  }
+
+  /**
+   * Adds text to the current line.
+   * @param s text to add
+   * @return this generator
+   */
+  private SceneGenerator text(String s) {
+    s.getChars(0, s.length(), line, length);
+    length += s.length();
+    return this;
+  }
+
+  /**
+   * Adds the name of a shape to the current line.
+   * @param shape index of the shape
+   * @return this generator
+   */
+  private SceneGenerator name(int shape) {
+    line[length++] = 's';
+    return digits(shape);
+  }
+
+  /**
+   * Adds a space and an integer to the current line.
+   * @param value integer to add
+   * @return this generator
+   */
+  private SceneGenerator number(int value) {
+    line[length++] = ' ';
+    if (value < 0) {
+      line[length++] = '-';
+      return digits(-(long) value);
+    }
+    return digits(value);
+  }
+
+  /**
+   * Adds the decimal digits of a non-negative number to the current line.
+   * @param value number to add
+   * @return this generator
+   */
+  private SceneGenerator digits(long value) {
+    int count = 1;
+    for (long rest = value / 10; rest != 0; rest /= 10) {
+      count++;
+    }
+    length += count;
+    int at = length;
+    do {
+      line[--at] = (char) ('0' + value % 10);
+      value /= 10;
+    } while (value != 0);
+    return this;
+  }
+
+  /**
+   * Ends the current line and writes it.
+   * @throws IOException if the writer cannot be written to
+   */
+  private void endLine() throws IOException {
+    line[length++] = '\n';
+    out.write(line, 0, length);
+    length = 0;
+  }
+
+  /**
+   * Parses a shape mix such as {@code rectangle=2,ellipse=1}. A type without a weight has a
+   * weight of one.
+   * @param mix the mix to parse
+   * @return the weight of each type in the mix
+   * @throws IllegalArgumentException if the mix cannot be parsed
+   */
+  public static Map<ShapeType, Integer> parseMix(String mix) throws IllegalArgumentException {
+    Map<ShapeType, Integer> weights = new EnumMap<>(ShapeType.class);
+    for (String part : mix.split(",")) {
+      String[] pair = part.split("=");
+      if (pair.length > 2) {
+        throw new IllegalArgumentException("Invalid shape mix!");
+      }
+      weights.put(ShapeType.valueOf(pair[0].trim().toUpperCase()),
+          pair.length == 2 ? Integer.parseInt(pair[1].trim()) : 1);
+    }
+    return weights;
+  }
+
+  /**
+   * Generates a scene from the command line. The arguments are given as pairs, all optional:
+   * {@code -workload sort|walk}, {@code -shapes N}, {@code -motions N} (by default, enough for
+   * the sort to finish), {@code -types rectangle=2,ellipse=1,plus=1}, {@code -canvas WxH},
+   * {@code -seed N}, and {@code -out file} (by default, {@code System.out}).
+   * @param args command line arguments
+   * @throws IllegalArgumentException if the arguments are invalid
+   * @throws IllegalStateException if the output file cannot be written
+   */
+  public static void main(String[] args) throws IllegalArgumentException,
+      IllegalStateException {
+    Workload workload = Workload.WALK;
+    int shapes = 100;
+    int motions = -1;
+    String types = null;
+    int width = 800;
+    int height = 400;
+    long seed = 0;
+    String file = null;
+
+    try {
+      for (int i = 0; i < args.length; i++) {
+        switch (args[i]) {
+          case "-workload":
+            workload = Workload.valueOf(args[i + 1].toUpperCase());
+            break;
+          case "-shapes":
+            shapes = Integer.parseInt(args[i + 1]);
+            break;
+          case "-motions":
+            motions = Integer.parseInt(args[i + 1]);
+            break;
+          case "-types":
+            types = args[i + 1];
+            break;
+          case "-canvas":
+            String[] size = args[i + 1].split("x");
+            width = Integer.parseInt(size[0]);
+            height = Integer.parseInt(size[1]);
+            break;
+          case "-seed":
+            seed = Long.parseLong(args[i + 1]);
+            break;
+          case "-out":
+            file = args[i + 1];
+            break;
+          default:
+            throw new IllegalArgumentException("Invalid args!");
+        }
+        i++;
+      }
+    }
+    catch (IndexOutOfBoundsException e) {
+      throw new IllegalArgumentException("Invalid args!");
+    }
+    if (motions < 0) {
+      motions = workload == Workload.SORT ? shapes : 10;
+    }
+    if (types == null) {
+      types = workload == Workload.SORT ? "rectangle" : "rectangle,ellipse,plus";
+    }
+
+    try (Writer out = file == null
+        ? new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))
+        : Files.newBufferedWriter(Paths.get(file), StandardCharsets.UTF_8)) {
+      new SceneGenerator(workload, shapes, motions, parseMix(types), width, height, seed, out)
+          .generate();
+    }
+    catch (IOException e) {
+      throw new IllegalStateException("Output file could not be written!");
+    }
+  }
+}
@@ -80,6 +80,14 @@ public class AnimationInteractiveController implements IAnimationController, Act
           throw new IllegalArgumentException("Unsupported command!");
         }
         break;
+      case "PREVIOUS KEYFRAME":
+        if (view instanceof IDiscreteInteractiveView) {
+          ((IDiscreteInteractiveView) view).previousKeyframe();
+        }
+        else {
+          throw new IllegalArgumentException("Unsupported command!");
+        }
+        break;
       default:
         throw new IllegalArgumentException("Unsupported command!");
     }
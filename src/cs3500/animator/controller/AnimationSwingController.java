@@ -1,30 +1,33 @@
 package cs3500.animator.controller;
 
+import cs3500.animator.model.FrameBuffer;
 import cs3500.animator.model.IReadOnlyAnimationModel;
-import cs3500.animator.model.shapes.IReadOnlyShape;
-import cs3500.animator.model.shapes.ShapeType;
+import cs3500.animator.view.PlaybackClock;
 import cs3500.animator.view.visual.IVisualAnimationView;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.util.List;
 import javax.swing.Timer;
 
 /**
  * Represents the implementation for the Java Swing graphics controller. Delegates between its
  * view and model by feeding frames from the model (shapes at each tick) to the view to render
- * by keeping track of current tick via a timer.
+ * by keeping track of current tick via a timer. Every frame is sampled into the same
+ * {@code FrameBuffer}. The time shown is read from a {@code PlaybackClock} every time the timer
+ * fires, at the refresh rate of the screen, and frames are sampled between ticks, so playback
+ * keeps to real time and motion stays smooth at any tempo.
  */
 public class AnimationSwingController implements IAnimationController, ActionListener {
   private final IReadOnlyAnimationModel model;
   private final IVisualAnimationView view;
   private final int tempo;
-  private int tick;
+  private final FrameBuffer frame;
+  private final PlaybackClock clock;
 
   /**
    * Constructs a {@code AnimationVisualController} object.
    * @param model animation model
    * @param view view to render
-   * @param tempo delay
+   * @param tempo ticks per second
    * @throws IllegalArgumentException if given model or view is null, or if tempo is negative
    */
   public AnimationSwingController(IReadOnlyAnimationModel model, IVisualAnimationView view,
@@ -41,29 +44,23 @@ public class AnimationSwingController implements IAnimationController, ActionLis
     this.model = model;
     this.view = view;
     this.tempo = tempo;
-    this.tick = 0;
+    this.frame = new FrameBuffer();
+    this.clock = new PlaybackClock(tempo);
   }
 
   @Override
   public void play() {
     view.render(model);
-    Timer timer = new Timer(tempo, this);
+    Timer timer = new Timer(PlaybackClock.refreshDelay(PlaybackClock.refreshRate()), this);
+    timer.setInitialDelay(0);
+    clock.start();
     timer.start();
   }
 
   @Override
   public void actionPerformed(ActionEvent e) {
-    List<IReadOnlyShape> shapes = model.getShapesAtTick(tick);
-    for (IReadOnlyShape shape : shapes) {
-      ShapeType type = shape.getType();
-      view.drawShape(type,
-          (int) shape.getPosn().getX(),
-          (int) shape.getPosn().getY(),
-          shape.getWidth(),
-          shape.getHeight(),
-          shape.getColor());
-    }
+    model.sampleTime(clock.getPosition(), frame);
+    view.drawFrame(frame);
     view.refresh();
-    tick++;
   }
 }
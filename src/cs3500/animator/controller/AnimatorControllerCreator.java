@@ -28,6 +28,9 @@ public final class AnimatorControllerCreator {
     switch (type) {
       case "text":
       case "svg":
+      case "binary":
+      case "gif":
+      case "png":
         return new AnimationTextualController(model, view);
       case "visual":
         if (view instanceof IVisualAnimationView) {
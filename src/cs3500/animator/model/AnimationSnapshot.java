@@ -0,0 +1,574 @@
+package cs3500.animator.model;
+
+import cs3500.animator.model.events.IEvent;
+import cs3500.animator.model.shapes.Ellipse;
+import cs3500.animator.model.shapes.IReadOnlyShape;
+import cs3500.animator.model.shapes.IShape;
+import cs3500.animator.model.shapes.Plus;
+import cs3500.animator.model.shapes.Rectangle;
+import cs3500.animator.model.shapes.ShapeType;
+import java.awt.Color;
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * An immutable version of an animation. Instead of changing it, each of its {@code with} methods
+ * returns a new version that shares everything the edit does not touch: shapes are kept in a
+ * {@code PersistentShapeTable}, so an edit to one shape copies only that shape's keyframe track
+ * (in constant time, until the track itself is changed) and O(log n) nodes of the table. Since a
+ * version never changes, its read methods hand out views of it instead of copies: the lists and
+ * maps returned are read-only, made in constant time, and unaffected by later edits, and the
+ * screen is the same object every time. A version made by an edit updates the timeline index of
+ * the version it was made from, changing only the entries of the edited shapes and sharing the
+ * rest, and builds what that version had not yet built the first time it is sampled. Snapshots
+ * can be read from any number of threads without locking.
+ * Invariants: Identical to those of the AnimationModel class.
+ */
+public final class AnimationSnapshot implements IReadOnlyAnimationModel {
+  private final PersistentShapeTable shapes;
+  private final Screen dimensions;
+  private final TimelineIndex timeline;
+
+  /**
+   * Constructs an {@code AnimationSnapshot} object with no shapes.
+   * @param dimensions the {@code Screen} of the animation (width, height, and origin)
+   * @throws IllegalArgumentException if the screen is null
+   */
+  public AnimationSnapshot(Screen dimensions) throws IllegalArgumentException {
+    this(PersistentShapeTable.empty(), dimensions);
+  }
+
+  /**
+   * Constructs an {@code AnimationSnapshot} object.
+   * @param shapes shapes of the animation, with their events
+   * @param dimensions the {@code Screen} of the animation (width, height, and origin)
+   * @throws IllegalArgumentException if the shapes or the screen are null
+   */
+  AnimationSnapshot(PersistentShapeTable shapes, Screen dimensions)
+      throws IllegalArgumentException {
+    this(shapes, dimensions, new TimelineIndex());
+  }
+
+  /**
+   * Constructs an {@code AnimationSnapshot} object with the given timeline index.
+   * @param shapes shapes of the animation, with their events
+   * @param dimensions the {@code Screen} of the animation (width, height, and origin)
+   * @param timeline index of the lifespans and keyframes of the shapes
+   * @throws IllegalArgumentException if the shapes, the screen, or the index are null
+   */
+  AnimationSnapshot(PersistentShapeTable shapes, Screen dimensions, TimelineIndex timeline)
+      throws IllegalArgumentException {
+    if (shapes == null || timeline == null) {
+      throw new IllegalArgumentException("Inputs cannot be null!");
+    }
+    if (dimensions == null) {
+      throw new IllegalArgumentException("Screen cannot be null!");
+    }
+    this.shapes = shapes;
+    this.dimensions = dimensions;
+    this.timeline = timeline;
+  }
+
+  /**
+   * Overrides getShapes() in IReadOnlyAnimationModel. The list is a read-only view of this
+   * version.
+   */
+  @Override
+  public List<IReadOnlyShape> getShapes() {
+    return shapes.shapes();
+  }
+
+  @Override
+  public List<IReadOnlyShape> getShapesAtTick(int tick) {
+    FrameBuffer frame = new FrameBuffer(0);
+    sampleTick(tick, frame);
+    List<IReadOnlyShape> result = new ArrayList<>(frame.size());
+    for (int i = 0; i < frame.size(); i++) {
+      result.add(frame.getShape(i));
+    }
+    return result;
+  }
+
+  @Override
+  public void sampleTick(int tick, FrameBuffer out) throws IllegalArgumentException {
+    if (out == null) {
+      throw new IllegalArgumentException("Frame cannot be null!");
+    }
+    out.clear(tick);
+    int[] active = out.scratch(shapes.size());
+    int count = timeline.activeShapes(tick, shapes, active);
+    for (int i = 0; i < count; i++) {
+      IShape shape = shapes.shape(active[i]);
+      shapes.track(active[i]).sample(tick, active[i], shape.getName(), shape.getType(), out);
+    }
+  }
+
+  @Override
+  public void sampleTime(double time, FrameBuffer out) throws IllegalArgumentException {
+    if (out == null) {
+      throw new IllegalArgumentException("Frame cannot be null!");
+    }
+    if (Double.isNaN(time) || Double.isInfinite(time)) {
+      throw new IllegalArgumentException("Time must be a finite number!");
+    }
+    out.clear(time);
+    int[] active = out.scratch(shapes.size());
+    int count = timeline.activeShapes((int) Math.floor(time), shapes, active);
+    for (int i = 0; i < count; i++) {
+      IShape shape = shapes.shape(active[i]);
+      shapes.track(active[i]).sample(time, active[i], shape.getName(), shape.getType(), out);
+    }
+  }
+
+  @Override
+  public int nextKeyframeAfter(int tick) {
+    return timeline.nextKeyframeAfter(tick, shapes);
+  }
+
+  @Override
+  public int previousKeyframeBefore(int tick) {
+    return timeline.previousKeyframeBefore(tick, shapes);
+  }
+
+  @Override
+  public IReadOnlyShape getShapeByID(String id) throws IllegalArgumentException {
+    if (id == null) {
+      throw new IllegalArgumentException("ID cannot be null!");
+    }
+    IShape shape = shapes.shape(id);
+    if (shape == null) {
+      throw new IllegalArgumentException("Shape with given id does not exist!");
+    }
+    return shape;
+  }
+
+  /**
+   * Overrides getEvents() in IReadOnlyAnimationModel. The map is a read-only view of this
+   * version, which lists the shapes in declaration order.
+   */
+  @Override
+  public Map<String, List<IEvent>> getEvents() {
+    return shapes.events();
+  }
+
+  @Override
+  public List<IEvent> getEventsById(String id) throws IllegalArgumentException {
+    if (id == null) {
+      throw new IllegalArgumentException("ID cannot be null!");
+    }
+    KeyframeTrack events = shapes.track(id);
+    if (events == null) {
+      throw new IllegalArgumentException("Shape with given ID does not exist!");
+    }
+    return events.events();
+  }
+
+  @Override
+  public List<IEvent> getEventsByShape(IShape shape) {
+    if (shape == null) {
+      throw new IllegalArgumentException("Shape cannot be null!");
+    }
+    if (!shape.equals(shapes.shape(shape.getName()))) {
+      throw new IllegalArgumentException("Shape does not exist!");
+    }
+    return shapes.track(shape.getName()).events();
+  }
+
+  @Override
+  public Screen getScreen() {
+    return dimensions;
+  }
+
+  /**
+   * Overrides snapshot() in IReadOnlyAnimationModel. A snapshot is its own snapshot.
+   */
+  @Override
+  public AnimationSnapshot snapshot() {
+    return this;
+  }
+
+  /**
+   * Returns a version of this animation with a copy of the given shape added after all other
+   * shapes.
+   * @param shape shape to add
+   * @return the new version
+   * @throws IllegalArgumentException if the shape is null or a shape with its id already exists
+   */
+  public AnimationSnapshot withShape(IShape shape) throws IllegalArgumentException {
+    if (shape == null) {
+      throw new IllegalArgumentException("Shape cannot be null!");
+    }
+    return withNewShape(shape.copy());
+  }
+
+  /**
+   * Returns a version of this animation with a shape with the given parameters added after all
+   * other shapes.
+   * @param id unique identifier
+   * @param type shape type
+   * @param posn initial position of shape
+   * @param color color of shape
+   * @param width width of shape
+   * @param height height of shape
+   * @return the new version
+   * @throws IllegalArgumentException if width or height are negative, id, posn, or color are null,
+   *         or if shape with given id already exists
+   */
+  public AnimationSnapshot withShape(String id, ShapeType type, Point2D posn,
+      Color color, int width, int height) throws IllegalArgumentException {
+    if (width < 0) {
+      throw new IllegalArgumentException("Width cannot be negative!");
+    }
+    if (height < 0) {
+      throw new IllegalArgumentException("Height cannot be negative!");
+    }
+    if (id == null) {
+      throw new IllegalArgumentException("ID cannot be null!");
+    }
+    if (posn == null) {
+      throw new IllegalArgumentException("Position cannot be null!");
+    }
+    if (color == null) {
+      throw new IllegalArgumentException("Color cannot be null!");
+    }
+    switch (type) {
+      case RECTANGLE:
+        return withNewShape(new Rectangle(id, posn, color, width, height));
+      case ELLIPSE:
+        return withNewShape(new Ellipse(id, posn, color, width, height));
+      case PLUS:
+        return withNewShape(new Plus(id, posn, color, width, height));
+      default:
+        throw new IllegalArgumentException("Invalid type!"); // will never be reached
+    }
+  }
+
+  /**
+   * Returns a version of this animation with the given event added after the last event of the
+   * shape with the given id.
+   * @param id shape to add event to
+   * @param event event to be added
+   * @return the new version
+   * @throws IllegalArgumentException if event or id is null, or if no shape has the given id, or
+   *         if the event does not start where the shape's last event ended
+   */
+  public AnimationSnapshot withEvent(String id, IEvent event) throws IllegalArgumentException {
+    if (id == null) {
+      throw new IllegalArgumentException("ID cannot be null!");
+    }
+    if (event == null) {
+      throw new IllegalArgumentException("Event cannot be null!");
+    }
+    int handle = shapes.handle(id);
+    if (handle < 0) {
+      throw new IllegalArgumentException("Given ID does not exist!");
+    }
+    KeyframeTrack events = new KeyframeTrack(shapes.track(handle));
+    if (events.size() != 0) {
+      int last = events.size() - 1;
+      if (event.getStartTime() != events.getTime(last)) {
+        throw new IllegalArgumentException("Events cannot overlap or have a gap!");
+      }
+      if (!new Point2D.Double(events.getX(last), events.getY(last)).equals(event.getStartPosn())
+          || events.getColor(last) != event.getStartColor().getRGB()
+          || events.getWidth(last) != event.getStartWidth()
+          || events.getHeight(last) != event.getStartHeight()) {
+        throw new IllegalArgumentException("Event states must match!");
+      }
+    }
+    else {
+      appendStart(events, event);
+    }
+    appendEnd(events, event);
+    return withTrack(handle, events);
+  }
+
+  /**
+   * Returns a version of this animation with an event with the given parameters added after the
+   * last event of the shape with the given id. A shape's first event starts from the shape's own
+   * position, size, and color.
+   * @param id unique identifier
+   * @param startTime starting time of event
+   * @param endTime ending time of event
+   * @param endPosn final position of shape after event
+   * @param endColor final color of shape after event
+   * @param endWidth final width of shape after event
+   * @param endHeight final height of shape after event
+   * @return the new version
+   * @throws IllegalArgumentException if id, endPosn, or endColor are null, or if endWidth,
+   *         endHeight, startTime, or endTime are negative, or if startTime is greater than
+   *         endTime, or if the event does not start where the shape's last event ended
+   */
+  public AnimationSnapshot withEvent(String id, int startTime, int endTime, Point2D endPosn,
+      Color endColor, int endWidth, int endHeight) throws IllegalArgumentException {
+    if (id == null) {
+      throw new IllegalArgumentException("ID cannot be null!");
+    }
+    if (endPosn == null) {
+      throw new IllegalArgumentException("Position cannot be null!");
+    }
+    if (endColor == null) {
+      throw new IllegalArgumentException("Color cannot be null!");
+    }
+    if (endWidth < 0) {
+      throw new IllegalArgumentException("Width cannot be negative!");
+    }
+    if (endHeight < 0) {
+      throw new IllegalArgumentException("Height cannot be negative!");
+    }
+    if (startTime < 0 || endTime < 0) {
+      throw new IllegalArgumentException("Times cannot be negative!");
+    }
+    if (startTime > endTime) {
+      throw new IllegalArgumentException("Start must begin before end!");
+    }
+    int handle = shapes.handle(id);
+    if (handle < 0) {
+      throw new IllegalArgumentException("Shape does not yet exist in model!");
+    }
+    IShape initShape = shapes.shape(handle);
+    KeyframeTrack events = new KeyframeTrack(shapes.track(handle));
+    if (events.size() != 0) {
+      if (startTime != events.getTime(events.size() - 1)) {
+        throw new IllegalArgumentException("New event start time must be equal to end time"
+            + " of last event that occurred!");
+      }
+    }
+    else {
+      events.append(startTime, initShape.getPosn().getX(), initShape.getPosn().getY(),
+          initShape.getWidth(), initShape.getHeight(), initShape.getColor().getRGB());
+    }
+    events.append(endTime, endPosn.getX(), endPosn.getY(), endWidth, endHeight,
+        endColor.getRGB());
+    return withTrack(handle, events);
+  }
+
+  /**
+   * Returns a version of this animation in which the event of the shape with the given id that
+   * contains the given tick is split in two at that tick, with the given state in between.
+   * @param id unique shape identifier
+   * @param tick tick of frame
+   * @param posn position of shape at the given tick
+   * @param color color of shape at the given tick
+   * @param width width of shape at given tick
+   * @param height height of shape at given tick
+   * @return the new version
+   * @throws IllegalArgumentException if id, posn, or color are null, or if tick is out of bounds,
+   *         or if width or height are negative
+   */
+  public AnimationSnapshot withFrame(String id, int tick, Point2D posn, Color color, int width,
+      int height) throws IllegalArgumentException {
+    if (id == null) {
+      throw new IllegalArgumentException("ID cannot be null!");
+    }
+    if (posn == null) {
+      throw new IllegalArgumentException("Position cannot be null!");
+    }
+    if (color == null) {
+      throw new IllegalArgumentException("Color cannot be null!");
+    }
+    if (width < 0) {
+      throw new IllegalArgumentException("Width cannot be negative!");
+    }
+    if (height < 0) {
+      throw new IllegalArgumentException("Height cannot be negative!");
+    }
+    int handle = shapes.handle(id);
+    if (handle < 0) {
+      throw new IllegalArgumentException("Shape does not yet exist in model!");
+    }
+    KeyframeTrack events = new KeyframeTrack(shapes.track(handle));
+    if (events.size() == 0) {
+      events.append(tick, posn.getX(), posn.getY(), width, height, color.getRGB());
+      events.append(tick, posn.getX(), posn.getY(), width, height, color.getRGB());
+    }
+    if (tick < events.getTime(0) || tick > events.getTime(events.size() - 1)) {
+      throw new IllegalArgumentException("Tick out of bounds!");
+    }
+    // split the event that strictly contains the tick by inserting a keyframe inside it
+    int eventIdx = events.eventAt(tick);
+    if (eventIdx >= 0 && tick > events.getTime(eventIdx)) {
+      events.insert(eventIdx + 1, tick, posn.getX(), posn.getY(), width, height, color.getRGB());
+    }
+    return withTrack(handle, events);
+  }
+
+  /**
+   * Returns a version of this animation without the shape with the given id.
+   * @param id name of shape to be deleted
+   * @return the new version, or this version if no shape has the given id
+   * @throws IllegalArgumentException if id is null
+   */
+  public AnimationSnapshot withoutShape(String id) throws IllegalArgumentException {
+    if (id == null) {
+      throw new IllegalArgumentException("ID cannot be null!");
+    }
+    KeyframeTrack track = shapes.track(id);
+    if (track == null) {
+      return this;
+    }
+    return new AnimationSnapshot(shapes.without(id), dimensions, timeline.withoutTrack(track));
+  }
+
+  /**
+   * Returns a version of this animation without the given event of the shape with the given id.
+   * Removing the last event drops its end state; removing any other event merges the event after
+   * it into the event before it.
+   * @param id unique identifier
+   * @param event event to remove
+   * @return the new version
+   * @throws IllegalArgumentException if the id or event is null, shape associated with id doesn't
+   *         exist, or if the shape has no such event
+   */
+  public AnimationSnapshot withoutEvent(String id, IEvent event) throws IllegalArgumentException {
+    if (id == null) {
+      throw new IllegalArgumentException("ID cannot be null!");
+    }
+    if (event == null) {
+      throw new IllegalArgumentException("Event cannot be null!");
+    }
+    int handle = shapes.handle(id);
+    if (handle < 0) {
+      throw new IllegalArgumentException("Given ID does not exist!");
+    }
+    KeyframeTrack events = new KeyframeTrack(shapes.track(handle));
+    if (events.eventCount() == 0) {
+      throw new IllegalArgumentException("There are no events associated with this shape!");
+    }
+    int eventIdx = events.indexOf(event);
+    if (eventIdx < 0) {
+      throw new IllegalArgumentException("Event does not exist!");
+    }
+    // removing the last event drops its end keyframe; removing any other event drops its start
+    // keyframe, which merges a middle event into the one before it
+    if (eventIdx == events.eventCount() - 1) {
+      events.remove(eventIdx + 1);
+    }
+    else {
+      events.remove(eventIdx);
+    }
+    return withTrack(handle, events);
+  }
+
+  /**
+   * Returns a version of this animation without the events of the shape with the given id that
+   * contain the given tick, which are two events if the tick is where one ends and the next
+   * begins.
+   * @param id unique identifier
+   * @param tick tick in event to be removed
+   * @return the new version
+   * @throws IllegalArgumentException if the id is null, id doesn't exist, or if tick falls out
+   *         of bounds
+   */
+  public AnimationSnapshot withoutEventAtTick(String id, int tick)
+      throws IllegalArgumentException {
+    if (id == null) {
+      throw new IllegalArgumentException("ID cannot be null!");
+    }
+    KeyframeTrack track = shapes.track(id);
+    if (track == null) {
+      throw new IllegalArgumentException("Given ID does not exist!");
+    }
+    List<IEvent> events = track.events();
+    int size = events.size();
+    if (size == 0) {
+      throw new IllegalArgumentException("No events for the given shape!");
+    }
+    if (tick < events.get(0).getStartTime() || tick > events.get(size - 1).getEndTime()) {
+      throw new IllegalArgumentException("Tick out of bounds!");
+    }
+    AnimationSnapshot result = this;
+    for (IEvent event : events) {
+      if (tick >= event.getStartTime() && tick <= event.getEndTime()) {
+        result = result.withoutEvent(id, event);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns a version of this animation with a batch of edits applied together. The edits are
+   * made through the {@code ModelEditor} given to the function and applied once it returns, with
+   * a single pass over the keyframes of every edited shape; if any of them is invalid, none is
+   * applied.
+   * @param edits function that makes the edits
+   * @return the new version
+   * @throws IllegalArgumentException if edits is null or any of the edits is invalid
+   */
+  public AnimationSnapshot withEdits(Consumer<ModelEditor> edits)
+      throws IllegalArgumentException {
+    if (edits == null) {
+      throw new IllegalArgumentException("Edits cannot be null!");
+    }
+    BatchEditor editor = new BatchEditor(shapes, dimensions, timeline);
+    edits.accept(editor);
+    return editor.commit();
+  }
+
+  /**
+   * Returns a version of this animation in which the shape with the given id has the events it has
+   * in the given version, which carries an edit of that shape over to a newer version. Takes
+   * O(log n) time, since the events are shared rather than copied.
+   * @param id unique identifier
+   * @param edited version holding the events of the shape
+   * @return the new version
+   * @throws IllegalArgumentException if either version has no shape with the given id
+   */
+  AnimationSnapshot withEventsOf(String id, AnimationSnapshot edited)
+      throws IllegalArgumentException {
+    int handle = shapes.handle(id);
+    KeyframeTrack track = edited.shapes.track(id);
+    if (handle < 0 || track == null) {
+      throw new IllegalArgumentException("Given ID does not exist!");
+    }
+    return withTrack(handle, track);
+  }
+
+  /**
+   * Helper that returns a version of this animation with the given shape, which has no events,
+   * added after all other shapes. The timeline index is shared, since the shape adds nothing to it.
+   * @param shape shape to add
+   * @return the new version
+   * @throws IllegalArgumentException if a shape with the id of the given shape already exists
+   */
+  private AnimationSnapshot withNewShape(IShape shape) throws IllegalArgumentException {
+    return new AnimationSnapshot(shapes.with(shape), dimensions, timeline);
+  }
+
+  /**
+   * Helper that returns a version of this animation in which the shape with the given handle has
+   * the given track, updating the timeline index for that shape only.
+   * @param handle position of the shape in declaration order
+   * @param track new track of the shape
+   * @return the new version
+   */
+  private AnimationSnapshot withTrack(int handle, KeyframeTrack track) {
+    return new AnimationSnapshot(shapes.with(handle, track), dimensions,
+        timeline.withTrack(handle, shapes.track(handle), track));
+  }
+
+  /**
+   * Helper that appends the start state of the given event to the given track.
+   * @param track track to append to
+   * @param event event whose start state is appended
+   */
+  private static void appendStart(KeyframeTrack track, IEvent event) {
+    Point2D posn = event.getStartPosn();
+    track.append(event.getStartTime(), posn.getX(), posn.getY(), event.getStartWidth(),
+        event.getStartHeight(), event.getStartColor().getRGB());
+  }
+
+  /**
+   * Helper that appends the end state of the given event to the given track.
+   * @param track track to append to
+   * @param event event whose end state is appended
+   */
+  private static void appendEnd(KeyframeTrack track, IEvent event) {
+    Point2D posn = event.getEndPosn();
+    track.append(event.getEndTime(), posn.getX(), posn.getY(), event.getEndWidth(),
+        event.getEndHeight(), event.getEndColor().getRGB());
+  }
+}
@@ -0,0 +1,611 @@
+package cs3500.animator.model;
+
+import cs3500.animator.model.events.IEvent;
+import cs3500.animator.model.shapes.Ellipse;
+import cs3500.animator.model.shapes.IShape;
+import cs3500.animator.model.shapes.Plus;
+import cs3500.animator.model.shapes.Rectangle;
+import cs3500.animator.model.shapes.ShapeType;
+import java.awt.Color;
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Collects a batch of edits to a version of an animation and applies them together. The edits of
+ * a shape's events are recorded rather than applied. Removing an event marks the keyframe of the
+ * shape's track that it drops, and the shape's events are then the motions between the keyframes
+ * still kept; added events are queued, and inserted frames are collected. When the batch is
+ * committed, the new track of every edited shape is built in a single pass that copies its kept
+ * keyframes, checks and appends its added events, and merges in its inserted frames sorted by
+ * tick, and the shapes removed in the batch are dropped from the table in one more pass. Applying
+ * k edits to a shape with n keyframes takes O(n + k log k) time rather than the O(nk) of making
+ * them one at a time, and the new version updates the timeline index of the version being edited
+ * for the edited and removed shapes only. A shape's edits are applied in the order they are made:
+ * a removal made after an added event or frame, or an added event made after a frame, first
+ * builds the shape's track from the edits collected before it, at the cost of one more pass. An
+ * editor must not be used after it has been committed.
+ */
+final class BatchEditor implements ModelEditor {
+  private final PersistentShapeTable base;
+  private final Screen dimensions;
+  private final TimelineIndex timeline;
+  private final Map<String, PendingShape> pending;
+  private final List<PendingShape> added;
+  private final Set<String> removed;
+
+  /**
+   * Constructs a {@code BatchEditor} object with no edits.
+   * @param base shapes of the version being edited
+   * @param dimensions the {@code Screen} of the animation
+   * @param timeline timeline index of the version being edited
+   */
+  BatchEditor(PersistentShapeTable base, Screen dimensions, TimelineIndex timeline) {
+    this.base = base;
+    this.dimensions = dimensions;
+    this.timeline = timeline;
+    this.pending = new HashMap<>();
+    this.added = new ArrayList<>();
+    this.removed = new HashSet<>();
+  }
+
+  @Override
+  public void addShape(IShape shape) throws IllegalArgumentException {
+    if (shape == null) {
+      throw new IllegalArgumentException("Shape cannot be null!");
+    }
+    add(shape.copy());
+  }
+
+  @Override
+  public void addShape(String id, ShapeType type, Point2D posn, Color color, int width,
+      int height) throws IllegalArgumentException {
+    if (width < 0) {
+      throw new IllegalArgumentException("Width cannot be negative!");
+    }
+    if (height < 0) {
+      throw new IllegalArgumentException("Height cannot be negative!");
+    }
+    if (id == null) {
+      throw new IllegalArgumentException("ID cannot be null!");
+    }
+    if (type == null) {
+      throw new IllegalArgumentException("Shape type cannot be null!");
+    }
+    if (posn == null) {
+      throw new IllegalArgumentException("Position cannot be null!");
+    }
+    if (color == null) {
+      throw new IllegalArgumentException("Color cannot be null!");
+    }
+    switch (type) {
+      case RECTANGLE:
+        add(new Rectangle(id, posn, color, width, height));
+        break;
+      case ELLIPSE:
+        add(new Ellipse(id, posn, color, width, height));
+        break;
+      case PLUS:
+        add(new Plus(id, posn, color, width, height));
+        break;
+      default:
+        throw new IllegalArgumentException("Invalid type!"); // will never be reached
+    }
+  }
+
+  @Override
+  public void addEvent(String id, IEvent event) throws IllegalArgumentException {
+    if (id == null) {
+      throw new IllegalArgumentException("ID cannot be null!");
+    }
+    if (event == null) {
+      throw new IllegalArgumentException("Event cannot be null!");
+    }
+    edited(id, "Given ID does not exist!").beforeAppend().appends.add(new Append(
+        event.getStartTime(),
+        new Keyframe(event.getStartTime(), event.getStartPosn(), event.getStartColor(),
+            event.getStartWidth(), event.getStartHeight()),
+        new Keyframe(event.getEndTime(), event.getEndPosn(), event.getEndColor(),
+            event.getEndWidth(), event.getEndHeight())));
+  }
+
+  @Override
+  public void addEvent(String id, int startTime, int endTime, Point2D endPosn, Color endColor,
+      int endWidth, int endHeight) throws IllegalArgumentException {
+    if (id == null) {
+      throw new IllegalArgumentException("ID cannot be null!");
+    }
+    if (endPosn == null) {
+      throw new IllegalArgumentException("Position cannot be null!");
+    }
+    if (endColor == null) {
+      throw new IllegalArgumentException("Color cannot be null!");
+    }
+    if (endWidth < 0) {
+      throw new IllegalArgumentException("Width cannot be negative!");
+    }
+    if (endHeight < 0) {
+      throw new IllegalArgumentException("Height cannot be negative!");
+    }
+    if (startTime < 0 || endTime < 0) {
+      throw new IllegalArgumentException("Times cannot be negative!");
+    }
+    if (startTime > endTime) {
+      throw new IllegalArgumentException("Start must begin before end!");
+    }
+    edited(id, "Shape does not yet exist in model!").beforeAppend().appends.add(
+        new Append(startTime, null, new Keyframe(endTime, endPosn, endColor, endWidth,
+            endHeight)));
+  }
+
+  @Override
+  public void insertFrame(String id, int tick, Point2D posn, Color color, int width, int height)
+      throws IllegalArgumentException {
+    if (id == null) {
+      throw new IllegalArgumentException("ID cannot be null!");
+    }
+    if (posn == null) {
+      throw new IllegalArgumentException("Position cannot be null!");
+    }
+    if (color == null) {
+      throw new IllegalArgumentException("Color cannot be null!");
+    }
+    if (width < 0) {
+      throw new IllegalArgumentException("Width cannot be negative!");
+    }
+    if (height < 0) {
+      throw new IllegalArgumentException("Height cannot be negative!");
+    }
+    edited(id, "Shape does not yet exist in model!").frames.add(
+        new Keyframe(tick, posn, color, width, height));
+  }
+
+  @Override
+  public void removeShape(IShape shape) throws IllegalArgumentException {
+    if (shape == null) {
+      throw new IllegalArgumentException("Shape cannot be null!");
+    }
+    removeShapeByID(shape.getName());
+  }
+
+  @Override
+  public void removeShapeByID(String id) throws IllegalArgumentException {
+    if (id == null) {
+      throw new IllegalArgumentException("ID cannot be null!");
+    }
+    PendingShape shape = pending.get(id);
+    if (shape == null) {
+      int handle = base.handle(id);
+      if (handle < 0) {
+        return;
+      }
+      shape = new PendingShape(base.shape(handle), base.track(handle), false);
+      pending.put(id, shape);
+    }
+    if (!shape.removed) {
+      shape.removed = true;
+      if (!shape.isNew) {
+        removed.add(id);
+      }
+    }
+  }
+
+  @Override
+  public void removeEvent(String id, IEvent event) throws IllegalArgumentException {
+    if (id == null) {
+      throw new IllegalArgumentException("ID cannot be null!");
+    }
+    if (event == null) {
+      throw new IllegalArgumentException("Event cannot be null!");
+    }
+    PendingShape shape = edited(id, "Given ID does not exist!").beforeRemoval();
+    if (shape.kept < 2) {
+      throw new IllegalArgumentException("There are no events associated with this shape!");
+    }
+    // the shape's events are the motions between consecutive kept keyframes
+    KeyframeTrack track = shape.track;
+    int start = event.getStartTime();
+    for (int a = firstAtOrAfter(track, start); a < shape.lastKept && track.getTime(a) == start;
+        a++) {
+      if (!shape.dropped.get(a)) {
+        int b = shape.dropped.nextClearBit(a + 1);
+        if (hasState(track, a, event.getStartPosn(), event.getStartColor(),
+            event.getStartWidth(), event.getStartHeight())
+            && track.getTime(b) == event.getEndTime()
+            && hasState(track, b, event.getEndPosn(), event.getEndColor(),
+            event.getEndWidth(), event.getEndHeight())) {
+          shape.dropEvent(a, b);
+          return;
+        }
+      }
+    }
+    throw new IllegalArgumentException("Event does not exist!");
+  }
+
+  @Override
+  public void removeEventAtTick(String id, int tick) throws IllegalArgumentException {
+    if (id == null) {
+      throw new IllegalArgumentException("ID cannot be null!");
+    }
+    PendingShape shape = edited(id, "Given ID does not exist!").beforeRemoval();
+    if (shape.kept < 2) {
+      throw new IllegalArgumentException("No events for the given shape!");
+    }
+    KeyframeTrack track = shape.track;
+    int first = shape.dropped.nextClearBit(0);
+    if (tick < track.getTime(first) || tick > track.getTime(shape.lastKept)) {
+      throw new IllegalArgumentException("Tick out of bounds!");
+    }
+    // find every remaining event containing the tick before removing any of them, starting from
+    // the last kept keyframe before the tick
+    int a = shape.dropped.previousClearBit(firstAtOrAfter(track, tick) - 1);
+    a = a < 0 ? first : a;
+    List<int[]> events = new ArrayList<>();
+    while (a != shape.lastKept && track.getTime(a) <= tick) {
+      int b = shape.dropped.nextClearBit(a + 1);
+      if (track.getTime(b) >= tick) {
+        events.add(new int[] {a, b});
+      }
+      a = b;
+    }
+    for (int[] event : events) {
+      if (!shape.dropped.get(event[0]) && !shape.dropped.get(event[1])) {
+        shape.dropEvent(event[0], event[1]);
+      }
+    }
+  }
+
+  /**
+   * Applies the edits collected so far to the version being edited.
+   * @return the new version
+   * @throws IllegalArgumentException if an added event does not continue from the events before
+   *         it, or if a frame is inserted outside the events of its shape
+   */
+  AnimationSnapshot commit() throws IllegalArgumentException {
+    PersistentShapeTable result = base.without(removed);
+    TimelineIndex index = timeline;
+    for (String id : removed) {
+      index = index.withoutTrack(base.track(id));
+    }
+    for (PendingShape shape : added) {
+      if (!shape.removed) {
+        result = result.with(shape.shape);
+      }
+    }
+    for (Map.Entry<String, PendingShape> entry : pending.entrySet()) {
+      PendingShape shape = entry.getValue();
+      if (!shape.removed && shape.isEdited()) {
+        int handle = result.handle(entry.getKey());
+        KeyframeTrack track = shape.build();
+        index = index.withTrack(handle, result.track(handle), track);
+        result = result.with(handle, track);
+      }
+    }
+    return new AnimationSnapshot(result, dimensions, index);
+  }
+
+  /**
+   * Helper that adds a shape to the batch.
+   * @param shape shape to add, which belongs to the batch
+   * @throws IllegalArgumentException if a shape with its id already exists
+   */
+  private void add(IShape shape) throws IllegalArgumentException {
+    String id = shape.getName();
+    PendingShape existing = pending.get(id);
+    if (existing == null ? base.handle(id) >= 0 : !existing.removed) {
+      throw new IllegalArgumentException("Cannot have duplicate shapes!");
+    }
+    PendingShape result = new PendingShape(shape, new KeyframeTrack(), true);
+    pending.put(id, result);
+    added.add(result);
+  }
+
+  /**
+   * Helper that finds the pending edits of the shape with the given id, starting them if the
+   * shape has not been edited yet in this batch.
+   * @param id unique identifier
+   * @param missing message of the exception thrown if the shape does not exist
+   * @return the pending edits of the shape
+   * @throws IllegalArgumentException if the shape does not exist
+   */
+  private PendingShape edited(String id, String missing) throws IllegalArgumentException {
+    PendingShape shape = pending.get(id);
+    if (shape == null) {
+      int handle = base.handle(id);
+      if (handle < 0) {
+        throw new IllegalArgumentException(missing);
+      }
+      shape = new PendingShape(base.shape(handle), base.track(handle), false);
+      pending.put(id, shape);
+    }
+    if (shape.removed) {
+      throw new IllegalArgumentException(missing);
+    }
+    return shape;
+  }
+
+  /**
+   * Helper that determines whether a keyframe of a track has the given state.
+   * @param track track to read
+   * @param k index of the keyframe
+   * @param posn position to compare against
+   * @param color color to compare against
+   * @param width width to compare against
+   * @param height height to compare against
+   * @return true if the keyframe has the given state, false otherwise
+   */
+  private static boolean hasState(KeyframeTrack track, int k, Point2D posn, Color color,
+      int width, int height) {
+    return new Point2D.Double(track.getX(k), track.getY(k)).equals(posn)
+        && track.getColor(k) == color.getRGB()
+        && track.getWidth(k) == width
+        && track.getHeight(k) == height;
+  }
+
+  /**
+   * Helper that finds the first keyframe of a track at or after the given tick.
+   * @param track track to search
+   * @param tick tick to search for
+   * @return the index of the keyframe, or the size of the track if there is none
+   */
+  private static int firstAtOrAfter(KeyframeTrack track, int tick) {
+    int lo = 0;
+    int hi = track.size();
+    while (lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if (track.getTime(mid) < tick) {
+        lo = mid + 1;
+      }
+      else {
+        hi = mid;
+      }
+    }
+    return lo;
+  }
+
+  /**
+   * The edits of one shape collected so far. The track is that of the version being edited, or
+   * the one built from the edits made before an edit out of the order they are applied in, and is
+   * never changed; removals are kept as the set of its keyframes they drop.
+   */
+  private static final class PendingShape {
+    private final IShape shape;
+    private KeyframeTrack track;
+    private final boolean isNew;
+    private final BitSet dropped;
+    private final List<Append> appends;
+    private final List<Keyframe> frames;
+    private boolean removed;
+    private boolean rebuilt;
+    private int kept;
+    private int lastKept;
+
+    private PendingShape(IShape shape, KeyframeTrack track, boolean isNew) {
+      this.shape = shape;
+      this.track = track;
+      this.isNew = isNew;
+      this.dropped = new BitSet();
+      this.appends = new ArrayList<>();
+      this.frames = new ArrayList<>();
+      this.removed = false;
+      this.rebuilt = false;
+      this.kept = track.size();
+      this.lastKept = track.size() - 1;
+    }
+
+    /**
+     * Determines whether any edits of the shape's events were made.
+     * @return true if there are edits to apply, false otherwise
+     */
+    private boolean isEdited() {
+      return rebuilt || kept != track.size() || !appends.isEmpty() || !frames.isEmpty();
+    }
+
+    /**
+     * Prepares the shape for the removal of an event, which must see the events added and split
+     * before it.
+     * @return this shape
+     * @throws IllegalArgumentException if the edits made so far are invalid
+     */
+    private PendingShape beforeRemoval() throws IllegalArgumentException {
+      if (!appends.isEmpty() || !frames.isEmpty()) {
+        rebuild();
+      }
+      return this;
+    }
+
+    /**
+     * Prepares the shape for an added event, which must follow the frames inserted before it.
+     * @return this shape
+     * @throws IllegalArgumentException if the edits made so far are invalid
+     */
+    private PendingShape beforeAppend() throws IllegalArgumentException {
+      if (!frames.isEmpty()) {
+        rebuild();
+      }
+      return this;
+    }
+
+    /**
+     * Replaces the track with one built from the edits collected so far, which are then cleared.
+     * @throws IllegalArgumentException if the edits made so far are invalid
+     */
+    private void rebuild() throws IllegalArgumentException {
+      track = build();
+      dropped.clear();
+      appends.clear();
+      frames.clear();
+      kept = track.size();
+      lastKept = kept - 1;
+      rebuilt = true;
+    }
+
+    /**
+     * Drops the keyframe that removing the event between the given kept keyframes would remove:
+     * the end of the last event, or the start of any other, which merges it into the event
+     * before it. A single keyframe describes no event, so it is dropped as well.
+     * @param a keyframe at the start of the event
+     * @param b keyframe at the end of the event, the next kept keyframe after a
+     */
+    private void dropEvent(int a, int b) {
+      if (kept <= 2) {
+        dropped.set(0, track.size());
+        kept = 0;
+        lastKept = -1;
+        return;
+      }
+      if (b == lastKept) {
+        dropped.set(b);
+        lastKept = a;
+      }
+      else {
+        dropped.set(a);
+      }
+      kept--;
+    }
+
+    /**
+     * Builds the new track of the shape in one pass over its keyframes.
+     * @return the new track
+     * @throws IllegalArgumentException if an added event does not continue from the events
+     *         before it, or if a frame is inserted outside the shape's events
+     */
+    private KeyframeTrack build() throws IllegalArgumentException {
+      KeyframeTrack spine;
+      if (kept == track.size()) {
+        spine = new KeyframeTrack(track);
+      }
+      else {
+        spine = new KeyframeTrack();
+        for (int k = dropped.nextClearBit(0); k <= lastKept; k = dropped.nextClearBit(k + 1)) {
+          spine.append(track.getTime(k), track.getX(k), track.getY(k), track.getWidth(k),
+              track.getHeight(k), track.getColor(k));
+        }
+      }
+      for (Append append : appends) {
+        append.appendTo(spine, shape);
+      }
+      if (frames.isEmpty()) {
+        return spine;
+      }
+      if (spine.size() == 0) {
+        // like a single insertion, the first frame inserted into no events becomes an event
+        frames.get(0).appendTo(spine);
+        frames.get(0).appendTo(spine);
+      }
+      frames.sort(Comparator.comparingInt(frame -> frame.time));
+      if (frames.get(0).time < spine.getTime(0)
+          || frames.get(frames.size() - 1).time > spine.getTime(spine.size() - 1)) {
+        throw new IllegalArgumentException("Tick out of bounds!");
+      }
+      // a frame splits the event strictly containing its tick, and the first frame at a tick
+      // wins, since later ones fall on a keyframe
+      KeyframeTrack result = new KeyframeTrack();
+      int j = 0;
+      for (int k = 0; k < spine.size(); k++) {
+        int time = spine.getTime(k);
+        for (; j < frames.size() && frames.get(j).time <= time; j++) {
+          Keyframe frame = frames.get(j);
+          if (frame.time < time && (j == 0 || frames.get(j - 1).time != frame.time)) {
+            frame.appendTo(result);
+          }
+        }
+        result.append(time, spine.getX(k), spine.getY(k), spine.getWidth(k),
+            spine.getHeight(k), spine.getColor(k));
+      }
+      return result;
+    }
+  }
+
+  /**
+   * An event to be added after the events of a shape.
+   */
+  private static final class Append {
+    private final int startTime;
+    private final Keyframe start;
+    private final Keyframe end;
+
+    /**
+     * Constructs an {@code Append} object.
+     * @param startTime starting time of the event
+     * @param start starting state of the event, or null if it starts where the last event ended
+     * @param end final state of the event
+     */
+    private Append(int startTime, Keyframe start, Keyframe end) {
+      this.startTime = startTime;
+      this.start = start;
+      this.end = end;
+    }
+
+    /**
+     * Checks that the event continues from the end of the given track and appends it. A shape's
+     * first event starts from the given state, or from the shape's own state if it has none.
+     * @param track track to append to
+     * @param shape shape of the track
+     * @throws IllegalArgumentException if the event does not continue from the end of the track
+     */
+    private void appendTo(KeyframeTrack track, IShape shape) throws IllegalArgumentException {
+      int last = track.size() - 1;
+      if (last < 0) {
+        if (start != null) {
+          start.appendTo(track);
+        }
+        else {
+          track.append(startTime, shape.getPosn().getX(), shape.getPosn().getY(),
+              shape.getWidth(), shape.getHeight(), shape.getColor().getRGB());
+        }
+      }
+      else if (start == null) {
+        if (startTime != track.getTime(last)) {
+          throw new IllegalArgumentException("New event start time must be equal to end time"
+              + " of last event that occurred!");
+        }
+      }
+      else {
+        if (startTime != track.getTime(last)) {
+          throw new IllegalArgumentException("Events cannot overlap or have a gap!");
+        }
+        if (!new Point2D.Double(track.getX(last), track.getY(last)).equals(start.posn)
+            || track.getColor(last) != start.rgb
+            || track.getWidth(last) != start.width
+            || track.getHeight(last) != start.height) {
+          throw new IllegalArgumentException("Event states must match!");
+        }
+      }
+      end.appendTo(track);
+    }
+  }
+
+  /**
+   * The state of a shape at a tick.
+   */
+  private static final class Keyframe {
+    private final int time;
+    private final Point2D posn;
+    private final int rgb;
+    private final int width;
+    private final int height;
+
+    private Keyframe(int time, Point2D posn, Color color, int width, int height) {
+      this.time = time;
+      this.posn = new Point2D.Double(posn.getX(), posn.getY());
+      this.rgb = color.getRGB();
+      this.width = width;
+      this.height = height;
+    }
+
+    /**
+     * Appends this state to the end of the given track.
+     * @param track track to append to
+     */
+    private void appendTo(KeyframeTrack track) {
+      track.append(time, posn.getX(), posn.getY(), width, height, rgb);
+    }
+  }
+}
@@ -0,0 +1,343 @@
+package cs3500.animator.model;
+
+import cs3500.animator.model.events.IEvent;
+import cs3500.animator.model.shapes.IReadOnlyShape;
+import cs3500.animator.model.shapes.IShape;
+import cs3500.animator.model.shapes.ShapeType;
+import java.awt.Color;
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * An animation model that keeps the frames sampled from another model, so that playing the same
+ * ticks again (as a looping view does) copies the stored shape states instead of searching and
+ * interpolating the keyframes again. Frames are kept in least-recently-used order and evicted once
+ * their estimated size exceeds a memory budget. Every edit is passed on to the underlying model
+ * and discards the stored frames of the ticks it can affect: edits of the events of a shape
+ * discard the frames spanned by the changed events, while removing a shape, which renumbers the
+ * shapes declared after it, and applying a batch of edits discard every frame. The underlying
+ * model must only be edited through this model.
+ */
+public final class CachedAnimationModel implements IAnimationModel {
+  private static final long FRAME_BYTES = 160;
+  private static final long SHAPE_BYTES = 48;
+
+  private final IAnimationModel model;
+  private final long budget;
+  private final LinkedHashMap<Integer, FrameBuffer> frames;
+  private long bytes;
+  private long version;
+  private FrameBuffer spare;
+
+  /**
+   * Constructs a {@code CachedAnimationModel} object.
+   * @param model model to sample frames from and to pass edits on to
+   * @param budget maximum estimated size of the stored frames, in bytes
+   * @throws IllegalArgumentException if the model is null or the budget is negative
+   */
+  public CachedAnimationModel(IAnimationModel model, long budget)
+      throws IllegalArgumentException {
+    if (model == null) {
+      throw new IllegalArgumentException("Model cannot be null!");
+    }
+    if (budget < 0) {
+      throw new IllegalArgumentException("Budget cannot be negative!");
+    }
+    this.model = model;
+    this.budget = budget;
+    this.frames = new LinkedHashMap<>(16, 0.75f, true);
+    this.bytes = 0;
+    this.version = 0;
+    this.spare = null;
+  }
+
+  /**
+   * Returns the number of frames currently stored.
+   * @return the number of stored frames
+   */
+  public synchronized int getCachedFrames() {
+    return frames.size();
+  }
+
+  /**
+   * Returns the estimated size of the frames currently stored, in bytes.
+   * @return the estimated size of the stored frames
+   */
+  public synchronized long getCachedBytes() {
+    return bytes;
+  }
+
+  @Override
+  public List<IReadOnlyShape> getShapes() {
+    return model.getShapes();
+  }
+
+  @Override
+  public List<IReadOnlyShape> getShapesAtTick(int tick) {
+    FrameBuffer frame = new FrameBuffer(0);
+    sampleTick(tick, frame);
+    List<IReadOnlyShape> result = new ArrayList<>(frame.size());
+    for (int i = 0; i < frame.size(); i++) {
+      result.add(frame.getShape(i));
+    }
+    return result;
+  }
+
+  @Override
+  public void sampleTick(int tick, FrameBuffer out) throws IllegalArgumentException {
+    if (out == null) {
+      throw new IllegalArgumentException("Frame cannot be null!");
+    }
+    long sampledAt;
+    synchronized (this) {
+      FrameBuffer cached = frames.get(tick);
+      if (cached != null) {
+        out.copyFrom(cached);
+        return;
+      }
+      sampledAt = version;
+    }
+    model.sampleTick(tick, out);
+    store(out, sampledAt);
+  }
+
+  /**
+   * Overrides sampleTime() in IReadOnlyAnimationModel. Frames between two ticks are not cached,
+   * since they are rarely sampled twice; frames at whole ticks go through the cache.
+   */
+  @Override
+  public void sampleTime(double time, FrameBuffer out) throws IllegalArgumentException {
+    if (time == Math.floor(time) && Math.abs(time) <= Integer.MAX_VALUE) {
+      sampleTick((int) time, out);
+    }
+    else {
+      model.sampleTime(time, out);
+    }
+  }
+
+  @Override
+  public AnimationSnapshot snapshot() {
+    return model.snapshot();
+  }
+
+  @Override
+  public int nextKeyframeAfter(int tick) {
+    return model.nextKeyframeAfter(tick);
+  }
+
+  @Override
+  public int previousKeyframeBefore(int tick) {
+    return model.previousKeyframeBefore(tick);
+  }
+
+  /**
+   * Helper that stores a copy of a newly sampled frame, unless an edit has happened since it was
+   * sampled or it is larger than the whole budget, and evicts the least recently used frames
+   * until the stored frames fit in the budget again.
+   * @param frame the sampled frame
+   * @param sampledAt the version of the stored frames when the frame was sampled
+   */
+  private synchronized void store(FrameBuffer frame, long sampledAt) {
+    long size = sizeOf(frame);
+    if (sampledAt != version || size > budget || frames.containsKey(frame.getTick())) {
+      return;
+    }
+    FrameBuffer copy = spare == null ? new FrameBuffer(frame.size()) : spare;
+    spare = null;
+    copy.copyFrom(frame);
+    frames.put(frame.getTick(), copy);
+    bytes += size;
+    Iterator<FrameBuffer> eldest = frames.values().iterator();
+    while (bytes > budget) {
+      FrameBuffer evicted = eldest.next();
+      eldest.remove();
+      bytes -= sizeOf(evicted);
+      spare = evicted;
+    }
+  }
+
+  /**
+   * Estimates the memory taken by a stored frame.
+   * @param frame the frame
+   * @return the estimated size of the frame, in bytes
+   */
+  private static long sizeOf(FrameBuffer frame) {
+    return FRAME_BYTES + SHAPE_BYTES * frame.size();
+  }
+
+  /**
+   * Discards the stored frames of every tick in the given range.
+   * @param from first tick to discard
+   * @param to last tick to discard
+   */
+  private synchronized void invalidate(int from, int to) {
+    version++;
+    if (frames.isEmpty()) {
+      return;
+    }
+    Iterator<Map.Entry<Integer, FrameBuffer>> it = frames.entrySet().iterator();
+    while (it.hasNext()) {
+      Map.Entry<Integer, FrameBuffer> entry = it.next();
+      if (entry.getKey() >= from && entry.getKey() <= to) {
+        bytes -= sizeOf(entry.getValue());
+        it.remove();
+      }
+    }
+  }
+
+  /**
+   * Discards every stored frame.
+   */
+  private synchronized void invalidateAll() {
+    version++;
+    frames.clear();
+    bytes = 0;
+  }
+
+  /**
+   * Helper that finds the ticks that removing the given events of a shape can change: those of
+   * the events themselves and of the event before them, which a removal may stretch.
+   * @param events the events of the shape
+   * @param first index of the first event to be removed
+   * @param last index of the last event to be removed
+   * @return the first and last affected tick
+   */
+  private static int[] removalRange(List<IEvent> events, int first, int last) {
+    return new int[] {events.get(Math.max(0, first - 1)).getStartTime(),
+        events.get(last).getEndTime()};
+  }
+
+  @Override
+  public IReadOnlyShape getShapeByID(String id) throws IllegalArgumentException {
+    return model.getShapeByID(id);
+  }
+
+  @Override
+  public Map<String, List<IEvent>> getEvents() throws IllegalArgumentException {
+    return model.getEvents();
+  }
+
+  @Override
+  public List<IEvent> getEventsById(String id) throws IllegalArgumentException {
+    return model.getEventsById(id);
+  }
+
+  @Override
+  public List<IEvent> getEventsByShape(IShape shape) throws IllegalArgumentException {
+    return model.getEventsByShape(shape);
+  }
+
+  @Override
+  public Screen getScreen() {
+    return model.getScreen();
+  }
+
+  @Override
+  public void addShape(IShape shape) throws IllegalArgumentException {
+    // a new shape has no events yet, so it appears in no frame
+    model.addShape(shape);
+  }
+
+  @Override
+  public void addShape(String id, ShapeType type, Point2D posn, Color color, int width,
+      int height) throws IllegalArgumentException {
+    model.addShape(id, type, posn, color, width, height);
+  }
+
+  @Override
+  public void addEvent(String id, IEvent event) {
+    model.addEvent(id, event);
+    invalidate(event.getStartTime(), event.getEndTime());
+  }
+
+  @Override
+  public void addEvent(String id, int startTime, int endTime, Point2D endPosn, Color endColor,
+      int endWidth, int endHeight) throws IllegalArgumentException {
+    model.addEvent(id, startTime, endTime, endPosn, endColor, endWidth, endHeight);
+    invalidate(startTime, endTime);
+  }
+
+  @Override
+  public void insertFrame(String id, int tick, Point2D posn, Color color, int width, int height)
+      throws IllegalArgumentException {
+    model.insertFrame(id, tick, posn, color, width, height);
+    // the event that now ends at the tick and the one after it make up the split event
+    int from = tick;
+    int to = tick;
+    for (IEvent event : model.getEventsById(id)) {
+      if (event.getEndTime() == tick) {
+        from = Math.min(from, event.getStartTime());
+      }
+      if (event.getStartTime() == tick) {
+        to = Math.max(to, event.getEndTime());
+      }
+    }
+    invalidate(from, to);
+  }
+
+  @Override
+  public void removeShape(IShape shape) {
+    model.removeShape(shape);
+    invalidateAll();
+  }
+
+  @Override
+  public void removeShapeByID(String id) {
+    model.removeShapeByID(id);
+    invalidateAll();
+  }
+
+  @Override
+  public void removeEvent(String id, IEvent event) {
+    int[] range = null;
+    if (id != null && event != null) {
+      List<IEvent> events = model.getEventsById(id);
+      int index = events.indexOf(event);
+      if (index >= 0) {
+        range = removalRange(events, index, index);
+      }
+    }
+    model.removeEvent(id, event);
+    if (range != null) {
+      invalidate(range[0], range[1]);
+    }
+  }
+
+  @Override
+  public void removeEventAtTick(String id, int tick) {
+    int[] range = null;
+    if (id != null) {
+      List<IEvent> events = model.getEventsById(id);
+      int first = -1;
+      int last = -1;
+      for (int i = 0; i < events.size(); i++) {
+        if (tick >= events.get(i).getStartTime() && tick <= events.get(i).getEndTime()) {
+          first = first < 0 ? i : first;
+          last = i;
+        }
+      }
+      if (first >= 0) {
+        range = removalRange(events, first, last);
+      }
+    }
+    model.removeEventAtTick(id, tick);
+    if (range != null) {
+      invalidate(range[0], range[1]);
+    }
+  }
+
+  /**
+   * Overrides edit() in IAnimationModel. A batch can edit any number of shapes, so once it is
+   * applied every stored frame is discarded.
+   */
+  @Override
+  public void edit(Consumer<ModelEditor> edits) throws IllegalArgumentException {
+    model.edit(edits);
+    invalidateAll();
+  }
+}
@@ -0,0 +1,264 @@
+package cs3500.animator.model;
+
+import cs3500.animator.model.events.IEvent;
+import cs3500.animator.model.shapes.IReadOnlyShape;
+import cs3500.animator.model.shapes.IShape;
+import cs3500.animator.model.shapes.ShapeType;
+import java.awt.Color;
+import java.awt.geom.Point2D;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * An animation model that can be read and edited from any number of threads at once, so that an
+ * animation can be edited while it is being played. The current version of the animation is an
+ * immutable {@code AnimationSnapshot} published through an atomic reference: every read takes the
+ * version current when it starts and sees nothing of the edits made during it, without locking.
+ * Writers are serialized per shape by a fixed set of striped locks, chosen by the hash of the
+ * shape's id, so edits to shapes on different stripes never wait for each other. An edit makes a
+ * new version from the current one and publishes it with a compare-and-set; if another shape was
+ * edited in the meantime, the edited shape's events are carried over to the newer version, which
+ * takes O(log n) time, and publishing is tried again. Adding and removing shapes lock only the
+ * stripe of the shape and are redone on the newer version instead.
+ * Invariants: Identical to those of the AnimationModel class.
+ */
+public final class ConcurrentAnimationModel implements IAnimationModel {
+  private static final int DEFAULT_STRIPES = 64;
+
+  private final AtomicReference<AnimationSnapshot> current;
+  private final ReentrantLock[] stripes;
+
+  /**
+   * Constructs a {@code ConcurrentAnimationModel} object with the default number of stripes.
+   * @param model model whose current version is the initial version of this model
+   * @throws IllegalArgumentException if the model is null
+   */
+  public ConcurrentAnimationModel(IReadOnlyAnimationModel model)
+      throws IllegalArgumentException {
+    this(model, DEFAULT_STRIPES);
+  }
+
+  /**
+   * Constructs a {@code ConcurrentAnimationModel} object. The version of the given model is
+   * shared, not copied, and later edits to either model do not affect the other.
+   * @param model model whose current version is the initial version of this model
+   * @param stripes number of locks that writers are spread over
+   * @throws IllegalArgumentException if the model is null or stripes is not positive
+   */
+  public ConcurrentAnimationModel(IReadOnlyAnimationModel model, int stripes)
+      throws IllegalArgumentException {
+    if (model == null) {
+      throw new IllegalArgumentException("Model cannot be null!");
+    }
+    if (stripes <= 0) {
+      throw new IllegalArgumentException("Number of stripes must be positive!");
+    }
+    this.current = new AtomicReference<>(model.snapshot());
+    this.stripes = new ReentrantLock[stripes];
+    for (int i = 0; i < stripes; i++) {
+      this.stripes[i] = new ReentrantLock();
+    }
+  }
+
+  @Override
+  public List<IReadOnlyShape> getShapes() {
+    return current.get().getShapes();
+  }
+
+  @Override
+  public List<IReadOnlyShape> getShapesAtTick(int tick) {
+    return current.get().getShapesAtTick(tick);
+  }
+
+  @Override
+  public void sampleTick(int tick, FrameBuffer out) throws IllegalArgumentException {
+    current.get().sampleTick(tick, out);
+  }
+
+  @Override
+  public void sampleTime(double time, FrameBuffer out) throws IllegalArgumentException {
+    current.get().sampleTime(time, out);
+  }
+
+  @Override
+  public int nextKeyframeAfter(int tick) {
+    return current.get().nextKeyframeAfter(tick);
+  }
+
+  @Override
+  public int previousKeyframeBefore(int tick) {
+    return current.get().previousKeyframeBefore(tick);
+  }
+
+  @Override
+  public IReadOnlyShape getShapeByID(String id) throws IllegalArgumentException {
+    return current.get().getShapeByID(id);
+  }
+
+  @Override
+  public Map<String, List<IEvent>> getEvents() {
+    return current.get().getEvents();
+  }
+
+  @Override
+  public List<IEvent> getEventsById(String id) throws IllegalArgumentException {
+    return current.get().getEventsById(id);
+  }
+
+  @Override
+  public List<IEvent> getEventsByShape(IShape shape) {
+    return current.get().getEventsByShape(shape);
+  }
+
+  @Override
+  public Screen getScreen() {
+    return current.get().getScreen();
+  }
+
+  @Override
+  public AnimationSnapshot snapshot() {
+    return current.get();
+  }
+
+  @Override
+  public void addShape(IShape shape) throws IllegalArgumentException {
+    if (shape == null) {
+      throw new IllegalArgumentException("Shape cannot be null!");
+    }
+    editShapes(shape.getName(), s -> s.withShape(shape));
+  }
+
+  @Override
+  public void addShape(String id, ShapeType type, Point2D posn,
+      Color color, int width, int height) throws IllegalArgumentException {
+    editShapes(id, s -> s.withShape(id, type, posn, color, width, height));
+  }
+
+  @Override
+  public void addEvent(String id, IEvent event) {
+    editEvents(id, s -> s.withEvent(id, event));
+  }
+
+  @Override
+  public void addEvent(String id, int startTime, int endTime, Point2D endPosn,
+      Color endColor, int endWidth, int endHeight) throws IllegalArgumentException {
+    editEvents(id, s -> s.withEvent(id, startTime, endTime, endPosn, endColor, endWidth,
+        endHeight));
+  }
+
+  @Override
+  public void insertFrame(String id, int tick, Point2D posn, Color color, int width, int height)
+      throws IllegalArgumentException {
+    editEvents(id, s -> s.withFrame(id, tick, posn, color, width, height));
+  }
+
+  @Override
+  public void removeShape(IShape shape) {
+    if (shape == null) {
+      throw new IllegalArgumentException("Shape cannot be null!");
+    }
+    removeShapeByID(shape.getName());
+  }
+
+  @Override
+  public void removeShapeByID(String id) {
+    editShapes(id, s -> s.withoutShape(id));
+  }
+
+  @Override
+  public void removeEvent(String id, IEvent event) {
+    editEvents(id, s -> s.withoutEvent(id, event));
+  }
+
+  @Override
+  public void removeEventAtTick(String id, int tick) {
+    editEvents(id, s -> s.withoutEventAtTick(id, tick));
+  }
+
+  /**
+   * Overrides edit() in IAnimationModel. A batch can edit any shape, so it holds every stripe
+   * while it is applied, and other writers wait for it.
+   */
+  @Override
+  public void edit(Consumer<ModelEditor> edits) throws IllegalArgumentException {
+    for (ReentrantLock lock : stripes) {
+      lock.lock();
+    }
+    try {
+      current.set(current.get().withEdits(edits));
+    }
+    finally {
+      for (ReentrantLock lock : stripes) {
+        lock.unlock();
+      }
+    }
+  }
+
+  /**
+   * Helper that applies an edit of the events of one shape and publishes the result. The edit is
+   * applied once, holding the shape's stripe; if the current version changes before the result is
+   * published, the shape's new events are carried over to the newer version instead.
+   * @param id unique identifier of the edited shape
+   * @param edit edit that makes the new version from the current one
+   * @throws IllegalArgumentException if id is null, or if the edit throws it
+   */
+  private void editEvents(String id, UnaryOperator<AnimationSnapshot> edit)
+      throws IllegalArgumentException {
+    ReentrantLock lock = stripe(id);
+    lock.lock();
+    try {
+      AnimationSnapshot base = current.get();
+      AnimationSnapshot edited = edit.apply(base);
+      while (!current.compareAndSet(base, edited)) {
+        base = current.get();
+        edited = base.withEventsOf(id, edited);
+      }
+    }
+    finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Helper that applies an edit that adds or removes a shape and publishes the result. Since it
+   * can renumber other shapes, the edit is applied again to the current version until the result
+   * is published.
+   * @param id unique identifier of the added or removed shape
+   * @param edit edit that makes the new version from the current one
+   * @throws IllegalArgumentException if id is null, or if the edit throws it
+   */
+  private void editShapes(String id, UnaryOperator<AnimationSnapshot> edit)
+      throws IllegalArgumentException {
+    ReentrantLock lock = stripe(id);
+    lock.lock();
+    try {
+      AnimationSnapshot base;
+      AnimationSnapshot edited;
+      do {
+        base = current.get();
+        edited = edit.apply(base);
+      } while (!current.compareAndSet(base, edited));
+    }
+    finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Helper that finds the lock of the stripe of the shape with the given id.
+   * @param id unique identifier of the shape
+   * @return the lock of its stripe
+   * @throws IllegalArgumentException if id is null
+   */
+  private ReentrantLock stripe(String id) throws IllegalArgumentException {
+    if (id == null) {
+      throw new IllegalArgumentException("ID cannot be null!");
+    }
+    int h = id.hashCode();
+    return stripes[Math.floorMod(h ^ (h >>> 16), stripes.length)];
+  }
+}
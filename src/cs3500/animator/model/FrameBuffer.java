@@ -0,0 +1,281 @@
+package cs3500.animator.model;
+
+import cs3500.animator.model.shapes.Ellipse;
+import cs3500.animator.model.shapes.IReadOnlyShape;
+import cs3500.animator.model.shapes.Plus;
+import cs3500.animator.model.shapes.Rectangle;
+import cs3500.animator.model.shapes.ShapeType;
+import java.awt.Color;
+import java.awt.geom.Point2D;
+import java.util.Arrays;
+
+/**
+ * Represents a single frame of an animation as parallel arrays of primitive shape states. A
+ * frame buffer is owned by its caller and refilled by
+ * {@link IReadOnlyAnimationModel#sampleTick(int, FrameBuffer)} or
+ * {@link IReadOnlyAnimationModel#sampleTime(double, FrameBuffer)}; its arrays only grow, so
+ * sampling into the same buffer every tick allocates nothing once the buffer has reached the size
+ * of the busiest frame. Holds, for each shape in the frame, the shape's declaration index, name,
+ * type, position, width, height, and packed RGB color.
+ */
+public final class FrameBuffer {
+  private static final int DEFAULT_CAPACITY = 16;
+
+  private int tick;
+  private double time;
+  private int size;
+  private int[] ids;
+  private String[] names;
+  private ShapeType[] types;
+  private double[] xs;
+  private double[] ys;
+  private int[] widths;
+  private int[] heights;
+  private int[] colors;
+  private int[] scratch;
+
+  /**
+   * Constructs an empty {@code FrameBuffer} object with a default capacity.
+   */
+  public FrameBuffer() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Constructs an empty {@code FrameBuffer} object able to hold the given number of shapes
+   * before growing.
+   * @param capacity initial number of shapes
+   * @throws IllegalArgumentException if capacity is negative
+   */
+  public FrameBuffer(int capacity) throws IllegalArgumentException {
+    if (capacity < 0) {
+      throw new IllegalArgumentException("Capacity cannot be negative!");
+    }
+    this.ids = new int[capacity];
+    this.names = new String[capacity];
+    this.types = new ShapeType[capacity];
+    this.xs = new double[capacity];
+    this.ys = new double[capacity];
+    this.widths = new int[capacity];
+    this.heights = new int[capacity];
+    this.colors = new int[capacity];
+    this.scratch = new int[0];
+  }
+
+  /**
+   * Returns the tick this frame was sampled at.
+   * @return the tick of the frame, rounded down if it was sampled between two ticks
+   */
+  public int getTick() {
+    return tick;
+  }
+
+  /**
+   * Returns the time this frame was sampled at.
+   * @return the time of the frame, in ticks
+   */
+  public double getTime() {
+    return time;
+  }
+
+  /**
+   * Returns the number of shapes in this frame.
+   * @return the number of shapes
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the declaration index of the i-th shape of this frame, i.e. its position in the
+   * model's list of shapes.
+   * @param i index of the shape in the frame
+   * @return the declaration index of the shape
+   */
+  public int getId(int i) {
+    return ids[i];
+  }
+
+  /**
+   * Returns the name of the i-th shape of this frame.
+   * @param i index of the shape in the frame
+   * @return the name of the shape
+   */
+  public String getName(int i) {
+    return names[i];
+  }
+
+  /**
+   * Returns the type of the i-th shape of this frame.
+   * @param i index of the shape in the frame
+   * @return the type of the shape
+   */
+  public ShapeType getType(int i) {
+    return types[i];
+  }
+
+  /**
+   * Returns the x-coordinate of the i-th shape of this frame.
+   * @param i index of the shape in the frame
+   * @return the x-coordinate of the shape
+   */
+  public double getX(int i) {
+    return xs[i];
+  }
+
+  /**
+   * Returns the y-coordinate of the i-th shape of this frame.
+   * @param i index of the shape in the frame
+   * @return the y-coordinate of the shape
+   */
+  public double getY(int i) {
+    return ys[i];
+  }
+
+  /**
+   * Returns the width of the i-th shape of this frame.
+   * @param i index of the shape in the frame
+   * @return the width of the shape
+   */
+  public int getWidth(int i) {
+    return widths[i];
+  }
+
+  /**
+   * Returns the height of the i-th shape of this frame.
+   * @param i index of the shape in the frame
+   * @return the height of the shape
+   */
+  public int getHeight(int i) {
+    return heights[i];
+  }
+
+  /**
+   * Returns the color of the i-th shape of this frame, packed as {@code 0xRRGGBB}.
+   * @param i index of the shape in the frame
+   * @return the packed RGB color of the shape
+   */
+  public int getRGB(int i) {
+    return colors[i];
+  }
+
+  /**
+   * Creates a new shape holding the state of the i-th shape of this frame.
+   * @param i index of the shape in the frame
+   * @return the shape at the frame's tick
+   * @throws IllegalArgumentException if the shape type is not supported
+   */
+  public IReadOnlyShape getShape(int i) throws IllegalArgumentException {
+    Point2D posn = new Point2D.Double(xs[i], ys[i]);
+    Color color = new Color(colors[i]);
+    switch (types[i]) {
+      case RECTANGLE:
+        return new Rectangle(names[i], posn, color, widths[i], heights[i]);
+      case ELLIPSE:
+        return new Ellipse(names[i], posn, color, widths[i], heights[i]);
+      case PLUS:
+        return new Plus(names[i], posn, color, widths[i], heights[i]);
+      default:
+        throw new IllegalArgumentException("Unsupported shape type!");
+    }
+  }
+
+  /**
+   * Replaces the contents of this frame with a copy of the given frame.
+   * @param other frame to copy
+   * @throws IllegalArgumentException if other is null
+   */
+  public void copyFrom(FrameBuffer other) throws IllegalArgumentException {
+    if (other == null) {
+      throw new IllegalArgumentException("Frame cannot be null!");
+    }
+    clear(other.time);
+    ensureCapacity(other.size);
+    System.arraycopy(other.ids, 0, ids, 0, other.size);
+    System.arraycopy(other.names, 0, names, 0, other.size);
+    System.arraycopy(other.types, 0, types, 0, other.size);
+    System.arraycopy(other.xs, 0, xs, 0, other.size);
+    System.arraycopy(other.ys, 0, ys, 0, other.size);
+    System.arraycopy(other.widths, 0, widths, 0, other.size);
+    System.arraycopy(other.heights, 0, heights, 0, other.size);
+    System.arraycopy(other.colors, 0, colors, 0, other.size);
+    size = other.size;
+  }
+
+  /**
+   * Empties this frame and sets the tick it represents.
+   * @param tick tick of the new frame
+   */
+  void clear(int tick) {
+    this.tick = tick;
+    this.time = tick;
+    this.size = 0;
+  }
+
+  /**
+   * Empties this frame and sets the time it represents.
+   * @param time time of the new frame, in ticks
+   */
+  void clear(double time) {
+    this.tick = (int) Math.floor(time);
+    this.time = time;
+    this.size = 0;
+  }
+
+  /**
+   * Appends a shape state to this frame, growing the arrays if necessary.
+   * @param id declaration index of the shape
+   * @param name name of the shape
+   * @param type type of the shape
+   * @param x x-coordinate of the shape
+   * @param y y-coordinate of the shape
+   * @param width width of the shape
+   * @param height height of the shape
+   * @param rgb packed RGB color of the shape
+   */
+  void add(int id, String name, ShapeType type, double x, double y, int width, int height,
+      int rgb) {
+    ensureCapacity(size + 1);
+    ids[size] = id;
+    names[size] = name;
+    types[size] = type;
+    xs[size] = x;
+    ys[size] = y;
+    widths[size] = width;
+    heights[size] = height;
+    colors[size] = rgb;
+    size++;
+  }
+
+  /**
+   * Returns a scratch array owned by this frame that holds at least the given number of ints,
+   * used by the model to avoid allocating while searching for active shapes.
+   * @param length minimum length of the array
+   * @return the scratch array
+   */
+  int[] scratch(int length) {
+    if (scratch.length < length) {
+      scratch = new int[Math.max(length, scratch.length * 2)];
+    }
+    return scratch;
+  }
+
+  /**
+   * Grows the arrays of this frame so that they hold at least the given number of shapes.
+   * @param capacity minimum number of shapes
+   */
+  private void ensureCapacity(int capacity) {
+    if (capacity <= ids.length) {
+      return;
+    }
+    int newCapacity = Math.max(capacity, Math.max(DEFAULT_CAPACITY, ids.length * 2));
+    ids = Arrays.copyOf(ids, newCapacity);
+    names = Arrays.copyOf(names, newCapacity);
+    types = Arrays.copyOf(types, newCapacity);
+    xs = Arrays.copyOf(xs, newCapacity);
+    ys = Arrays.copyOf(ys, newCapacity);
+    widths = Arrays.copyOf(widths, newCapacity);
+    heights = Arrays.copyOf(heights, newCapacity);
+    colors = Arrays.copyOf(colors, newCapacity);
+  }
+}
@@ -5,6 +5,7 @@ import cs3500.animator.model.shapes.IShape;
 import cs3500.animator.model.shapes.ShapeType;
 import java.awt.Color;
 import java.awt.geom.Point2D;
+import java.util.function.Consumer;
 
 /**
  * Maintains the state for an animation. Inherits all of the methods defined by the
@@ -108,4 +109,14 @@ public interface IAnimationModel extends IReadOnlyAnimationModel {
    *         of bounds
    */
   void removeEventAtTick(String id, int tick);
+
+  /**
+   * Applies a batch of edits together. The edits are made through the {@code ModelEditor} given
+   * to the function and applied once it returns, checking the events of each edited shape and
+   * updating this model's indexes once rather than after every edit. If any of the edits is
+   * invalid, none is applied.
+   * @param edits function that makes the edits
+   * @throws IllegalArgumentException if edits is null or any of the edits is invalid
+   */
+  void edit(Consumer<ModelEditor> edits) throws IllegalArgumentException;
 }
@@ -26,6 +26,45 @@ public interface IReadOnlyAnimationModel {
    */
   List<IReadOnlyShape> getShapesAtTick(int tick);
 
+  /**
+   * Samples the state of every shape visible at the given tick into the given frame, replacing
+   * its previous contents. Unlike {@link #getShapesAtTick(int)}, sampling creates no new objects
+   * once the frame has grown to the size of the busiest frame, so callers that render every tick
+   * should reuse the same frame.
+   * @param tick the tick to sample at
+   * @param out the frame to write the shape states to
+   * @throws IllegalArgumentException if out is null
+   */
+  void sampleTick(int tick, FrameBuffer out) throws IllegalArgumentException;
+
+  /**
+   * Samples the state of every shape visible at the given time into the given frame, like
+   * {@link #sampleTick(int, FrameBuffer)} but at any point between two ticks, so that views can
+   * show motion more smoothly than the animation's tick rate. The shapes visible are those visible
+   * at the tick before the time, and their states are interpolated between the keyframes around
+   * it. Sampling at a whole tick gives the same frame as {@code sampleTick()}.
+   * @param time the time to sample at, in ticks
+   * @param out the frame to write the shape states to
+   * @throws IllegalArgumentException if out is null or time is not a finite number
+   */
+  void sampleTime(double time, FrameBuffer out) throws IllegalArgumentException;
+
+  /**
+   * Finds the first tick after the given tick at which an event of any shape starts or ends. The
+   * distinct keyframe ticks of the animation are indexed, so this takes logarithmic time.
+   * @param tick tick to search after
+   * @return the next keyframe tick, or -1 if no keyframe comes after the given tick
+   */
+  int nextKeyframeAfter(int tick);
+
+  /**
+   * Finds the last tick before the given tick at which an event of any shape starts or ends. The
+   * distinct keyframe ticks of the animation are indexed, so this takes logarithmic time.
+   * @param tick tick to search before
+   * @return the previous keyframe tick, or -1 if no keyframe comes before the given tick
+   */
+  int previousKeyframeBefore(int tick);
+
   /**
    * Retrieves the shape by id.
    * @param id name of shape to be retrieved
@@ -62,4 +101,11 @@ public interface IReadOnlyAnimationModel {
    * @return the screen dimensions and origin point of this model's animation
    */
   Screen getScreen();
+
+  /**
+   * Returns an immutable snapshot of the animation as it is now. Later edits to this model are
+   * not reflected in the snapshot, which can be read from any thread without locking.
+   * @return the current version of the animation
+   */
+  AnimationSnapshot snapshot();
 }
@@ -0,0 +1,466 @@
+package cs3500.animator.model;
+
+import cs3500.animator.model.events.IEvent;
+import cs3500.animator.model.shapes.ShapeType;
+import java.awt.Color;
+import java.awt.geom.Point2D;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stores the events of a single shape as a chain of keyframes held in parallel primitive arrays
+ * (time, x, y, width, height, and packed ARGB color). Because the events of a shape have no gaps
+ * and the initial state of every event agrees with the final state of the previous one, event i
+ * is exactly the motion from keyframe i to keyframe i + 1, so n events take n + 1 keyframes.
+ * Events are exposed through lightweight {@code IEvent} views over the arrays. A track can be
+ * copied in constant time, sharing its arrays with the original until either is edited.
+ * Invariants:
+ * - Keyframe times are non-decreasing.
+ * - A track holds either no keyframes or at least two.
+ * - Columns shared with views or other tracks are never written below the size they were shared
+ *   at: an append writes past the end only if no other track has claimed that slot first, and
+ *   every other edit copies the columns first.
+ */
+final class KeyframeTrack {
+  private static final int DEFAULT_CAPACITY = 4;
+
+  private Columns columns;
+  private int size;
+
+  /**
+   * Constructs an empty {@code KeyframeTrack} object.
+   */
+  KeyframeTrack() {
+    this.columns = new Columns(0, 0);
+    this.size = 0;
+  }
+
+  /**
+   * Constructs a {@code KeyframeTrack} object holding the same keyframes as the given track. The
+   * keyframes are shared until either track is edited, so this takes constant time.
+   * @param other track to copy
+   */
+  KeyframeTrack(KeyframeTrack other) {
+    this.columns = other.columns;
+    this.size = other.size;
+  }
+
+  /**
+   * Returns the number of keyframes in this track.
+   * @return the number of keyframes
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Returns the number of events (motions between consecutive keyframes) in this track.
+   * @return the number of events
+   */
+  int eventCount() {
+    return Math.max(0, size - 1);
+  }
+
+  /**
+   * Returns the time of the k-th keyframe.
+   * @param k index of the keyframe
+   * @return the time of the keyframe
+   */
+  int getTime(int k) {
+    return columns.times[k];
+  }
+
+  /**
+   * Returns the x-coordinate of the k-th keyframe.
+   * @param k index of the keyframe
+   * @return the x-coordinate of the keyframe
+   */
+  double getX(int k) {
+    return columns.xs[k];
+  }
+
+  /**
+   * Returns the y-coordinate of the k-th keyframe.
+   * @param k index of the keyframe
+   * @return the y-coordinate of the keyframe
+   */
+  double getY(int k) {
+    return columns.ys[k];
+  }
+
+  /**
+   * Returns the width of the k-th keyframe.
+   * @param k index of the keyframe
+   * @return the width of the keyframe
+   */
+  int getWidth(int k) {
+    return columns.widths[k];
+  }
+
+  /**
+   * Returns the height of the k-th keyframe.
+   * @param k index of the keyframe
+   * @return the height of the keyframe
+   */
+  int getHeight(int k) {
+    return columns.heights[k];
+  }
+
+  /**
+   * Returns the packed ARGB color of the k-th keyframe.
+   * @param k index of the keyframe
+   * @return the color of the keyframe
+   */
+  int getColor(int k) {
+    return columns.colors[k];
+  }
+
+  /**
+   * Appends a keyframe to the end of this track.
+   * @param time time of the keyframe
+   * @param x x-coordinate at the keyframe
+   * @param y y-coordinate at the keyframe
+   * @param width width at the keyframe
+   * @param height height at the keyframe
+   * @param rgb packed ARGB color at the keyframe
+   */
+  void append(int time, double x, double y, int width, int height, int rgb) {
+    if (size == columns.times.length || !columns.claim(size)) {
+      columns = columns.copy(Math.max(DEFAULT_CAPACITY, size * 2), size);
+      columns.claim(size);
+    }
+    columns.set(size, time, x, y, width, height, rgb);
+    size++;
+  }
+
+  /**
+   * Inserts a keyframe at the given index, shifting later keyframes back.
+   * @param k index to insert at
+   * @param time time of the keyframe
+   * @param x x-coordinate at the keyframe
+   * @param y y-coordinate at the keyframe
+   * @param width width at the keyframe
+   * @param height height at the keyframe
+   * @param rgb packed ARGB color at the keyframe
+   */
+  void insert(int k, int time, double x, double y, int width, int height, int rgb) {
+    Columns result = new Columns(Math.max(DEFAULT_CAPACITY, size + 1), size + 1);
+    result.copyRange(columns, 0, 0, k);
+    result.copyRange(columns, k, k + 1, size - k);
+    result.set(k, time, x, y, width, height, rgb);
+    columns = result;
+    size++;
+  }
+
+  /**
+   * Removes the keyframe at the given index. If a single keyframe would be left (which describes
+   * no event), the track is emptied.
+   * @param k index of the keyframe to remove
+   */
+  void remove(int k) {
+    if (size <= 2) {
+      clear();
+      return;
+    }
+    Columns result = new Columns(size - 1, size - 1);
+    result.copyRange(columns, 0, 0, k);
+    result.copyRange(columns, k + 1, k, size - k - 1);
+    columns = result;
+    size--;
+  }
+
+  /**
+   * Removes every keyframe of this track.
+   */
+  void clear() {
+    columns = new Columns(0, 0);
+    size = 0;
+  }
+
+  /**
+   * Returns the index of the event that is active at the given tick, i.e. the event whose
+   * interval [start, end) contains the tick.
+   * @param tick tick to search at
+   * @return the index of the active event, or -1 if no event is active at the tick
+   */
+  int eventAt(int tick) {
+    int events = eventCount();
+    int idx = TimelineIndex.lastStartAtOrBefore(columns.times, events, tick);
+    if (idx < 0 || tick >= columns.times[idx + 1]) {
+      return -1;
+    }
+    return idx;
+  }
+
+  /**
+   * Returns the index of the first event equal to the given event.
+   * @param event event to search for
+   * @return the index of the event, or -1 if this track holds no such event
+   */
+  int indexOf(IEvent event) {
+    int events = eventCount();
+    int start = event.getStartTime();
+    int k = TimelineIndex.lastStartAtOrBefore(columns.times, events, start - 1) + 1;
+    for (; k < events && columns.times[k] == start; k++) {
+      if (matches(columns, k, event)) {
+        return k;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Appends the state of this track at the given time to the given frame, if one of its events
+   * is active at that time. Values are interpolated linearly between the keyframes around the
+   * time and rounded to whole numbers. Events start and end on whole ticks, so the event active
+   * at a time between two ticks is the one active at the earlier tick.
+   * @param tick time to sample at, in ticks, which may fall between two ticks
+   * @param position declaration index of the shape
+   * @param name name of the shape
+   * @param type type of the shape
+   * @param out frame to append to
+   * @return true if a state was appended, false if no event is active at the time
+   */
+  boolean sample(double tick, int position, String name, ShapeType type, FrameBuffer out) {
+    int idx = eventAt((int) Math.floor(tick));
+    if (idx < 0) {
+      return false;
+    }
+    Columns c = columns;
+    int start = c.times[idx];
+    int end = c.times[idx + 1];
+    int from = c.colors[idx];
+    int to = c.colors[idx + 1];
+    int r = (int) valueAtTick(tick, start, end, (from >> 16) & 0xFF, (to >> 16) & 0xFF);
+    int g = (int) valueAtTick(tick, start, end, (from >> 8) & 0xFF, (to >> 8) & 0xFF);
+    int b = (int) valueAtTick(tick, start, end, from & 0xFF, to & 0xFF);
+    out.add(position, name, type,
+        valueAtTick(tick, start, end, c.xs[idx], c.xs[idx + 1]),
+        valueAtTick(tick, start, end, c.ys[idx], c.ys[idx + 1]),
+        (int) valueAtTick(tick, start, end, c.widths[idx], c.widths[idx + 1]),
+        (int) valueAtTick(tick, start, end, c.heights[idx], c.heights[idx + 1]),
+        (r << 16) | (g << 8) | b);
+    return true;
+  }
+
+  /**
+   * Determines the value (in the range [oldValue,newValue]) that occurs at the given time tick,
+   * rounded to the nearest whole number.
+   * @param tick tick to get value at, which may fall between two ticks
+   * @param startTime start time of event
+   * @param endTime end time of event
+   * @param oldValue original value
+   * @param newValue final value
+   * @return intermediary value at time tick
+   */
+  static double valueAtTick(double tick, int startTime, int endTime,
+      double oldValue, double newValue) {
+    double deltaValue = newValue - oldValue;
+    double percent = (tick - startTime) / (double) (endTime - startTime);
+    double result = oldValue + deltaValue * percent;
+    return Math.round((result * 100) / 100.0);
+  }
+
+  /**
+   * Returns an unmodifiable list of the events of this track as they are now. Later edits to the
+   * track are not reflected in the list.
+   * @return the events of this track
+   */
+  List<IEvent> events() {
+    return new EventList(columns, eventCount());
+  }
+
+  /**
+   * Determines whether the k-th event of the given columns has the same times and states as the
+   * given event.
+   * @param c columns to read
+   * @param k index of the event
+   * @param event event to compare against
+   * @return true if the events are equal, false otherwise
+   */
+  private static boolean matches(Columns c, int k, IEvent event) {
+    return c.times[k] == event.getStartTime()
+        && c.times[k + 1] == event.getEndTime()
+        && c.widths[k] == event.getStartWidth()
+        && c.heights[k] == event.getStartHeight()
+        && c.widths[k + 1] == event.getEndWidth()
+        && c.heights[k + 1] == event.getEndHeight()
+        && new Point2D.Double(c.xs[k], c.ys[k]).equals(event.getStartPosn())
+        && new Point2D.Double(c.xs[k + 1], c.ys[k + 1]).equals(event.getEndPosn())
+        && c.colors[k] == event.getStartColor().getRGB()
+        && c.colors[k + 1] == event.getEndColor().getRGB();
+  }
+
+  /**
+   * The parallel arrays holding the keyframes of a track, along with the number of slots that
+   * tracks sharing the arrays have written.
+   */
+  private static final class Columns {
+    private final int[] times;
+    private final double[] xs;
+    private final double[] ys;
+    private final int[] widths;
+    private final int[] heights;
+    private final int[] colors;
+    private final AtomicInteger claimed;
+
+    private Columns(int capacity, int claimed) {
+      times = new int[capacity];
+      xs = new double[capacity];
+      ys = new double[capacity];
+      widths = new int[capacity];
+      heights = new int[capacity];
+      colors = new int[capacity];
+      this.claimed = new AtomicInteger(claimed);
+    }
+
+    private Columns copy(int capacity, int length) {
+      Columns result = new Columns(capacity, length);
+      result.copyRange(this, 0, 0, length);
+      return result;
+    }
+
+    /**
+     * Claims the given slot for a track appending to these columns, which it may do only if no
+     * track has written that slot or any after it.
+     * @param k slot to claim, which is the size of the appending track
+     * @return true if the slot was claimed, false if another track already wrote it
+     */
+    private boolean claim(int k) {
+      return claimed.compareAndSet(k, k + 1);
+    }
+
+    private void copyRange(Columns from, int fromIdx, int toIdx, int length) {
+      System.arraycopy(from.times, fromIdx, times, toIdx, length);
+      System.arraycopy(from.xs, fromIdx, xs, toIdx, length);
+      System.arraycopy(from.ys, fromIdx, ys, toIdx, length);
+      System.arraycopy(from.widths, fromIdx, widths, toIdx, length);
+      System.arraycopy(from.heights, fromIdx, heights, toIdx, length);
+      System.arraycopy(from.colors, fromIdx, colors, toIdx, length);
+    }
+
+    private void set(int k, int time, double x, double y, int width, int height, int rgb) {
+      times[k] = time;
+      xs[k] = x;
+      ys[k] = y;
+      widths[k] = width;
+      heights[k] = height;
+      colors[k] = rgb;
+    }
+  }
+
+  /**
+   * An unmodifiable list of the events held by a set of columns.
+   */
+  private static final class EventList extends AbstractList<IEvent> implements RandomAccess {
+    private final Columns columns;
+    private final int size;
+
+    private EventList(Columns columns, int size) {
+      this.columns = columns;
+      this.size = size;
+    }
+
+    @Override
+    public IEvent get(int index) {
+      Objects.checkIndex(index, size);
+      return new KeyframeEvent(columns, index);
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+  }
+
+  /**
+   * An immutable view of the event between keyframes k and k + 1 of a set of columns. Equal to
+   * any other {@code IEvent} with the same times and states.
+   */
+  private static final class KeyframeEvent implements IEvent {
+    private final Columns columns;
+    private final int k;
+
+    private KeyframeEvent(Columns columns, int k) {
+      this.columns = columns;
+      this.k = k;
+    }
+
+    @Override
+    public int getStartTime() {
+      return columns.times[k];
+    }
+
+    @Override
+    public Point2D getStartPosn() {
+      return new Point2D.Double(columns.xs[k], columns.ys[k]);
+    }
+
+    @Override
+    public Color getStartColor() {
+      return new Color(columns.colors[k], true);
+    }
+
+    @Override
+    public int getStartWidth() {
+      return columns.widths[k];
+    }
+
+    @Override
+    public int getStartHeight() {
+      return columns.heights[k];
+    }
+
+    @Override
+    public int getEndTime() {
+      return columns.times[k + 1];
+    }
+
+    @Override
+    public Point2D getEndPosn() {
+      return new Point2D.Double(columns.xs[k + 1], columns.ys[k + 1]);
+    }
+
+    @Override
+    public Color getEndColor() {
+      return new Color(columns.colors[k + 1], true);
+    }
+
+    @Override
+    public int getEndWidth() {
+      return columns.widths[k + 1];
+    }
+
+    @Override
+    public int getEndHeight() {
+      return columns.heights[k + 1];
+    }
+
+    @Override
+    public IEvent copy() {
+      return this;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj == this) {
+        return true;
+      }
+      if (! (obj instanceof IEvent)) {
+        return false;
+      }
+      return matches(columns, k, (IEvent) obj);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(getStartTime(), getStartPosn(), getStartColor(), getStartWidth(),
+          getStartHeight(), getEndTime(), getEndPosn(), getEndColor(), getEndWidth(),
+          getEndHeight());
+    }
+  }
+}
@@ -0,0 +1,112 @@
+package cs3500.animator.model;
+
+import cs3500.animator.model.events.IEvent;
+import cs3500.animator.model.shapes.IShape;
+import cs3500.animator.model.shapes.ShapeType;
+import java.awt.Color;
+import java.awt.geom.Point2D;
+
+/**
+ * Collects a batch of edits to an animation, which are applied together when the batch is
+ * committed by {@code IAnimationModel.edit()}. Arguments and the existence of shapes are checked
+ * as each edit is made; the order and continuity of each shape's events are checked once, when
+ * the batch is committed. The edits of each shape are applied in the order they are made, as if
+ * each were made on the model in turn. They are cheapest made in the order the batch applies
+ * them in one pass: first the removals of events, then the added events, and last the inserted
+ * frames; an edit made out of that order costs one more pass over the shape's keyframes, and
+ * checks the order and continuity of the shape's events right away.
+ */
+public interface ModelEditor {
+
+  /**
+   * Adds the given shape after all other shapes.
+   * @param shape to be added to the list of shapes
+   * @throws IllegalArgumentException if the shape is null or a shape with its id already exists
+   */
+  void addShape(IShape shape) throws IllegalArgumentException;
+
+  /**
+   * Adds a shape with the given parameters after all other shapes.
+   * @param id unique identifier
+   * @param type shape type
+   * @param posn initial position of shape
+   * @param color color of shape
+   * @param width width of shape
+   * @param height height of shape
+   * @throws IllegalArgumentException if width or height are negative, id, type, posn, or color
+   *         are null, or if shape with given id already exists
+   */
+  void addShape(String id, ShapeType type, Point2D posn, Color color, int width, int height)
+      throws IllegalArgumentException;
+
+  /**
+   * Adds the given event after the events of the shape with the given id.
+   * @param id shape to add event to
+   * @param event event to be added
+   * @throws IllegalArgumentException if event or id is null, or if no shape has the given id
+   */
+  void addEvent(String id, IEvent event) throws IllegalArgumentException;
+
+  /**
+   * Adds an event with the given parameters after the events of the shape with the given id.
+   * @param id unique identifier
+   * @param startTime starting time of event
+   * @param endTime ending time of event
+   * @param endPosn final position of shape after event
+   * @param endColor final color of shape after event
+   * @param endWidth final width of shape after event
+   * @param endHeight final height of shape after event
+   * @throws IllegalArgumentException if id, endPosn, or endColor are null, or if endWidth,
+   *         endHeight, startTime, or endTime are negative, or if startTime is greater than
+   *         endTime, or if no shape has the given id
+   */
+  void addEvent(String id, int startTime, int endTime, Point2D endPosn,
+      Color endColor, int endWidth, int endHeight) throws IllegalArgumentException;
+
+  /**
+   * Splits the event of the shape with the given id that contains the given tick in two at that
+   * tick, with the given state in between.
+   * @param id unique shape identifier
+   * @param tick tick of frame
+   * @param posn position of shape at the given tick
+   * @param color color of shape at the given tick
+   * @param width width of shape at given tick
+   * @param height height of shape at given tick
+   * @throws IllegalArgumentException if id, posn, or color are null, or if width or height are
+   *         negative, or if no shape has the given id
+   */
+  void insertFrame(String id, int tick, Point2D posn, Color color, int width, int height)
+      throws IllegalArgumentException;
+
+  /**
+   * Removes the given shape, if it exists.
+   * @param shape shape to be removed
+   * @throws IllegalArgumentException if shape is null
+   */
+  void removeShape(IShape shape) throws IllegalArgumentException;
+
+  /**
+   * Removes the shape with the given id, if it exists.
+   * @param id name of shape to be deleted
+   * @throws IllegalArgumentException if id is null
+   */
+  void removeShapeByID(String id) throws IllegalArgumentException;
+
+  /**
+   * Removes the given event of the shape with the given id.
+   * @param id unique identifier
+   * @param event event to remove
+   * @throws IllegalArgumentException if the id or event is null, shape associated with id doesn't
+   *         exist, or if the shape has no such event once the edits before it are made
+   */
+  void removeEvent(String id, IEvent event) throws IllegalArgumentException;
+
+  /**
+   * Removes the events of the shape with the given id that contain the given tick.
+   * @param id unique identifier
+   * @param tick tick in event to be removed
+   * @throws IllegalArgumentException if the id is null, id doesn't exist, or if tick falls out
+   *         of bounds of the events the shape has once the edits before it are made
+   */
+  void removeEventAtTick(String id, int tick) throws IllegalArgumentException;
+}
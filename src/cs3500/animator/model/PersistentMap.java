@@ -0,0 +1,162 @@
+package cs3500.animator.model;
+
+/**
+ * An immutable hash map that is changed by making new versions of it. Entries are stored in a
+ * hash array mapped trie: every node has up to 32 children, indexed by successive 5-bit groups of
+ * a key's hash, and stores only the children it has, packed behind a bitmap. Putting an entry
+ * copies only the path from the root to the entry, so a new version takes O(log32 n) time and
+ * space and shares every other node with the old one, and finding a key takes O(log32 n) time.
+ * Keys whose hashes are fully equal share a node at the bottom of the trie that is searched
+ * linearly. Values cannot be null.
+ * @param <K> type of the keys
+ * @param <V> type of the values
+ */
+final class PersistentMap<K, V> {
+  private static final int BITS = 5;
+  private static final int MASK = (1 << BITS) - 1;
+  private static final int MAX_SHIFT = 30;
+  private static final PersistentMap<?, ?> EMPTY = new PersistentMap<>(Node.EMPTY, 0);
+
+  private final Node root;
+  private final int size;
+
+  /**
+   * Constructs a {@code PersistentMap} object.
+   * @param root root node of the trie
+   * @param size number of entries
+   */
+  private PersistentMap(Node root, int size) {
+    this.root = root;
+    this.size = size;
+  }
+
+  /**
+   * Returns the map with no entries.
+   * @param <K> type of the keys
+   * @param <V> type of the values
+   * @return the empty map
+   */
+  @SuppressWarnings("unchecked")
+  static <K, V> PersistentMap<K, V> empty() {
+    return (PersistentMap<K, V>) EMPTY;
+  }
+
+  /**
+   * Returns the number of entries in this map.
+   * @return the number of entries
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Returns the value of the given key.
+   * @param key key to look up
+   * @return the value of the key, or null if this map does not contain it
+   */
+  @SuppressWarnings("unchecked")
+  V get(Object key) {
+    return (V) root.find(key, hash(key), 0);
+  }
+
+  /**
+   * Returns a version of this map in which the given key has the given value.
+   * @param key key to put
+   * @param value value of the key, which cannot be null
+   * @return the new version
+   */
+  PersistentMap<K, V> put(K key, V value) {
+    int added = get(key) == null ? 1 : 0;
+    return new PersistentMap<>(root.put(key, hash(key), value, 0), size + added);
+  }
+
+  /**
+   * Helper that spreads the high bits of a key's hash code into the low bits, which index the
+   * first levels of the trie.
+   * @param key key to hash
+   * @return the hash of the key
+   */
+  private static int hash(Object key) {
+    int h = key.hashCode();
+    return h ^ (h >>> 16);
+  }
+
+  /**
+   * A node of the trie. Its array holds a pair of slots for every child: a key and its value for
+   * an entry, or null and the node below for a subtrie. Below the last level of hash bits, the
+   * bitmap is unused and the array holds the colliding entries in no particular order.
+   */
+  private static final class Node {
+    private static final Node EMPTY = new Node(0, new Object[0]);
+
+    private final int bitmap;
+    private final Object[] array;
+
+    private Node(int bitmap, Object[] array) {
+      this.bitmap = bitmap;
+      this.array = array;
+    }
+
+    private Object find(Object key, int hash, int shift) {
+      if (shift > MAX_SHIFT) {
+        for (int i = 0; i < array.length; i += 2) {
+          if (key.equals(array[i])) {
+            return array[i + 1];
+          }
+        }
+        return null;
+      }
+      int bit = 1 << ((hash >>> shift) & MASK);
+      if ((bitmap & bit) == 0) {
+        return null;
+      }
+      int i = 2 * Integer.bitCount(bitmap & (bit - 1));
+      if (array[i] == null) {
+        return ((Node) array[i + 1]).find(key, hash, shift + BITS);
+      }
+      return key.equals(array[i]) ? array[i + 1] : null;
+    }
+
+    private Node put(Object key, int hash, Object value, int shift) {
+      if (shift > MAX_SHIFT) {
+        for (int i = 0; i < array.length; i += 2) {
+          if (key.equals(array[i])) {
+            Object[] result = array.clone();
+            result[i + 1] = value;
+            return new Node(0, result);
+          }
+        }
+        return new Node(0, inserted(array, array.length, key, value));
+      }
+      int bit = 1 << ((hash >>> shift) & MASK);
+      int i = 2 * Integer.bitCount(bitmap & (bit - 1));
+      if ((bitmap & bit) == 0) {
+        return new Node(bitmap | bit, inserted(array, i, key, value));
+      }
+      Object[] result = array.clone();
+      Object existing = array[i];
+      if (existing == null) {
+        result[i + 1] = ((Node) array[i + 1]).put(key, hash, value, shift + BITS);
+      }
+      else if (key.equals(existing)) {
+        result[i + 1] = value;
+      }
+      else {
+        // two keys share this slot, so both move down into a new subtrie
+        result[i] = null;
+        result[i + 1] = EMPTY.put(existing, hash(existing), array[i + 1], shift + BITS)
+            .put(key, hash, value, shift + BITS);
+      }
+      return new Node(bitmap, result);
+    }
+
+    private static Object[] inserted(Object[] array, int i, Object key, Object value) {
+      Object[] result = new Object[array.length + 2];
+      System.arraycopy(array, 0, result, 0, i);
+      result[i] = key;
+      result[i + 1] = value;
+      System.arraycopy(array, i, result, i + 2, array.length - i);
+      return result;
+    }
+  }
+}
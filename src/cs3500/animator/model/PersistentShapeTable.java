@@ -0,0 +1,313 @@
+package cs3500.animator.model;
+
+import cs3500.animator.model.events.IEvent;
+import cs3500.animator.model.shapes.IReadOnlyShape;
+import cs3500.animator.model.shapes.IShape;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * An immutable version of a {@code ShapeTable}: the shapes of an animation and their keyframe
+ * tracks, in declaration order and indexed by name, where every edit makes a new version. Shapes
+ * are kept in a {@code PersistentVector} by handle (position in declaration order) and their
+ * handles in a {@code PersistentMap} by name, so adding a shape or replacing a track shares all
+ * but O(log n) nodes with the previous version. Removing a shape renumbers the shapes after it,
+ * so it builds a new table in O(n log n) time. The lists and maps handed out are read-only views
+ * of a version, made in constant time.
+ * Invariants:
+ * - No two shapes have the same name.
+ * - The handles of the shapes are 0 to size() - 1, in declaration order.
+ * - The tracks of a version are never edited; edits are made to copies of them.
+ */
+final class PersistentShapeTable {
+  private static final PersistentShapeTable EMPTY =
+      new PersistentShapeTable(PersistentVector.empty(), PersistentMap.empty());
+
+  private final PersistentVector<Entry> entries;
+  private final PersistentMap<String, Integer> handles;
+
+  /**
+   * Constructs a {@code PersistentShapeTable} object.
+   * @param entries shapes and their tracks by handle
+   * @param handles handles by shape name
+   */
+  private PersistentShapeTable(PersistentVector<Entry> entries,
+      PersistentMap<String, Integer> handles) {
+    this.entries = entries;
+    this.handles = handles;
+  }
+
+  /**
+   * Returns the table with no shapes.
+   * @return the empty table
+   */
+  static PersistentShapeTable empty() {
+    return EMPTY;
+  }
+
+  /**
+   * Returns a table holding the shapes of the given table, with copies of their tracks.
+   * @param table table to copy
+   * @return the new table
+   */
+  static PersistentShapeTable of(ShapeTable table) {
+    PersistentShapeTable result = EMPTY;
+    for (int i = 0; i < table.size(); i++) {
+      result = result.with(table.shape(i), new KeyframeTrack(table.track(i)));
+    }
+    return result;
+  }
+
+  /**
+   * Returns the number of shapes in this table.
+   * @return the number of shapes
+   */
+  int size() {
+    return entries.size();
+  }
+
+  /**
+   * Returns the handle of the shape with the given name.
+   * @param id name of the shape
+   * @return the shape's handle, or -1 if there is no such shape
+   */
+  int handle(String id) {
+    Integer handle = handles.get(id);
+    return handle == null ? -1 : handle;
+  }
+
+  /**
+   * Returns the shape with the given name.
+   * @param id name of the shape
+   * @return the shape, or null if there is none
+   */
+  IShape shape(String id) {
+    int handle = handle(id);
+    return handle < 0 ? null : shape(handle);
+  }
+
+  /**
+   * Returns the keyframe track of the shape with the given name.
+   * @param id name of the shape
+   * @return the shape's track, or null if there is no such shape
+   */
+  KeyframeTrack track(String id) {
+    int handle = handle(id);
+    return handle < 0 ? null : track(handle);
+  }
+
+  /**
+   * Returns the shape with the given handle.
+   * @param handle position of the shape in declaration order
+   * @return the shape
+   */
+  IShape shape(int handle) {
+    return entries.get(handle).shape;
+  }
+
+  /**
+   * Returns the keyframe track of the shape with the given handle.
+   * @param handle position of the shape in declaration order
+   * @return the shape's track
+   */
+  KeyframeTrack track(int handle) {
+    return entries.get(handle).track;
+  }
+
+  /**
+   * Returns a version of this table with the given shape added after all other shapes, with an
+   * empty keyframe track.
+   * @param shape shape to add
+   * @return the new version
+   * @throws IllegalArgumentException if a shape with the same name already exists
+   */
+  PersistentShapeTable with(IShape shape) throws IllegalArgumentException {
+    if (handles.get(shape.getName()) != null) {
+      throw new IllegalArgumentException("Cannot have duplicate shapes!");
+    }
+    return with(shape, new KeyframeTrack());
+  }
+
+  /**
+   * Returns a version of this table in which the shape with the given handle has the given track.
+   * @param handle position of the shape in declaration order
+   * @param track the new track, which must not be edited afterwards
+   * @return the new version
+   */
+  PersistentShapeTable with(int handle, KeyframeTrack track) {
+    Entry entry = entries.get(handle);
+    return new PersistentShapeTable(entries.set(handle, new Entry(entry.shape, track)), handles);
+  }
+
+  /**
+   * Returns a version of this table without the shape with the given name. The handles of the
+   * shapes declared after it are shifted down by one.
+   * @param id name of the shape
+   * @return the new version, or this table if there is no such shape
+   */
+  PersistentShapeTable without(String id) {
+    int removed = handle(id);
+    if (removed < 0) {
+      return this;
+    }
+    PersistentShapeTable result = EMPTY;
+    for (int i = 0; i < size(); i++) {
+      if (i != removed) {
+        result = result.with(shape(i), track(i));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns a version of this table without the shapes with the given names, built in a single
+   * pass. The shapes left keep their declaration order.
+   * @param ids names of the shapes
+   * @return the new version, or this table if there are no such shapes
+   */
+  PersistentShapeTable without(Set<String> ids) {
+    if (ids.isEmpty()) {
+      return this;
+    }
+    PersistentShapeTable result = EMPTY;
+    for (int i = 0; i < size(); i++) {
+      if (!ids.contains(shape(i).getName())) {
+        result = result.with(shape(i), track(i));
+      }
+    }
+    return result.size() == size() ? this : result;
+  }
+
+  /**
+   * Returns a read-only view of the shapes of this version, in declaration order.
+   * @return the shapes
+   */
+  List<IReadOnlyShape> shapes() {
+    return new ShapeList(entries);
+  }
+
+  /**
+   * Returns a read-only view of the events of the shapes of this version, by shape name, in
+   * declaration order.
+   * @return the events of every shape
+   */
+  Map<String, List<IEvent>> events() {
+    return new EventMap(this);
+  }
+
+  /**
+   * Helper that adds a shape with the given track after all other shapes.
+   * @param shape shape to add
+   * @param track track of the shape
+   * @return the new version
+   */
+  private PersistentShapeTable with(IShape shape, KeyframeTrack track) {
+    return new PersistentShapeTable(entries.append(new Entry(shape, track)),
+        handles.put(shape.getName(), entries.size()));
+  }
+
+  /**
+   * A shape together with its keyframe track.
+   */
+  private static final class Entry {
+    private final IShape shape;
+    private final KeyframeTrack track;
+
+    private Entry(IShape shape, KeyframeTrack track) {
+      this.shape = shape;
+      this.track = track;
+    }
+  }
+
+  /**
+   * A read-only list of the shapes of a version.
+   */
+  private static final class ShapeList extends AbstractList<IReadOnlyShape>
+      implements RandomAccess {
+    private final PersistentVector<Entry> entries;
+
+    private ShapeList(PersistentVector<Entry> entries) {
+      this.entries = entries;
+    }
+
+    @Override
+    public IReadOnlyShape get(int index) {
+      return entries.get(index).shape;
+    }
+
+    @Override
+    public int size() {
+      return entries.size();
+    }
+  }
+
+  /**
+   * A read-only map from the names of the shapes of a version to their events. Looking up a
+   * shape goes through the table's index of names rather than the entries.
+   */
+  private static final class EventMap extends AbstractMap<String, List<IEvent>> {
+    private final PersistentShapeTable table;
+
+    private EventMap(PersistentShapeTable table) {
+      this.table = table;
+    }
+
+    @Override
+    public List<IEvent> get(Object key) {
+      if (!(key instanceof String)) {
+        return null;
+      }
+      KeyframeTrack track = table.track((String) key);
+      return track == null ? null : track.events();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return key instanceof String && table.handle((String) key) >= 0;
+    }
+
+    @Override
+    public int size() {
+      return table.size();
+    }
+
+    @Override
+    public Set<Map.Entry<String, List<IEvent>>> entrySet() {
+      return new AbstractSet<Map.Entry<String, List<IEvent>>>() {
+        @Override
+        public Iterator<Map.Entry<String, List<IEvent>>> iterator() {
+          return new Iterator<Map.Entry<String, List<IEvent>>>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+              return next < table.size();
+            }
+
+            @Override
+            public Map.Entry<String, List<IEvent>> next() {
+              if (!hasNext()) {
+                throw new NoSuchElementException();
+              }
+              int handle = next++;
+              return new SimpleImmutableEntry<>(table.shape(handle).getName(),
+                  table.track(handle).events());
+            }
+          };
+        }
+
+        @Override
+        public int size() {
+          return table.size();
+        }
+      };
+    }
+  }
+}
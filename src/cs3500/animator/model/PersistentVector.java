@@ -0,0 +1,118 @@
+package cs3500.animator.model;
+
+import java.util.Objects;
+
+/**
+ * An immutable list that is changed by making new versions of it. Values are stored in the leaves
+ * of a trie in which every node has 32 children, indexed by successive 5-bit groups of a value's
+ * position. Setting or appending a value copies only the path from the root to its leaf, so a new
+ * version takes O(log32 n) time and space and shares every other node with the old one, and
+ * reading a value takes O(log32 n) time.
+ * @param <T> type of the values
+ */
+final class PersistentVector<T> {
+  private static final int BITS = 5;
+  private static final int WIDTH = 1 << BITS;
+  private static final int MASK = WIDTH - 1;
+  private static final PersistentVector<?> EMPTY = new PersistentVector<>(0, 0, new Object[WIDTH]);
+
+  private final int size;
+  private final int shift;
+  private final Object[] root;
+
+  /**
+   * Constructs a {@code PersistentVector} object.
+   * @param size number of values
+   * @param shift number of bits of a position consumed above the leaves
+   * @param root root node of the trie
+   */
+  private PersistentVector(int size, int shift, Object[] root) {
+    this.size = size;
+    this.shift = shift;
+    this.root = root;
+  }
+
+  /**
+   * Returns the vector with no values.
+   * @param <T> type of the values
+   * @return the empty vector
+   */
+  @SuppressWarnings("unchecked")
+  static <T> PersistentVector<T> empty() {
+    return (PersistentVector<T>) EMPTY;
+  }
+
+  /**
+   * Returns the number of values in this vector.
+   * @return the number of values
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Returns the value at the given position.
+   * @param index position of the value
+   * @return the value
+   * @throws IndexOutOfBoundsException if the position is not in this vector
+   */
+  @SuppressWarnings("unchecked")
+  T get(int index) {
+    Objects.checkIndex(index, size);
+    Object[] node = root;
+    for (int level = shift; level > 0; level -= BITS) {
+      node = (Object[]) node[(index >>> level) & MASK];
+    }
+    return (T) node[index & MASK];
+  }
+
+  /**
+   * Returns a version of this vector with the value at the given position replaced.
+   * @param index position of the value
+   * @param value new value
+   * @return the new version
+   * @throws IndexOutOfBoundsException if the position is not in this vector
+   */
+  PersistentVector<T> set(int index, T value) {
+    Objects.checkIndex(index, size);
+    return new PersistentVector<>(size, shift, setIn(root, shift, index, value));
+  }
+
+  /**
+   * Returns a version of this vector with the given value added after every other value. The
+   * trie grows a level when its root is full.
+   * @param value value to add
+   * @return the new version
+   */
+  PersistentVector<T> append(T value) {
+    Object[] node = root;
+    int level = shift;
+    if (size == (WIDTH << shift)) {
+      node = new Object[WIDTH];
+      node[0] = root;
+      level += BITS;
+    }
+    return new PersistentVector<>(size + 1, level, setIn(node, level, size, value));
+  }
+
+  /**
+   * Helper that copies the path from the given node to the leaf holding the given position, with
+   * the value at that position replaced. Nodes missing from the path are created.
+   * @param node node to copy, or null if it does not exist yet
+   * @param level number of bits of the position consumed above the node's children
+   * @param index position of the value
+   * @param value new value
+   * @return the copied node
+   */
+  private static Object[] setIn(Object[] node, int level, int index, Object value) {
+    Object[] result = node == null ? new Object[WIDTH] : node.clone();
+    if (level == 0) {
+      result[index & MASK] = value;
+    }
+    else {
+      int slot = (index >>> level) & MASK;
+      result[slot] = setIn((Object[]) result[slot], level - BITS, index, value);
+    }
+    return result;
+  }
+}
@@ -0,0 +1,96 @@
+package cs3500.animator.model;
+
+import cs3500.animator.model.shapes.IShape;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Holds the shapes of an animation together with their keyframe tracks, in declaration order and
+ * indexed by name, so that a shape's track is found in constant time. Every shape also has a dense
+ * integer handle, its position in declaration order, through which shapes and tracks can be read
+ * without hashing. It is the mutable table in which a builder collects the shapes of an animation;
+ * models keep theirs in a {@code PersistentShapeTable}.
+ * Invariants:
+ * - No two shapes have the same name.
+ * - The handles of the shapes are 0 to size() - 1, in declaration order.
+ */
+final class ShapeTable {
+  private static final int DEFAULT_CAPACITY = 16;
+
+  private final HashMap<String, Entry> entries;
+  private Entry[] handles;
+
+  /**
+   * Constructs an empty {@code ShapeTable} object.
+   */
+  ShapeTable() {
+    this.entries = new HashMap<>();
+    this.handles = new Entry[DEFAULT_CAPACITY];
+  }
+
+  /**
+   * Returns the number of shapes in this table.
+   * @return the number of shapes
+   */
+  int size() {
+    return entries.size();
+  }
+
+  /**
+   * Returns the keyframe track of the shape with the given name.
+   * @param id name of the shape
+   * @return the shape's track, or null if there is no such shape
+   */
+  KeyframeTrack track(String id) {
+    Entry entry = entries.get(id);
+    return entry == null ? null : entry.track;
+  }
+
+  /**
+   * Returns the shape with the given handle.
+   * @param handle position of the shape in declaration order
+   * @return the shape
+   */
+  IShape shape(int handle) {
+    return handles[handle].shape;
+  }
+
+  /**
+   * Returns the keyframe track of the shape with the given handle.
+   * @param handle position of the shape in declaration order
+   * @return the shape's track
+   */
+  KeyframeTrack track(int handle) {
+    return handles[handle].track;
+  }
+
+  /**
+   * Adds a shape with an empty keyframe track after all other shapes.
+   * @param shape shape to add
+   * @throws IllegalArgumentException if a shape with the same name already exists
+   */
+  void add(IShape shape) throws IllegalArgumentException {
+    Entry entry = new Entry(shape, new KeyframeTrack());
+    if (entries.putIfAbsent(shape.getName(), entry) != null) {
+      throw new IllegalArgumentException("Cannot have duplicate shapes!");
+    }
+    int handle = entries.size() - 1;
+    if (handle == handles.length) {
+      handles = Arrays.copyOf(handles, handles.length * 2);
+    }
+    handles[handle] = entry;
+  }
+
+  /**
+   * A shape together with its keyframe track.
+   */
+  private static final class Entry {
+    private final IShape shape;
+    private final KeyframeTrack track;
+
+    private Entry(IShape shape, KeyframeTrack track) {
+      this.shape = shape;
+      this.track = track;
+    }
+  }
+}
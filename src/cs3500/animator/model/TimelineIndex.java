@@ -0,0 +1,475 @@
+package cs3500.animator.model;
+
+import java.util.Arrays;
+
+/**
+ * Indexes the lifespans of the shapes of an animation so that the shapes that are active at a
+ * given tick can be found without scanning the keyframes of every shape. Holds a search tree over
+ * the lifespans of all shapes, ordered by start tick and keeping the latest end tick of every
+ * subtree, and a search tree of the distinct ticks at which any shape has a keyframe, with the
+ * number of keyframes at each. Both are persistent treaps: changing the track of one shape makes
+ * a new index that shares all but O(log n) nodes per changed entry with the old one, so a new
+ * version of an animation updates the index of the version it was made from instead of building
+ * its own. Each tree is built the first time it is queried, if the version it would be updated
+ * from had not built it yet. Removing a shape renumbers the shapes after it, so the lifespan tree
+ * is then built again.
+ */
+final class TimelineIndex {
+  // marks a tree that has not been built yet, since null is the empty tree
+  private static final Node UNBUILT = new Node(0, 0, null, null);
+
+  private volatile Node lifespans;
+  private volatile Node keyframes;
+
+  /**
+   * Constructs a {@code TimelineIndex} object whose trees are built when first queried.
+   */
+  TimelineIndex() {
+    this(UNBUILT, UNBUILT);
+  }
+
+  /**
+   * Constructs a {@code TimelineIndex} object with the given trees.
+   * @param lifespans tree of lifespans, or {@code UNBUILT}
+   * @param keyframes tree of keyframe ticks, or {@code UNBUILT}
+   */
+  private TimelineIndex(Node lifespans, Node keyframes) {
+    this.lifespans = lifespans;
+    this.keyframes = keyframes;
+  }
+
+  /**
+   * Finds the handles (positions in declaration order) of every shape whose lifespan contains the
+   * given tick, in increasing order.
+   * @param tick tick to search at
+   * @param shapes the shapes of the animation and their keyframe tracks
+   * @param out array to write the handles to, at least as long as the number of shapes
+   * @return the number of handles written
+   */
+  int activeShapes(int tick, PersistentShapeTable shapes, int[] out) {
+    Node current = lifespans;
+    if (current == UNBUILT) {
+      current = buildLifespans(shapes);
+    }
+    int count = collect(current, tick, out, 0);
+    Arrays.sort(out, 0, count);
+    return count;
+  }
+
+  /**
+   * Finds the first tick after the given tick at which any shape has a keyframe.
+   * @param tick tick to search after
+   * @param shapes the shapes of the animation and their keyframe tracks
+   * @return the first keyframe tick greater than the given tick, or -1 if there is none
+   */
+  int nextKeyframeAfter(int tick, PersistentShapeTable shapes) {
+    Node node = keyframes;
+    if (node == UNBUILT) {
+      node = buildKeyframes(shapes);
+    }
+    long next = -1;
+    while (node != null) {
+      if (node.key > tick) {
+        next = node.key;
+        node = node.left;
+      }
+      else {
+        node = node.right;
+      }
+    }
+    return (int) next;
+  }
+
+  /**
+   * Finds the last tick before the given tick at which any shape has a keyframe.
+   * @param tick tick to search before
+   * @param shapes the shapes of the animation and their keyframe tracks
+   * @return the last keyframe tick less than the given tick, or -1 if there is none
+   */
+  int previousKeyframeBefore(int tick, PersistentShapeTable shapes) {
+    Node node = keyframes;
+    if (node == UNBUILT) {
+      node = buildKeyframes(shapes);
+    }
+    long previous = -1;
+    while (node != null) {
+      if (node.key < tick) {
+        previous = node.key;
+        node = node.right;
+      }
+      else {
+        node = node.left;
+      }
+    }
+    return (int) previous;
+  }
+
+  /**
+   * Returns the index of a version of the animation in which the shape with the given handle has
+   * a new track. Only the entries of that shape are changed, in O(n + d log m) time for n
+   * keyframes in the two tracks, d of them differing, and m entries in the index.
+   * @param handle position of the shape in declaration order
+   * @param before the track of the shape in the version this index belongs to
+   * @param after the track of the shape in the new version
+   * @return the new index
+   */
+  TimelineIndex withTrack(int handle, KeyframeTrack before, KeyframeTrack after) {
+    Node spans = lifespans;
+    if (spans != UNBUILT) {
+      if (before.size() != 0) {
+        spans = remove(spans, lifespanKey(handle, before));
+      }
+      if (after.size() != 0) {
+        spans = put(spans, lifespanKey(handle, after), after.getTime(after.size() - 1));
+      }
+    }
+    Node ticks = keyframes;
+    if (ticks != UNBUILT) {
+      ticks = updateKeyframes(ticks, before, after);
+    }
+    return new TimelineIndex(spans, ticks);
+  }
+
+  /**
+   * Returns the index of a version of the animation without a shape, whose removal renumbers the
+   * shapes after it. The keyframe ticks are updated, and the lifespans built again when queried.
+   * @param track the track of the removed shape
+   * @return the new index
+   */
+  TimelineIndex withoutTrack(KeyframeTrack track) {
+    Node ticks = keyframes;
+    if (ticks != UNBUILT) {
+      ticks = updateKeyframes(ticks, track, new KeyframeTrack());
+    }
+    return new TimelineIndex(UNBUILT, ticks);
+  }
+
+  /**
+   * Builds the tree of keyframe ticks from the given shapes.
+   * @param shapes the shapes of the animation and their keyframe tracks
+   * @return the new tree
+   */
+  private synchronized Node buildKeyframes(PersistentShapeTable shapes) {
+    Node current = keyframes;
+    if (current != UNBUILT) {
+      return current;
+    }
+    int total = 0;
+    for (int i = 0; i < shapes.size(); i++) {
+      total += shapes.track(i).size();
+    }
+    int[] ticks = new int[total];
+    int count = 0;
+    for (int i = 0; i < shapes.size(); i++) {
+      KeyframeTrack track = shapes.track(i);
+      for (int k = 0; k < track.size(); k++) {
+        ticks[count++] = track.getTime(k);
+      }
+    }
+    Arrays.sort(ticks);
+    long[] keys = new long[count];
+    int[] counts = new int[count];
+    int distinct = 0;
+    for (int i = 0; i < count; i++) {
+      if (distinct == 0 || ticks[i] != keys[distinct - 1]) {
+        keys[distinct++] = ticks[i];
+      }
+      counts[distinct - 1]++;
+    }
+    current = build(keys, counts, distinct);
+    keyframes = current;
+    return current;
+  }
+
+  /**
+   * Builds the tree of lifespans from the given shapes.
+   * @param shapes the shapes of the animation and their keyframe tracks
+   * @return the new tree
+   */
+  private synchronized Node buildLifespans(PersistentShapeTable shapes) {
+    Node current = lifespans;
+    if (current != UNBUILT) {
+      return current;
+    }
+    long[] keys = new long[shapes.size()];
+    int count = 0;
+    for (int i = 0; i < shapes.size(); i++) {
+      KeyframeTrack track = shapes.track(i);
+      if (track.size() != 0) {
+        keys[count++] = lifespanKey(i, track);
+      }
+    }
+    Arrays.sort(keys, 0, count);
+    int[] ends = new int[count];
+    for (int i = 0; i < count; i++) {
+      KeyframeTrack track = shapes.track((int) keys[i]);
+      ends[i] = track.getTime(track.size() - 1);
+    }
+    current = build(keys, ends, count);
+    lifespans = current;
+    return current;
+  }
+
+  /**
+   * Returns the index of the last value in the given sorted array that is less than or equal to
+   * the given key.
+   * @param sorted array sorted in non-decreasing order
+   * @param length number of values in the array to search
+   * @param key key to search for
+   * @return the index of the last value at or before the key, or -1 if there is none
+   */
+  static int lastStartAtOrBefore(int[] sorted, int length, int key) {
+    int lo = 0;
+    int hi = length;
+    while (lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if (sorted[mid] <= key) {
+        lo = mid + 1;
+      }
+      else {
+        hi = mid;
+      }
+    }
+    return lo - 1;
+  }
+
+  /**
+   * Returns the key of the lifespan of a shape in the tree of lifespans: its start tick, with the
+   * handle of the shape in the low bits, so that lifespans starting together are told apart.
+   * @param handle position of the shape in declaration order
+   * @param track the non-empty track of the shape
+   * @return the key of the lifespan
+   */
+  private static long lifespanKey(int handle, KeyframeTrack track) {
+    return ((long) track.getTime(0) << 32) | handle;
+  }
+
+  /**
+   * Writes the handles of the lifespans in the given tree that contain the given tick. Subtrees
+   * whose lifespans all end by the tick, or start after it, are skipped, so this takes
+   * O((k + 1) log n) time for k lifespans found.
+   * @param node root of the tree
+   * @param tick tick to search at
+   * @param out array to write the handles to
+   * @param count number of handles written so far
+   * @return the number of handles written
+   */
+  private static int collect(Node node, int tick, int[] out, int count) {
+    if (node == null || node.maxValue <= tick) {
+      return count;
+    }
+    count = collect(node.left, tick, out, count);
+    if ((int) (node.key >> 32) <= tick) {
+      if (node.value > tick) {
+        out[count++] = (int) node.key;
+      }
+      count = collect(node.right, tick, out, count);
+    }
+    return count;
+  }
+
+  /**
+   * Returns the tree of keyframe ticks after the keyframes of one track are replaced by those of
+   * another, by walking both in order and changing only the counts of the ticks that differ.
+   * @param root root of the tree
+   * @param before the old track
+   * @param after the new track
+   * @return root of the new tree
+   */
+  private static Node updateKeyframes(Node root, KeyframeTrack before, KeyframeTrack after) {
+    int i = 0;
+    int j = 0;
+    while (i < before.size() || j < after.size()) {
+      if (j == after.size()
+          || (i < before.size() && before.getTime(i) < after.getTime(j))) {
+        root = add(root, before.getTime(i), -1);
+        i++;
+      }
+      else if (i == before.size() || after.getTime(j) < before.getTime(i)) {
+        root = add(root, after.getTime(j), 1);
+        j++;
+      }
+      else {
+        i++;
+        j++;
+      }
+    }
+    return root;
+  }
+
+  /**
+   * Returns the tree of keyframe ticks with the count of the given tick changed by the given
+   * amount, removing the tick once no keyframe is left at it.
+   * @param root root of the tree
+   * @param tick tick to change
+   * @param delta change in the number of keyframes at the tick
+   * @return root of the new tree
+   */
+  private static Node add(Node root, int tick, int delta) {
+    Node node = root;
+    while (node != null && node.key != tick) {
+      node = tick < node.key ? node.left : node.right;
+    }
+    int count = (node == null ? 0 : node.value) + delta;
+    return count == 0 ? remove(root, tick) : put(root, tick, count);
+  }
+
+  /**
+   * Builds a tree from the given keys in increasing order, in O(n) time: the keys are arranged
+   * into a treap by their priorities with a stack, and its nodes are then made bottom up.
+   * @param keys distinct keys in increasing order
+   * @param values value of each key
+   * @param size number of keys
+   * @return root of the tree
+   */
+  private static Node build(long[] keys, int[] values, int size) {
+    if (size == 0) {
+      return null;
+    }
+    int[] left = new int[size];
+    int[] right = new int[size];
+    int[] stack = new int[size];
+    int top = 0;
+    for (int i = 0; i < size; i++) {
+      int last = -1;
+      while (top > 0 && priority(keys[stack[top - 1]]) < priority(keys[i])) {
+        last = stack[--top];
+      }
+      left[i] = last;
+      right[i] = -1;
+      if (top > 0) {
+        right[stack[top - 1]] = i;
+      }
+      stack[top++] = i;
+    }
+    return build(stack[0], keys, values, left, right);
+  }
+
+  /**
+   * Helper that makes the nodes of the subtree of the given position of a treap being built.
+   * @param i position of the root of the subtree, or -1 if it is empty
+   * @param keys keys of the treap
+   * @param values values of the keys
+   * @param left position of the left child of each position
+   * @param right position of the right child of each position
+   * @return root of the subtree
+   */
+  private static Node build(int i, long[] keys, int[] values, int[] left, int[] right) {
+    if (i < 0) {
+      return null;
+    }
+    return new Node(keys[i], values[i], build(left[i], keys, values, left, right),
+        build(right[i], keys, values, left, right));
+  }
+
+  /**
+   * Returns a tree in which the given key has the given value, copying the path to the key.
+   * @param node root of the tree
+   * @param key key to put
+   * @param value value of the key
+   * @return root of the new tree
+   */
+  private static Node put(Node node, long key, int value) {
+    if (node == null) {
+      return new Node(key, value, null, null);
+    }
+    if (key < node.key) {
+      Node left = put(node.left, key, value);
+      if (left.priority > node.priority) {
+        return new Node(left.key, left.value, left.left,
+            new Node(node.key, node.value, left.right, node.right));
+      }
+      return new Node(node.key, node.value, left, node.right);
+    }
+    if (key > node.key) {
+      Node right = put(node.right, key, value);
+      if (right.priority > node.priority) {
+        return new Node(right.key, right.value,
+            new Node(node.key, node.value, node.left, right.left), right.right);
+      }
+      return new Node(node.key, node.value, node.left, right);
+    }
+    return new Node(key, value, node.left, node.right);
+  }
+
+  /**
+   * Returns a tree without the given key, copying the path to the key.
+   * @param node root of the tree
+   * @param key key to remove
+   * @return root of the new tree, or the given tree if it does not hold the key
+   */
+  private static Node remove(Node node, long key) {
+    if (node == null) {
+      return null;
+    }
+    if (key < node.key) {
+      Node left = remove(node.left, key);
+      return left == node.left ? node : new Node(node.key, node.value, left, node.right);
+    }
+    if (key > node.key) {
+      Node right = remove(node.right, key);
+      return right == node.right ? node : new Node(node.key, node.value, node.left, right);
+    }
+    return merge(node.left, node.right);
+  }
+
+  /**
+   * Joins two trees, every key of the first of which is less than every key of the second.
+   * @param a the tree of smaller keys
+   * @param b the tree of larger keys
+   * @return root of the joined tree
+   */
+  private static Node merge(Node a, Node b) {
+    if (a == null) {
+      return b;
+    }
+    if (b == null) {
+      return a;
+    }
+    if (a.priority > b.priority) {
+      return new Node(a.key, a.value, a.left, merge(a.right, b));
+    }
+    return new Node(b.key, b.value, merge(a, b.left), b.right);
+  }
+
+  /**
+   * Returns the priority of a key in a treap, a hash of the key, so that the shape of a tree
+   * depends only on its keys.
+   * @param key key of a node
+   * @return the priority of the node
+   */
+  private static int priority(long key) {
+    long h = key * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32));
+  }
+
+  /**
+   * An immutable node of a treap: a key and its value, and the largest value in its subtree. Keys
+   * are in search order and priorities in heap order, so the tree is balanced with high
+   * probability.
+   */
+  private static final class Node {
+    private final long key;
+    private final int value;
+    private final int priority;
+    private final int maxValue;
+    private final Node left;
+    private final Node right;
+
+    private Node(long key, int value, Node left, Node right) {
+      this.key = key;
+      this.value = value;
+      this.priority = priority(key);
+      this.left = left;
+      this.right = right;
+      int max = value;
+      if (left != null) {
+        max = Math.max(max, left.maxValue);
+      }
+      if (right != null) {
+        max = Math.max(max, right.maxValue);
+      }
+      this.maxValue = max;
+    }
+  }
+}
@@ -86,7 +86,7 @@ public class Event implements IEvent {
 
   @Override
   public Color getStartColor() {
-    return new Color(startColor.getRGB());
+    return new Color(startColor.getRGB(), true);
   }
 
   @Override
@@ -111,7 +111,7 @@ public class Event implements IEvent {
 
   @Override
   public Color getEndColor() {
-    return new Color(endColor.getRGB());
+    return new Color(endColor.getRGB(), true);
   }
 
   @Override
@@ -135,9 +135,23 @@ public class Event implements IEvent {
     if (obj == this) {
       return true;
     }
-    if (! (obj instanceof Event)) {
+    if (! (obj instanceof IEvent)) {
       return false;
     }
+    if (! (obj instanceof Event)) {
+      // other implementations (such as the model's keyframe views) are compared by value
+      IEvent that = (IEvent) obj;
+      return this.startTime == that.getStartTime()
+          && this.getStartPosn().equals(that.getStartPosn())
+          && this.getStartColor().equals(that.getStartColor())
+          && this.startWidth == that.getStartWidth()
+          && this.startHeight == that.getStartHeight()
+          && this.endTime == that.getEndTime()
+          && this.getEndPosn().equals(that.getEndPosn())
+          && this.getEndColor().equals(that.getEndColor())
+          && this.endWidth == that.getEndWidth()
+          && this.endHeight == that.getEndHeight();
+    }
     Event that = (Event) obj;
     return this.startTime == that.startTime
         && this.startPosn.equals(that.startPosn)
@@ -67,7 +67,7 @@ public abstract class AShape implements IShape {
 
   @Override
   public Color getColor() {
-    return new Color(color.getRGB());
+    return new Color(color.getRGB(), true);
   }
 
   @Override
@@ -1,13 +1,30 @@
 package cs3500.animator.utils;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Objects;
-import java.util.Scanner;
-import java.util.regex.Pattern;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * A helper to read animation data and construct an animation from it.
  */
 public class AnimationReader {
+  private static final String[] CANVAS_FIELDS = {"left", "top", "width", "height"};
+
+  private static final String[] MOTION_FIELDS = {
+    "initial time",
+    "initial x-coordinate", "initial y-coordinate",
+    "initial width", "initial height",
+    "initial red value", "initial green value", "initial blue value",
+    "final time",
+    "final x-coordinate", "final y-coordinate",
+    "final width", "final height",
+    "final red value", "final green value", "final blue value",
+  };
+
   /**
    * A factory for producing new animations, given a source of shapes and a
    * builder for constructing animations.
@@ -34,89 +51,128 @@ public class AnimationReader {
   public static <Doc> Doc parseFile(Readable readable, AnimationBuilder<Doc> builder) {
     Objects.requireNonNull(readable, "Must have non-null readable source");
     Objects.requireNonNull(builder, "Must provide a non-null AnimationBuilder");
-    Scanner s = new Scanner(readable);
-    // Split at whitespace, and ignore # comment lines
-    s.useDelimiter(Pattern.compile("(\\p{Space}+|#.*)+")); 
-    while (s.hasNext()) {
-      String word = s.next();
-      switch (word) {
-        case "canvas":
-          readCanvas(s, builder);
-          break;
-        case "shape":
-          readShape(s, builder);
-          break;
-        case "motion":
-          readMotion(s, builder);
-          break;
-        default:
-          throw new IllegalStateException("Unexpected keyword: " + word + s.nextLine());
+    return parse(new AnimationTokenizer(readable), builder);
+  }
+
+  /**
+   * Reads the animation in the given file, like {@link #parseFile(Readable, AnimationBuilder)}.
+   * The file is memory-mapped and its UTF-8 bytes are decoded straight from the mapping, so even
+   * very large files are never copied onto the heap as a whole. Files in the binary format are
+   * recognized by their first bytes and read by {@link BinaryAnimationReader} instead.
+   *
+   * @param file     The file holding the animation
+   * @param builder  A builder for helping to construct a new animation
+   * @param <Doc>    The main model interface type describing animations
+   * @return the animation built by the builder
+   * @throws IOException if the file cannot be opened, mapped, or read
+   */
+  public static <Doc> Doc parseFile(Path file, AnimationBuilder<Doc> builder) throws IOException {
+    Objects.requireNonNull(file, "Must have non-null file");
+    Objects.requireNonNull(builder, "Must provide a non-null AnimationBuilder");
+    if (BinaryAnimationReader.isBinary(file)) {
+      return BinaryAnimationReader.parseFile(file, builder);
+    }
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      return parse(new AnimationTokenizer(channel), builder);
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  /**
+   * Reads the animation in the given file, like {@link #parseFile(Path, AnimationBuilder)}, but
+   * splits the file into chunks at line boundaries and parses them in parallel on the common
+   * fork-join pool. If the builder is a {@link ParallelAnimationBuilder}, it is given the canvas
+   * and shape statements in file order and then the motions of different shapes in parallel;
+   * any other builder is given every statement in file order. Either way, malformed input is
+   * reported with the same error as {@code parseFile} would report. Statements are expected to
+   * start on a new line, as they do in every file this program writes; a file that does not
+   * split cleanly is read sequentially, and a file in the binary format is read by
+   * {@link BinaryAnimationReader}.
+   *
+   * @param file     The file holding the animation
+   * @param builder  A builder for helping to construct a new animation
+   * @param <Doc>    The main model interface type describing animations
+   * @return the animation built by the builder
+   * @throws IOException if the file cannot be opened, mapped, or read
+   */
+  public static <Doc> Doc parseFileParallel(Path file, AnimationBuilder<Doc> builder)
+      throws IOException {
+    Objects.requireNonNull(file, "Must have non-null file");
+    Objects.requireNonNull(builder, "Must provide a non-null AnimationBuilder");
+    if (BinaryAnimationReader.isBinary(file)) {
+      return BinaryAnimationReader.parseFile(file, builder);
+    }
+    return ParallelAnimationReader.parseFile(file, builder, ForkJoinPool.commonPool());
+  }
+
+  static <Doc> Doc parse(AnimationTokenizer s, AnimationBuilder<Doc> builder) {
+    int[] vals = new int[16];
+    while (s.advance()) {
+      if (s.tokenIs("motion")) {
+        readMotion(s, builder, vals);
+      } else if (s.tokenIs("shape")) {
+        readShape(s, builder);
+      } else if (s.tokenIs("canvas")) {
+        readCanvas(s, builder, vals);
+      } else {
+        String word = s.token();
+        throw new IllegalStateException("Unexpected keyword: " + word + s.restOfLine());
       }
     }
     return builder.build();
   }
 
-  private static <Doc> void readCanvas(Scanner s, AnimationBuilder<Doc> builder) {
-    int[] vals = new int[4];
-    String[] fieldNames = {"left", "top", "width", "height"};
+  private static <Doc> void readCanvas(AnimationTokenizer s, AnimationBuilder<Doc> builder,
+                                       int[] vals) {
     for (int i = 0; i < 4; i++) {
-      vals[i] = getInt(s, "Canvas", fieldNames[i]);
+      vals[i] = getInt(s, "Canvas", CANVAS_FIELDS[i]);
     }
     builder.setBounds(vals[0], vals[1], vals[2], vals[3]);
   }
 
-  private static <Doc> void readShape(Scanner s, AnimationBuilder<Doc> builder) {
+  private static <Doc> void readShape(AnimationTokenizer s, AnimationBuilder<Doc> builder) {
     String name;
     String type;
-    if (s.hasNext()) {
-      name = s.next();
+    if (s.advance()) {
+      name = s.token();
     } else {
       throw new IllegalStateException("Shape: Expected a name, but no more input available");
     }
-    if (s.hasNext()) {
-      type = s.next();
+    if (s.advance()) {
+      type = s.token();
     } else {
       throw new IllegalStateException("Shape: Expected a type, but no more input available");
     }
     builder.declareShape(name, type);
   }
 
-  private static <Doc> void readMotion(Scanner s, AnimationBuilder<Doc> builder) {
-    String[] fieldNames = new String[]{
-      "initial time",
-      "initial x-coordinate", "initial y-coordinate",
-      "initial width", "initial height",
-      "initial red value", "initial green value", "initial blue value",
-      "final time",
-      "final x-coordinate", "final y-coordinate",
-      "final width", "final height",
-      "final red value", "final green value", "final blue value",
-    };
-    int[] vals = new int[16];
+  private static <Doc> void readMotion(AnimationTokenizer s, AnimationBuilder<Doc> builder,
+                                       int[] vals) {
     String name;
-    if (s.hasNext()) {
-      name = s.next();
+    if (s.advance()) {
+      name = s.name();
     } else {
       throw new IllegalStateException("Motion: Expected a shape name, but no more input available");
     }
     for (int i = 0; i < 16; i++) {
-      vals[i] = getInt(s, "Motion", fieldNames[i]);
+      vals[i] = getInt(s, "Motion", MOTION_FIELDS[i]);
     }
     builder.addMotion(name,
             vals[0], vals[1], vals[2 ], vals[3 ], vals[4 ], vals[5 ], vals[6 ], vals[7 ],
             vals[8], vals[9], vals[10], vals[11], vals[12], vals[13], vals[14], vals[15]);
   }
   
-  private static int getInt(Scanner s, String label, String fieldName) {
-    if (s.hasNextInt()) {
-      return s.nextInt();
-    } else if (s.hasNext()) {
-      throw new IllegalStateException(
-              String.format("%s: expected integer for %s, got: %s", label, fieldName, s.next()));
-    } else {
+  private static int getInt(AnimationTokenizer s, String label, String fieldName) {
+    if (!s.advance()) {
       throw new IllegalStateException(
               String.format("%s: expected integer for %s, but no more input available",
                             label, fieldName));
+    } else if (s.tokenIsInt()) {
+      return s.tokenInt();
+    } else {
+      throw new IllegalStateException(
+              String.format("%s: expected integer for %s, got: %s", label, fieldName, s.token()));
     }
   }
 
@@ -0,0 +1,331 @@
+package cs3500.animator.utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Splits animation input into tokens without regular expressions. Reads the input through a
+ * reusable character buffer, treats whitespace as a separator and everything from a {@code #} to
+ * the end of its line as a comment, and parses integer tokens by hand. Behaves like a
+ * {@code Scanner} using the delimiter {@code (\p{Space}+|#.*)+}, but only creates a
+ * {@code String} when a token's text is actually needed. Input is read either from a
+ * {@code Readable}, or decoded as UTF-8 straight out of a {@code ByteBuffer} or a memory-mapped
+ * file, in which case the bytes are never copied onto the heap as a whole.
+ */
+final class AnimationTokenizer {
+  private static final int BUFFER_SIZE = 8192;
+  private static final long REGION_SIZE = 1L << 30;
+
+  private final Readable readable;
+  private final FileChannel channel;
+  private final CharsetDecoder decoder;
+  private ByteBuffer bytes;
+  private long mapped;
+  private final char[] buffer;
+  private final CharBuffer window;
+  private int pos;
+  private int limit;
+  private boolean eof;
+
+  private char[] token;
+  private int tokenLength;
+  private String lastName;
+
+  /**
+   * Constructs an {@code AnimationTokenizer} object reading from the given source.
+   * @param readable the source of the input
+   */
+  AnimationTokenizer(Readable readable) {
+    this(readable, null, null, 0);
+  }
+
+  /**
+   * Constructs an {@code AnimationTokenizer} object reading the remaining UTF-8 bytes of the
+   * given buffer.
+   * @param bytes the source of the input
+   */
+  AnimationTokenizer(ByteBuffer bytes) {
+    this(null, null, bytes, 0);
+  }
+
+  /**
+   * Constructs an {@code AnimationTokenizer} object reading the UTF-8 bytes of the given file,
+   * which is memory-mapped one region (of at most 1 GB) at a time.
+   * @param channel the file to read
+   * @throws IOException if the file cannot be mapped
+   */
+  AnimationTokenizer(FileChannel channel) throws IOException {
+    this(null, channel, channel.map(MapMode.READ_ONLY, 0, Math.min(REGION_SIZE, channel.size())),
+        Math.min(REGION_SIZE, channel.size()));
+  }
+
+  /**
+   * Constructs an {@code AnimationTokenizer} object reading from exactly one kind of source.
+   * @param readable the characters to read, or null
+   * @param channel the file whose regions are mapped after the given bytes, or null
+   * @param bytes the bytes to read, or null
+   * @param mapped offset in the file just past the given bytes
+   */
+  private AnimationTokenizer(Readable readable, FileChannel channel, ByteBuffer bytes,
+      long mapped) {
+    this.readable = readable;
+    this.channel = channel;
+    this.bytes = bytes;
+    this.mapped = mapped;
+    this.decoder = bytes == null ? null : StandardCharsets.UTF_8.newDecoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    this.buffer = new char[BUFFER_SIZE];
+    this.window = CharBuffer.wrap(buffer);
+    this.pos = 0;
+    this.limit = 0;
+    this.eof = false;
+    this.token = new char[64];
+    this.tokenLength = 0;
+    this.lastName = null;
+  }
+
+  /**
+   * Moves to the next token of the input, skipping any whitespace and comments before it.
+   * @return true if there was another token, false if the input is exhausted
+   * @throws UncheckedIOException if the source cannot be read
+   */
+  boolean advance() {
+    tokenLength = 0;
+    while (true) {
+      if (pos == limit && !fill()) {
+        return false;
+      }
+      char c = buffer[pos];
+      if (c == '#') {
+        skipLine();
+      }
+      else if (isSpace(c)) {
+        pos++;
+      }
+      else {
+        break;
+      }
+    }
+    while (true) {
+      if (pos == limit && !fill()) {
+        return true;
+      }
+      char c = buffer[pos];
+      if (c == '#' || isSpace(c)) {
+        return true;
+      }
+      if (tokenLength == token.length) {
+        char[] grown = new char[token.length * 2];
+        System.arraycopy(token, 0, grown, 0, tokenLength);
+        token = grown;
+      }
+      token[tokenLength++] = c;
+      pos++;
+    }
+  }
+
+  /**
+   * Determines whether the current token is the given word.
+   * @param word word to compare against
+   * @return true if the current token has the same characters as the word
+   */
+  boolean tokenIs(String word) {
+    if (word.length() != tokenLength) {
+      return false;
+    }
+    for (int i = 0; i < tokenLength; i++) {
+      if (token[i] != word.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the text of the current token.
+   * @return the current token
+   */
+  String token() {
+    return new String(token, 0, tokenLength);
+  }
+
+  /**
+   * Returns the text of the current token, reusing the previously returned name if it has the
+   * same characters. Motions of the same shape are usually listed together, so this avoids
+   * creating a new string for almost every motion line.
+   * @return the current token
+   */
+  String name() {
+    if (lastName == null || !tokenIs(lastName)) {
+      lastName = token();
+    }
+    return lastName;
+  }
+
+  /**
+   * Determines whether the current token is an integer: an optional sign followed by decimal
+   * digits, within the range of an {@code int}.
+   * @return true if the current token is an integer
+   */
+  boolean tokenIsInt() {
+    int i = 0;
+    if (tokenLength > 0 && (token[0] == '-' || token[0] == '+')) {
+      i = 1;
+    }
+    if (i == tokenLength) {
+      return false;
+    }
+    long value = 0;
+    for (; i < tokenLength; i++) {
+      char c = token[i];
+      if (c < '0' || c > '9') {
+        return false;
+      }
+      value = value * 10 + (c - '0');
+      if (value > (long) Integer.MAX_VALUE + 1) {
+        return false;
+      }
+    }
+    return token[0] == '-' || value <= Integer.MAX_VALUE;
+  }
+
+  /**
+   * Returns the value of the current token, which must be an integer.
+   * @return the integer value of the current token
+   */
+  int tokenInt() {
+    boolean negative = token[0] == '-';
+    int i = (negative || token[0] == '+') ? 1 : 0;
+    int value = 0;
+    for (; i < tokenLength; i++) {
+      value = value * 10 - (token[i] - '0');
+    }
+    return negative ? value : -value;
+  }
+
+  /**
+   * Returns and consumes the rest of the current line, without its line separator.
+   * @return the rest of the current line
+   * @throws UncheckedIOException if the source cannot be read
+   */
+  String restOfLine() {
+    StringBuilder line = new StringBuilder();
+    while (pos < limit || fill()) {
+      char c = buffer[pos];
+      if (isLineEnd(c)) {
+        pos++;
+        if (c == '\r' && (pos < limit || fill()) && buffer[pos] == '\n') {
+          pos++;
+        }
+        break;
+      }
+      line.append(c);
+      pos++;
+    }
+    return line.toString();
+  }
+
+  /**
+   * Skips a comment, stopping before the line separator that ends it.
+   * @throws UncheckedIOException if the source cannot be read
+   */
+  private void skipLine() {
+    while (pos < limit || fill()) {
+      if (isLineEnd(buffer[pos])) {
+        return;
+      }
+      pos++;
+    }
+  }
+
+  /**
+   * Refills the buffer once all of its characters have been consumed.
+   * @return true if more characters were read, false if the input is exhausted
+   * @throws UncheckedIOException if the source cannot be read
+   */
+  private boolean fill() {
+    while (!eof) {
+      window.clear();
+      int read;
+      try {
+        read = readable != null ? readable.read(window) : decode();
+      }
+      catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      if (read < 0) {
+        eof = true;
+      }
+      else if (read > 0) {
+        pos = 0;
+        limit = read;
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Decodes bytes into the window, mapping the next region of the file once the current one is
+   * used up. Runs of ASCII bytes are copied directly, and anything else goes through a UTF-8
+   * decoder. A character split across two regions is decoded from the start of the next one.
+   * @return the number of characters decoded, or -1 if the input is exhausted
+   * @throws IOException if the next region of the file cannot be mapped
+   */
+  private int decode() throws IOException {
+    while (true) {
+      boolean last = channel == null || mapped == channel.size();
+      int from = bytes.position();
+      int to = Math.min(bytes.limit(), from + buffer.length);
+      int i = from;
+      while (i < to) {
+        byte b = bytes.get(i);
+        if (b < 0) {
+          break;
+        }
+        buffer[i - from] = (char) b;
+        i++;
+      }
+      bytes.position(i);
+      window.position(i - from);
+      decoder.decode(bytes, window, last);
+      if (window.position() > 0) {
+        return window.position();
+      }
+      if (last) {
+        decoder.flush(window);
+        return window.position() > 0 ? window.position() : -1;
+      }
+      long offset = mapped - bytes.remaining();
+      long length = Math.min(REGION_SIZE, channel.size() - offset);
+      bytes = channel.map(MapMode.READ_ONLY, offset, length);
+      mapped = offset + length;
+    }
+  }
+
+  /**
+   * Determines whether the given character is whitespace, as matched by {@code \p{Space}}.
+   * @param c character to check
+   * @return true if the character is whitespace
+   */
+  private static boolean isSpace(char c) {
+    return c == ' ' || (c >= '\t' && c <= '\r');
+  }
+
+  /**
+   * Determines whether the given character ends a line.
+   * @param c character to check
+   * @return true if the character is a line separator
+   */
+  private static boolean isLineEnd(char c) {
+    return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+  }
+}
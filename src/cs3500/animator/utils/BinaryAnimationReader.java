@@ -0,0 +1,240 @@
+package cs3500.animator.utils;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Reads animations stored in the binary format written by {@code BinaryView} and feeds them to
+ * an {@link AnimationBuilder}, like {@link AnimationReader} does for the text format.
+ *
+ * <p>
+ * All integers are stored as variable-length (LEB128) unsigned integers, and signed values are
+ * zigzag-encoded first. A file consists of:
+ * <ul>
+ * <li>the magic bytes {@code ANIM} and a version byte;</li>
+ * <li>the canvas: left, top, width, and height (signed);</li>
+ * <li>the shape table: the number of shapes, then the name and type of each shape as UTF-8
+ * strings prefixed by their length in bytes;</li>
+ * <li>for each shape in the table, its number of runs of consecutive keyframes, and for each run
+ * its number of keyframes followed by the keyframes themselves. Each keyframe holds the time,
+ * x, y, width, height, red, green, and blue values as deltas from the previous keyframe of the
+ * same shape (the first starts from all zeroes): a byte whose i-th bit is set if the i-th delta
+ * is not zero, followed by the non-zero deltas (signed).</li>
+ * </ul>
+ * Every two consecutive keyframes of a run make one motion, so a shape whose motions all follow
+ * on from each other takes a single run of one more keyframe than it has motions.
+ * </p>
+ */
+public final class BinaryAnimationReader {
+  /**
+   * The bytes every binary animation file starts with.
+   */
+  public static final byte[] MAGIC = {'A', 'N', 'I', 'M'};
+
+  /**
+   * The version of the format written and read by this program.
+   */
+  public static final int VERSION = 1;
+
+  /**
+   * The number of values held by a keyframe.
+   */
+  public static final int KEYFRAME_VALUES = 8;
+
+  /**
+   * Prevents instantiation of this utility class.
+   */
+  private BinaryAnimationReader() {
+  }
+
+  /**
+   * Determines whether the given file starts with the magic bytes of the binary format.
+   * @param file the file to check
+   * @return true if the file looks like a binary animation
+   * @throws IOException if the file cannot be opened or read
+   */
+  public static boolean isBinary(Path file) throws IOException {
+    Objects.requireNonNull(file, "Must have non-null file");
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      ByteBuffer head = ByteBuffer.allocate(MAGIC.length);
+      while (head.hasRemaining() && channel.read(head) >= 0) {
+        continue;
+      }
+      head.flip();
+      return hasMagic(head);
+    }
+  }
+
+  /**
+   * Reads the binary animation in the given file, which is memory-mapped.
+   * @param file the file holding the animation
+   * @param builder a builder for helping to construct a new animation
+   * @param <Doc> the main model interface type describing animations
+   * @return the animation built by the builder
+   * @throws IOException if the file cannot be opened, mapped, or read
+   * @throws IllegalStateException if the file is not a valid binary animation
+   */
+  public static <Doc> Doc parseFile(Path file, AnimationBuilder<Doc> builder)
+      throws IOException, IllegalStateException {
+    Objects.requireNonNull(file, "Must have non-null file");
+    Objects.requireNonNull(builder, "Must provide a non-null AnimationBuilder");
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw new IllegalStateException("Binary: file is too large");
+      }
+      return parse(channel.map(MapMode.READ_ONLY, 0, channel.size()), builder);
+    }
+  }
+
+  /**
+   * Reads the binary animation held by the remaining bytes of the given buffer.
+   * @param bytes the animation
+   * @param builder a builder for helping to construct a new animation
+   * @param <Doc> the main model interface type describing animations
+   * @return the animation built by the builder
+   * @throws IllegalStateException if the bytes are not a valid binary animation
+   */
+  public static <Doc> Doc parse(ByteBuffer bytes, AnimationBuilder<Doc> builder)
+      throws IllegalStateException {
+    Objects.requireNonNull(bytes, "Must have non-null bytes");
+    Objects.requireNonNull(builder, "Must provide a non-null AnimationBuilder");
+    try {
+      if (!hasMagic(bytes)) {
+        throw new IllegalStateException("Binary: not a binary animation");
+      }
+      bytes.position(bytes.position() + MAGIC.length);
+      int version = bytes.get() & 0xFF;
+      if (version != VERSION) {
+        throw new IllegalStateException("Binary: unsupported version " + version);
+      }
+      builder.setBounds(readSigned(bytes), readSigned(bytes), readSigned(bytes),
+          readSigned(bytes));
+      // every shape takes at least the lengths of its name and type
+      int count = readCount(bytes, 2);
+      String[] names = new String[count];
+      for (int i = 0; i < count; i++) {
+        names[i] = readString(bytes);
+        builder.declareShape(names[i], readString(bytes));
+      }
+      int[] prev = new int[KEYFRAME_VALUES];
+      int[] next = new int[KEYFRAME_VALUES];
+      for (String name : names) {
+        Arrays.fill(prev, 0);
+        int runs = readCount(bytes, 1);
+        for (int run = 0; run < runs; run++) {
+          int keyframes = readCount(bytes, 1);
+          for (int k = 0; k < keyframes; k++) {
+            readKeyframe(bytes, prev, next);
+            if (k > 0) {
+              builder.addMotion(name,
+                  prev[0], prev[1], prev[2], prev[3], prev[4], prev[5], prev[6], prev[7],
+                  next[0], next[1], next[2], next[3], next[4], next[5], next[6], next[7]);
+            }
+            System.arraycopy(next, 0, prev, 0, KEYFRAME_VALUES);
+          }
+        }
+      }
+    }
+    catch (BufferUnderflowException e) {
+      throw new IllegalStateException("Binary: unexpected end of input");
+    }
+    return builder.build();
+  }
+
+  /**
+   * Determines whether the given buffer starts with the magic bytes, without moving it.
+   * @param bytes the buffer to check
+   * @return true if the remaining bytes start with the magic bytes
+   */
+  private static boolean hasMagic(ByteBuffer bytes) {
+    if (bytes.remaining() < MAGIC.length) {
+      return false;
+    }
+    for (int i = 0; i < MAGIC.length; i++) {
+      if (bytes.get(bytes.position() + i) != MAGIC[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Reads a keyframe, adding its deltas to the previous keyframe.
+   * @param bytes the buffer to read from
+   * @param prev the values of the previous keyframe
+   * @param next the array to write the values of the keyframe to
+   */
+  private static void readKeyframe(ByteBuffer bytes, int[] prev, int[] next) {
+    int mask = bytes.get() & 0xFF;
+    for (int i = 0; i < KEYFRAME_VALUES; i++) {
+      next[i] = (mask & (1 << i)) == 0 ? prev[i] : prev[i] + readSigned(bytes);
+    }
+  }
+
+  /**
+   * Reads a string prefixed by its length in bytes.
+   * @param bytes the buffer to read from
+   * @return the string
+   */
+  private static String readString(ByteBuffer bytes) {
+    long length = readUnsigned(bytes);
+    if (length > bytes.remaining()) {
+      throw new BufferUnderflowException();
+    }
+    byte[] utf8 = new byte[(int) length];
+    bytes.get(utf8);
+    return new String(utf8, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Reads a non-negative count of items, which must fit in the remaining bytes, so that no more
+   * is allocated or read for a count than the input can hold.
+   * @param bytes the buffer to read from
+   * @param itemBytes the fewest bytes each item counted takes
+   * @return the count
+   * @throws IllegalStateException if the value read is not a valid count
+   */
+  private static int readCount(ByteBuffer bytes, int itemBytes) throws IllegalStateException {
+    long value = readUnsigned(bytes);
+    if (value > bytes.remaining() / itemBytes) {
+      throw new IllegalStateException("Binary: invalid count " + value);
+    }
+    return (int) value;
+  }
+
+  /**
+   * Reads a zigzag-encoded signed integer.
+   * @param bytes the buffer to read from
+   * @return the integer
+   */
+  private static int readSigned(ByteBuffer bytes) {
+    long value = readUnsigned(bytes);
+    return (int) (value >>> 1) ^ -(int) (value & 1);
+  }
+
+  /**
+   * Reads a variable-length unsigned integer of up to 35 bits.
+   * @param bytes the buffer to read from
+   * @return the integer
+   * @throws IllegalStateException if the integer is too long
+   */
+  private static long readUnsigned(ByteBuffer bytes) throws IllegalStateException {
+    long value = 0;
+    for (int shift = 0; shift < 35; shift += 7) {
+      int b = bytes.get();
+      value |= (long) (b & 0x7F) << shift;
+      if (b >= 0) {
+        return value;
+      }
+    }
+    throw new IllegalStateException("Binary: malformed integer");
+  }
+}
@@ -0,0 +1,23 @@
+package cs3500.animator.utils;
+
+/**
+ * An animation builder that can take all the motions of a shape at once, and that allows the
+ * motions of different shapes to be added concurrently. Lets
+ * {@link AnimationReader#parseFileParallel} check the motions of every shape in parallel.
+ * @param <Doc> the growing document
+ */
+public interface ParallelAnimationBuilder<Doc> extends AnimationBuilder<Doc> {
+  /**
+   * Adds consecutive transformations of a single shape to the growing document, exactly as if
+   * {@link AnimationBuilder#addMotion} were called for each of them in order. Once every shape
+   * has been declared, this method may be called concurrently for different shapes, but never
+   * concurrently with itself for the same shape or with any other method of this builder.
+   *
+   * @param name    The name of the shape (added with {@link AnimationBuilder#declareShape})
+   * @param motions The transformations, as 16 values each in the order of the parameters of
+   *                {@link AnimationBuilder#addMotion}
+   * @param count   The number of transformations
+   * @return This {@link ParallelAnimationBuilder}
+   */
+  ParallelAnimationBuilder<Doc> addMotions(String name, int[] motions, int count);
+}
@@ -0,0 +1,482 @@
+package cs3500.animator.utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Reads an animation file on a fork-join pool. The memory-mapped file is split into chunks at the
+ * start of statement lines, and each chunk is tokenized in parallel into per-shape buffers of
+ * motion values, each buffer holding a run of consecutive motion statements of one shape. If the
+ * builder is a {@link ParallelAnimationBuilder}, the canvas and shape statements are handed to it
+ * in file order, and then the buffers of different shapes are added (and so checked for
+ * continuity) in parallel; any other builder is handed every statement in file order.
+ * Whenever the chunks cannot be replayed exactly as a sequential read would see them (a chunk
+ * does not parse, a shape is declared twice, or a motion comes before the declaration of its
+ * shape), the file is read again sequentially so that the builder sees the same calls and reports
+ * the same error. If the builder rejects several statements, the rejection of the one that comes
+ * first in the file is reported, which is the one a sequential read would stop at: since no
+ * other statement falls inside a buffer, the buffer that comes first holds that statement.
+ */
+final class ParallelAnimationReader {
+  private static final int MIN_CHUNK_SIZE = 1 << 16;
+  private static final int CHUNKS_PER_THREAD = 4;
+  private static final String[] KEYWORDS = {"motion", "shape", "canvas"};
+
+  /**
+   * Prevents instantiation of this utility class.
+   */
+  private ParallelAnimationReader() {
+  }
+
+  /**
+   * Reads the animation in the given file on the given pool.
+   * @param file the file holding the animation
+   * @param builder a builder for helping to construct a new animation
+   * @param pool the pool to parse on
+   * @param <Doc> the main model interface type describing animations
+   * @return the animation built by the builder
+   * @throws IOException if the file cannot be opened, mapped, or read
+   */
+  static <Doc> Doc parseFile(Path file, AnimationBuilder<Doc> builder, ForkJoinPool pool)
+      throws IOException {
+    List<Chunk> chunks;
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        return AnimationReader.parseFile(file, builder);
+      }
+      ByteBuffer bytes = channel.map(MapMode.READ_ONLY, 0, channel.size());
+      chunks = parseChunks(bytes, split(bytes, pool.getParallelism()), pool);
+    }
+    catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+    catch (IllegalStateException e) {
+      return AnimationReader.parseFile(file, builder);
+    }
+    Map<String, List<Motions>> shapes = mergeShapes(chunks);
+    if (shapes == null) {
+      return AnimationReader.parseFile(file, builder);
+    }
+
+    if (!(builder instanceof ParallelAnimationBuilder)) {
+      for (Chunk chunk : chunks) {
+        for (Statement statement : chunk.statements) {
+          statement.replay(builder);
+        }
+      }
+      return builder.build();
+    }
+    Statement failed = replayHeaders(chunks, builder);
+    Motions rejected = addMotionsInParallel((ParallelAnimationBuilder<Doc>) builder, shapes,
+        failed == null ? Long.MAX_VALUE : failed.position, pool);
+    if (rejected != null) {
+      failed = rejected;
+    }
+    if (failed != null) {
+      throw failed.failure;
+    }
+    return builder.build();
+  }
+
+  /**
+   * Hands the canvas and shape statements of every chunk to the given builder in file order,
+   * stopping at the first one the builder rejects.
+   * @param chunks the parsed chunks, in file order
+   * @param builder the builder to hand the statements to
+   * @return the statement the builder rejected, or null if it took them all
+   */
+  private static Statement replayHeaders(List<Chunk> chunks, AnimationBuilder<?> builder) {
+    for (Chunk chunk : chunks) {
+      for (Statement statement : chunk.statements) {
+        if (statement instanceof Motions) {
+          continue;
+        }
+        try {
+          statement.replay(builder);
+        }
+        catch (RuntimeException e) {
+          statement.failure = e;
+          return statement;
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Chooses where to split the given file, so that every chunk but the first starts at the
+   * beginning of a line holding a {@code motion}, {@code shape}, or {@code canvas} statement.
+   * @param bytes the contents of the file
+   * @param threads the number of threads that will parse the chunks
+   * @return the offsets of the chunk boundaries, starting with 0 and ending with the file size
+   */
+  private static int[] split(ByteBuffer bytes, int threads) {
+    int size = bytes.limit();
+    int count = (int) Math.max(1, Math.min((long) threads * CHUNKS_PER_THREAD,
+        size / MIN_CHUNK_SIZE));
+    int[] bounds = new int[count + 1];
+    for (int k = 1; k < count; k++) {
+      int target = (int) ((long) size * k / count);
+      bounds[k] = nextStatementLine(bytes, Math.max(target, bounds[k - 1]));
+    }
+    bounds[count] = size;
+    return bounds;
+  }
+
+  /**
+   * Finds the first line starting at or after the given offset whose first token is a keyword.
+   * @param bytes the contents of the file
+   * @param from offset to search from
+   * @return the offset of the line, or the file size if there is none
+   */
+  private static int nextStatementLine(ByteBuffer bytes, int from) {
+    int size = bytes.limit();
+    int i = Math.max(from, 1);
+    while (i < size) {
+      if (bytes.get(i - 1) == '\n' && startsWithKeyword(bytes, i)) {
+        return i;
+      }
+      i++;
+    }
+    return size;
+  }
+
+  /**
+   * Determines whether the line starting at the given offset begins with a keyword token.
+   * @param bytes the contents of the file
+   * @param start offset of the line
+   * @return true if the first token of the line is a keyword
+   */
+  private static boolean startsWithKeyword(ByteBuffer bytes, int start) {
+    int size = bytes.limit();
+    int i = start;
+    while (i < size && (bytes.get(i) == ' ' || bytes.get(i) == '\t')) {
+      i++;
+    }
+    for (String keyword : KEYWORDS) {
+      int end = i + keyword.length();
+      if (end >= size) {
+        continue;
+      }
+      boolean matches = true;
+      for (int j = 0; j < keyword.length() && matches; j++) {
+        matches = bytes.get(i + j) == keyword.charAt(j);
+      }
+      byte after = bytes.get(end);
+      if (matches && (after == ' ' || after == '#' || (after >= '\t' && after <= '\r'))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Tokenizes every chunk of the file in parallel.
+   * @param bytes the contents of the file
+   * @param bounds the offsets of the chunk boundaries
+   * @param pool the pool to parse on
+   * @return the parsed chunks, in file order
+   * @throws IllegalStateException if a chunk cannot be parsed
+   */
+  private static List<Chunk> parseChunks(ByteBuffer bytes, int[] bounds, ForkJoinPool pool) {
+    List<Callable<Chunk>> tasks = new ArrayList<>();
+    for (int k = 0; k + 1 < bounds.length; k++) {
+      ByteBuffer slice = bytes.slice(bounds[k], bounds[k + 1] - bounds[k]);
+      tasks.add(() -> AnimationReader.parse(new AnimationTokenizer(slice), new Chunk()));
+    }
+    List<Chunk> chunks = new ArrayList<>();
+    for (Future<Chunk> result : pool.invokeAll(tasks)) {
+      chunks.add(join(result));
+    }
+    return chunks;
+  }
+
+  /**
+   * Groups the motion buffers of every chunk by shape, in order of declaration, and checks that
+   * each shape is declared once, before its first motion. Also records the position of every
+   * statement within the file.
+   * @param chunks the parsed chunks, in file order
+   * @return the motion buffers of each shape in file order, or null if a shape is declared twice
+   *         or a motion comes before the declaration of its shape
+   */
+  private static Map<String, List<Motions>> mergeShapes(List<Chunk> chunks) {
+    Map<String, List<Motions>> shapes = new LinkedHashMap<>();
+    for (int k = 0; k < chunks.size(); k++) {
+      for (Statement statement : chunks.get(k).statements) {
+        statement.position = position(k, statement.index);
+        if (statement instanceof Declaration) {
+          if (shapes.putIfAbsent(((Declaration) statement).name, new ArrayList<>()) != null) {
+            return null;
+          }
+        }
+        else if (statement instanceof Motions) {
+          List<Motions> buffers = shapes.get(((Motions) statement).name);
+          if (buffers == null) {
+            return null;
+          }
+          buffers.add((Motions) statement);
+        }
+      }
+    }
+    return shapes;
+  }
+
+  /**
+   * Adds the motions of every shape to the given builder, one task per shape. Each task adds
+   * the buffers of its shape in file order that come before the given position, and stops at
+   * the first one the builder rejects.
+   * @param builder the builder to add to
+   * @param shapes the motion buffers of each shape, in file order
+   * @param limit the position in the file of the first statement not to add
+   * @param pool the pool to run on
+   * @param <Doc> the main model interface type describing animations
+   * @return the rejected buffer that comes first in the file, or null if none was rejected
+   */
+  private static <Doc> Motions addMotionsInParallel(ParallelAnimationBuilder<Doc> builder,
+      Map<String, List<Motions>> shapes, long limit, ForkJoinPool pool) {
+    List<Callable<Motions>> tasks = new ArrayList<>();
+    for (Map.Entry<String, List<Motions>> entry : shapes.entrySet()) {
+      tasks.add(() -> {
+        for (Motions motions : entry.getValue()) {
+          if (motions.position >= limit) {
+            return null;
+          }
+          try {
+            builder.addMotions(entry.getKey(), motions.values, motions.count);
+          }
+          catch (RuntimeException e) {
+            motions.failure = e;
+            return motions;
+          }
+        }
+        return null;
+      });
+    }
+    Motions first = null;
+    for (Future<Motions> result : pool.invokeAll(tasks)) {
+      Motions failed = join(result);
+      if (failed != null && (first == null || failed.position < first.position)) {
+        first = failed;
+      }
+    }
+    return first;
+  }
+
+  /**
+   * Returns a single number ordering the given statement of the given chunk within the file.
+   * @param chunk index of the chunk
+   * @param statement index of the statement in the chunk
+   * @return the position of the statement
+   */
+  private static long position(int chunk, int statement) {
+    return ((long) chunk << 32) | statement;
+  }
+
+  /**
+   * Waits for the given task and returns its result, rethrowing anything it threw.
+   * @param result the task to wait for
+   * @param <T> the type of the result
+   * @return the result of the task
+   */
+  private static <T> T join(Future<T> result) {
+    try {
+      return result.get();
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while reading animation");
+    }
+    catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new IllegalStateException(cause);
+    }
+  }
+
+  /**
+   * A statement of the file, with its index among the statements of its chunk and, once the
+   * chunks are merged, its position within the file.
+   */
+  private abstract static class Statement {
+    final int index;
+    long position;
+    RuntimeException failure;
+
+    private Statement(int index) {
+      this.index = index;
+      this.position = 0;
+      this.failure = null;
+    }
+
+    /**
+     * Makes the calls to the given builder that a sequential read of this statement would.
+     * @param builder the builder to call
+     */
+    abstract void replay(AnimationBuilder<?> builder);
+  }
+
+  /**
+   * A canvas statement.
+   */
+  private static final class Canvas extends Statement {
+    private final int x;
+    private final int y;
+    private final int width;
+    private final int height;
+
+    private Canvas(int x, int y, int width, int height, int index) {
+      super(index);
+      this.x = x;
+      this.y = y;
+      this.width = width;
+      this.height = height;
+    }
+
+    @Override
+    void replay(AnimationBuilder<?> builder) {
+      builder.setBounds(x, y, width, height);
+    }
+  }
+
+  /**
+   * A shape declaration.
+   */
+  private static final class Declaration extends Statement {
+    private final String name;
+    private final String type;
+
+    private Declaration(String name, String type, int index) {
+      super(index);
+      this.name = name;
+      this.type = type;
+    }
+
+    @Override
+    void replay(AnimationBuilder<?> builder) {
+      builder.declareShape(name, type);
+    }
+  }
+
+  /**
+   * A run of consecutive motion statements of a single shape within a chunk, as 16 values each.
+   * Its index is that of the first of them.
+   */
+  private static final class Motions extends Statement {
+    private final String name;
+    private int[] values;
+    private int count;
+
+    private Motions(String name, int capacity, int index) {
+      super(index);
+      this.name = name;
+      this.values = new int[capacity * 16];
+      this.count = 0;
+    }
+
+    private void add(int[] motion) {
+      if ((count + 1) * 16 > values.length) {
+        int[] grown = new int[values.length * 2];
+        System.arraycopy(values, 0, grown, 0, count * 16);
+        values = grown;
+      }
+      System.arraycopy(motion, 0, values, count * 16, 16);
+      count++;
+    }
+
+    @Override
+    void replay(AnimationBuilder<?> builder) {
+      int[] v = values;
+      for (int i = 0; i < count * 16; i += 16) {
+        builder.addMotion(name,
+            v[i], v[i + 1], v[i + 2], v[i + 3], v[i + 4], v[i + 5], v[i + 6], v[i + 7],
+            v[i + 8], v[i + 9], v[i + 10], v[i + 11], v[i + 12], v[i + 13], v[i + 14], v[i + 15]);
+      }
+    }
+  }
+
+  /**
+   * Records the statements of one chunk of the file instead of building anything.
+   */
+  private static final class Chunk implements AnimationBuilder<Chunk> {
+    private final List<Statement> statements;
+    private final int[] motion;
+    private Motions run;
+    private int count;
+
+    private Chunk() {
+      this.statements = new ArrayList<>();
+      this.motion = new int[16];
+      this.run = null;
+      this.count = 0;
+    }
+
+    @Override
+    public Chunk build() {
+      return this;
+    }
+
+    @Override
+    public AnimationBuilder<Chunk> setBounds(int x, int y, int width, int height) {
+      statements.add(new Canvas(x, y, width, height, count));
+      run = null;
+      count++;
+      return this;
+    }
+
+    @Override
+    public AnimationBuilder<Chunk> declareShape(String name, String type) {
+      statements.add(new Declaration(name, type, count));
+      run = null;
+      count++;
+      return this;
+    }
+
+    @Override
+    public AnimationBuilder<Chunk> addMotion(String name,
+        int t1, int x1, int y1, int w1, int h1, int r1, int g1, int b1,
+        int t2, int x2, int y2, int w2, int h2, int r2, int g2, int b2) {
+      if (run == null || !run.name.equals(name)) {
+        run = new Motions(name, 4, count);
+        statements.add(run);
+      }
+      int[] m = motion;
+      m[0] = t1;
+      m[1] = x1;
+      m[2] = y1;
+      m[3] = w1;
+      m[4] = h1;
+      m[5] = r1;
+      m[6] = g1;
+      m[7] = b1;
+      m[8] = t2;
+      m[9] = x2;
+      m[10] = y2;
+      m[11] = w2;
+      m[12] = h2;
+      m[13] = r2;
+      m[14] = g2;
+      m[15] = b2;
+      run.add(m);
+      count++;
+      return this;
+    }
+  }
+}
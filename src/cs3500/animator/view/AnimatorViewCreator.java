@@ -1,18 +1,26 @@
 package cs3500.animator.view;
 
+import cs3500.animator.view.binary.BinaryView;
 import cs3500.animator.view.interactive.InteractiveView;
 import cs3500.animator.view.interactive.discrete.DiscreteInteractiveView;
 import cs3500.animator.view.interactive.outline.OutlineInteractiveView;
 import cs3500.animator.view.interactive.slomo.SlomoInteractiveView;
+import cs3500.animator.view.raster.GifSink;
+import cs3500.animator.view.raster.PngSequenceSink;
+import cs3500.animator.view.raster.RasterView;
 import cs3500.animator.view.text.SVGView;
 import cs3500.animator.view.text.TextualView;
 import cs3500.animator.view.visual.VisualView;
 import java.awt.Point;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 // TODO: 4/21/2021 MODIFIED 
 /**
- * Factory class with a single method that generates the correct view instance
- * depending on the view type.
+ * Factory class that generates the correct view instance depending on the view type. The text
+ * and SVG views render the shapes in parallel on the common fork-join pool, as the GIF and PNG
+ * views do with their frames, and the interactive views sample their frames ahead of playback on
+ * a background thread.
  */
 public final class AnimatorViewCreator {
 
@@ -20,27 +28,83 @@ public final class AnimatorViewCreator {
    * Returns an instance of {@code IAnimationView} using the given parameters
    * depending on the view type.
    * @param type view type
+   * @param out appendable to write to, which must also be an {@code OutputStream} for the
+   *            binary view
    * @param tempo ticks per second
    * @return an instance of IAnimationView
    * @throws IllegalArgumentException if view type is not supported
    */
   public static IAnimationView create(String type, Appendable out, int tempo, int slomo,
       List<Point> intervals) throws IllegalArgumentException {
+    return create(type, out, tempo, slomo, intervals, FramePipeline.DEFAULT_DEPTH);
+  }
+
+  /**
+   * Returns an instance of {@code IAnimationView} using the given parameters
+   * depending on the view type.
+   * @param type view type
+   * @param out appendable to write to, which must also be an {@code OutputStream} for the
+   *            binary view
+   * @param tempo ticks per second
+   * @param prerender number of frames the interactive views sample ahead of playback
+   * @return an instance of IAnimationView
+   * @throws IllegalArgumentException if view type is not supported
+   */
+  public static IAnimationView create(String type, Appendable out, int tempo, int slomo,
+      List<Point> intervals, int prerender) throws IllegalArgumentException {
+    TimeWarp warp = TimeWarp.NONE;
+    if (type.equals("slomo")) {
+      warp = TimeWarp.fromIntervals(tempo, slomo, intervals);
+    }
+    return create(type, out, "", tempo, warp, prerender);
+  }
+
+  /**
+   * Returns an instance of {@code IAnimationView} using the given parameters
+   * depending on the view type.
+   * @param type view type
+   * @param out appendable to write to, which must also be an {@code OutputStream} for the
+   *            binary and GIF views
+   * @param outName name of the output file, which the PNG view numbers its frame files after
+   * @param tempo ticks per second
+   * @param warp rates at which the slomo view plays the parts of the animation
+   * @param prerender number of frames the interactive views sample ahead of playback
+   * @return an instance of IAnimationView
+   * @throws IllegalArgumentException if view type is not supported
+   */
+  public static IAnimationView create(String type, Appendable out, String outName, int tempo,
+      TimeWarp warp, int prerender) throws IllegalArgumentException {
     switch (type) {
       case "text":
-        return new TextualView(out, tempo);
+        return new TextualView(out, tempo, ForkJoinPool.commonPool());
       case "svg":
-        return new SVGView(out, tempo);
+        return new SVGView(out, tempo, ForkJoinPool.commonPool());
+      case "binary":
+        if (out instanceof OutputStream) {
+          return new BinaryView((OutputStream) out);
+        }
+        throw new IllegalArgumentException("Binary view needs an output stream!");
+      case "gif":
+        if (out instanceof OutputStream) {
+          return new RasterView(new GifSink((OutputStream) out, tempo),
+              ForkJoinPool.commonPool());
+        }
+        throw new IllegalArgumentException("GIF view needs an output stream!");
+      case "png":
+        if (outName == null || outName.isEmpty() || outName.equals("System.out")) {
+          throw new IllegalArgumentException("PNG view needs an output file name!");
+        }
+        return new RasterView(new PngSequenceSink(outName), ForkJoinPool.commonPool());
       case "visual":
         return new VisualView();
       case "interactive":
-        return new InteractiveView(tempo);
+        return new InteractiveView(tempo, prerender);
       case "outline":
-        return new OutlineInteractiveView(tempo);
+        return new OutlineInteractiveView(tempo, prerender);
       case "discrete":
-        return new DiscreteInteractiveView(tempo);
+        return new DiscreteInteractiveView(tempo, prerender);
       case "slomo":
-        return new SlomoInteractiveView(tempo, slomo, intervals);
+        return new SlomoInteractiveView(tempo, warp, prerender);
       default:
         throw new IllegalArgumentException("View type not yet supported!");
     }
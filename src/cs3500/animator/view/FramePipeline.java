@@ -0,0 +1,251 @@
+package cs3500.animator.view;
+
+import cs3500.animator.model.AnimationSnapshot;
+import cs3500.animator.model.FrameBuffer;
+import cs3500.animator.model.IReadOnlyAnimationModel;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Samples the frames of an animation on a background thread, ahead of the frame being played, so
+ * that the event dispatch thread only has to copy a ready frame instead of interpolating every
+ * shape itself. Frames are numbered, and each number is mapped to the time it shows by the
+ * pipeline's frame times: by default frame {@code k} shows tick {@code k}, and a view that shows
+ * frames between ticks sets times from its {@code PlaybackClock}. The worker fills a ring buffer
+ * with the frames following the last one taken, up to the depth of the buffer, and waits whenever
+ * the buffer is full. Taking a frame further ahead that is already in the buffer drops the frames
+ * before it, as happens when playback skips frames to keep up with real time. Taking any other
+ * frame (when the animation restarts, loops, or jumps) samples that frame directly and moves the
+ * worker to the frames after it. The model may be edited while the pipeline is in use: the frames
+ * in the buffer are kept only while the model's snapshot is the one they were sampled from, and
+ * are discarded once it changes.
+ */
+public final class FramePipeline {
+  public static final int DEFAULT_DEPTH = 16;
+
+  private final IReadOnlyAnimationModel model;
+  private final int depth;
+  private final FrameBuffer[] slots;
+  private final Object lock;
+  private IntToDoubleFunction times;
+  private AnimationSnapshot sampledFrom;
+  private Thread worker;
+  private boolean closed;
+  private int head;
+  private int start;
+  private int ready;
+  private long generation;
+  private long hits;
+  private long misses;
+
+  /**
+   * Constructs a {@code FramePipeline} object whose frames show whole ticks. The worker thread is
+   * started when the first frame is taken.
+   * @param model model to sample frames from
+   * @param depth number of frames to sample ahead of the frame being played
+   * @throws IllegalArgumentException if the model is null or the depth is not positive
+   */
+  public FramePipeline(IReadOnlyAnimationModel model, int depth)
+      throws IllegalArgumentException {
+    if (model == null) {
+      throw new IllegalArgumentException("Model cannot be null!");
+    }
+    if (depth < 1) {
+      throw new IllegalArgumentException("Depth must be positive!");
+    }
+    this.model = model;
+    this.depth = depth;
+    this.slots = new FrameBuffer[depth];
+    for (int i = 0; i < depth; i++) {
+      slots[i] = new FrameBuffer();
+    }
+    this.lock = new Object();
+    this.times = frame -> frame;
+    this.sampledFrom = null;
+    this.worker = null;
+    this.closed = false;
+    this.head = 0;
+    this.start = 0;
+    this.ready = 0;
+    this.generation = 0;
+    this.hits = 0;
+    this.misses = 0;
+  }
+
+  /**
+   * Returns the number of frames sampled ahead of the frame being played.
+   * @return the depth of the ring buffer
+   */
+  public int getDepth() {
+    return depth;
+  }
+
+  /**
+   * Returns the number of frames taken that were already sampled by the worker.
+   * @return the number of frames taken from the ring buffer
+   */
+  public long getHits() {
+    synchronized (lock) {
+      return hits;
+    }
+  }
+
+  /**
+   * Returns the number of frames taken that had to be sampled on the calling thread.
+   * @return the number of frames sampled directly
+   */
+  public long getMisses() {
+    synchronized (lock) {
+      return misses;
+    }
+  }
+
+  /**
+   * Sets the time, in ticks, that each frame shows, and discards the frames sampled so far.
+   * @param times the time of each frame number
+   * @throws IllegalArgumentException if times is null
+   */
+  public void setFrameTimes(IntToDoubleFunction times) throws IllegalArgumentException {
+    if (times == null) {
+      throw new IllegalArgumentException("Frame times cannot be null!");
+    }
+    synchronized (lock) {
+      this.times = times;
+      start = 0;
+      ready = 0;
+      generation++;
+      lock.notifyAll();
+    }
+  }
+
+  /**
+   * Fills the given frame with the shapes at the time of the given frame number. The frame is
+   * copied from the ring buffer if the worker has already sampled it from the current state of
+   * the model, dropping any frames sampled before it, and sampled directly otherwise. Either way,
+   * the worker then samples the frames after the given one.
+   * @param frame number of the frame to take, which is its tick unless frame times were set
+   * @param out frame to fill
+   * @throws IllegalArgumentException if the frame to fill is null
+   * @throws IllegalStateException if the pipeline has been closed
+   */
+  public void take(int frame, FrameBuffer out)
+      throws IllegalArgumentException, IllegalStateException {
+    if (out == null) {
+      throw new IllegalArgumentException("Frame cannot be null!");
+    }
+    AnimationSnapshot now = model.snapshot();
+    double time;
+    synchronized (lock) {
+      if (closed) {
+        throw new IllegalStateException("Pipeline is closed!");
+      }
+      if (worker == null) {
+        startWorker();
+      }
+      if (now == sampledFrom && frame >= head && frame < head + ready) {
+        int skipped = frame - head;
+        start = (start + skipped) % depth;
+        ready -= skipped;
+        head = frame;
+        out.copyFrom(slots[start]);
+        start = (start + 1) % depth;
+        head++;
+        ready--;
+        hits++;
+        lock.notifyAll();
+        return;
+      }
+      // anything sampled so far is for other frames or an older animation, so start over
+      sampledFrom = now;
+      head = frame + 1;
+      start = 0;
+      ready = 0;
+      generation++;
+      misses++;
+      time = times.applyAsDouble(frame);
+      lock.notifyAll();
+    }
+    sample(time, out);
+  }
+
+  /**
+   * Stops the worker thread. Frames can no longer be taken afterwards.
+   */
+  public void close() {
+    synchronized (lock) {
+      closed = true;
+      lock.notifyAll();
+    }
+  }
+
+  /**
+   * Starts the worker thread. Must be called while holding the lock.
+   */
+  private void startWorker() {
+    worker = new Thread(this::produce, "frame-pipeline");
+    worker.setDaemon(true);
+    worker.start();
+  }
+
+  /**
+   * Fills the given frame with the shapes at the given time, sampling whole ticks by tick so that
+   * a caching model can serve them.
+   * @param time time to sample, in ticks
+   * @param out frame to fill
+   */
+  private void sample(double time, FrameBuffer out) {
+    if (time == Math.floor(time)) {
+      model.sampleTick((int) time, out);
+    }
+    else {
+      model.sampleTime(time, out);
+    }
+  }
+
+  /**
+   * Runs the worker: repeatedly samples the first frame missing from the ring buffer into a
+   * frame of its own, and swaps that frame into the buffer unless the buffer was reset in the
+   * meantime. If the model was edited since the buffer was reset, the buffer is emptied instead,
+   * and the worker samples its frames again from the edited model.
+   */
+  private void produce() {
+    FrameBuffer work = new FrameBuffer();
+    while (true) {
+      int frame;
+      double time;
+      long sampledFor;
+      synchronized (lock) {
+        while (!closed && ready == depth) {
+          try {
+            lock.wait();
+          }
+          catch (InterruptedException e) {
+            return;
+          }
+        }
+        if (closed) {
+          return;
+        }
+        frame = head + ready;
+        time = times.applyAsDouble(frame);
+        sampledFor = generation;
+      }
+      sample(time, work);
+      AnimationSnapshot now = model.snapshot();
+      synchronized (lock) {
+        if (now != sampledFrom) {
+          sampledFrom = now;
+          start = 0;
+          ready = 0;
+          generation++;
+        }
+        else if (sampledFor == generation && frame == head + ready) {
+          int slot = (start + ready) % depth;
+          FrameBuffer free = slots[slot];
+          slots[slot] = work;
+          work = free;
+          ready++;
+        }
+      }
+    }
+  }
+}
@@ -1,5 +1,6 @@
 package cs3500.animator.view;
 
+import cs3500.animator.model.FrameBuffer;
 import cs3500.animator.model.IReadOnlyAnimationModel;
 import cs3500.animator.model.shapes.ShapeType;
 import cs3500.animator.view.interactive.IInteractiveView;
@@ -112,6 +113,11 @@ public class MockInteractiveView implements IInteractiveView {
     // not called from controller
   }
 
+  @Override
+  public void drawFrame(FrameBuffer frame) throws IllegalArgumentException {
+    // not called from controller
+  }
+
   @Override
   public void refresh() {
     // not called from controller
@@ -0,0 +1,249 @@
+package cs3500.animator.view;
+
+import java.awt.DisplayMode;
+import java.awt.GraphicsEnvironment;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps the playback position of an animation, in ticks, in step with real time. The position is
+ * computed from the time elapsed since the clock was last started, seeked, or changed speed, as
+ * measured by {@code System.nanoTime()}, so it does not depend on how often it is read: a view that
+ * falls behind simply skips to the current tick instead of slowing the animation down. Elapsed
+ * time is mapped to ticks through a {@code TimeWarp}, so parts of the animation can play slower or
+ * faster than the rest without the view changing its timer.
+ */
+public final class PlaybackClock {
+  public static final int DEFAULT_REFRESH_RATE = 60;
+
+  private final LongSupplier time;
+  private TimeWarp warp;
+  private double ticksPerSecond;
+  private double anchorTick;
+  private double anchorTime;
+  private long anchorNanos;
+  private boolean running;
+
+  /**
+   * Constructs a paused {@code PlaybackClock} object at tick 0, timed by {@code System.nanoTime()}.
+   * @param ticksPerSecond speed of playback
+   * @throws IllegalArgumentException if the speed is negative or not a number
+   */
+  public PlaybackClock(double ticksPerSecond) throws IllegalArgumentException {
+    this(ticksPerSecond, System::nanoTime);
+  }
+
+  /**
+   * Constructs a paused {@code PlaybackClock} object at tick 0.
+   * @param ticksPerSecond speed of playback
+   * @param time source of the current time, in nanoseconds
+   * @throws IllegalArgumentException if the speed is negative or not a number, or time is null
+   */
+  public PlaybackClock(double ticksPerSecond, LongSupplier time)
+      throws IllegalArgumentException {
+    checkSpeed(ticksPerSecond);
+    if (time == null) {
+      throw new IllegalArgumentException("Time source cannot be null!");
+    }
+    this.time = time;
+    this.warp = TimeWarp.NONE;
+    this.ticksPerSecond = ticksPerSecond;
+    this.anchorTick = 0;
+    this.anchorTime = 0;
+    this.anchorNanos = time.getAsLong();
+    this.running = false;
+  }
+
+  /**
+   * Returns the refresh rate of the default screen, which views that interpolate between ticks
+   * show frames at.
+   * @return the refresh rate in frames per second, or {@code DEFAULT_REFRESH_RATE} if it is
+   *         unknown or there is no screen
+   */
+  public static int refreshRate() {
+    if (GraphicsEnvironment.isHeadless()) {
+      return DEFAULT_REFRESH_RATE;
+    }
+    int rate = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+        .getDisplayMode().getRefreshRate();
+    return rate == DisplayMode.REFRESH_RATE_UNKNOWN ? DEFAULT_REFRESH_RATE : rate;
+  }
+
+  /**
+   * Returns the delay between frames shown at the given refresh rate.
+   * @param refreshRate frames per second
+   * @return the delay between frames, in milliseconds
+   * @throws IllegalArgumentException if the refresh rate is not positive
+   */
+  public static int refreshDelay(int refreshRate) throws IllegalArgumentException {
+    if (refreshRate <= 0) {
+      throw new IllegalArgumentException("Refresh rate must be positive!");
+    }
+    return (int) Math.max(1, Math.round(1000.0 / refreshRate));
+  }
+
+  /**
+   * Returns the speed of playback.
+   * @return the number of ticks played per second
+   */
+  public double getTicksPerSecond() {
+    return ticksPerSecond;
+  }
+
+  /**
+   * Changes the speed of playback from the current position onwards.
+   * @param ticksPerSecond new speed of playback
+   * @throws IllegalArgumentException if the speed is negative or not a number
+   */
+  public void setTicksPerSecond(double ticksPerSecond) throws IllegalArgumentException {
+    checkSpeed(ticksPerSecond);
+    seek(getPosition());
+    this.ticksPerSecond = ticksPerSecond;
+  }
+
+  /**
+   * Returns the speed of playback at the current position, after time warping.
+   * @return the number of ticks played per second at the current position
+   */
+  public double getCurrentSpeed() {
+    return ticksPerSecond * warp.rateAt(getPosition());
+  }
+
+  /**
+   * Changes the mapping from elapsed time to ticks, keeping the current position.
+   * @param warp the new time warp, or {@code TimeWarp.NONE} to play every tick at the same speed
+   * @throws IllegalArgumentException if warp is null
+   */
+  public void setTimeWarp(TimeWarp warp) throws IllegalArgumentException {
+    if (warp == null) {
+      throw new IllegalArgumentException("Time warp cannot be null!");
+    }
+    double position = getPosition();
+    this.warp = warp;
+    seek(position);
+  }
+
+  /**
+   * Returns whether the clock is running.
+   * @return true if the position advances with time
+   */
+  public boolean isRunning() {
+    return running;
+  }
+
+  /**
+   * Starts the clock from its current position. Does nothing if it is already running.
+   */
+  public void start() {
+    if (!running) {
+      anchorNanos = time.getAsLong();
+      running = true;
+    }
+  }
+
+  /**
+   * Stops the clock at its current position. Does nothing if it is already paused.
+   */
+  public void pause() {
+    if (running) {
+      seek(getPosition());
+      running = false;
+    }
+  }
+
+  /**
+   * Moves the clock to the given position, which it keeps advancing from if it is running.
+   * @param tick new position, in ticks
+   */
+  public void seek(double tick) {
+    anchorTick = tick;
+    anchorTime = warp.playTime(tick);
+    anchorNanos = time.getAsLong();
+  }
+
+  /**
+   * Returns the current position of the clock.
+   * @return the current position, in ticks, including the fraction of the current tick
+   */
+  public double getPosition() {
+    if (!running) {
+      return anchorTick;
+    }
+    long elapsed = time.getAsLong() - anchorNanos;
+    if (elapsed == 0) {
+      return anchorTick;
+    }
+    return warp.tickAt(anchorTime + elapsed * ticksPerSecond / 1e9);
+  }
+
+  /**
+   * Returns the number of the frame shown now at the given frame rate. Frames are spaced evenly
+   * in play time at the current speed, and numbered from the play time of tick 0, so the frame
+   * shown is the last one at or before the current position; {@link #frameTimes(int)} gives the
+   * position each frame shows.
+   * @param framesPerSecond frame rate
+   * @return the number of the current frame
+   * @throws IllegalArgumentException if the frame rate is not positive
+   * @throws IllegalStateException if the speed of playback is 0
+   */
+  public int getFrame(int framesPerSecond)
+      throws IllegalArgumentException, IllegalStateException {
+    if (framesPerSecond <= 0) {
+      throw new IllegalArgumentException("Frame rate must be positive!");
+    }
+    if (ticksPerSecond == 0) {
+      throw new IllegalStateException("A stopped clock has no frames!");
+    }
+    double playTime = anchorTime;
+    if (running) {
+      playTime += (time.getAsLong() - anchorNanos) * ticksPerSecond / 1e9;
+    }
+    return (int) Math.floor(playTime * framesPerSecond / ticksPerSecond);
+  }
+
+  /**
+   * Returns the positions shown by the frames numbered by {@link #getFrame(int)} at the given
+   * frame rate, for the current speed and time warp; it must be asked for again once either
+   * changes. Where playback is slower than the frame rate, a frame shows its exact position,
+   * between two ticks; elsewhere it shows the whole tick the position is in, and ticks there is
+   * no frame for are skipped.
+   * @param framesPerSecond frame rate
+   * @return the position of each frame, in ticks
+   * @throws IllegalArgumentException if the frame rate is not positive
+   * @throws IllegalStateException if the speed of playback is 0
+   */
+  public IntToDoubleFunction frameTimes(int framesPerSecond)
+      throws IllegalArgumentException, IllegalStateException {
+    if (framesPerSecond <= 0) {
+      throw new IllegalArgumentException("Frame rate must be positive!");
+    }
+    if (ticksPerSecond == 0) {
+      throw new IllegalStateException("A stopped clock has no frames!");
+    }
+    TimeWarp frameWarp = warp;
+    double speed = ticksPerSecond;
+    return frame -> {
+      double tick = frameWarp.tickAt(frame * speed / framesPerSecond);
+      return speed * frameWarp.rateAt(tick) < framesPerSecond ? tick : Math.floor(tick);
+    };
+  }
+
+  /**
+   * Returns the tick the clock is currently in.
+   * @return the current position, rounded down to a whole tick
+   */
+  public int getTick() {
+    return (int) Math.floor(getPosition());
+  }
+
+  /**
+   * Helper that checks that a speed of playback is valid.
+   * @param ticksPerSecond speed to check
+   * @throws IllegalArgumentException if the speed is negative or not a number
+   */
+  private static void checkSpeed(double ticksPerSecond) throws IllegalArgumentException {
+    if (!(ticksPerSecond >= 0) || Double.isInfinite(ticksPerSecond)) {
+      throw new IllegalArgumentException("Ticks per second must be a non-negative number!");
+    }
+  }
+}
@@ -0,0 +1,306 @@
+package cs3500.animator.view;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Scanner;
+
+/**
+ * An immutable mapping between the ticks of an animation and the time at which they are played,
+ * for playing parts of it slower or faster than the rest. It is built from any number of segments
+ * of ticks, each with a rate by which it multiplies the speed of playback; where segments overlap,
+ * their rates are multiplied together. The segments are compiled into a sorted, piecewise-linear
+ * table of breakpoints, so mapping a tick to its play time or back is a binary search over the k
+ * breakpoints, taking O(log k) time. Play time is measured in ticks at the speed of playback, so
+ * ticks outside every segment are played at their own time.
+ */
+public final class TimeWarp {
+  public static final TimeWarp NONE = new Builder().build();
+
+  private final int[] ticks;
+  private final double[] times;
+  private final double[] rates;
+
+  /**
+   * Constructs a {@code TimeWarp} object from its breakpoints.
+   * @param ticks ticks at which the rate changes, in increasing order
+   * @param times play times of those ticks
+   * @param rates rate from each breakpoint until the next; the last is always 1
+   */
+  private TimeWarp(int[] ticks, double[] times, double[] rates) {
+    this.ticks = ticks;
+    this.times = times;
+    this.rates = rates;
+  }
+
+  /**
+   * Builds the time warp of a slow-motion view, in which every tick of the given intervals is
+   * played at the slow-motion tempo rather than the tempo of the rest of the animation.
+   * @param tempo ticks per second of the rest of the animation
+   * @param slomo ticks per second of the intervals
+   * @param intervals first and last ticks of each interval, inclusive
+   * @return the time warp
+   * @throws IllegalArgumentException if intervals is null, slomo is negative, or there are
+   *         intervals and either tempo is not positive
+   */
+  public static TimeWarp fromIntervals(int tempo, int slomo, List<Point> intervals)
+      throws IllegalArgumentException {
+    if (slomo < 0) {
+      throw new IllegalArgumentException("Slomo tempo cannot be negative!");
+    }
+    if (intervals == null) {
+      throw new IllegalArgumentException("Times cannot be null!");
+    }
+    Builder builder = new Builder();
+    for (Point interval : intervals) {
+      builder.addInterval(interval.x, interval.y, slomo, tempo);
+    }
+    return builder.build();
+  }
+
+  /**
+   * Reads a time warp. Every non-blank line describes one segment, with its first and last ticks
+   * inclusive: {@code warp <first> <last> <rate>} multiplies the speed of playback by the rate,
+   * and {@code slomo <first> <last> [<tempo>]} plays the segment at the given tempo. A tempo may
+   * be left out if the first line is a single number, which is then the tempo of every segment
+   * without one.
+   * @param in source to read from
+   * @param tempo ticks per second of the rest of the animation
+   * @return the time warp
+   * @throws IllegalArgumentException if in is null or cannot be parsed, or a tempo is not positive
+   */
+  public static TimeWarp parse(Readable in, int tempo) throws IllegalArgumentException {
+    if (in == null) {
+      throw new IllegalArgumentException("Readable cannot be null!");
+    }
+    Builder builder = new Builder();
+    Scanner s = new Scanner(in);
+    int slomo = 0;
+    boolean first = true;
+    while (s.hasNextLine()) {
+      String[] arr = s.nextLine().trim().split("\\s+");
+      if (arr[0].isEmpty()) {
+        continue;
+      }
+      if (first && arr.length == 1) {
+        slomo = Integer.parseInt(arr[0]);
+      }
+      else if (arr[0].equals("slomo") && (arr.length == 3 || arr.length == 4)) {
+        builder.addInterval(Integer.parseInt(arr[1]), Integer.parseInt(arr[2]),
+            arr.length == 4 ? Integer.parseInt(arr[3]) : slomo, tempo);
+      }
+      else if (arr[0].equals("warp") && arr.length == 4) {
+        builder.addSegment(Integer.parseInt(arr[1]), Integer.parseInt(arr[2]) + 1,
+            Double.parseDouble(arr[3]));
+      }
+      else {
+        throw new IllegalArgumentException("Time warp could not be parsed!");
+      }
+      first = false;
+    }
+    return builder.build();
+  }
+
+  /**
+   * Returns the time at which the given tick is played.
+   * @param tick tick of the animation, which may be between two ticks
+   * @return its play time, in ticks at the speed of playback
+   */
+  public double playTime(double tick) {
+    int i = lastAtOrBefore(ticks, tick);
+    if (i < 0) {
+      return tick;
+    }
+    return times[i] + (tick - ticks[i]) / rates[i];
+  }
+
+  /**
+   * Returns the tick played at the given time. This is the inverse of {@code playTime()}.
+   * @param time play time, in ticks at the speed of playback
+   * @return the tick played at that time, which may be between two ticks
+   */
+  public double tickAt(double time) {
+    int i = lastAtOrBefore(times, time);
+    if (i < 0) {
+      return time;
+    }
+    return ticks[i] + (time - times[i]) * rates[i];
+  }
+
+  /**
+   * Returns the rate by which the speed of playback is multiplied at the given tick.
+   * @param tick tick of the animation
+   * @return the product of the rates of every segment containing the tick, or 1 if there is none
+   */
+  public double rateAt(double tick) {
+    int i = lastAtOrBefore(ticks, tick);
+    return i < 0 ? 1 : rates[i];
+  }
+
+  /**
+   * Returns the number of breakpoints of this time warp, at which its rate changes.
+   * @return the number of breakpoints
+   */
+  public int size() {
+    return ticks.length;
+  }
+
+  /**
+   * Helper that finds the last breakpoint at or before the given tick.
+   * @param sorted ticks of the breakpoints, in increasing order
+   * @param key tick to search for
+   * @return the index of the breakpoint, or -1 if there is none
+   */
+  private static int lastAtOrBefore(int[] sorted, double key) {
+    int lo = 0;
+    int hi = sorted.length;
+    while (lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if (sorted[mid] <= key) {
+        lo = mid + 1;
+      }
+      else {
+        hi = mid;
+      }
+    }
+    return lo - 1;
+  }
+
+  /**
+   * Helper that finds the last breakpoint at or before the given play time.
+   * @param sorted play times of the breakpoints, in increasing order
+   * @param key play time to search for
+   * @return the index of the breakpoint, or -1 if there is none
+   */
+  private static int lastAtOrBefore(double[] sorted, double key) {
+    int lo = 0;
+    int hi = sorted.length;
+    while (lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if (sorted[mid] <= key) {
+        lo = mid + 1;
+      }
+      else {
+        hi = mid;
+      }
+    }
+    return lo - 1;
+  }
+
+  /**
+   * Collects the segments of a time warp and compiles them into its table of breakpoints.
+   */
+  public static final class Builder {
+    private final List<Segment> segments;
+
+    /**
+     * Constructs a {@code Builder} object with no segments.
+     */
+    public Builder() {
+      this.segments = new ArrayList<>();
+    }
+
+    /**
+     * Adds a segment of ticks that is played at a different speed.
+     * @param start first tick of the segment
+     * @param end tick after the last tick of the segment
+     * @param rate factor by which the speed of playback is multiplied in the segment
+     * @return this builder
+     * @throws IllegalArgumentException if start is negative, end is not after start, or rate is
+     *         not a positive number
+     */
+    public Builder addSegment(int start, int end, double rate) throws IllegalArgumentException {
+      if (start < 0 || end <= start) {
+        throw new IllegalArgumentException("Segment must be a non-empty range of ticks!");
+      }
+      if (!(rate > 0) || Double.isInfinite(rate)) {
+        throw new IllegalArgumentException("Rate must be a positive number!");
+      }
+      segments.add(new Segment(start, end, rate));
+      return this;
+    }
+
+    /**
+     * Helper that adds an inclusive interval of ticks that is played at its own tempo.
+     * @param first first tick of the interval
+     * @param last last tick of the interval
+     * @param slomo ticks per second of the interval
+     * @param tempo ticks per second of the rest of the animation
+     * @throws IllegalArgumentException if either tempo is not positive, or the interval is empty
+     */
+    private void addInterval(int first, int last, int slomo, int tempo)
+        throws IllegalArgumentException {
+      if (slomo <= 0 || tempo <= 0) {
+        throw new IllegalArgumentException("Tempos must be positive!");
+      }
+      addSegment(first, last + 1, (double) slomo / tempo);
+    }
+
+    /**
+     * Compiles the segments into a time warp. The starts and ends of the segments are sorted and
+     * swept in order, keeping the product of the rates of the segments that are open; breakpoints
+     * at which the rate does not change are left out.
+     * @return the time warp
+     */
+    public TimeWarp build() {
+      int n = segments.size();
+      long[] keyed = new long[2 * n];
+      for (int i = 0; i < n; i++) {
+        // sort by tick, carrying the segment in the low bits and whether it opens in bit 31
+        keyed[2 * i] = ((long) segments.get(i).start << 32) | (1L << 31) | i;
+        keyed[2 * i + 1] = ((long) segments.get(i).end << 32) | i;
+      }
+      Arrays.sort(keyed);
+      int[] ticks = new int[2 * n];
+      double[] rates = new double[2 * n];
+      int count = 0;
+      int open = 0;
+      double rate = 1;
+      for (int i = 0; i < keyed.length; ) {
+        int tick = (int) (keyed[i] >> 32);
+        while (i < keyed.length && (int) (keyed[i] >> 32) == tick) {
+          Segment segment = segments.get((int) (keyed[i] & 0x7FFFFFFF));
+          if ((keyed[i] & (1L << 31)) != 0) {
+            rate *= segment.rate;
+            open++;
+          }
+          else {
+            rate /= segment.rate;
+            open--;
+          }
+          i++;
+        }
+        if (open == 0) {
+          // no rounding error survives the last segment closing
+          rate = 1;
+        }
+        if (rate != (count == 0 ? 1 : rates[count - 1])) {
+          ticks[count] = tick;
+          rates[count] = rate;
+          count++;
+        }
+      }
+      double[] times = new double[count];
+      for (int i = 0; i < count; i++) {
+        times[i] = i == 0 ? ticks[0] : times[i - 1] + (ticks[i] - ticks[i - 1]) / rates[i - 1];
+      }
+      return new TimeWarp(Arrays.copyOf(ticks, count), times, Arrays.copyOf(rates, count));
+    }
+  }
+
+  /**
+   * A range of ticks played at a rate.
+   */
+  private static final class Segment {
+    private final int start;
+    private final int end;
+    private final double rate;
+
+    private Segment(int start, int end, double rate) {
+      this.start = start;
+      this.end = end;
+      this.rate = rate;
+    }
+  }
+}
@@ -0,0 +1,260 @@
+package cs3500.animator.view.binary;
+
+import cs3500.animator.model.IReadOnlyAnimationModel;
+import cs3500.animator.model.Screen;
+import cs3500.animator.model.events.IEvent;
+import cs3500.animator.model.shapes.IReadOnlyShape;
+import cs3500.animator.utils.BinaryAnimationReader;
+import cs3500.animator.view.IAnimationView;
+import java.awt.Color;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * A binary representation of an animation, in the compact format read back by
+ * {@link BinaryAnimationReader}. Writes a table of the shapes, followed by the keyframes of each
+ * shape as delta-encoded variable-length integers. Positions are rounded to whole numbers, as
+ * they are in the text format.
+ */
+public class BinaryView implements IAnimationView {
+  private static final int BUFFER_SIZE = 8192;
+  private static final int MAX_KEYFRAME_SIZE = 1 + BinaryAnimationReader.KEYFRAME_VALUES * 5;
+
+  private final OutputStream out;
+  private final byte[] buffer;
+  private int length;
+  private int[] keyframes;
+  private int[] runs;
+
+  /**
+   * Constructs a {@code BinaryView} object.
+   * @param out stream to write to
+   * @throws IllegalArgumentException if out is null
+   */
+  public BinaryView(OutputStream out) throws IllegalArgumentException {
+    if (out == null) {
+      throw new IllegalArgumentException("Output stream cannot be null!");
+    }
+    this.out = out;
+    this.buffer = new byte[BUFFER_SIZE];
+    this.length = 0;
+    this.keyframes = new int[BinaryAnimationReader.KEYFRAME_VALUES * 16];
+    this.runs = new int[16];
+  }
+
+  /**
+   * Overrides render() in IAnimationView.
+   * @throws IllegalStateException if rendering fails for any reason.
+   */
+  @Override
+  public void render(IReadOnlyAnimationModel model) throws IllegalStateException {
+    if (model == null) {
+      throw new IllegalArgumentException("Model cannot be null!");
+    }
+    try {
+      length = 0;
+      writeHeader(model);
+      for (IReadOnlyShape shape : model.getShapes()) {
+        writeShape(model.getEventsById(shape.getName()));
+      }
+      flushBuffer();
+      out.flush();
+    }
+    catch (IOException e) {
+      throw new IllegalStateException("Rendering failed!");
+    }
+  }
+
+  /**
+   * Writes the magic bytes, the version, the canvas, and the shape table.
+   * @param model model to write
+   * @throws IOException if the stream cannot be written to
+   */
+  private void writeHeader(IReadOnlyAnimationModel model) throws IOException {
+    for (byte b : BinaryAnimationReader.MAGIC) {
+      buffer[length++] = b;
+    }
+    buffer[length++] = (byte) BinaryAnimationReader.VERSION;
+    Screen screen = model.getScreen();
+    writeSigned((int) Math.round(screen.getOrigin().getX()));
+    writeSigned((int) Math.round(screen.getOrigin().getY()));
+    writeSigned(screen.getWidth());
+    writeSigned(screen.getHeight());
+    List<IReadOnlyShape> shapes = model.getShapes();
+    writeUnsigned(shapes.size());
+    for (IReadOnlyShape shape : shapes) {
+      writeString(shape.getName());
+      writeString(shape.getType().toString().toLowerCase());
+    }
+  }
+
+  /**
+   * Writes the keyframes of a shape, split into runs wherever an event does not start in the
+   * state the previous one ended in.
+   * @param events the events of the shape, in order
+   * @throws IOException if the stream cannot be written to
+   */
+  private void writeShape(List<IEvent> events) throws IOException {
+    int count = 0;
+    int runCount = 0;
+    for (IEvent event : events) {
+      int start = count;
+      count = addKeyframe(count, event.getStartTime(), Math.round(event.getStartPosn().getX()),
+          Math.round(event.getStartPosn().getY()), event.getStartWidth(),
+          event.getStartHeight(), event.getStartColor());
+      if (runCount == 0 || !sameKeyframe(start - BinaryAnimationReader.KEYFRAME_VALUES, start)) {
+        if (runCount == runs.length) {
+          int[] grown = new int[runs.length * 2];
+          System.arraycopy(runs, 0, grown, 0, runCount);
+          runs = grown;
+        }
+        runs[runCount++] = 1;
+      }
+      else {
+        count = start;
+      }
+      count = addKeyframe(count, event.getEndTime(), Math.round(event.getEndPosn().getX()),
+          Math.round(event.getEndPosn().getY()), event.getEndWidth(), event.getEndHeight(),
+          event.getEndColor());
+      runs[runCount - 1]++;
+    }
+
+    writeUnsigned(runCount);
+    int[] prev = new int[BinaryAnimationReader.KEYFRAME_VALUES];
+    int k = 0;
+    for (int run = 0; run < runCount; run++) {
+      writeUnsigned(runs[run]);
+      for (int i = 0; i < runs[run]; i++, k += BinaryAnimationReader.KEYFRAME_VALUES) {
+        writeKeyframe(k, prev);
+      }
+    }
+  }
+
+  /**
+   * Appends a keyframe to the keyframes of the current shape.
+   * @param count number of values already held
+   * @param t time of the keyframe
+   * @param x x-coordinate, rounded
+   * @param y y-coordinate, rounded
+   * @param w width
+   * @param h height
+   * @param color color
+   * @return the number of values held after the keyframe
+   */
+  private int addKeyframe(int count, int t, long x, long y, int w, int h, Color color) {
+    if (count + BinaryAnimationReader.KEYFRAME_VALUES > keyframes.length) {
+      int[] grown = new int[keyframes.length * 2];
+      System.arraycopy(keyframes, 0, grown, 0, count);
+      keyframes = grown;
+    }
+    keyframes[count] = t;
+    keyframes[count + 1] = (int) x;
+    keyframes[count + 2] = (int) y;
+    keyframes[count + 3] = w;
+    keyframes[count + 4] = h;
+    keyframes[count + 5] = color.getRed();
+    keyframes[count + 6] = color.getGreen();
+    keyframes[count + 7] = color.getBlue();
+    return count + BinaryAnimationReader.KEYFRAME_VALUES;
+  }
+
+  /**
+   * Determines whether the keyframes held at the two given offsets have the same values.
+   * @param a offset of the first keyframe
+   * @param b offset of the second keyframe
+   * @return true if the keyframes are the same
+   */
+  private boolean sameKeyframe(int a, int b) {
+    for (int i = 0; i < BinaryAnimationReader.KEYFRAME_VALUES; i++) {
+      if (keyframes[a + i] != keyframes[b + i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Writes the keyframe held at the given offset as deltas from the previous keyframe, which is
+   * then replaced by it.
+   * @param offset offset of the keyframe
+   * @param prev values of the previous keyframe
+   * @throws IOException if the stream cannot be written to
+   */
+  private void writeKeyframe(int offset, int[] prev) throws IOException {
+    ensureCapacity(MAX_KEYFRAME_SIZE);
+    int maskAt = length++;
+    int mask = 0;
+    for (int i = 0; i < BinaryAnimationReader.KEYFRAME_VALUES; i++) {
+      int delta = keyframes[offset + i] - prev[i];
+      if (delta != 0) {
+        mask |= 1 << i;
+        writeSigned(delta);
+        prev[i] = keyframes[offset + i];
+      }
+    }
+    buffer[maskAt] = (byte) mask;
+  }
+
+  /**
+   * Writes a string as its length in UTF-8 bytes followed by the bytes.
+   * @param s string to write
+   * @throws IOException if the stream cannot be written to
+   */
+  private void writeString(String s) throws IOException {
+    byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+    writeUnsigned(utf8.length);
+    int written = 0;
+    while (written < utf8.length) {
+      ensureCapacity(1);
+      int n = Math.min(utf8.length - written, buffer.length - length);
+      System.arraycopy(utf8, written, buffer, length, n);
+      length += n;
+      written += n;
+    }
+  }
+
+  /**
+   * Writes a signed integer, zigzag-encoded so that small negative values stay short.
+   * @param value integer to write
+   * @throws IOException if the stream cannot be written to
+   */
+  private void writeSigned(int value) throws IOException {
+    writeUnsigned((value << 1) ^ (value >> 31));
+  }
+
+  /**
+   * Writes the bits of the given integer as a variable-length unsigned integer.
+   * @param value integer to write
+   * @throws IOException if the stream cannot be written to
+   */
+  private void writeUnsigned(int value) throws IOException {
+    ensureCapacity(5);
+    while ((value & ~0x7F) != 0) {
+      buffer[length++] = (byte) ((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    buffer[length++] = (byte) value;
+  }
+
+  /**
+   * Flushes the buffer to the stream if it does not have room for the given number of bytes.
+   * @param bytes number of bytes about to be written
+   * @throws IOException if the stream cannot be written to
+   */
+  private void ensureCapacity(int bytes) throws IOException {
+    if (length + bytes > buffer.length) {
+      flushBuffer();
+    }
+  }
+
+  /**
+   * Writes the contents of the buffer to the stream and empties it.
+   * @throws IOException if the stream cannot be written to
+   */
+  private void flushBuffer() throws IOException {
+    out.write(buffer, 0, length);
+    length = 0;
+  }
+}
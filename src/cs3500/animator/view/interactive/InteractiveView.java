@@ -1,9 +1,12 @@
 package cs3500.animator.view.interactive;
 
+import cs3500.animator.model.FrameBuffer;
 import cs3500.animator.model.IReadOnlyAnimationModel;
 import cs3500.animator.model.events.IEvent;
-import cs3500.animator.model.shapes.IReadOnlyShape;
 import cs3500.animator.model.shapes.ShapeType;
+import cs3500.animator.view.FramePipeline;
+import cs3500.animator.view.PlaybackClock;
+import cs3500.animator.view.TimeWarp;
 import cs3500.animator.view.panels.OutlineDrawingPanel;
 import java.awt.BorderLayout;
 import java.awt.Color;
@@ -13,6 +16,7 @@ import java.awt.event.ActionListener;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.IntToDoubleFunction;
 import javax.swing.JButton;
 import javax.swing.JFrame;
 import javax.swing.JPanel;
@@ -26,7 +30,13 @@ import javax.swing.Timer;
  * controller to set itself as the interactive view's listener. The actionPerformed() method allows
  * the view to emit its own events to enable drawing on the panel. Buttons for PLAY, PAUSE, RESTART,
  * SPEED-UP, SLOW-DOWN, and ENABLE/DISABLE LOOPING were created and are responded to by the
- * controller.
+ * controller. Every frame is sampled into the same {@code FrameBuffer}, so playback creates no new
+ * objects per frame. The timer fires at the refresh rate of the screen, and every time it fires
+ * the frame shown is read from a {@code PlaybackClock}, so playback keeps to real time and skips
+ * frames when painting falls behind. The tempo is in ticks per second; when it is slower than the
+ * refresh rate, frames show the animation between ticks, so motion stays smooth however few ticks
+ * there are per second. Frames are sampled ahead of playback by a {@code FramePipeline} on a
+ * background thread, so the timer only has to copy and paint them.
  */
 public class InteractiveView extends JFrame implements IInteractiveView, ActionListener {
   private final int origTempo;
@@ -35,6 +45,12 @@ public class InteractiveView extends JFrame implements IInteractiveView, ActionL
   protected int tick;
   protected int maxTick;
   protected final Timer timer;
+  protected final FrameBuffer frame;
+  private final PlaybackClock clock;
+  private final int refreshRate;
+  private final int prerender;
+  private FramePipeline pipeline;
+  private IntToDoubleFunction frameTimes;
 
   protected IReadOnlyAnimationModel model;
   private double mx;
@@ -51,19 +67,42 @@ public class InteractiveView extends JFrame implements IInteractiveView, ActionL
   private final JScrollPane scroll;
 
   /**
-   * Constructs a {@code InteractiveView} object.
-   * @param tempo initial tempo of animation
+   * Constructs a {@code InteractiveView} object that samples frames
+   * {@code FramePipeline.DEFAULT_DEPTH} ticks ahead of playback.
+   * @param tempo initial tempo of animation, in ticks per second
    * @throws IllegalArgumentException if tempo is negative
    */
   public InteractiveView(int tempo) throws IllegalArgumentException {
+    this(tempo, FramePipeline.DEFAULT_DEPTH);
+  }
+
+  /**
+   * Constructs a {@code InteractiveView} object.
+   * @param tempo initial tempo of animation, in ticks per second
+   * @param prerender number of frames to sample ahead of playback, or 0 to sample every frame
+   *                  when it is played
+   * @throws IllegalArgumentException if tempo or prerender are negative
+   */
+  public InteractiveView(int tempo, int prerender) throws IllegalArgumentException {
     if (tempo < 0) {
       throw new IllegalArgumentException("Tempo cannot be null!");
     }
+    if (prerender < 0) {
+      throw new IllegalArgumentException("Pre-render depth cannot be negative!");
+    }
+    this.prerender = prerender;
+    this.pipeline = null;
+    this.frameTimes = null;
     this.origTempo = tempo;
     this.tempo = tempo;
     this.loop = false;
     this.tick = 1;
-    this.timer = new Timer(tempo, this);
+    this.refreshRate = PlaybackClock.refreshRate();
+    this.timer = new Timer(PlaybackClock.refreshDelay(refreshRate), this);
+    this.timer.setInitialDelay(0);
+    this.frame = new FrameBuffer();
+    this.clock = new PlaybackClock(tempo);
+    this.clock.seek(tick);
     this.scroll = new JScrollPane(panel,
         ScrollPaneConstants.VERTICAL_SCROLLBAR_AS_NEEDED,
         ScrollPaneConstants.HORIZONTAL_SCROLLBAR_AS_NEEDED);
@@ -92,6 +131,11 @@ public class InteractiveView extends JFrame implements IInteractiveView, ActionL
     this.mx = model.getScreen().getOrigin().getX();
     this.my = model.getScreen().getOrigin().getY();
     this.model = model;
+    if (pipeline != null) {
+      pipeline.close();
+    }
+    this.pipeline = prerender > 0 ? new FramePipeline(model, prerender) : null;
+    this.updateFrameTimes();
     this.width = model.getScreen().getWidth();
     this.height = model.getScreen().getHeight();
 
@@ -154,41 +198,78 @@ public class InteractiveView extends JFrame implements IInteractiveView, ActionL
 
   @Override
   public void play() {
+    this.clock.start();
     this.timer.start();
   }
 
   @Override
   public void pause() {
     this.timer.stop();
+    this.clock.pause();
   }
 
   @Override
   public void restart() {
     this.tick = 0;
+    this.setTempo(this.origTempo);
+    this.clock.seek(0);
+    this.clock.start();
     this.timer.restart();
-    this.tempo = this.origTempo;
   }
 
   @Override
   public void speedUp() {
-    this.setTempo(this.tempo - 1);
+    this.setTempo(this.tempo + 1);
   }
 
   @Override
   public void slowDown() {
-    this.setTempo(this.tempo + 1);
+    this.setTempo(this.tempo - 1);
   }
 
   /**
    * Sets the tempo if the given tempo is positive, sets tempo = 1 otherwise.
-   * @param tempo tempo to set
+   * @param tempo tempo to set, in ticks per second
    */
   private void setTempo(int tempo) {
-    if (this.tempo < 1) {
-      this.tempo = 1;
+    this.tempo = Math.max(1, tempo);
+    this.clock.setTicksPerSecond(this.tempo);
+    this.updateFrameTimes();
+  }
+
+  /**
+   * Takes the times of the frames from the playback clock, after its speed or time warp changed,
+   * and hands them to the pre-render pipeline if there is one.
+   */
+  private void updateFrameTimes() {
+    if (clock.getTicksPerSecond() == 0) {
+      this.frameTimes = null;
+      return;
+    }
+    this.frameTimes = clock.frameTimes(refreshRate);
+    if (pipeline != null) {
+      pipeline.setFrameTimes(frameTimes);
     }
-    this.tempo = tempo;
-    this.timer.setDelay(this.tempo);
+  }
+
+  /**
+   * Moves the playback clock to the given tick, for views that step through ticks themselves
+   * rather than following the clock. Playback continues from there in real time.
+   * @param tick tick being shown
+   */
+  protected void seekClock(int tick) {
+    this.clock.seek(tick);
+  }
+
+  /**
+   * Sets the time warp of the playback clock, for views that play parts of the animation slower
+   * or faster than the rest.
+   * @param warp the time warp
+   * @throws IllegalArgumentException if warp is null
+   */
+  protected void setTimeWarp(TimeWarp warp) throws IllegalArgumentException {
+    this.clock.setTimeWarp(warp);
+    this.updateFrameTimes();
   }
 
   @Override
@@ -233,34 +314,55 @@ public class InteractiveView extends JFrame implements IInteractiveView, ActionL
     }
   }
 
+  @Override
+  public void drawFrame(FrameBuffer frame) throws IllegalArgumentException {
+    panel.drawFrame(frame, mx, my);
+  }
+
   @Override
   public void refresh() {
-    repaint();
+    if (panel == null) {
+      repaint();
+    }
+    else {
+      panel.refresh();
+    }
+  }
+
+  /**
+   * Fills the view's frame with the shapes at the current tick, for views that step through
+   * ticks themselves rather than following the clock.
+   */
+  protected void sampleFrame() {
+    model.sampleTick(tick, frame);
   }
 
   @Override
   public void actionPerformed(ActionEvent e) {
-    List<IReadOnlyShape> toRender = new ArrayList<>(model.getShapesAtTick(tick));
-    for (IReadOnlyShape shape : toRender) {
-      ShapeType type = shape.getType();
-      drawShape(type,
-          (int) shape.getPosn().getX(),
-          (int) shape.getPosn().getY(),
-          shape.getWidth(),
-          shape.getHeight(),
-          shape.getColor());
-    }
+    tick = clock.getTick();
     this.loopBack();
+    if (frameTimes == null) {
+      // a stopped clock shows the same position in every frame
+      model.sampleTime(clock.getPosition(), frame);
+    }
+    else if (pipeline != null) {
+      pipeline.take(clock.getFrame(refreshRate), frame);
+    }
+    else {
+      model.sampleTime(frameTimes.applyAsDouble(clock.getFrame(refreshRate)), frame);
+    }
+    drawFrame(frame);
     refresh();
-    tick++;
   }
 
   /**
-   * Checks if the current tick is past the maximum tick and if looping is enabled.
+   * Checks if the current tick is past the maximum tick and if looping is enabled, and if so
+   * moves the playback clock back to the first tick.
    */
   protected void loopBack() {
     if (this.tick > maxTick && this.loop) {
       this.tick = 1;
+      this.clock.seek(1);
     }
   }
 }
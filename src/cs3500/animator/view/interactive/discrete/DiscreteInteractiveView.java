@@ -1,53 +1,69 @@
 package cs3500.animator.view.interactive.discrete;
 
 import cs3500.animator.model.IReadOnlyAnimationModel;
-import cs3500.animator.model.events.IEvent;
-import cs3500.animator.model.shapes.IReadOnlyShape;
 import cs3500.animator.model.shapes.ShapeType;
+import cs3500.animator.view.FramePipeline;
 import cs3500.animator.view.interactive.InteractiveView;
 import java.awt.Color;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.util.ArrayList;
-import java.util.List;
 import javax.swing.JButton;
 // TODO: 4/22/2021 NEW
 /**
  * An interactive representation with the ability to show the animation in discrete mode. Renders
  * the animation in stop-motion style, and retains the abilities of the original interactive view.
  * Holds a boolean that toggles between discrete and continuous motion, a value to keep track of the
- * original delay, and a new JButton to set discrete mode on and off.
+ * original delay, and a new JButton to set discrete mode on and off. Keyframes are found through
+ * the model's index of keyframe ticks, so stepping forwards or backwards between them takes
+ * logarithmic time however many shapes and events the animation has.
  */
 public class DiscreteInteractiveView extends InteractiveView implements IDiscreteInteractiveView,
     ActionListener {
   private boolean discreteMode;
   private final int origDelay;
   private final static String DISCRETE = "ENABLE/DISABLE DISCRETE MODE";
+  private final static String PREVIOUS = "PREVIOUS KEYFRAME";
   private JButton discreteBtn;
+  private JButton previousBtn;
+  private int shownTick;
 
   /**
    * Constructs a {@code DiscreteInteractiveView} object.
    * @param tempo tempo of animation
    */
   public DiscreteInteractiveView(int tempo) {
-    super(tempo);
+    this(tempo, FramePipeline.DEFAULT_DEPTH);
+  }
+
+  /**
+   * Constructs a {@code DiscreteInteractiveView} object.
+   * @param tempo tempo of animation
+   * @param prerender number of frames to sample ahead of playback, or 0 for none
+   */
+  public DiscreteInteractiveView(int tempo, int prerender) {
+    super(tempo, prerender);
     this.discreteMode = false;
+    this.shownTick = 0;
     this.origDelay = super.timer.getDelay();
     initDiscreteButton();
   }
 
   /**
-   * Initializes the toggle button for enabling/disable discrete view.
+   * Initializes the toggle button for enabling/disable discrete view, and the button for stepping
+   * back to the previous keyframe.
    */
   private void initDiscreteButton() {
     this.discreteBtn = new JButton(DISCRETE);
     this.discreteBtn.setActionCommand(DISCRETE);
+    this.previousBtn = new JButton(PREVIOUS);
+    this.previousBtn.setActionCommand(PREVIOUS);
   }
 
   @Override
   public void render(IReadOnlyAnimationModel model) {
     super.render(model);
     super.buttonPanel.add(discreteBtn);
+    super.buttonPanel.add(previousBtn);
   }
 
   @Override
@@ -88,6 +104,7 @@ public class DiscreteInteractiveView extends InteractiveView implements IDiscret
   public void setListener(ActionListener listener) throws IllegalArgumentException {
     super.setListener(listener);
     this.discreteBtn.addActionListener(listener);
+    this.previousBtn.addActionListener(listener);
   }
 
   @Override
@@ -106,22 +123,23 @@ public class DiscreteInteractiveView extends InteractiveView implements IDiscret
     this.discreteMode = !discreteMode;
   }
 
+  @Override
+  public void previousKeyframe() {
+    if (!discreteMode || model == null) {
+      return;
+    }
+    int previous = model.previousKeyframeBefore(shownTick);
+    if (previous >= 0) {
+      tick = previous;
+      showKeyframe();
+    }
+  }
+
   @Override
   public void actionPerformed(ActionEvent e) {
-    List<IReadOnlyShape> toRender = new ArrayList<>(model.getShapesAtTick(tick));
     if (discreteMode) {
       super.timer.setDelay(200);
-      for (IReadOnlyShape shape : toRender) {
-        ShapeType type = shape.getType();
-        drawShape(type,
-            (int) shape.getPosn().getX(),
-            (int) shape.getPosn().getY(),
-            shape.getWidth(),
-            shape.getHeight(),
-            shape.getColor());
-      }
-      refresh();
-      tick = getNextTick();
+      showKeyframe();
     }
     else {
       super.timer.setDelay(origDelay);
@@ -129,6 +147,18 @@ public class DiscreteInteractiveView extends InteractiveView implements IDiscret
     }
   }
 
+  /**
+   * Shows the frame at the current tick, then moves on to the next keyframe.
+   */
+  private void showKeyframe() {
+    shownTick = tick;
+    sampleFrame();
+    drawFrame(frame);
+    refresh();
+    seekClock(tick);
+    tick = getNextTick();
+  }
+
   /**
    * Gets the tick value of the next beginning or end of an event.
    * @return next significant tick value for discrete mode
@@ -137,20 +167,7 @@ public class DiscreteInteractiveView extends InteractiveView implements IDiscret
     if (tick >= maxTick) {
       return 0;
     }
-    int nextTick = maxTick;
-    int temp = maxTick;
-    for (String s : model.getEvents().keySet()) {
-      for (IEvent e : model.getEventsById(s)) {
-        if (this.tick < e.getStartTime()) {
-          temp = e.getStartTime();
-          break;
-        } else if (this.tick < e.getEndTime()) {
-          temp = e.getEndTime();
-          break;
-        }
-      }
-      nextTick = Math.min(nextTick, temp);
-    }
-    return nextTick;
+    int next = model.nextKeyframeAfter(tick);
+    return next < 0 ? maxTick : Math.min(next, maxTick);
   }
 }
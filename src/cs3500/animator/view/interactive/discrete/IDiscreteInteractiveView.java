@@ -15,4 +15,9 @@ public interface IDiscreteInteractiveView extends IInteractiveView {
    * currently disabled.
    */
   void setDiscrete();
+
+  /**
+   * Steps back to the keyframe before the one currently shown, if discrete mode is enabled.
+   */
+  void previousKeyframe();
 }
@@ -1,15 +1,13 @@
 package cs3500.animator.view.interactive.outline;
 
+import cs3500.animator.model.FrameBuffer;
 import cs3500.animator.model.IReadOnlyAnimationModel;
-import cs3500.animator.model.shapes.IReadOnlyShape;
 import cs3500.animator.model.shapes.ShapeType;
+import cs3500.animator.view.FramePipeline;
 import cs3500.animator.view.interactive.InteractiveView;
 import java.awt.BorderLayout;
 import java.awt.Color;
-import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.util.ArrayList;
-import java.util.List;
 import javax.swing.JButton;
 // TODO: 4/22/2021 NEW
 /**
@@ -29,7 +27,16 @@ public class OutlineInteractiveView extends InteractiveView implements IOutlineI
    * @param tempo tempo of animation
    */
   public OutlineInteractiveView(int tempo) {
-    super(tempo);
+    this(tempo, FramePipeline.DEFAULT_DEPTH);
+  }
+
+  /**
+   * Constructs a {@code OutlineInteractiveView} object.
+   * @param tempo tempo of animation
+   * @param prerender number of frames to sample ahead of playback, or 0 for none
+   */
+  public OutlineInteractiveView(int tempo, int prerender) {
+    super(tempo, prerender);
     this.outline = false;
     initOutlineButton();
   }
@@ -125,29 +132,13 @@ public class OutlineInteractiveView extends InteractiveView implements IOutlineI
   }
 
   @Override
-  public void refresh() {
-    super.refresh();
+  public void drawFrame(FrameBuffer frame) throws IllegalArgumentException {
+    super.panel.setOutline(outline);
+    super.drawFrame(frame);
   }
 
   @Override
-  public void actionPerformed(ActionEvent e) {
-    if (!outline) {
-      super.actionPerformed(e);
-    }
-    else {
-      List<IReadOnlyShape> toRender = new ArrayList<>(model.getShapesAtTick(tick));
-      for (IReadOnlyShape shape : toRender) {
-        ShapeType type = shape.getType();
-        this.drawShape(type,
-            (int) shape.getPosn().getX(),
-            (int) shape.getPosn().getY(),
-            shape.getWidth(),
-            shape.getHeight(),
-            shape.getColor());
-      }
-      super.loopBack();
-      refresh();
-      tick++;
-    }
+  public void refresh() {
+    super.refresh();
   }
 }
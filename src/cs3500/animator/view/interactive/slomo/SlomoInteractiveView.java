@@ -1,28 +1,27 @@
 package cs3500.animator.view.interactive.slomo;
 
 import cs3500.animator.model.IReadOnlyAnimationModel;
-import cs3500.animator.model.shapes.IReadOnlyShape;
 import cs3500.animator.model.shapes.ShapeType;
+import cs3500.animator.view.FramePipeline;
+import cs3500.animator.view.TimeWarp;
 import cs3500.animator.view.interactive.IInteractiveView;
 import cs3500.animator.view.interactive.InteractiveView;
 import java.awt.Color;
 import java.awt.Point;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.util.ArrayList;
 import java.util.List;
 // TODO: 4/22/2021 NEW
 /**
  * An interactive representation with the ability to show parts of the animation in slomo mode.
- * Retains the abilities of the original interactive view. Takes in a slomo tempo as well as a list
- * of intervals that were parsed in the main class. Plays the animation in those intervals at
- * the specified slomo tempo.
+ * Retains the abilities of the original interactive view. Takes in a {@code TimeWarp} that gives
+ * the rate at which each part of the animation plays, or a slomo tempo and a list of intervals to
+ * play at that tempo. The time warp is handed to the playback clock, so playing slower or faster
+ * is a matter of which tick the clock reports, and the timer keeps firing at the refresh rate.
  */
 public class SlomoInteractiveView extends InteractiveView implements IInteractiveView,
     ActionListener {
-  private final int slomo;
-  private final List<Point> intervals;
-  private final int origDelay;
+  private final TimeWarp warp;
 
   /**
    * Constructs a {@code InteractiveView} object.
@@ -32,16 +31,46 @@ public class SlomoInteractiveView extends InteractiveView implements IInteractiv
    */
   public SlomoInteractiveView(int tempo, int slomo, List<Point> intervals)
       throws IllegalArgumentException {
-    super(tempo);
-    if (slomo < 0) {
-      throw new IllegalArgumentException("Slomo tempo cannot be negative!");
-    }
-    if (intervals == null) {
-      throw new IllegalArgumentException("Times cannot be null!");
+    this(tempo, slomo, intervals, FramePipeline.DEFAULT_DEPTH);
+  }
+
+  /**
+   * Constructs a {@code SlomoInteractiveView} object.
+   * @param tempo initial tempo of animation, in ticks per second
+   * @param slomo tempo of the slomo intervals, in ticks per second
+   * @param intervals tick intervals to play in slomo
+   * @param prerender number of frames to sample ahead of playback, or 0 for none
+   * @throws IllegalArgumentException if a tempo or prerender is negative, intervals is null, or
+   *         there are intervals and either tempo is 0
+   */
+  public SlomoInteractiveView(int tempo, int slomo, List<Point> intervals, int prerender)
+      throws IllegalArgumentException {
+    this(tempo, TimeWarp.fromIntervals(tempo, slomo, intervals), prerender);
+  }
+
+  /**
+   * Constructs a {@code SlomoInteractiveView} object.
+   * @param tempo initial tempo of animation, in ticks per second
+   * @param warp rates at which the parts of the animation are played
+   * @param prerender number of frames to sample ahead of playback, or 0 for none
+   * @throws IllegalArgumentException if tempo or prerender is negative, or warp is null
+   */
+  public SlomoInteractiveView(int tempo, TimeWarp warp, int prerender)
+      throws IllegalArgumentException {
+    super(tempo, prerender);
+    if (warp == null) {
+      throw new IllegalArgumentException("Time warp cannot be null!");
     }
-    this.slomo = slomo;
-    this.intervals = new ArrayList<>(intervals);
-    this.origDelay = super.timer.getDelay();
+    this.warp = warp;
+    setTimeWarp(warp);
+  }
+
+  /**
+   * Returns the time warp this view plays with.
+   * @return the time warp
+   */
+  public TimeWarp getTimeWarp() {
+    return warp;
   }
 
   @Override
@@ -92,42 +121,11 @@ public class SlomoInteractiveView extends InteractiveView implements IInteractiv
 
   @Override
   public void refresh() {
-    super.repaint();
+    super.refresh();
   }
 
   @Override
   public void actionPerformed(ActionEvent e) {
-    List<IReadOnlyShape> toRender = new ArrayList<>(model.getShapesAtTick(tick));
-    if (isSlomo(super.tick)) {
-      super.timer.setDelay(slomo);
-      for (IReadOnlyShape shape : toRender) {
-        ShapeType type = shape.getType();
-        drawShape(type,
-            (int) shape.getPosn().getX(),
-            (int) shape.getPosn().getY(),
-            shape.getWidth(),
-            shape.getHeight(),
-            shape.getColor());
-      }
-      refresh();
-      tick++;
-    }
-    else {
-      super.timer.setDelay(origDelay);
-      super.actionPerformed(e);
-    }
-  }
-
-  /**
-   * Checks if the current tick is part of the slomo interval.
-   * @param tick tick to check
-   * @return true if given tick is in intervals, else return false
-   */
-  private boolean isSlomo(int tick) {
-    boolean result = false;
-    for (Point interval : intervals) {
-      result |= (tick >= interval.getX() && tick <= interval.getY());
-    }
-    return result;
+    super.actionPerformed(e);
   }
 }
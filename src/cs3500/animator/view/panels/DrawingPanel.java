@@ -1,7 +1,10 @@
 package cs3500.animator.view.panels;
 
+import cs3500.animator.model.FrameBuffer;
 import java.awt.Color;
+import java.awt.Dimension;
 import java.awt.Graphics;
+import java.awt.Rectangle;
 import java.util.ArrayList;
 import java.util.List;
 import javax.swing.JPanel;
@@ -11,10 +14,16 @@ import javax.swing.JPanel;
  * nothing else). Extends the {@code JPanel} class and overrides its paintComponent() method. It
  * holds the list of drawing panel shapes to be rendered, and contains a drawRect() and
  * drawEllipse() method that is called by the controller to enable rendering between the model
- * and view.
+ * and view. It can also paint a whole {@code FrameBuffer} sampled from the model, which avoids
+ * creating a drawing panel shape for every shape on every tick: frames are drawn into the back
+ * buffer of a {@code FrameRaster}, and refresh() repaints only the regions that changed.
  */
 public class DrawingPanel extends JPanel {
   protected final List<IDrawingPanelShape> shapes;
+  protected boolean outline;
+  private final FrameRaster raster;
+  private final List<Rectangle> changed;
+  private boolean repaintAll;
 
   /**
    * Constructs a {@code DrawingPanel} object.
@@ -23,17 +32,70 @@ public class DrawingPanel extends JPanel {
     super();
     setBackground(Color.WHITE);
     shapes = new ArrayList<>();
+    outline = false;
+    raster = new FrameRaster(Color.WHITE);
+    changed = new ArrayList<>();
+    repaintAll = false;
   }
 
   @Override
   protected void paintComponent(Graphics g) {
     super.paintComponent(g);
+    if (raster.getImage() != null) {
+      g.drawImage(raster.getImage(), 0, 0, null);
+    }
     for (IDrawingPanelShape toDraw : shapes) {
       toDraw.draw(g);
     }
     shapes.clear();
   }
 
+  /**
+   * Draws the given frame into the panel's back buffer, redrawing only the shapes that changed
+   * since the last frame. The frame is copied, so it may be refilled right away. Should only be
+   * called on the event dispatch thread, and takes effect on the next refresh().
+   * @param frame frame to paint
+   * @param mx x-coordinate of the animation's origin
+   * @param my y-coordinate of the animation's origin
+   * @throws IllegalArgumentException if frame is null
+   */
+  public void drawFrame(FrameBuffer frame, double mx, double my) throws IllegalArgumentException {
+    if (frame == null) {
+      throw new IllegalArgumentException("Frame cannot be null!");
+    }
+    int width = getWidth();
+    int height = getHeight();
+    if (width <= 0 || height <= 0) {
+      Dimension preferred = getPreferredSize();
+      width = preferred.width;
+      height = preferred.height;
+    }
+    if (width <= 0 || height <= 0) {
+      repaintAll = true;
+      return;
+    }
+    for (Rectangle region : raster.update(frame, mx, my, outline, width, height)) {
+      changed.add(new Rectangle(region));
+    }
+  }
+
+  /**
+   * Repaints the regions of the panel redrawn by drawFrame() since the last refresh, or the whole
+   * panel if shapes were added with drawRect(), drawEllipse() or drawPlus().
+   */
+  public void refresh() {
+    if (repaintAll || !shapes.isEmpty()) {
+      repaint();
+    }
+    else {
+      for (Rectangle region : changed) {
+        repaint(region);
+      }
+    }
+    changed.clear();
+    repaintAll = false;
+  }
+
   /**
    * Adds a new {@code DrawingPanelRectangle} to be rendered.
    * @param x x-coordinate of rectangle
@@ -0,0 +1,157 @@
+package cs3500.animator.view.panels;
+
+import cs3500.animator.model.FrameBuffer;
+import java.awt.Color;
+import java.awt.Graphics;
+
+/**
+ * Paints every shape of a {@code FrameBuffer} onto a {@code Graphics} object, drawing each shape
+ * exactly like its {@code IDrawingPanelShape} counterpart. Reuses its point arrays and keeps a
+ * small direct-mapped cache of {@code Color}s keyed by packed RGB value, so painting the same
+ * scene every tick creates no new objects.
+ */
+public final class FramePainter {
+  private static final int CACHE_SIZE = 512;
+
+  private final int[] cachedRGBs;
+  private final Color[] cachedColors;
+  private final int[] xp;
+  private final int[] yp;
+
+  /**
+   * Constructs a {@code FramePainter} object.
+   */
+  public FramePainter() {
+    this.cachedRGBs = new int[CACHE_SIZE];
+    this.cachedColors = new Color[CACHE_SIZE];
+    this.xp = new int[13];
+    this.yp = new int[13];
+  }
+
+  /**
+   * Paints the shapes of the given frame, offset by the given origin.
+   * @param g graphics to paint with
+   * @param frame frame to paint
+   * @param mx x-coordinate of the animation's origin
+   * @param my y-coordinate of the animation's origin
+   * @param outline whether the shapes should be outlined in black
+   * @throws IllegalArgumentException if g or frame are null, or if a shape type is not supported
+   */
+  public void paint(Graphics g, FrameBuffer frame, double mx, double my, boolean outline)
+      throws IllegalArgumentException {
+    if (g == null) {
+      throw new IllegalArgumentException("Graphics cannot be null!");
+    }
+    if (frame == null) {
+      throw new IllegalArgumentException("Frame cannot be null!");
+    }
+    for (int i = 0; i < frame.size(); i++) {
+      paintShape(g, frame, i, (int) (frame.getX(i) - mx), (int) (frame.getY(i) - my), outline);
+    }
+  }
+
+  /**
+   * Paints the i-th shape of the given frame at the given panel coordinates.
+   * @param g graphics to paint with
+   * @param frame frame holding the shape
+   * @param i index of the shape in the frame
+   * @param x x-coordinate of the shape on the panel
+   * @param y y-coordinate of the shape on the panel
+   * @param outline whether the shape should be outlined in black
+   * @throws IllegalArgumentException if the shape type is not supported
+   */
+  public void paintShape(Graphics g, FrameBuffer frame, int i, int x, int y, boolean outline)
+      throws IllegalArgumentException {
+    int w = frame.getWidth(i);
+    int h = frame.getHeight(i);
+    g.setColor(colorOf(frame.getRGB(i)));
+    switch (frame.getType(i)) {
+      case RECTANGLE:
+        g.fillRect(x, y, w, h);
+        if (outline) {
+          g.setColor(Color.BLACK);
+          g.drawRect(x, y, w, h);
+        }
+        break;
+      case ELLIPSE:
+        g.fillOval(x, y, w, h);
+        if (outline) {
+          g.setColor(Color.BLACK);
+          g.drawOval(x, y, w, h);
+        }
+        break;
+      case PLUS:
+        g.fillRect(x + w / 4, y, w / 2, h);
+        g.fillRect(x, y + h / 4, w, h / 2);
+        if (outline) {
+          g.setColor(Color.BLACK);
+          plusOutline(g, x, y, w, h);
+        }
+        break;
+      default:
+        throw new IllegalArgumentException("Shape type not supported!");
+    }
+  }
+
+  /**
+   * Draws the outline of a plus shape, like {@code DrawingPanelPlusOutline}.
+   * @param g graphics to paint with
+   * @param x x-coordinate of the plus
+   * @param y y-coordinate of the plus
+   * @param w width of the plus
+   * @param h height of the plus
+   */
+  private void plusOutline(Graphics g, int x, int y, int w, int h) {
+    int x1 = x;
+    int x2 = x + w / 4;
+    int x3 = x + w / 4 + w / 2;
+    int x4 = x + w;
+    int y1 = y;
+    int y2 = y + h / 4;
+    int y3 = y + h / 4 + h / 2;
+    int y4 = y + h;
+    xp[0] = x1;
+    xp[1] = x2;
+    xp[2] = x2;
+    xp[3] = x3;
+    xp[4] = x3;
+    xp[5] = x4;
+    xp[6] = x4;
+    xp[7] = x3;
+    xp[8] = x3;
+    xp[9] = x2;
+    xp[10] = x2;
+    xp[11] = x1;
+    xp[12] = x1;
+    yp[0] = y2;
+    yp[1] = y2;
+    yp[2] = y1;
+    yp[3] = y1;
+    yp[4] = y2;
+    yp[5] = y2;
+    yp[6] = y3;
+    yp[7] = y3;
+    yp[8] = y4;
+    yp[9] = y4;
+    yp[10] = y3;
+    yp[11] = y3;
+    yp[12] = y2;
+    g.drawPolyline(xp, yp, 13);
+  }
+
+  /**
+   * Returns a {@code Color} for the given packed RGB value, reusing a cached one if possible.
+   * @param rgb packed RGB value
+   * @return the matching color
+   */
+  private Color colorOf(int rgb) {
+    int slot = (rgb ^ (rgb >>> 9) ^ (rgb >>> 17)) & (CACHE_SIZE - 1);
+    Color color = cachedColors[slot];
+    if (color == null || cachedRGBs[slot] != rgb) {
+      color = new Color(rgb);
+      cachedColors[slot] = color;
+      cachedRGBs[slot] = rgb;
+    }
+    return color;
+  }
+}
@@ -0,0 +1,227 @@
+package cs3500.animator.view.panels;
+
+import cs3500.animator.model.FrameBuffer;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Rasterizes frames into a reusable {@code BufferedImage} back buffer, redrawing only the parts
+ * of the image that changed since the previous frame. Each new frame is compared with the previous
+ * one shape by shape; the bounding boxes of the shapes that appeared, disappeared, moved, or
+ * changed in any other way are merged into a few dirty regions, and only those regions are
+ * cleared and repainted (with every shape that overlaps them, in declaration order). A change of
+ * size, origin, or outline mode redraws the whole image.
+ */
+public final class FrameRaster {
+  private static final int MAX_REGIONS = 8;
+
+  private final FramePainter painter;
+  private final FrameBuffer previous;
+  private final List<Rectangle> dirty;
+  private final List<Rectangle> dirtyView;
+  private final Rectangle box;
+  private final Color background;
+  private BufferedImage image;
+  private boolean drawn;
+  private double mx;
+  private double my;
+  private boolean outline;
+
+  /**
+   * Constructs a {@code FrameRaster} object that clears its image to the given color.
+   * @param background background color of the image
+   * @throws IllegalArgumentException if background is null
+   */
+  public FrameRaster(Color background) throws IllegalArgumentException {
+    if (background == null) {
+      throw new IllegalArgumentException("Color cannot be null!");
+    }
+    this.painter = new FramePainter();
+    this.previous = new FrameBuffer();
+    this.dirty = new ArrayList<>();
+    this.dirtyView = Collections.unmodifiableList(dirty);
+    this.box = new Rectangle();
+    this.background = background;
+    this.image = null;
+    this.drawn = false;
+  }
+
+  /**
+   * Returns the back buffer holding the last frame drawn.
+   * @return the image, or null if no frame has been drawn yet
+   */
+  public BufferedImage getImage() {
+    return image;
+  }
+
+  /**
+   * Draws the given frame into the back buffer, redrawing only what changed since the previous
+   * frame.
+   * @param frame frame to draw
+   * @param mx x-coordinate of the animation's origin
+   * @param my y-coordinate of the animation's origin
+   * @param outline whether the shapes should be outlined in black
+   * @param width width of the image
+   * @param height height of the image
+   * @return the regions of the image that were redrawn, valid until the next call
+   * @throws IllegalArgumentException if frame is null, or if width or height are not positive
+   */
+  public List<Rectangle> update(FrameBuffer frame, double mx, double my, boolean outline,
+      int width, int height) throws IllegalArgumentException {
+    if (frame == null) {
+      throw new IllegalArgumentException("Frame cannot be null!");
+    }
+    if (width <= 0 || height <= 0) {
+      throw new IllegalArgumentException("Image dimensions must be positive!");
+    }
+    dirty.clear();
+    if (image == null || image.getWidth() != width || image.getHeight() != height) {
+      image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+      drawn = false;
+    }
+    if (!drawn || mx != this.mx || my != this.my || outline != this.outline) {
+      dirty.add(new Rectangle(0, 0, width, height));
+    }
+    else {
+      compare(previous, frame, mx, my);
+    }
+    if (!dirty.isEmpty()) {
+      redraw(frame, mx, my, outline);
+    }
+    previous.copyFrom(frame);
+    this.mx = mx;
+    this.my = my;
+    this.outline = outline;
+    drawn = true;
+    return dirtyView;
+  }
+
+  /**
+   * Helper that marks as dirty the bounding boxes of every shape that differs between two frames.
+   * Both frames list their shapes in increasing declaration order.
+   * @param before previous frame
+   * @param after new frame
+   * @param mx x-coordinate of the animation's origin
+   * @param my y-coordinate of the animation's origin
+   */
+  private void compare(FrameBuffer before, FrameBuffer after, double mx, double my) {
+    int i = 0;
+    int j = 0;
+    while (i < before.size() || j < after.size()) {
+      int idBefore = i < before.size() ? before.getId(i) : Integer.MAX_VALUE;
+      int idAfter = j < after.size() ? after.getId(j) : Integer.MAX_VALUE;
+      if (idBefore < idAfter) {
+        addDirty(before, i++, mx, my);
+      }
+      else if (idAfter < idBefore) {
+        addDirty(after, j++, mx, my);
+      }
+      else {
+        if (!sameShape(before, i, after, j, mx, my)) {
+          addDirty(before, i, mx, my);
+          addDirty(after, j, mx, my);
+        }
+        i++;
+        j++;
+      }
+    }
+  }
+
+  /**
+   * Determines whether two shapes would be painted identically.
+   * @param a first frame
+   * @param i index of the shape in the first frame
+   * @param b second frame
+   * @param j index of the shape in the second frame
+   * @param mx x-coordinate of the animation's origin
+   * @param my y-coordinate of the animation's origin
+   * @return true if the shapes look the same
+   */
+  private static boolean sameShape(FrameBuffer a, int i, FrameBuffer b, int j, double mx,
+      double my) {
+    return (int) (a.getX(i) - mx) == (int) (b.getX(j) - mx)
+        && (int) (a.getY(i) - my) == (int) (b.getY(j) - my)
+        && a.getWidth(i) == b.getWidth(j)
+        && a.getHeight(i) == b.getHeight(j)
+        && a.getRGB(i) == b.getRGB(j)
+        && a.getType(i) == b.getType(j)
+        && a.getName(i).equals(b.getName(j));
+  }
+
+  /**
+   * Helper that computes the bounding box of a shape on the image, including its outline.
+   * @param frame frame holding the shape
+   * @param i index of the shape in the frame
+   * @param mx x-coordinate of the animation's origin
+   * @param my y-coordinate of the animation's origin
+   * @return the reused bounding box
+   */
+  private Rectangle boxOf(FrameBuffer frame, int i, double mx, double my) {
+    box.setBounds((int) (frame.getX(i) - mx), (int) (frame.getY(i) - my),
+        frame.getWidth(i) + 1, frame.getHeight(i) + 1);
+    return box;
+  }
+
+  /**
+   * Helper that adds the bounding box of a shape to the dirty regions, merging it into the first
+   * region it overlaps. Once there are too many regions, they are merged into one.
+   * @param frame frame holding the shape
+   * @param i index of the shape in the frame
+   * @param mx x-coordinate of the animation's origin
+   * @param my y-coordinate of the animation's origin
+   */
+  private void addDirty(FrameBuffer frame, int i, double mx, double my) {
+    Rectangle r = boxOf(frame, i, mx, my).intersection(
+        new Rectangle(0, 0, image.getWidth(), image.getHeight()));
+    if (r.isEmpty()) {
+      return;
+    }
+    for (Rectangle region : dirty) {
+      if (region.intersects(r)) {
+        region.add(r);
+        return;
+      }
+    }
+    dirty.add(r);
+    if (dirty.size() > MAX_REGIONS) {
+      Rectangle union = dirty.get(0);
+      for (int k = 1; k < dirty.size(); k++) {
+        union.add(dirty.get(k));
+      }
+      dirty.clear();
+      dirty.add(union);
+    }
+  }
+
+  /**
+   * Helper that clears the dirty regions of the image and repaints every shape overlapping them.
+   * @param frame frame to draw
+   * @param mx x-coordinate of the animation's origin
+   * @param my y-coordinate of the animation's origin
+   * @param outline whether the shapes should be outlined in black
+   */
+  private void redraw(FrameBuffer frame, double mx, double my, boolean outline) {
+    Graphics2D g = image.createGraphics();
+    try {
+      for (Rectangle region : dirty) {
+        g.setClip(region);
+        g.setColor(background);
+        g.fillRect(region.x, region.y, region.width, region.height);
+        for (int i = 0; i < frame.size(); i++) {
+          Rectangle shape = boxOf(frame, i, mx, my);
+          if (shape.intersects(region)) {
+            painter.paintShape(g, frame, i, shape.x, shape.y, outline);
+          }
+        }
+      }
+    }
+    finally {
+      g.dispose();
+    }
+  }
+}
@@ -16,6 +16,14 @@ public class OutlineDrawingPanel extends DrawingPanel {
     super();
   }
 
+  /**
+   * Sets whether the shapes of the current frame are painted with black outlines.
+   * @param outline true to outline the shapes, false to fill them only
+   */
+  public void setOutline(boolean outline) {
+    super.outline = outline;
+  }
+
   /**
    * Adds a new {@code DrawingPanelRectangleOutline} (an outlined rectangle) to be rendered.
    * @param x x-coordinate of rectangle
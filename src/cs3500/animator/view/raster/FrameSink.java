@@ -0,0 +1,46 @@
+package cs3500.animator.view.raster;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+
+/**
+ * Receives the frames rendered by a {@code RasterView} and writes them in some image format.
+ * Encoding a frame is independent of every other frame, so {@code encode()} may be called from
+ * several threads at once; the encoded frames are then handed to {@code write()} one at a time,
+ * in order.
+ * @param <T> type of an encoded frame
+ */
+public interface FrameSink<T> {
+
+  /**
+   * Starts a new animation. Called once, before any frame is encoded.
+   * @param width width of every frame
+   * @param height height of every frame
+   * @param frames number of frames
+   * @throws IOException if the output cannot be written to
+   */
+  void begin(int width, int height, int frames) throws IOException;
+
+  /**
+   * Encodes a rendered frame. May be called concurrently, and must not keep the image, which is
+   * reused once this method returns.
+   * @param image the rendered frame
+   * @return the encoded frame
+   * @throws IOException if the frame cannot be encoded
+   */
+  T encode(BufferedImage image) throws IOException;
+
+  /**
+   * Writes an encoded frame. Called for every frame, in order.
+   * @param index index of the frame
+   * @param frame the encoded frame
+   * @throws IOException if the output cannot be written to
+   */
+  void write(int index, T frame) throws IOException;
+
+  /**
+   * Finishes the animation, after the last frame has been written.
+   * @throws IOException if the output cannot be written to
+   */
+  void finish() throws IOException;
+}
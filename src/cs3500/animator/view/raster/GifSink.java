@@ -0,0 +1,392 @@
+package cs3500.animator.view.raster;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Writes frames as a looping animated GIF. Each frame is encoded completely on its own, with a
+ * local color table and its own LZW-compressed image data, so that the expensive part of the
+ * encoding runs in parallel; writing a frame only fills in its delay and copies its bytes. A frame
+ * with at most 256 colors keeps its exact colors, while a frame with more is reduced to a fixed
+ * palette of 6 x 7 x 6 levels of red, green, and blue. Every thread encodes with buffers of its
+ * own, kept between frames. Frame delays are in hundredths of a second, rounded so that the
+ * animation keeps in step with the tempo; tempos above 100 ticks per second play at 100.
+ */
+public final class GifSink implements FrameSink<byte[]> {
+  private static final int DELAY_OFFSET = 4;
+
+  private final OutputStream out;
+  private final int tempo;
+  private final ThreadLocal<FrameEncoder> encoders;
+  private long elapsed;
+
+  /**
+   * Constructs a {@code GifSink} object.
+   * @param out stream to write to
+   * @param tempo ticks per second
+   * @throws IllegalArgumentException if out is null or the tempo is not positive
+   */
+  public GifSink(OutputStream out, int tempo) throws IllegalArgumentException {
+    if (out == null) {
+      throw new IllegalArgumentException("Output stream cannot be null!");
+    }
+    if (tempo <= 0) {
+      throw new IllegalArgumentException("Tempo must be positive!");
+    }
+    this.out = out;
+    this.tempo = tempo;
+    this.encoders = ThreadLocal.withInitial(FrameEncoder::new);
+    this.elapsed = 0;
+  }
+
+  /**
+   * Overrides begin() in FrameSink. Writes the header, the logical screen, and the extension that
+   * makes the animation loop forever.
+   * @throws IllegalArgumentException if the frames are larger than a GIF allows
+   */
+  @Override
+  public void begin(int width, int height, int frames) throws IOException {
+    if (width > 0xFFFF || height > 0xFFFF) {
+      throw new IllegalArgumentException("Frames are too large for a GIF!");
+    }
+    elapsed = 0;
+    out.write("GIF89a".getBytes(StandardCharsets.US_ASCII));
+    writeShort(out, width);
+    writeShort(out, height);
+    out.write(new byte[] {0, 0, 0});
+    out.write(new byte[] {0x21, (byte) 0xFF, 0x0B});
+    out.write("NETSCAPE2.0".getBytes(StandardCharsets.US_ASCII));
+    out.write(new byte[] {3, 1, 0, 0, 0});
+  }
+
+  /**
+   * Overrides encode() in FrameSink. Returns the graphic control extension, image descriptor,
+   * color table, and image data of the frame, with a delay to be filled in when it is written.
+   */
+  @Override
+  public byte[] encode(BufferedImage image) {
+    return encoders.get().encode(image);
+  }
+
+  /**
+   * Overrides write() in FrameSink. The delay of a frame is the time from the start of the
+   * animation to the end of the frame, less the delays of the frames before it.
+   */
+  @Override
+  public void write(int index, byte[] frame) throws IOException {
+    long end = Math.round((index + 1) * 100.0 / tempo);
+    int delay = (int) Math.min(0xFFFF, Math.max(1, end - elapsed));
+    elapsed += delay;
+    frame[DELAY_OFFSET] = (byte) delay;
+    frame[DELAY_OFFSET + 1] = (byte) (delay >> 8);
+    out.write(frame);
+  }
+
+  /**
+   * Overrides finish() in FrameSink. Writes the trailer.
+   */
+  @Override
+  public void finish() throws IOException {
+    out.write(0x3B);
+    out.flush();
+  }
+
+  /**
+   * Helper that writes a little-endian 16-bit value.
+   * @param out stream to write to
+   * @param value value to write
+   * @throws IOException if the stream cannot be written to
+   */
+  private static void writeShort(OutputStream out, int value) throws IOException {
+    out.write(value & 0xFF);
+    out.write((value >> 8) & 0xFF);
+  }
+
+  /**
+   * Encodes frames with buffers that are kept from one frame to the next. Only used by the thread
+   * that created it.
+   */
+  private static final class FrameEncoder {
+    private static final byte[] CONTROL = {0x21, (byte) 0xF9, 4, 1 << 2, 0, 0, 0, 0};
+    private static final int MAX_BITS = 12;
+    private static final int MAX_CODES = 1 << MAX_BITS;
+    private static final int[] RED_LEVELS = levels(5, 42);
+    private static final int[] GREEN_LEVELS = levels(6, 6);
+    private static final int[] BLUE_LEVELS = levels(5, 1);
+
+    private final int[] colorKeys;
+    private final byte[] colorIndices;
+    private final int[] palette;
+    private final short[] children;
+    private final int[] assigned;
+    private final byte[] block;
+    private final ByteArrayOutputStream frame;
+    private byte[] pixels;
+    private int[] rgbs;
+    private int assignedCount;
+    private int blockLength;
+    private int accumulator;
+    private int accumulated;
+    private int minCodeSize;
+    private int codeSize;
+    private int maxCode;
+    private int next;
+    private boolean clearing;
+
+    /**
+     * Constructs a {@code FrameEncoder} object.
+     */
+    private FrameEncoder() {
+      this.colorKeys = new int[512];
+      this.colorIndices = new byte[512];
+      this.palette = new int[256];
+      this.children = new short[MAX_CODES << 8];
+      this.assigned = new int[MAX_CODES];
+      this.block = new byte[255];
+      this.frame = new ByteArrayOutputStream();
+      this.pixels = new byte[0];
+      this.rgbs = new int[0];
+    }
+
+    /**
+     * Encodes a frame.
+     * @param image the rendered frame
+     * @return the graphic control extension, image descriptor, color table, and image data
+     */
+    private byte[] encode(BufferedImage image) {
+      int width = image.getWidth();
+      int height = image.getHeight();
+      int length = width * height;
+      if (pixels.length < length) {
+        pixels = new byte[length];
+      }
+      int[] source;
+      if (image.getType() == BufferedImage.TYPE_INT_RGB) {
+        source = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+      }
+      else {
+        if (rgbs.length < length) {
+          rgbs = new int[length];
+        }
+        source = image.getRGB(0, 0, width, height, rgbs, 0, width);
+      }
+      int colors = index(source, length);
+      if (colors < 0) {
+        colors = quantize(source, length);
+      }
+      int bits = 1;
+      while ((1 << bits) < colors) {
+        bits++;
+      }
+
+      frame.reset();
+      frame.write(CONTROL, 0, CONTROL.length);
+      frame.write(0x2C);
+      writeShort(0);
+      writeShort(0);
+      writeShort(width);
+      writeShort(height);
+      frame.write(0x80 | (bits - 1));
+      for (int i = 0; i < (1 << bits); i++) {
+        int rgb = i < colors ? palette[i] : 0;
+        frame.write(rgb >> 16);
+        frame.write(rgb >> 8);
+        frame.write(rgb);
+      }
+      minCodeSize = Math.max(2, bits);
+      frame.write(minCodeSize);
+      compress(length);
+      return frame.toByteArray();
+    }
+
+    /**
+     * Helper that writes a little-endian 16-bit value to the frame.
+     * @param value value to write
+     */
+    private void writeShort(int value) {
+      frame.write(value & 0xFF);
+      frame.write((value >> 8) & 0xFF);
+    }
+
+    /**
+     * Maps each pixel to an index in a palette of the exact colors of the frame.
+     * @param source packed RGB values of the pixels
+     * @param length number of pixels
+     * @return the number of colors in the palette, or -1 if the frame has more than 256 colors
+     */
+    private int index(int[] source, int length) {
+      Arrays.fill(colorKeys, 0);
+      int count = 0;
+      int last = -1;
+      byte lastIndex = 0;
+      for (int i = 0; i < length; i++) {
+        int rgb = source[i] & 0xFFFFFF;
+        if (rgb != last) {
+          int slot = (rgb * 0x9E3779B1) >>> 23;
+          while (colorKeys[slot] != 0 && colorKeys[slot] != rgb + 1) {
+            slot = (slot + 1) & 511;
+          }
+          if (colorKeys[slot] == 0) {
+            if (count == 256) {
+              return -1;
+            }
+            colorKeys[slot] = rgb + 1;
+            colorIndices[slot] = (byte) count;
+            palette[count++] = rgb;
+          }
+          last = rgb;
+          lastIndex = colorIndices[slot];
+        }
+        pixels[i] = lastIndex;
+      }
+      return count;
+    }
+
+    /**
+     * Builds the table mapping a channel value to the nearest of a number of evenly spaced levels.
+     * @param steps number of levels, less one
+     * @param stride distance between the palette indices of consecutive levels
+     * @return the palette index offset of the level nearest to each value
+     */
+    private static int[] levels(int steps, int stride) {
+      int[] levels = new int[256];
+      for (int v = 0; v < 256; v++) {
+        levels[v] = (v * steps + 127) / 255 * stride;
+      }
+      return levels;
+    }
+
+    /**
+     * Maps each pixel to the nearest color of a fixed palette of 6 x 7 x 6 levels.
+     * @param source packed RGB values of the pixels
+     * @param length number of pixels
+     * @return the number of colors in the palette
+     */
+    private int quantize(int[] source, int length) {
+      for (int r = 0; r < 6; r++) {
+        for (int g = 0; g < 7; g++) {
+          for (int b = 0; b < 6; b++) {
+            palette[r * 42 + g * 6 + b] = (r * 51) << 16 | (g * 255 / 6) << 8 | b * 51;
+          }
+        }
+      }
+      for (int i = 0; i < length; i++) {
+        int rgb = source[i];
+        pixels[i] = (byte) (RED_LEVELS[(rgb >> 16) & 0xFF] + GREEN_LEVELS[(rgb >> 8) & 0xFF]
+            + BLUE_LEVELS[rgb & 0xFF]);
+      }
+      return 6 * 7 * 6;
+    }
+
+    /**
+     * Compresses the indexed pixels with the variable-length-code LZW of the GIF format, and
+     * writes them in sub-blocks of at most 255 bytes, followed by the block terminator. The code
+     * table is a trie stored as one child code per prefix code and pixel value.
+     * @param length number of pixels
+     */
+    private void compress(int length) {
+      int clear = 1 << minCodeSize;
+      blockLength = 0;
+      accumulator = 0;
+      accumulated = 0;
+      codeSize = minCodeSize + 1;
+      maxCode = (1 << codeSize) - 1;
+      clearing = false;
+      reset(clear);
+      emit(clear);
+      int prefix = pixels[0] & 0xFF;
+      for (int i = 1; i < length; i++) {
+        int k = pixels[i] & 0xFF;
+        int key = prefix << 8 | k;
+        int child = children[key];
+        if (child != 0) {
+          prefix = child & 0xFFFF;
+          continue;
+        }
+        emit(prefix);
+        prefix = k;
+        if (next < MAX_CODES) {
+          children[key] = (short) next++;
+          assigned[assignedCount++] = key;
+        }
+        else {
+          reset(clear);
+          clearing = true;
+          emit(clear);
+        }
+      }
+      emit(prefix);
+      emit(clear + 1);
+      reset(clear);
+      if (accumulated > 0) {
+        put(accumulator);
+      }
+      if (blockLength > 0) {
+        flushBlock();
+      }
+      frame.write(0);
+    }
+
+    /**
+     * Empties the code table. The code size goes back to its initial value once the clear code
+     * has been written.
+     * @param clear the clear code
+     */
+    private void reset(int clear) {
+      for (int i = 0; i < assignedCount; i++) {
+        children[assigned[i]] = 0;
+      }
+      assignedCount = 0;
+      next = clear + 2;
+    }
+
+    /**
+     * Writes a code with the current code size, then widens the codes if the table has outgrown
+     * them, in step with the decoder.
+     * @param code code to write
+     */
+    private void emit(int code) {
+      accumulator |= code << accumulated;
+      accumulated += codeSize;
+      while (accumulated >= 8) {
+        put(accumulator);
+        accumulator >>>= 8;
+        accumulated -= 8;
+      }
+      if (clearing) {
+        codeSize = minCodeSize + 1;
+        maxCode = (1 << codeSize) - 1;
+        clearing = false;
+      }
+      else if (next > maxCode) {
+        codeSize++;
+        maxCode = codeSize == MAX_BITS ? MAX_CODES : (1 << codeSize) - 1;
+      }
+    }
+
+    /**
+     * Adds a byte to the current sub-block.
+     * @param b byte to add
+     */
+    private void put(int b) {
+      block[blockLength++] = (byte) b;
+      if (blockLength == block.length) {
+        flushBlock();
+      }
+    }
+
+    /**
+     * Writes the current sub-block with its length.
+     */
+    private void flushBlock() {
+      frame.write(blockLength);
+      frame.write(block, 0, blockLength);
+      blockLength = 0;
+    }
+  }
+}
@@ -0,0 +1,104 @@
+package cs3500.animator.view.raster;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+
+/**
+ * Writes each frame to a PNG file of its own, named after a common prefix and the index of the
+ * frame, padded with zeros so that the files sort in order: {@code frames.png} gives
+ * {@code frames-00000.png}, {@code frames-00001.png}, and so on. Frames are compressed to memory
+ * when they are encoded, so writing a frame only copies its bytes to its file.
+ */
+public final class PngSequenceSink implements FrameSink<byte[]> {
+  private static final int MIN_DIGITS = 5;
+
+  private final String prefix;
+  private int digits;
+
+  /**
+   * Constructs a {@code PngSequenceSink} object.
+   * @param name name of the output, with or without the {@code .png} extension
+   * @throws IllegalArgumentException if name is null or empty
+   */
+  public PngSequenceSink(String name) throws IllegalArgumentException {
+    if (name == null || name.isEmpty()) {
+      throw new IllegalArgumentException("Name cannot be null!");
+    }
+    this.prefix = name.toLowerCase().endsWith(".png")
+        ? name.substring(0, name.length() - 4) : name;
+    this.digits = MIN_DIGITS;
+  }
+
+  /**
+   * Returns the name of the file holding the frame with the given index.
+   * @param index index of the frame
+   * @return the name of the file
+   */
+  public String getFileName(int index) {
+    StringBuilder sb = new StringBuilder(prefix).append('-');
+    String number = Integer.toString(index);
+    for (int i = number.length(); i < digits; i++) {
+      sb.append('0');
+    }
+    return sb.append(number).append(".png").toString();
+  }
+
+  /**
+   * Overrides begin() in FrameSink.
+   */
+  @Override
+  public void begin(int width, int height, int frames) {
+    digits = Math.max(MIN_DIGITS, Integer.toString(Math.max(0, frames - 1)).length());
+  }
+
+  /**
+   * Overrides encode() in FrameSink.
+   */
+  @Override
+  public byte[] encode(BufferedImage image) throws IOException {
+    Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("png");
+    if (!writers.hasNext()) {
+      throw new IOException("No PNG writer!");
+    }
+    ImageWriter writer = writers.next();
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ImageOutputStream stream = new MemoryCacheImageOutputStream(bytes)) {
+      writer.setOutput(stream);
+      writer.write(image);
+    }
+    finally {
+      writer.dispose();
+    }
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Overrides write() in FrameSink.
+   */
+  @Override
+  public void write(int index, byte[] frame) throws IOException {
+    try {
+      Files.write(Paths.get(getFileName(index)), frame);
+    }
+    catch (InvalidPathException e) {
+      throw new IOException("Invalid file name!");
+    }
+  }
+
+  /**
+   * Overrides finish() in FrameSink.
+   */
+  @Override
+  public void finish() {
+    // every frame has its own file, already closed
+  }
+}
@@ -0,0 +1,177 @@
+package cs3500.animator.view.raster;
+
+import cs3500.animator.model.FrameBuffer;
+import cs3500.animator.model.IReadOnlyAnimationModel;
+import cs3500.animator.model.Screen;
+import cs3500.animator.view.panels.FrameRaster;
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Renders the ticks of an animation into a {@code FrameSink}. With a fork-join pool, the ticks
+ * are split into contiguous ranges, several per thread, and each range is sampled, drawn, and
+ * encoded by one task with a frame and back buffer of its own. Consecutive ticks mostly differ in
+ * a few shapes, so within a range only the parts of the image that changed are redrawn. Finished
+ * ranges are handed to the sink in order; at most a couple of ranges per thread are in flight at
+ * once, which bounds the memory held by encoded frames. The model must not be edited while it is
+ * being rendered.
+ */
+final class RangeRenderer {
+  private static final int RANGES_PER_THREAD = 4;
+  private static final int MAX_RANGE_LENGTH = 32;
+  private static final int WINDOW_PER_THREAD = 2;
+
+  /**
+   * The buffers one task samples and draws frames with.
+   */
+  private static final class Worker {
+    private final FrameBuffer frame;
+    private final FrameRaster raster;
+
+    /**
+     * Constructs a {@code Worker} object.
+     */
+    private Worker() {
+      this.frame = new FrameBuffer();
+      this.raster = new FrameRaster(Color.WHITE);
+    }
+
+    /**
+     * Samples and draws the frame at the given tick.
+     * @param model model to sample
+     * @param tick tick to draw
+     * @return the image holding the frame, reused by the next call
+     */
+    private BufferedImage draw(IReadOnlyAnimationModel model, int tick) {
+      Screen screen = model.getScreen();
+      model.sampleTick(tick, frame);
+      raster.update(frame, screen.getOrigin().getX(), screen.getOrigin().getY(), false,
+          screen.getWidth(), screen.getHeight());
+      return raster.getImage();
+    }
+  }
+
+  /**
+   * The encoded frames of a range of ticks.
+   * @param <T> type of an encoded frame
+   */
+  private static final class Range<T> {
+    private final int first;
+    private final List<T> frames;
+    private RuntimeException failure;
+
+    /**
+     * Constructs an empty {@code Range} object.
+     * @param first first tick of the range
+     * @param length number of ticks in the range
+     */
+    private Range(int first, int length) {
+      this.first = first;
+      this.frames = new ArrayList<>(length);
+      this.failure = null;
+    }
+  }
+
+  private final ForkJoinPool pool;
+  private final ConcurrentLinkedQueue<Worker> workers;
+
+  /**
+   * Constructs a {@code RangeRenderer} object.
+   * @param pool the pool to render ranges on, or null to render every tick one after another
+   */
+  RangeRenderer(ForkJoinPool pool) {
+    this.pool = pool;
+    this.workers = new ConcurrentLinkedQueue<>();
+  }
+
+  /**
+   * Renders the ticks from 0 to the given one and writes them to the sink, in order.
+   * @param model model to render
+   * @param lastTick last tick to render
+   * @param sink sink to write the frames to
+   * @param <T> type of an encoded frame
+   * @throws IOException if the sink cannot be written to
+   * @throws RuntimeException if rendering a frame fails; the exception thrown by the earliest
+   *         failing frame is rethrown as is
+   */
+  <T> void render(IReadOnlyAnimationModel model, int lastTick, FrameSink<T> sink)
+      throws IOException {
+    int count = lastTick + 1;
+    sink.begin(model.getScreen().getWidth(), model.getScreen().getHeight(), count);
+    if (pool == null || pool.getParallelism() < 2 || count < 2) {
+      Worker worker = new Worker();
+      for (int tick = 0; tick < count; tick++) {
+        sink.write(tick, sink.encode(worker.draw(model, tick)));
+      }
+      sink.finish();
+      return;
+    }
+    int threads = pool.getParallelism();
+    int length = Math.min(MAX_RANGE_LENGTH,
+        Math.max(1, (count + threads * RANGES_PER_THREAD - 1) / (threads * RANGES_PER_THREAD)));
+    int window = threads * WINDOW_PER_THREAD;
+    Deque<ForkJoinTask<Range<T>>> pending = new ArrayDeque<>(window);
+    int next = 0;
+    while (next < count || !pending.isEmpty()) {
+      while (next < count && pending.size() < window) {
+        int first = next;
+        int size = Math.min(length, count - first);
+        next += size;
+        pending.addLast(pool.submit(() -> renderRange(model, sink, first, size)));
+      }
+      Range<T> range = pending.removeFirst().join();
+      if (range.failure != null) {
+        for (ForkJoinTask<Range<T>> task : pending) {
+          task.cancel(false);
+        }
+        throw range.failure;
+      }
+      for (int i = 0; i < range.frames.size(); i++) {
+        sink.write(range.first + i, range.frames.get(i));
+      }
+    }
+    sink.finish();
+  }
+
+  /**
+   * Samples, draws, and encodes a range of ticks with a pooled worker. Failures are kept in the
+   * range rather than thrown, so that they reach the caller without being wrapped by the pool.
+   * @param model model to sample
+   * @param sink sink to encode the frames with
+   * @param first first tick of the range
+   * @param length number of ticks in the range
+   * @param <T> type of an encoded frame
+   * @return the encoded frames of the range
+   */
+  private <T> Range<T> renderRange(IReadOnlyAnimationModel model, FrameSink<T> sink, int first,
+      int length) {
+    Range<T> range = new Range<>(first, length);
+    Worker worker = workers.poll();
+    if (worker == null) {
+      worker = new Worker();
+    }
+    try {
+      for (int tick = first; tick < first + length; tick++) {
+        range.frames.add(sink.encode(worker.draw(model, tick)));
+      }
+    }
+    catch (RuntimeException e) {
+      range.failure = e;
+    }
+    catch (IOException e) {
+      range.failure = new IllegalStateException("Rendering failed!");
+    }
+    finally {
+      workers.add(worker);
+    }
+    return range;
+  }
+}
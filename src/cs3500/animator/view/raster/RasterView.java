@@ -0,0 +1,82 @@
+package cs3500.animator.view.raster;
+
+import cs3500.animator.model.IReadOnlyAnimationModel;
+import cs3500.animator.model.Screen;
+import cs3500.animator.model.events.IEvent;
+import cs3500.animator.view.IAnimationView;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A headless view that rasterizes every tick of an animation, from tick 0 to the end of its last
+ * event, into an image the size of the canvas, and hands the images to a {@code FrameSink} that
+ * writes them out. With a fork-join pool, contiguous ranges of ticks are rendered in parallel and
+ * written in their original order, so the output does not depend on the number of threads. Needs
+ * no display, so it can run with {@code java.awt.headless=true}.
+ */
+public class RasterView implements IAnimationView {
+  private final FrameSink<?> sink;
+  private final RangeRenderer renderer;
+
+  /**
+   * Constructs a {@code RasterView} object that renders its frames one after another.
+   * @param sink sink to write the frames to
+   * @throws IllegalArgumentException if sink is null
+   */
+  public RasterView(FrameSink<?> sink) throws IllegalArgumentException {
+    this(sink, null);
+  }
+
+  /**
+   * Constructs a {@code RasterView} object that renders its frames in parallel on the given pool.
+   * @param sink sink to write the frames to
+   * @param pool the pool to render frames on, or null to render them one after another
+   * @throws IllegalArgumentException if sink is null
+   */
+  public RasterView(FrameSink<?> sink, ForkJoinPool pool) throws IllegalArgumentException {
+    if (sink == null) {
+      throw new IllegalArgumentException("Sink cannot be null!");
+    }
+    this.sink = sink;
+    this.renderer = new RangeRenderer(pool);
+  }
+
+  /**
+   * Overrides render() in IAnimationView.
+   * @throws IllegalArgumentException if the model is null or its canvas is empty
+   * @throws IllegalStateException if rendering fails for any reason.
+   */
+  @Override
+  public void render(IReadOnlyAnimationModel model)
+      throws IllegalArgumentException, IllegalStateException {
+    if (model == null) {
+      throw new IllegalArgumentException("Model cannot be null!");
+    }
+    Screen screen = model.getScreen();
+    if (screen.getWidth() <= 0 || screen.getHeight() <= 0) {
+      throw new IllegalArgumentException("Canvas dimensions must be positive!");
+    }
+    try {
+      renderer.render(model, lastTick(model), sink);
+    }
+    catch (IOException e) {
+      throw new IllegalStateException("Rendering failed!");
+    }
+  }
+
+  /**
+   * Returns the last tick of the animation.
+   * @param model model to look at
+   * @return the end time of the last event, or 0 if there are no events
+   */
+  private static int lastTick(IReadOnlyAnimationModel model) {
+    int max = 0;
+    for (List<IEvent> events : model.getEvents().values()) {
+      if (!events.isEmpty()) {
+        max = Math.max(max, events.get(events.size() - 1).getEndTime());
+      }
+    }
+    return max;
+  }
+}
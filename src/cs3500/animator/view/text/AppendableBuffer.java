@@ -0,0 +1,257 @@
+package cs3500.animator.view.text;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+
+/**
+ * A reusable character buffer in front of an {@code Appendable}. The textual views write their
+ * output into it piece by piece, and it hands the characters on to the {@code Appendable} in large
+ * blocks. Integers and doubles are formatted straight into the buffer, the same way
+ * {@code Integer.toString} and {@code Double.toString} would format them, without creating any
+ * intermediate {@code String}s.
+ */
+final class AppendableBuffer {
+  private static final int CAPACITY = 8192;
+  private static final int MAX_NUMBER_LENGTH = 32;
+  private static final double MAX_FAST_DOUBLE = 1e7;
+
+  private final Appendable out;
+  private final char[] chars;
+  private final CharBuffer window;
+  private int length;
+
+  /**
+   * Constructs an {@code AppendableBuffer} object writing to the given appendable.
+   * @param out appendable to write to
+   */
+  AppendableBuffer(Appendable out) {
+    this.out = out;
+    this.chars = new char[CAPACITY];
+    this.window = CharBuffer.wrap(chars);
+    this.length = 0;
+  }
+
+  /**
+   * Appends a character.
+   * @param c character to append
+   * @return this buffer
+   * @throws IOException if the appendable cannot be written to
+   */
+  AppendableBuffer append(char c) throws IOException {
+    if (length == CAPACITY) {
+      flush();
+    }
+    chars[length++] = c;
+    return this;
+  }
+
+  /**
+   * Appends the characters of a string.
+   * @param s string to append
+   * @return this buffer
+   * @throws IOException if the appendable cannot be written to
+   */
+  AppendableBuffer append(String s) throws IOException {
+    int from = 0;
+    int to = s.length();
+    while (from < to) {
+      if (length == CAPACITY) {
+        flush();
+      }
+      int n = Math.min(to - from, CAPACITY - length);
+      s.getChars(from, from + n, chars, length);
+      length += n;
+      from += n;
+    }
+    return this;
+  }
+
+  /**
+   * Appends the characters of a string builder. Contents that do not fit in the buffer are handed
+   * to the appendable directly, after the buffered characters.
+   * @param s string builder to append
+   * @return this buffer
+   * @throws IOException if the appendable cannot be written to
+   */
+  AppendableBuffer append(StringBuilder s) throws IOException {
+    if (s.length() <= CAPACITY - length) {
+      s.getChars(0, s.length(), chars, length);
+      length += s.length();
+    }
+    else {
+      flush();
+      out.append(s);
+    }
+    return this;
+  }
+
+  /**
+   * Appends an integer in decimal, as {@code Integer.toString} would format it.
+   * @param value integer to append
+   * @return this buffer
+   * @throws IOException if the appendable cannot be written to
+   */
+  AppendableBuffer append(int value) throws IOException {
+    ensureCapacity(MAX_NUMBER_LENGTH);
+    appendLong(value);
+    return this;
+  }
+
+  /**
+   * Appends a double as {@code Double.toString} would format it. Whole numbers of less than
+   * seven digits, which are all the coordinates and times of almost every animation, are
+   * formatted directly; anything else falls back to {@code Double.toString}.
+   * @param value double to append
+   * @return this buffer
+   * @throws IOException if the appendable cannot be written to
+   */
+  AppendableBuffer append(double value) throws IOException {
+    long whole = (long) value;
+    if (whole == value && Math.abs(value) < MAX_FAST_DOUBLE
+        && (whole != 0 || Double.doubleToRawLongBits(value) == 0)) {
+      ensureCapacity(MAX_NUMBER_LENGTH);
+      appendLong(whole);
+      chars[length++] = '.';
+      chars[length++] = '0';
+      return this;
+    }
+    return append(Double.toString(value));
+  }
+
+  /**
+   * Appends a string left-justified in a column of the given width, like the format
+   * {@code %-<width>s}.
+   * @param s string to append
+   * @param width minimum number of characters to write
+   * @return this buffer
+   * @throws IOException if the appendable cannot be written to
+   */
+  AppendableBuffer appendLeft(String s, int width) throws IOException {
+    append(s);
+    return pad(width - s.length());
+  }
+
+  /**
+   * Appends an integer left-justified in a column of the given width, like the format
+   * {@code %-<width>s}.
+   * @param value integer to append
+   * @param width minimum number of characters to write
+   * @return this buffer
+   * @throws IOException if the appendable cannot be written to
+   */
+  AppendableBuffer appendLeft(int value, int width) throws IOException {
+    ensureCapacity(MAX_NUMBER_LENGTH);
+    int start = length;
+    appendLong(value);
+    return pad(width - (length - start));
+  }
+
+  /**
+   * Appends a double, formatted as by {@link #append(double)}, left-justified in a column of the
+   * given width, like the format {@code %-<width>s}.
+   * @param value double to append
+   * @param width minimum number of characters to write
+   * @return this buffer
+   * @throws IOException if the appendable cannot be written to
+   */
+  AppendableBuffer appendLeft(double value, int width) throws IOException {
+    ensureCapacity(MAX_NUMBER_LENGTH);
+    int start = length;
+    append(value);
+    return pad(width - (length - start));
+  }
+
+  /**
+   * Appends a non-negative number of hundredths as a decimal with at most two fraction digits and
+   * no trailing zeros, like {@code DecimalFormat("#.##")}, left-justified in a column of the given
+   * width.
+   * @param hundredths the number, in hundredths
+   * @param separator decimal separator
+   * @param width minimum number of characters to write
+   * @return this buffer
+   * @throws IOException if the appendable cannot be written to
+   */
+  AppendableBuffer appendLeftHundredths(long hundredths, char separator, int width)
+      throws IOException {
+    ensureCapacity(MAX_NUMBER_LENGTH);
+    int start = length;
+    appendLong(hundredths / 100);
+    int fraction = (int) (hundredths % 100);
+    if (fraction != 0) {
+      chars[length++] = separator;
+      chars[length++] = (char) ('0' + fraction / 10);
+      if (fraction % 10 != 0) {
+        chars[length++] = (char) ('0' + fraction % 10);
+      }
+    }
+    return pad(width - (length - start));
+  }
+
+  /**
+   * Appends the given number of spaces, if positive.
+   * @param count number of spaces
+   * @return this buffer
+   * @throws IOException if the appendable cannot be written to
+   */
+  private AppendableBuffer pad(int count) throws IOException {
+    for (int i = 0; i < count; i++) {
+      append(' ');
+    }
+    return this;
+  }
+
+  /**
+   * Hands all buffered characters on to the appendable and empties the buffer.
+   * @throws IOException if the appendable cannot be written to
+   */
+  void flush() throws IOException {
+    if (length == 0) {
+      return;
+    }
+    if (out instanceof StringBuilder) {
+      ((StringBuilder) out).append(chars, 0, length);
+    }
+    else if (out instanceof Writer) {
+      ((Writer) out).write(chars, 0, length);
+    }
+    else {
+      out.append(window, 0, length);
+    }
+    length = 0;
+  }
+
+  /**
+   * Flushes the buffer if it does not have room for the given number of characters.
+   * @param n number of characters about to be written
+   * @throws IOException if the appendable cannot be written to
+   */
+  private void ensureCapacity(int n) throws IOException {
+    if (length + n > CAPACITY) {
+      flush();
+    }
+  }
+
+  /**
+   * Writes the decimal digits of a value into the buffer, which must have room for them.
+   * @param value value to write
+   */
+  private void appendLong(long value) {
+    if (value < 0) {
+      chars[length++] = '-';
+    }
+    else {
+      value = -value;
+    }
+    int digits = 1;
+    for (long rest = value / 10; rest != 0; rest /= 10) {
+      digits++;
+    }
+    int at = length + digits;
+    length = at;
+    do {
+      chars[--at] = (char) ('0' - (value % 10));
+      value /= 10;
+    } while (value != 0);
+  }
+}
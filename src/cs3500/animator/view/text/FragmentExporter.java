@@ -0,0 +1,125 @@
+package cs3500.animator.view.text;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Writes a sequence of independent fragments of a textual view, such as the output for each
+ * shape, in order. With a fork-join pool, the fragments are rendered in parallel into pooled
+ * buffers and then copied to the output in their original order, so the output is exactly the
+ * same as when they are rendered one after another. At most a few fragments per thread are in
+ * flight at once, which bounds the memory used by the buffers.
+ */
+final class FragmentExporter {
+  private static final int FRAGMENTS_PER_THREAD = 4;
+
+  /**
+   * Renders one fragment of a view.
+   */
+  interface Fragment {
+    /**
+     * Writes the fragment with the given index.
+     * @param index index of the fragment
+     * @param out buffer to write to
+     * @throws IOException if the buffer cannot be written to
+     */
+    void render(int index, AppendableBuffer out) throws IOException;
+  }
+
+  /**
+   * A pooled buffer holding a rendered fragment.
+   */
+  private static final class Slot {
+    private final StringBuilder text;
+    private final AppendableBuffer buffer;
+    private RuntimeException failure;
+
+    /**
+     * Constructs an empty {@code Slot} object.
+     */
+    private Slot() {
+      this.text = new StringBuilder();
+      this.buffer = new AppendableBuffer(text);
+      this.failure = null;
+    }
+  }
+
+  private final ForkJoinPool pool;
+  private final ConcurrentLinkedQueue<Slot> slots;
+
+  /**
+   * Constructs a {@code FragmentExporter} object.
+   * @param pool the pool to render fragments on, or null to render them one after another
+   */
+  FragmentExporter(ForkJoinPool pool) {
+    this.pool = pool;
+    this.slots = new ConcurrentLinkedQueue<>();
+  }
+
+  /**
+   * Writes the given number of fragments to the given buffer, in order.
+   * @param count number of fragments
+   * @param fragment renders each fragment
+   * @param out buffer to write to
+   * @throws IOException if the buffer cannot be written to
+   * @throws RuntimeException if rendering a fragment fails; the exception thrown by the earliest
+   *         failing fragment is rethrown as is
+   */
+  void export(int count, Fragment fragment, AppendableBuffer out) throws IOException {
+    if (pool == null || pool.getParallelism() < 2 || count < 2) {
+      for (int i = 0; i < count; i++) {
+        fragment.render(i, out);
+      }
+      return;
+    }
+    int window = pool.getParallelism() * FRAGMENTS_PER_THREAD;
+    Deque<ForkJoinTask<Slot>> pending = new ArrayDeque<>(window);
+    int next = 0;
+    while (next < count || !pending.isEmpty()) {
+      while (next < count && pending.size() < window) {
+        int index = next++;
+        pending.addLast(pool.submit(() -> render(index, fragment)));
+      }
+      Slot slot = pending.removeFirst().join();
+      if (slot.failure != null) {
+        for (ForkJoinTask<Slot> task : pending) {
+          task.cancel(false);
+        }
+        throw slot.failure;
+      }
+      out.append(slot.text);
+      slot.text.setLength(0);
+      slots.add(slot);
+    }
+  }
+
+  /**
+   * Renders a fragment into a pooled buffer. Failures are kept in the buffer rather than
+   * thrown, so that they reach the caller without being wrapped by the pool.
+   * @param index index of the fragment
+   * @param fragment renders the fragment
+   * @return the buffer holding the fragment
+   */
+  private Slot render(int index, Fragment fragment) {
+    Slot slot = slots.poll();
+    if (slot == null) {
+      slot = new Slot();
+    }
+    slot.failure = null;
+    try {
+      fragment.render(index, slot.buffer);
+      slot.buffer.flush();
+    }
+    catch (RuntimeException e) {
+      slot.failure = e;
+    }
+    catch (IOException e) {
+      slot.failure = new IllegalStateException("Rendering failed!");
+    }
+    return slot;
+  }
+}
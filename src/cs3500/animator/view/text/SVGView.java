@@ -5,18 +5,22 @@ import cs3500.animator.model.events.IEvent;
 import cs3500.animator.model.shapes.IReadOnlyShape;
 import cs3500.animator.model.shapes.ShapeType;
 import cs3500.animator.view.IAnimationView;
+import java.awt.Color;
+import java.awt.geom.Point2D;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 // TODO: 4/19/2021 MODIFIED
 /**
  * Represents the SVG-view of an animation. Formats the animation as a textual description using
  * XML formatting. Holds an appendable (where it outputs to), a tempo (fps), the model's top-left
  * origin x and y-coordinates (instantiated in the render() method), and a static lookup
  * table that maps shape type to its corresponding XML string representation (to avoid excessive
- * switch cases).
+ * switch cases). The XML is streamed into the appendable through a reusable
+ * {@code AppendableBuffer}, so no intermediate strings are created for the events. If given a
+ * fork-join pool, the XML of the shapes is rendered in parallel and written in declaration order.
  */
 public class SVGView implements IAnimationView {
   private final Appendable out;
@@ -24,6 +28,7 @@ public class SVGView implements IAnimationView {
   private double mx;
   private double my;
   private final Map<ShapeType, String> lookup = new HashMap<>();
+  private final FragmentExporter exporter;
 
   /**
    * Constructs a {@code AbstractTextualView} object and initializes the lookup table.
@@ -40,6 +45,31 @@ public class SVGView implements IAnimationView {
     }
     this.out = out;
     this.tempo = tempo;
+    this.exporter = new FragmentExporter(null);
+    initializeLookup();
+  }
+
+  /**
+   * Constructs a {@code SVGView} object that renders the shapes in parallel on the given pool.
+   * The output is the same as that of a view constructed without a pool.
+   * @param out appendable to append to
+   * @param tempo ticks per second
+   * @param pool pool to render the shapes on
+   * @throws IllegalArgumentException if out or pool is null or if tempo is negative.
+   */
+  public SVGView(Appendable out, int tempo, ForkJoinPool pool) throws IllegalArgumentException {
+    if (out == null) {
+      throw new IllegalArgumentException("Appendable cannot be null!");
+    }
+    if (tempo < 0) {
+      throw new IllegalArgumentException("Tempo cannot be negative!");
+    }
+    if (pool == null) {
+      throw new IllegalArgumentException("Pool cannot be null!");
+    }
+    this.out = out;
+    this.tempo = tempo;
+    this.exporter = new FragmentExporter(pool);
     initializeLookup();
   }
 
@@ -67,23 +97,17 @@ public class SVGView implements IAnimationView {
     my = model.getScreen().getOrigin().getY();
     int width = model.getScreen().getWidth();
     int height = model.getScreen().getHeight();
-    String header = "<svg height=\"" + height
-        + "\" width=\"" + width
-        + "\" version=\"1.1\""
-        + " xmlns=\"http://www.w3.org/2000/svg\">\n";
+    AppendableBuffer xml = new AppendableBuffer(out);
     try {
-      out.append(header);
+      xml.append("<svg height=\"").append(height)
+          .append("\" width=\"").append(width)
+          .append("\" version=\"1.1\"")
+          .append(" xmlns=\"http://www.w3.org/2000/svg\">\n");
       List<IReadOnlyShape> shapes = model.getShapes();
-      for (IReadOnlyShape shape : shapes) {
-        out.append(shapeToXML(shape));
-        List<IEvent> events = new ArrayList<>(model.getEventsById(shape.getName()));
-        for (IEvent event : events) {
-          out.append(eventToXML(shape.getType(), event));
-        }
-        String close = "\n</" + lookup.get(shape.getType()) + ">";
-        out.append(close);
-      }
-      out.append("\n</svg>");
+      exporter.export(shapes.size(), (i, fragment) -> shapeBlockToXML(fragment, model,
+          shapes.get(i)), xml);
+      xml.append("\n</svg>");
+      xml.flush();
     }
     catch (IOException e) {
       throw new IllegalStateException("Rendering failed!");
@@ -91,97 +115,107 @@ public class SVGView implements IAnimationView {
   }
 
   /**
-   * Returns the XML representation of the given shape.
+   * Writes the XML element of the given shape, which holds all of its events.
+   * @param xml buffer to write to
+   * @param model model the shape belongs to
+   * @param shape shape to render in XML
+   * @throws IOException if the output cannot be written to
+   */
+  private void shapeBlockToXML(AppendableBuffer xml, IReadOnlyAnimationModel model,
+      IReadOnlyShape shape) throws IOException {
+    shapeToXML(xml, shape);
+    for (IEvent event : model.getEventsById(shape.getName())) {
+      eventToXML(xml, shape.getType(), event);
+    }
+    xml.append("\n</").append(lookup.get(shape.getType())).append('>');
+  }
+
+  /**
+   * Writes the XML representation of the given shape.
+   * @param xml buffer to write to
    * @param shape to render in XML
-   * @return XML string representation of given shape
    * @throws IllegalArgumentException if given shape is null or if shape type not yet supported
+   * @throws IOException if the output cannot be written to
    */
-  private String shapeToXML(IReadOnlyShape shape) throws IllegalArgumentException {
+  private void shapeToXML(AppendableBuffer xml, IReadOnlyShape shape)
+      throws IllegalArgumentException, IOException {
     if (shape == null) {
       throw new IllegalArgumentException("Shape cannot be null!");
     }
-    StringBuilder xml = new StringBuilder("\n<" + lookup.get(shape.getType()) + " ");
-    String params = "";
+    xml.append("\n<").append(lookup.get(shape.getType())).append(' ');
+    Point2D posn = shape.getPosn();
     switch (shape.getType()) {
       case RECTANGLE:
-        xml.append(rShapeToXML(shape.getName(),
-            shape.getPosn().getX(),
-            shape.getPosn().getY(),
-            shape.getWidth(),
-            shape.getHeight()));
+        rShapeToXML(xml, shape.getName(), posn.getX(), posn.getY(),
+            shape.getWidth(), shape.getHeight());
         break;
       case ELLIPSE:
-        xml.append(eShapeToXML(shape.getName(),
-            shape.getPosn().getX(),
-            shape.getPosn().getY(),
-            shape.getWidth() / 2,
-            shape.getHeight() / 2));
+        eShapeToXML(xml, shape.getName(), posn.getX(), posn.getY(),
+            shape.getWidth() / 2, shape.getHeight() / 2);
         break;
       case PLUS:
-        xml.append(pShapeToXML(shape.getName(),
-            shape.getPosn().getX(),
-            shape.getPosn().getY(),
-            shape.getWidth(),
-            shape.getHeight()));
+        pShapeToXML(xml, shape.getName(), posn.getX(), posn.getY(),
+            shape.getWidth(), shape.getHeight());
         break;
       default:
         throw new IllegalArgumentException("Unsupported shape type!");
     }
-    xml.append(params);
-    String close = "\" fill=\"rgb("
-        + shape.getColor().getRed() + ","
-        + shape.getColor().getGreen() + ","
-        + shape.getColor().getBlue()
-        + ")\" visibility=\"visible\" >";
-    xml.append(close);
-    return xml.toString();
+    xml.append("\" fill=\"");
+    rgbToXML(xml, shape.getColor());
+    xml.append("\" visibility=\"visible\" >");
   }
 
   /**
-   * Renders a rectangle declaration in XML using the given parameters.
+   * Writes a rectangle declaration in XML using the given parameters.
+   * @param xml buffer to write to
    * @param id shape's unique identifier
    * @param x x-position (center)
    * @param y y-position (center)
    * @param width rectangle width
    * @param height rectangle height
-   * @return the rectangle declaration as an XML string
+   * @throws IOException if the output cannot be written to
    */
-  private String rShapeToXML(String id, double x, double y, int width, int height) {
-    return "id=\"" + id
-        + "\" x=\"" + x
-        + "\" y=\"" + y
-        + "\" width=\"" + width
-        + "\" height=\"" + height;
+  private void rShapeToXML(AppendableBuffer xml, String id, double x, double y, int width,
+      int height) throws IOException {
+    xml.append("id=\"").append(id)
+        .append("\" x=\"").append(x)
+        .append("\" y=\"").append(y)
+        .append("\" width=\"").append(width)
+        .append("\" height=\"").append(height);
   }
 
   /**
-   * Renders an ellipse declaration in XML using the given parameters.
+   * Writes an ellipse declaration in XML using the given parameters.
+   * @param xml buffer to write to
    * @param id shape's unique identifier
    * @param cx x-position (center)
    * @param cy y-position (center)
    * @param rx ellipse x-radius
    * @param ry ellipse y-radius
-   * @return the ellipse declaration as an XML string
+   * @throws IOException if the output cannot be written to
    */
-  private String eShapeToXML(String id, double cx, double cy, int rx, int ry) {
-    return "id=\"" + id
-        + "\" cx=\"" + cx
-        + "\" cy=\"" + cy
-        + "\" rx=\"" + rx
-        + "\" ry=\"" + ry;
+  private void eShapeToXML(AppendableBuffer xml, String id, double cx, double cy, int rx, int ry)
+      throws IOException {
+    xml.append("id=\"").append(id)
+        .append("\" cx=\"").append(cx)
+        .append("\" cy=\"").append(cy)
+        .append("\" rx=\"").append(rx)
+        .append("\" ry=\"").append(ry);
   }
 
   /**
-   * Renders a polygon declaration that represents a plus shape in XML using the given
+   * Writes a polygon declaration that represents a plus shape in XML using the given
    * parameters.
+   * @param xml buffer to write to
    * @param id shape's unique identifier
    * @param x x-position (center)
    * @param y y-position (center)
    * @param width plus width
    * @param height plus height
-   * @return the plus declaration as an XML string
+   * @throws IOException if the output cannot be written to
    */
-  private String pShapeToXML(String id, double x, double y, int width, int height) {
+  private void pShapeToXML(AppendableBuffer xml, String id, double x, double y, int width,
+      int height) throws IOException {
     double x1 = x;
     double x2 = x + (double) width / 4;
     double x3 = x + (double) (width / 4 + width / 2);
@@ -191,186 +225,131 @@ public class SVGView implements IAnimationView {
     double y2 = y + (double) height / 4;
     double y3 = y + (double) (height / 4 + height / 2);
     double y4 = y + height;
-    return "id =\"" + id
-        + "\" points=\""
-        + x1 + "," + y2 + " "
-        + x2 + "," + y2 + " "
-        + x2 + "," + y1 + " "
-        + x3 + "," + y1 + " "
-        + x3 + "," + y2 + " "
-        + x4 + "," + y2 + " "
-        + x4 + "," + y3 + " "
-        + x3 + "," + y3 + " "
-        + x3 + "," + y4 + " "
-        + x2 + "," + y4 + " "
-        + x2 + "," + y3 + " "
-        + x1 + "," + y3;
+    xml.append("id =\"").append(id).append("\" points=\"");
+    pointsToXML(xml, x1, x2, x3, x4, y1, y2, y3, y4);
   }
 
   /**
-   * Returns the XML representation of the given event.
+   * Writes the XML representation of the given event.
+   * @param xml buffer to write to
+   * @param type type of the shape the event belongs to
    * @param event to render in XML
-   * @return XML string representation of given event
    * @throws IllegalArgumentException if given event is null or if shape type not yet supported
+   * @throws IOException if the output cannot be written to
    */
-  private String eventToXML(ShapeType type, IEvent event) throws IllegalArgumentException {
+  private void eventToXML(AppendableBuffer xml, ShapeType type, IEvent event)
+      throws IllegalArgumentException, IOException {
     if (event == null) {
       throw new IllegalArgumentException("Event cannot be null!");
     }
-    StringBuilder xml = new StringBuilder();
     switch (type) {
       case RECTANGLE:
-        xml.append(rEventToXML(event));
+        boxEventToXML(xml, event, "x", "y", "width", "height", 1);
         break;
       case ELLIPSE:
-        xml.append(eEventToXML(event));
+        boxEventToXML(xml, event, "cx", "cy", "rx", "ry", 2);
         break;
       case PLUS:
-        xml.append(pEventToXML(event));
+        pEventToXML(xml, event);
         break;
       default:
         throw new IllegalArgumentException("Shape type not yet supported!");
     }
-    return xml.toString();
   }
 
   /**
-   * Converts an event (rectangle) to XML string.
+   * Writes an event of a rectangle or an ellipse in XML, as one animation each of the position,
+   * the size, and the color.
+   * @param xml buffer to write to
    * @param event event to render
-   * @return given event rendered in XML
-   * @throws IllegalArgumentException if given event is null
+   * @param x name of the x-position attribute
+   * @param y name of the y-position attribute
+   * @param w name of the width attribute
+   * @param h name of the height attribute
+   * @param divisor what the width and height are divided by to get the size attributes
+   * @throws IOException if the output cannot be written to
    */
-  private String rEventToXML(IEvent event) throws IllegalArgumentException {
-    if (event == null) {
-      throw new IllegalArgumentException("Event cannot be null!");
-    }
-    StringBuilder xml = new StringBuilder();
+  private void boxEventToXML(AppendableBuffer xml, IEvent event, String x, String y, String w,
+      String h, int divisor) throws IOException {
     double begin = tickToMilliseconds(event.getStartTime());
     double dur = tickToMilliseconds(event.getEndTime() - event.getStartTime());
+    Point2D start = event.getStartPosn();
+    Point2D end = event.getEndPosn();
 
-    String xStart = Double.toString(event.getStartPosn().getX() - mx);
-    String xEnd = Double.toString(event.getEndPosn().getX() - mx);
-    String yStart = Double.toString(event.getStartPosn().getY() - my);
-    String yEnd = Double.toString(event.getEndPosn().getY() - my);
-    String wStart = Integer.toString(event.getStartWidth());
-    String wEnd = Integer.toString(event.getEndWidth());
-    String hStart = Integer.toString(event.getStartHeight());
-    String hEnd = Integer.toString(event.getEndHeight());
-    String cStart = "rgb(" + event.getStartColor().getRed() + ","
-        + event.getStartColor().getGreen() + ","
-        + event.getStartColor().getBlue() + ")";
-    String cEnd = "rgb(" + event.getEndColor().getRed() + ","
-        + event.getEndColor().getGreen() + ","
-        + event.getEndColor().getBlue() + ")";
-
-    xml.append(animateXML("x", begin, dur, xStart, xEnd));
-    xml.append(animateXML("y", begin, dur, yStart, yEnd));
-    xml.append(animateXML("width", begin, dur, wStart, wEnd));
-    xml.append(animateXML("height", begin, dur, hStart, hEnd));
-    xml.append(animateXML("fill", begin, dur, cStart, cEnd));
-
-    return xml.toString();
+    animateXML(xml, x, begin, dur).append(start.getX() - mx)
+        .append("\" to=\"").append(end.getX() - mx).append("\" />");
+    animateXML(xml, y, begin, dur).append(start.getY() - my)
+        .append("\" to=\"").append(end.getY() - my).append("\" />");
+    animateXML(xml, w, begin, dur).append(event.getStartWidth() / divisor)
+        .append("\" to=\"").append(event.getEndWidth() / divisor).append("\" />");
+    animateXML(xml, h, begin, dur).append(event.getStartHeight() / divisor)
+        .append("\" to=\"").append(event.getEndHeight() / divisor).append("\" />");
+    fillToXML(xml, event, begin, dur);
   }
 
   /**
-   * Converts an event (ellipse) to XML string.
+   * Writes an event (plus) in XML.
+   * @param xml buffer to write to
    * @param event event to render
-   * @return given event rendered in XML
-   * @throws IllegalArgumentException if given event is null
+   * @throws IOException if the output cannot be written to
    */
-  private String eEventToXML(IEvent event) throws IllegalArgumentException {
-    if (event == null) {
-      throw new IllegalArgumentException("Event cannot be null!");
-    }
-    StringBuilder xml = new StringBuilder();
+  private void pEventToXML(AppendableBuffer xml, IEvent event) throws IOException {
     double begin = tickToMilliseconds(event.getStartTime());
     double dur = tickToMilliseconds(event.getEndTime() - event.getStartTime());
 
-    String xStart = Double.toString(event.getStartPosn().getX() - mx);
-    String xEnd = Double.toString(event.getEndPosn().getX() - mx);
-    String yStart = Double.toString(event.getStartPosn().getY() - my);
-    String yEnd = Double.toString(event.getEndPosn().getY() - my);
-    String wStart = Integer.toString(event.getStartWidth() / 2);
-    String wEnd = Integer.toString(event.getEndWidth() / 2);
-    String hStart = Integer.toString(event.getStartHeight() / 2);
-    String hEnd = Integer.toString(event.getEndHeight() / 2);
-    String cStart = "rgb(" + event.getStartColor().getRed() + ","
-        + event.getStartColor().getGreen() + ","
-        + event.getStartColor().getBlue() + ")";
-    String cEnd = "rgb(" + event.getEndColor().getRed() + ","
-        + event.getEndColor().getGreen() + ","
-        + event.getEndColor().getBlue() + ")";
-
-    xml.append(animateXML("cx", begin, dur, xStart, xEnd));
-    xml.append(animateXML("cy", begin, dur, yStart, yEnd));
-    xml.append(animateXML("rx", begin, dur, wStart, wEnd));
-    xml.append(animateXML("ry", begin, dur, hStart, hEnd));
-    xml.append(animateXML("fill", begin, dur, cStart, cEnd));
+    int xStart = (int) (event.getStartPosn().getX() - mx);
+    int yStart = (int) (event.getStartPosn().getY() - my);
+    int wStart = event.getStartWidth();
+    int hStart = event.getStartHeight();
+    int xEnd = (int) (event.getEndPosn().getX() - mx);
+    int yEnd = (int) (event.getEndPosn().getY() - my);
+    int wEnd = event.getEndWidth();
+    int hEnd = event.getEndHeight();
 
-    return xml.toString();
+    animateXML(xml, "points", begin, dur);
+    pointsToXML(xml, xStart, xStart + wStart / 4, xStart + wStart / 4 + wStart / 2,
+        xStart + wStart, yStart, yStart + hStart / 4, yStart + hStart / 4 + hStart / 2,
+        yStart + hStart);
+    xml.append("\" to=\"");
+    pointsToXML(xml, xEnd, xEnd + wEnd / 4, xEnd + wEnd / 4 + wEnd / 2, xEnd + wEnd,
+        yEnd, yEnd + hEnd / 4, yEnd + hEnd / 4 + hEnd / 2, yEnd + hEnd);
+    xml.append("\" />");
+    fillToXML(xml, event, begin, dur);
   }
 
   /**
-   * Converts an event (plus) to XML string.
+   * Writes the animation of the color of an event in XML.
+   * @param xml buffer to write to
    * @param event event to render
-   * @return given event rendered in XML
-   * @throws IllegalArgumentException if given event is null
+   * @param begin starting time in ms
+   * @param dur duration of event in ms
+   * @throws IOException if the output cannot be written to
    */
-  private String pEventToXML(IEvent event) throws IllegalArgumentException {
-    if (event == null) {
-      throw new IllegalArgumentException("Event cannot be null!");
-    }
-    StringBuilder xml = new StringBuilder();
-    double begin = tickToMilliseconds(event.getStartTime());
-    double dur = tickToMilliseconds(event.getEndTime() - event.getStartTime());
-
-    double xStart = event.getStartPosn().getX() - mx;
-    double xEnd = event.getEndPosn().getX() - mx;
-    double yStart = event.getStartPosn().getY() - my;
-    double yEnd = event.getEndPosn().getY() - my;
-    int wStart = event.getStartWidth();
-    int wEnd = event.getEndWidth();
-    int hStart = event.getStartHeight();
-    int hEnd = event.getEndHeight();
-
-    int x1 = (int) xStart;
-    int x2 = (int) xStart + wStart / 4;
-    int x3 = (int) xStart + wStart / 4 + wStart / 2;
-    int x4 = (int) xStart + wStart;
-
-    int y1 = (int) yStart;
-    int y2 = (int) yStart + hStart / 4;
-    int y3 = (int) yStart + hStart / 4 + hStart / 2;
-    int y4 = (int) yStart + hStart;
-
-    String pStart = getPoints(x1, x2, x3, x4, y1, y2, y3, y4);
-
-    int x5 = (int) xEnd;
-    int x6 = (int) xEnd + wEnd / 4;
-    int x7 = (int) xEnd + wEnd / 4 + wEnd / 2;
-    int x8 = (int) xEnd + wEnd;
-
-    int y5 = (int) yEnd;
-    int y6 = (int) yEnd + hEnd / 4;
-    int y7 = (int) yEnd + hEnd / 4 + hEnd / 2;
-    int y8 = (int) yEnd + hEnd;
-
-    String pEnd = getPoints(x5, x6, x7, x8, y5, y6, y7, y8);
-
-    String cStart = "rgb(" + event.getStartColor().getRed() + ","
-        + event.getStartColor().getGreen() + ","
-        + event.getStartColor().getBlue() + ")";
-    String cEnd = "rgb(" + event.getEndColor().getRed() + ","
-        + event.getEndColor().getGreen() + ","
-        + event.getEndColor().getBlue() + ")";
+  private void fillToXML(AppendableBuffer xml, IEvent event, double begin, double dur)
+      throws IOException {
+    animateXML(xml, "fill", begin, dur);
+    rgbToXML(xml, event.getStartColor());
+    xml.append("\" to=\"");
+    rgbToXML(xml, event.getEndColor());
+    xml.append("\" />");
+  }
 
-    xml.append(animateXML("points", begin, dur, pStart, pEnd));
-    xml.append(animateXML("fill", begin, dur, cStart, cEnd));
-    return xml.toString();
+  /**
+   * Writes the given color as an attribute value.
+   * @param xml buffer to write to
+   * @param color color to write
+   * @throws IOException if the output cannot be written to
+   */
+  private void rgbToXML(AppendableBuffer xml, Color color) throws IOException {
+    xml.append("rgb(").append(color.getRed())
+        .append(',').append(color.getGreen())
+        .append(',').append(color.getBlue())
+        .append(')');
   }
 
   /**
-   * Returns the given points as an attribute value.
+   * Writes the given points of a plus as an attribute value.
+   * @param xml buffer to write to
    * @param x1 first x-pos
    * @param x2 second x-pos
    * @param x3 third x-pos
@@ -379,22 +358,22 @@ public class SVGView implements IAnimationView {
    * @param y2 second y-pos
    * @param y3 third y-pos
    * @param y4 fourth y-pos
-   * @return string rendering of list of points
+   * @throws IOException if the output cannot be written to
    */
-  private String getPoints(double x1, double x2, double x3, double x4,
-      double y1, double y2, double y3, double y4) {
-    return x1 + "," + y2 + " "
-        + x2 + "," + y2 + " "
-        + x2 + "," + y1 + " "
-        + x3 + "," + y1 + " "
-        + x3 + "," + y2 + " "
-        + x4 + "," + y2 + " "
-        + x4 + "," + y3 + " "
-        + x3 + "," + y3 + " "
-        + x3 + "," + y4 + " "
-        + x2 + "," + y4 + " "
-        + x2 + "," + y3 + " "
-        + x1 + "," + y3;
+  private void pointsToXML(AppendableBuffer xml, double x1, double x2, double x3, double x4,
+      double y1, double y2, double y3, double y4) throws IOException {
+    xml.append(x1).append(',').append(y2).append(' ')
+        .append(x2).append(',').append(y2).append(' ')
+        .append(x2).append(',').append(y1).append(' ')
+        .append(x3).append(',').append(y1).append(' ')
+        .append(x3).append(',').append(y2).append(' ')
+        .append(x4).append(',').append(y2).append(' ')
+        .append(x4).append(',').append(y3).append(' ')
+        .append(x3).append(',').append(y3).append(' ')
+        .append(x3).append(',').append(y4).append(' ')
+        .append(x2).append(',').append(y4).append(' ')
+        .append(x2).append(',').append(y3).append(' ')
+        .append(x1).append(',').append(y3);
   }
 
   /**
@@ -407,19 +386,21 @@ public class SVGView implements IAnimationView {
   }
 
   /**
-   * Renders an animate string in XML.
+   * Writes the start of an animate element in XML, up to the beginning value.
+   * @param xml buffer to write to
    * @param attribute attribute type
    * @param begin starting time in ms
    * @param dur duration of event in ms
-   * @param start beginning value
-   * @param end ending value
-   * @return the rendered XML animate string
+   * @return the buffer, to which the beginning value, the ending value, and the end of the
+   *         element are to be written
+   * @throws IOException if the output cannot be written to
    */
-  private String animateXML(String attribute, double begin, double dur, String start, String end) {
-    return "\n\t<animate attributeType=\"xml\""
-        + " begin=\"" + begin + "ms\""
-        + " dur=\"" + dur + "ms\""
-        + " attributeName=\"" + attribute + "\""
-        + " from=\"" + start + "\" to=\"" + end + "\" />";
+  private AppendableBuffer animateXML(AppendableBuffer xml, String attribute, double begin,
+      double dur) throws IOException {
+    return xml.append("\n\t<animate attributeType=\"xml\"")
+        .append(" begin=\"").append(begin).append("ms\"")
+        .append(" dur=\"").append(dur).append("ms\"")
+        .append(" attributeName=\"").append(attribute).append('"')
+        .append(" from=\"");
   }
 }
@@ -0,0 +1,55 @@
+package cs3500.animator.view.text;
+
+import java.io.IOException;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+
+/**
+ * Converts ticks to seconds and writes them as {@code DecimalFormat("#.##")} would: rounded half
+ * to even to at most two fraction digits, without trailing zeros. Rounding follows the exact
+ * value of the {@code double} number of seconds, so the rare values that lie too close to halfway
+ * between two hundredths to be rounded safely in floating point, along with negative, very
+ * large, and non-finite values, are still formatted by a {@code DecimalFormat}. Everything else
+ * is written straight into an {@code AppendableBuffer}.
+ */
+final class SecondsFormat {
+  private static final double MAX_FAST_SECONDS = 1e6;
+  private static final double TIE_TOLERANCE = 1e-6;
+
+  private final int tempo;
+  private final char separator;
+  private final boolean fast;
+
+  /**
+   * Constructs a {@code SecondsFormat} object for the current default locale.
+   * @param tempo ticks per second
+   */
+  SecondsFormat(int tempo) {
+    DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance();
+    this.tempo = tempo;
+    this.separator = symbols.getDecimalSeparator();
+    this.fast = symbols.getZeroDigit() == '0';
+  }
+
+  /**
+   * Writes the given tick in seconds, left-justified in a column of the given width.
+   * @param out buffer to write to
+   * @param tick tick to be converted
+   * @param width minimum number of characters to write
+   * @throws IOException if the buffer cannot be written to
+   */
+  void appendLeft(AppendableBuffer out, int tick, int width) throws IOException {
+    double seconds = (double) tick / tempo;
+    if (fast && seconds >= 0 && seconds < MAX_FAST_SECONDS
+        && Double.doubleToRawLongBits(seconds) >= 0) {
+      double hundredths = seconds * 100;
+      double floor = Math.floor(hundredths);
+      double fraction = hundredths - floor;
+      if (Math.abs(fraction - 0.5) > TIE_TOLERANCE) {
+        out.appendLeftHundredths((long) floor + (fraction > 0.5 ? 1 : 0), separator, width);
+        return;
+      }
+    }
+    out.appendLeft(new DecimalFormat("#.##").format(seconds), width);
+  }
+}
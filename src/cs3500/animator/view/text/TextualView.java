@@ -4,20 +4,23 @@ import cs3500.animator.model.IReadOnlyAnimationModel;
 import cs3500.animator.model.events.IEvent;
 import cs3500.animator.model.shapes.IReadOnlyShape;
 import cs3500.animator.view.IAnimationView;
+import java.awt.Color;
+import java.awt.geom.Point2D;
 import java.io.IOException;
-import java.text.DecimalFormat;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * A textual representation of an animation. Renders the events in an animation as states
  * (start and end) in a table with start time, initial coordinates, initial width, initial height,
  * and initial color, as well as end time, final coordinates, final width, final height, and final
- * color.
+ * color. If given a fork-join pool, the motions of the shapes are rendered in parallel and written
+ * in declaration order.
  */
 public class TextualView implements IAnimationView {
   private final Appendable out;
   private final int tempo;
+  private final FragmentExporter exporter;
 
   /**
    * Constructs a {@code AbstractTextualView} object.
@@ -33,6 +36,31 @@ public class TextualView implements IAnimationView {
     }
     this.out = out;
     this.tempo = tempo;
+    this.exporter = new FragmentExporter(null);
+  }
+
+  /**
+   * Constructs a {@code TextualView} object that renders the motions of the shapes in parallel on
+   * the given pool. The output is the same as that of a view constructed without a pool.
+   * @param out appendable to append to
+   * @param tempo ticks per second
+   * @param pool pool to render the motions on
+   * @throws IllegalArgumentException if out or pool is null or if tempo is negative
+   */
+  public TextualView(Appendable out, int tempo, ForkJoinPool pool)
+      throws IllegalArgumentException {
+    if (out == null) {
+      throw new IllegalArgumentException("Appendable cannot be null!");
+    }
+    if (tempo < 0) {
+      throw new IllegalArgumentException("Tempo cannot be negative!");
+    }
+    if (pool == null) {
+      throw new IllegalArgumentException("Pool cannot be null!");
+    }
+    this.out = out;
+    this.tempo = tempo;
+    this.exporter = new FragmentExporter(pool);
   }
 
   /**
@@ -45,6 +73,7 @@ public class TextualView implements IAnimationView {
     }
     this.out = new StringBuilder();
     this.tempo = tempo;
+    this.exporter = new FragmentExporter(null);
   }
 
   /**
@@ -53,8 +82,10 @@ public class TextualView implements IAnimationView {
    */
   @Override
   public void render(IReadOnlyAnimationModel model) throws IllegalStateException {
+    AppendableBuffer text = new AppendableBuffer(out);
     try {
-      out.append(animationToText(model));
+      animationToText(model, text);
+      text.flush();
     }
     catch (IOException e) {
       throw new IllegalStateException("Rendering failed!");
@@ -62,17 +93,19 @@ public class TextualView implements IAnimationView {
   }
 
   /**
-   * Returns a string representation of the animation model.
-   * @return the string representation of the animation
+   * Writes a textual representation of the animation model.
+   * @param model model to render
+   * @param sb buffer to write to
+   * @throws IOException if the output cannot be written to
    */
-  private String animationToText(IReadOnlyAnimationModel model) {
-    StringBuilder sb = new StringBuilder();
+  private void animationToText(IReadOnlyAnimationModel model, AppendableBuffer sb)
+      throws IOException {
     sb.append("# describes the motions of a shape between two moments of animation:\n");
     sb.append("# t == tick\n");
     sb.append("# (x,y) == position\n");
     sb.append("# (w,h) == dimensions\n");
     sb.append("# (r,g,b) == color (with values between 0 and 255)\n");
-    List<IReadOnlyShape> shapes = new ArrayList<>(model.getShapes());
+    List<IReadOnlyShape> shapes = model.getShapes();
     for (IReadOnlyShape shape : shapes) {
       sb.append("shape ").append(shape.getName()).append(" ")
           .append(shape.getType().toString()).append("\n");
@@ -83,42 +116,46 @@ public class TextualView implements IAnimationView {
         + "  -------------------------------------\n");
     sb.append("#                t    x    y    w    h    r    g    b  "
         + "   t    x    y    w    h    r    g    b\n");
-
-    for (IReadOnlyShape shape : shapes) {
-      List<IEvent> events = new ArrayList<>(model.getEventsById(shape.getName()));
-      for (IEvent event : events) {
-        sb.append("motion ");
-        sb.append(String.format("%-10s", shape.getName()));
-        sb.append(String.format("%-4s", ticksToSeconds(event.getStartTime()))).append(" ");
-        sb.append(String.format("%-4s", event.getStartPosn().getX())).append(" ");
-        sb.append(String.format("%-4s", event.getStartPosn().getY())).append(" ");
-        sb.append(String.format("%-4s", event.getStartWidth())).append(" ");
-        sb.append(String.format("%-4s", event.getStartHeight())).append(" ");
-        sb.append(String.format("%-4s", event.getStartColor().getRed())).append(" ");
-        sb.append(String.format("%-4s", event.getStartColor().getGreen())).append(" ");
-        sb.append(String.format("%-4s", event.getStartColor().getBlue())).append(" ");
-        sb.append(" ");
-        sb.append(String.format("%-4s", ticksToSeconds(event.getEndTime()))).append(" ");
-        sb.append(String.format("%-4s", event.getEndPosn().getX())).append(" ");
-        sb.append(String.format("%-4s", event.getEndPosn().getY())).append(" ");
-        sb.append(String.format("%-4s", event.getEndWidth())).append(" ");
-        sb.append(String.format("%-4s", event.getEndHeight())).append(" ");
-        sb.append(String.format("%-4s", event.getEndColor().getRed())).append(" ");
-        sb.append(String.format("%-4s", event.getEndColor().getGreen())).append(" ");
-        sb.append(String.format("%-4s", event.getEndColor().getBlue())).append(" ");
-        sb.append("\n");
-      }
-    }
-    return sb.toString();
+    exporter.export(shapes.size(), (i, fragment) -> motionsToText(model, shapes.get(i),
+        fragment), sb);
   }
 
   /**
-   * Converts the given number of ticks to seconds and renders as a string.
-   * @param tick tick to be converted
-   * @return ticks in seconds
+   * Writes the motion lines of the given shape, with every value left-justified in a column of
+   * four characters.
+   * @param model model the shape belongs to
+   * @param shape shape whose motions to render
+   * @param sb buffer to write to
+   * @throws IOException if the output cannot be written to
    */
-  private String ticksToSeconds(int tick) {
-    double result = (double) tick / tempo;
-    return new DecimalFormat("#.##").format(result);
+  private void motionsToText(IReadOnlyAnimationModel model, IReadOnlyShape shape,
+      AppendableBuffer sb) throws IOException {
+    SecondsFormat seconds = new SecondsFormat(tempo);
+    for (IEvent event : model.getEventsById(shape.getName())) {
+      Point2D startPosn = event.getStartPosn();
+      Color startColor = event.getStartColor();
+      Point2D endPosn = event.getEndPosn();
+      Color endColor = event.getEndColor();
+      sb.append("motion ");
+      sb.appendLeft(shape.getName(), 10);
+      seconds.appendLeft(sb, event.getStartTime(), 4);
+      sb.append(' ').appendLeft(startPosn.getX(), 4);
+      sb.append(' ').appendLeft(startPosn.getY(), 4);
+      sb.append(' ').appendLeft(event.getStartWidth(), 4);
+      sb.append(' ').appendLeft(event.getStartHeight(), 4);
+      sb.append(' ').appendLeft(startColor.getRed(), 4);
+      sb.append(' ').appendLeft(startColor.getGreen(), 4);
+      sb.append(' ').appendLeft(startColor.getBlue(), 4);
+      sb.append("  ");
+      seconds.appendLeft(sb, event.getEndTime(), 4);
+      sb.append(' ').appendLeft(endPosn.getX(), 4);
+      sb.append(' ').appendLeft(endPosn.getY(), 4);
+      sb.append(' ').appendLeft(event.getEndWidth(), 4);
+      sb.append(' ').appendLeft(event.getEndHeight(), 4);
+      sb.append(' ').appendLeft(endColor.getRed(), 4);
+      sb.append(' ').appendLeft(endColor.getGreen(), 4);
+      sb.append(' ').appendLeft(endColor.getBlue(), 4);
+      sb.append(" \n");
+    }
   }
 }
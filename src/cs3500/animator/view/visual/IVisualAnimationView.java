@@ -1,5 +1,6 @@
 package cs3500.animator.view.visual;
 
+import cs3500.animator.model.FrameBuffer;
 import cs3500.animator.model.shapes.ShapeType;
 import cs3500.animator.view.IAnimationView;
 import java.awt.Color;
@@ -24,6 +25,13 @@ public interface IVisualAnimationView extends IAnimationView {
   void drawShape(ShapeType type, double x, double y, int w, int h, Color color)
       throws IllegalArgumentException;
 
+  /**
+   * Draws every shape of the given frame, replacing the previously drawn frame.
+   * @param frame frame sampled from the model
+   * @throws IllegalArgumentException if frame is null
+   */
+  void drawFrame(FrameBuffer frame) throws IllegalArgumentException;
+
   /**
    * Repaints the view.
    */
@@ -1,5 +1,6 @@
 package cs3500.animator.view.visual;
 
+import cs3500.animator.model.FrameBuffer;
 import cs3500.animator.model.IReadOnlyAnimationModel;
 import cs3500.animator.model.shapes.ShapeType;
 import cs3500.animator.view.panels.DrawingPanel;
@@ -80,8 +81,13 @@ public class VisualView extends JFrame implements IVisualAnimationView {
     }
   }
 
+  @Override
+  public void drawFrame(FrameBuffer frame) throws IllegalArgumentException {
+    panel.drawFrame(frame, mx, my);
+  }
+
   @Override
   public void refresh() {
-    repaint();
+    panel.refresh();
   }
 }
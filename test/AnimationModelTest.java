@@ -3,11 +3,13 @@ import static org.junit.Assert.assertNotEquals;
 
 import cs3500.animator.model.AnimationModel;
 import cs3500.animator.model.AnimationModel.Builder;
+import cs3500.animator.model.FrameBuffer;
 import cs3500.animator.model.IAnimationModel;
 import cs3500.animator.model.Screen;
 import cs3500.animator.model.events.Event;
 import cs3500.animator.model.events.IEvent;
 import cs3500.animator.model.shapes.Ellipse;
+import cs3500.animator.model.shapes.IReadOnlyShape;
 import cs3500.animator.model.shapes.IShape;
 import cs3500.animator.model.shapes.Rectangle;
 import cs3500.animator.model.shapes.ShapeType;
@@ -122,6 +124,250 @@ public class AnimationModelTest {
         testAModel.getShapesAtTick(25).get(1));
   }
 
+  @Test
+  public void testGetShapesAtTickAfterEdits() {
+    initData();
+    testAModel.addShape(e1);
+    testAModel.addShape(r1);
+    testAModel.addEvent("e1", e1ev1);
+    testAModel.addEvent("e1", e1ev2);
+    testAModel.addEvent("r1", r1ev1);
+    assertEquals(0, testAModel.getShapesAtTick(35).size());
+    assertEquals(1, testAModel.getShapesAtTick(5).size());
+    testAModel.addEvent("e1", e1ev3);
+    assertEquals("e1", testAModel.getShapesAtTick(35).get(0).getName());
+    testAModel.insertFrame("e1", 10, new Double(5.0, 5.0), Color.CYAN, 10, 5);
+    assertEquals(new Ellipse("e1", new Double(5.0, 5.0), Color.CYAN, 10, 5),
+        testAModel.getShapesAtTick(10).get(0));
+    testAModel.removeEvent("e1", testAModel.getEventsById("e1").get(0));
+    assertEquals(0, testAModel.getShapesAtTick(5).size());
+    assertEquals(2, testAModel.getShapesAtTick(15).size());
+    testAModel.removeShapeByID("e1");
+    assertEquals("r1", testAModel.getShapesAtTick(15).get(0).getName());
+  }
+
+  /**
+   * Checks that the i-th shape of a frame has the given state.
+   * @param frame the frame
+   * @param i index of the shape in the frame
+   * @param name expected name
+   * @param x expected x-coordinate
+   * @param y expected y-coordinate
+   * @param width expected width
+   * @param height expected height
+   * @param color expected color
+   */
+  private static void assertSampled(FrameBuffer frame, int i, String name, double x, double y,
+      int width, int height, Color color) {
+    assertEquals(name, frame.getName(i));
+    assertEquals(x, frame.getX(i), 0);
+    assertEquals(y, frame.getY(i), 0);
+    assertEquals(width, frame.getWidth(i));
+    assertEquals(height, frame.getHeight(i));
+    assertEquals(color, new Color(frame.getRGB(i)));
+  }
+
+  @Test
+  public void testTranslucentColorsRoundTrip() {
+    initData();
+    Color clear = new Color(10, 20, 30, 40);
+    Color faint = new Color(50, 60, 70, 128);
+    testAModel.addShape("t", ShapeType.RECTANGLE, new Double(0, 0), clear, 5, 5);
+    testAModel.addEvent("t", 0, 10, new Double(5, 5), faint, 5, 5);
+    testAModel.addEvent("t", new Event(10, new Double(5, 5), faint, 5, 5, 20, new Double(0, 0),
+        clear, 5, 5));
+    testAModel.insertFrame("t", 15, new Double(1, 1), faint, 5, 5);
+    List<IEvent> events = testAModel.getEventsById("t");
+    assertEquals(clear, events.get(0).getStartColor());
+    assertEquals(40, events.get(0).getStartColor().getAlpha());
+    assertEquals(faint, events.get(0).getEndColor());
+    assertEquals(faint, events.get(2).getStartColor());
+    assertEquals(clear, events.get(2).getEndColor());
+    assertEquals(clear, testAModel.getShapeByID("t").getColor());
+    testAModel.removeEvent("t", new Event(15, new Double(1, 1), faint, 5, 5, 20,
+        new Double(0, 0), clear, 5, 5));
+    assertEquals(2, testAModel.getEventsById("t").size());
+  }
+
+  @Test
+  public void testSampleTick() {
+    b = new AnimationModel.Builder();
+    b.setBounds(0, 0, 200, 200);
+    b.declareShape("r", "rectangle");
+    b.declareShape("e", "ellipse");
+    b.addMotion("r", 0, 0, 0, 10, 20, 0, 0, 0, 10, 100, 50, 30, 20, 200, 100, 50);
+    b.addMotion("r", 10, 100, 50, 30, 20, 200, 100, 50, 20, 100, 0, 10, 40, 0, 0, 0);
+    b.addMotion("e", 5, 10, 10, 4, 4, 255, 0, 0, 15, 20, 10, 8, 4, 0, 0, 255);
+    testAModel = b.build();
+    FrameBuffer frame = new FrameBuffer(0);
+
+    // start of the first interval
+    testAModel.sampleTick(0, frame);
+    assertEquals(0, frame.getTick());
+    assertEquals(1, frame.size());
+    assertEquals(ShapeType.RECTANGLE, frame.getType(0));
+    assertSampled(frame, 0, "r", 0, 0, 10, 20, new Color(0, 0, 0));
+
+    // inside an interval
+    testAModel.sampleTick(3, frame);
+    assertEquals(1, frame.size());
+    assertSampled(frame, 0, "r", 30, 15, 16, 20, new Color(60, 30, 15));
+
+    // start of the ellipse's only interval
+    testAModel.sampleTick(5, frame);
+    assertEquals(2, frame.size());
+    assertSampled(frame, 0, "r", 50, 25, 20, 20, new Color(100, 50, 25));
+    assertSampled(frame, 1, "e", 10, 10, 4, 4, new Color(255, 0, 0));
+    assertEquals(ShapeType.ELLIPSE, frame.getType(1));
+    assertEquals(1, frame.getId(1));
+
+    // boundary between the rectangle's intervals, which belongs to the later one
+    testAModel.sampleTick(10, frame);
+    assertEquals(2, frame.size());
+    assertSampled(frame, 0, "r", 100, 50, 30, 20, new Color(200, 100, 50));
+    assertSampled(frame, 1, "e", 15, 10, 6, 4, new Color(128, 0, 128));
+
+    // end of the ellipse's interval, after which it is not drawn
+    testAModel.sampleTick(15, frame);
+    assertEquals(1, frame.size());
+    assertSampled(frame, 0, "r", 100, 25, 20, 30, new Color(100, 50, 25));
+
+    testAModel.sampleTick(19, frame);
+    assertSampled(frame, 0, "r", 100, 5, 12, 38, new Color(20, 10, 5));
+    testAModel.sampleTick(20, frame);
+    assertEquals(0, frame.size());
+
+    List<IReadOnlyShape> shapes = testAModel.getShapesAtTick(10);
+    assertEquals(2, shapes.size());
+    assertEquals(new Double(15, 10), shapes.get(1).getPosn());
+    assertEquals(6, shapes.get(1).getWidth());
+    assertEquals(new Color(128, 0, 128), shapes.get(1).getColor());
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testSampleTickNullFrame() {
+    initData();
+    testAModel.sampleTick(0, null);
+  }
+
+  @Test
+  public void testSampleTimeBetweenTicks() {
+    initData();
+    testAModel.addShape(e1);
+    testAModel.addShape(r1);
+    testAModel.addEvent("e1", e1ev1);
+    testAModel.addEvent("e1", e1ev2);
+    testAModel.addEvent("r1", r1ev1);
+    FrameBuffer frame = new FrameBuffer(0);
+    testAModel.sampleTime(4.5, frame);
+    assertEquals(4, frame.getTick());
+    assertEquals(4.5, frame.getTime(), 0);
+    assertEquals("e1", frame.getName(0));
+    assertEquals(5.0, frame.getX(0), 0);
+    testAModel.sampleTime(25.25, frame);
+    assertEquals(20.0, frame.getX(0), 0);
+    assertEquals(10, frame.getHeight(0));
+    // the last event of e1 ends at 30, so it is gone between 30 and 31
+    testAModel.sampleTime(30.5, frame);
+    for (int i = 0; i < frame.size(); i++) {
+      assertNotEquals("e1", frame.getName(i));
+    }
+  }
+
+  @Test
+  public void testSampleTimeAtWholeTicks() {
+    initData();
+    testAModel.addShape(e1);
+    testAModel.addShape(e2);
+    testAModel.addEvent("e1", e1ev1);
+    testAModel.addEvent("e1", e1ev2);
+    testAModel.addEvent("e2", e2ev1);
+    FrameBuffer byTick = new FrameBuffer(0);
+    FrameBuffer byTime = new FrameBuffer(0);
+    for (int tick = 0; tick <= 40; tick++) {
+      testAModel.sampleTick(tick, byTick);
+      testAModel.sampleTime(tick, byTime);
+      assertEquals(byTick.size(), byTime.size());
+      for (int i = 0; i < byTick.size(); i++) {
+        assertEquals(byTick.getId(i), byTime.getId(i));
+        assertEquals(byTick.getX(i), byTime.getX(i), 0);
+        assertEquals(byTick.getY(i), byTime.getY(i), 0);
+        assertEquals(byTick.getWidth(i), byTime.getWidth(i));
+        assertEquals(byTick.getHeight(i), byTime.getHeight(i));
+        assertEquals(byTick.getRGB(i), byTime.getRGB(i));
+      }
+    }
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testSampleTimeNaN() {
+    initData();
+    testAModel.sampleTime(java.lang.Double.NaN, new FrameBuffer());
+  }
+
+  @Test
+  public void testKeyframeTicks() {
+    initData();
+    assertEquals(-1, testAModel.nextKeyframeAfter(0));
+    testAModel.addShape(e1);
+    testAModel.addShape(r1);
+    testAModel.addEvent("e1", e1ev1);
+    testAModel.addEvent("e1", e1ev2);
+    testAModel.addEvent("r1", r1ev1);
+    assertEquals(0, testAModel.nextKeyframeAfter(-5));
+    assertEquals(15, testAModel.nextKeyframeAfter(0));
+    assertEquals(20, testAModel.nextKeyframeAfter(15));
+    assertEquals(30, testAModel.nextKeyframeAfter(29));
+    assertEquals(-1, testAModel.nextKeyframeAfter(30));
+    assertEquals(20, testAModel.previousKeyframeBefore(30));
+    assertEquals(15, testAModel.previousKeyframeBefore(16));
+    assertEquals(30, testAModel.previousKeyframeBefore(100));
+    assertEquals(-1, testAModel.previousKeyframeBefore(0));
+  }
+
+  @Test
+  public void testKeyframeTicksFollowEdits() {
+    initData();
+    testAModel.addShape(e1);
+    testAModel.addShape(r1);
+    testAModel.addEvent("e1", e1ev1);
+    testAModel.addEvent("r1", r1ev1);
+    assertEquals(15, testAModel.nextKeyframeAfter(0));
+    testAModel.addShape(e2);
+    testAModel.addEvent("e2", e2ev1);
+    assertEquals(5, testAModel.nextKeyframeAfter(0));
+    assertEquals(25, testAModel.previousKeyframeBefore(30));
+    testAModel.removeShapeByID("r1");
+    assertEquals(20, testAModel.nextKeyframeAfter(5));
+    assertEquals(25, testAModel.nextKeyframeAfter(20));
+    testAModel.addEvent("e1", e1ev2);
+    assertEquals(30, testAModel.nextKeyframeAfter(25));
+  }
+
+  @Test
+  public void testEventsAreSnapshots() {
+    initData();
+    testAModel.addShape(e1);
+    testAModel.addEvent("e1", e1ev1);
+    testAModel.addEvent("e1", e1ev2);
+    List<IEvent> before = testAModel.getEventsById("e1");
+    testAModel.insertFrame("e1", 10, new Double(5.0, 5.0), Color.RED, 3, 3);
+    testAModel.addEvent("e1", e1ev3);
+    assertEquals(2, before.size());
+    assertEquals(e1ev1, before.get(0));
+    assertEquals(e1ev2, before.get(1));
+    assertEquals(4, testAModel.getEventsById("e1").size());
+    assertEquals(e1ev1.hashCode(), before.get(0).hashCode());
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testRemoveEventNotInModel() {
+    initData();
+    testAModel.addShape(e1);
+    testAModel.addEvent("e1", e1ev1);
+    testAModel.removeEvent("e1", e1ev2);
+  }
+
   @Test (expected = IllegalArgumentException.class)
   public void testGetShapeByIdNullID() {
     initData();
@@ -225,6 +471,39 @@ public class AnimationModelTest {
     testAModel.addShape(e1);
   }
 
+  @Test (expected = IllegalArgumentException.class)
+  public void testAddShapeDuplicateName() {
+    initData();
+    testAModel.addShape(e1);
+    testAModel.addShape(new Rectangle("e1", new Double(3.0, 3.0), Color.GREEN, 1, 1));
+  }
+
+  @Test
+  public void testManyShapesAfterRemovals() {
+    initData();
+    for (int i = 0; i < 1000; i++) {
+      testAModel.addShape("s" + i, ShapeType.RECTANGLE, new Double(i, 0.0), Color.RED, 1, 1);
+      testAModel.addEvent("s" + i, 0, 10, new Double(i, 10.0), Color.RED, 1, 1);
+    }
+    for (int i = 0; i < 1000; i += 3) {
+      testAModel.removeShapeByID("s" + i);
+    }
+    testAModel.addShape("last", ShapeType.ELLIPSE, new Double(0.0, 0.0), Color.RED, 1, 1);
+    testAModel.addEvent("last", 0, 10, new Double(0.0, 0.0), Color.RED, 1, 1);
+    List<IReadOnlyShape> shapes = testAModel.getShapes();
+    assertEquals(667, shapes.size());
+    assertEquals("s1", shapes.get(0).getName());
+    assertEquals("last", shapes.get(666).getName());
+    assertEquals(new Double(500.0, 0.0), testAModel.getShapeByID("s500").getPosn());
+    FrameBuffer frame = new FrameBuffer(0);
+    testAModel.sampleTick(5, frame);
+    assertEquals(667, frame.size());
+    for (int i = 0; i < frame.size(); i++) {
+      assertEquals(i, frame.getId(i));
+      assertEquals(shapes.get(i).getName(), frame.getName(i));
+    }
+  }
+
   @Test
   public void testAddShapeEmptyList() {
     initData();
@@ -0,0 +1,229 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import cs3500.animator.model.AnimationModel.Builder;
+import cs3500.animator.model.IAnimationModel;
+import cs3500.animator.model.events.Event;
+import cs3500.animator.utils.AnimationReader;
+import java.awt.Color;
+import java.awt.geom.Point2D.Double;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Tests for AnimationReader methods.
+ */
+public class AnimationReaderTest {
+
+  /**
+   * Parses the given input into a model.
+   * @param input animation text
+   * @return the parsed model
+   */
+  private IAnimationModel parse(String input) {
+    return AnimationReader.parseFile(new StringReader(input), new Builder());
+  }
+
+  /**
+   * Checks that parsing the given input fails with the given message.
+   * @param input animation text
+   * @param message expected error message
+   */
+  private void assertParseError(String input, String message) {
+    try {
+      parse(input);
+      fail("Expected an IllegalStateException");
+    }
+    catch (IllegalStateException e) {
+      assertEquals(message, e.getMessage());
+    }
+  }
+
+  @Test
+  public void testParseFile() {
+    IAnimationModel model = parse("# a comment\n"
+        + "canvas 200 70 360 360\n"
+        + "shape R rectangle\r\n"
+        + "motion R 1 200 200 50 100 255 0 0    10 200 200 50 100 255 0 0\n"
+        + "motion R 10 200 200 50 100 255 0 0#trailing comment\n"
+        + "  50 300 300 50 100 255 0 0\n");
+    assertEquals(360, model.getScreen().getWidth());
+    assertEquals(70, (int) model.getScreen().getOrigin().getY());
+    assertEquals(1, model.getShapes().size());
+    assertEquals(2, model.getEventsById("R").size());
+    assertEquals(new Event(10, new Double(200, 200), new Color(255, 0, 0), 50, 100,
+        50, new Double(300, 300), new Color(255, 0, 0), 50, 100),
+        model.getEventsById("R").get(1));
+  }
+
+  @Test
+  public void testParseSignedIntegers() {
+    IAnimationModel model = parse("canvas -10 +20 30 40 shape C ellipse "
+        + "motion C 0 -5 -5 1 1 0 0 0 1 -2147483648 2147483647 1 1 0 0 0");
+    assertEquals(-10, (int) model.getScreen().getOrigin().getX());
+    assertEquals(20, (int) model.getScreen().getOrigin().getY());
+    assertEquals(-2147483648, (int) model.getEventsById("C").get(0).getEndPosn().getX());
+    assertEquals(2147483647, (int) model.getEventsById("C").get(0).getEndPosn().getY());
+  }
+
+  @Test
+  public void testUnexpectedKeyword() {
+    assertParseError("shape R rectangle\nrotate R 90 degrees\nshape E ellipse\n",
+        "Unexpected keyword: rotate R 90 degrees");
+  }
+
+  @Test
+  public void testExpectedInteger() {
+    assertParseError("canvas 0 0 1e3 10", "Canvas: expected integer for width, got: 1e3");
+    assertParseError("shape R rectangle motion R 1 2 3 4 5 6 7 8 9 10 11 12 13 14 15 2147483648",
+        "Motion: expected integer for final blue value, got: 2147483648");
+  }
+
+  @Test
+  public void testMissingInput() {
+    assertParseError("canvas 0 0 # 10 10",
+        "Canvas: expected integer for width, but no more input available");
+    assertParseError("shape", "Shape: Expected a name, but no more input available");
+    assertParseError("shape R", "Shape: Expected a type, but no more input available");
+    assertParseError("motion\n", "Motion: Expected a shape name, but no more input available");
+  }
+
+  @Test
+  public void testParseMappedFile() throws IOException {
+    Path file = Files.createTempFile("animation", ".txt");
+    try {
+      String input = "canvas 0 0 100 100\nshape R\u00e9 rectangle # \u00e9\n"
+          + "motion R\u00e9 1 2 3 4 5 6 7 8    9 2 3 4 5 6 7 8\n";
+      Files.write(file, input.getBytes(StandardCharsets.UTF_8));
+      IAnimationModel model = AnimationReader.parseFile(file, new Builder());
+      assertEquals("R\u00e9", model.getShapes().get(0).getName());
+      assertEquals(9, model.getEventsById("R\u00e9").get(0).getEndTime());
+    }
+    finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test (expected = NoSuchFileException.class)
+  public void testParseMappedFileMissing() throws IOException {
+    AnimationReader.parseFile(Paths.get("no-such-animation.txt"), new Builder());
+  }
+
+  /**
+   * Writes an animation of two shapes whose motions alternate, large enough to be split into
+   * several chunks by the parallel reader.
+   * @param file file to write to
+   * @param motions number of motions of each shape
+   * @param declareLast whether the second shape is declared after its motions
+   * @throws IOException if the file cannot be written
+   */
+  private void writeAlternating(Path file, int motions, boolean declareLast) throws IOException {
+    StringBuilder sb = new StringBuilder("canvas 0 0 500 500\nshape A rectangle\n");
+    if (!declareLast) {
+      sb.append("shape B ellipse\n");
+    }
+    for (int t = 0; t < motions; t++) {
+      sb.append(String.format("motion A %d %d 10 5 5 0 0 0  %d %d 10 5 5 0 0 0\n",
+          t, t, t + 1, t + 1));
+      sb.append(String.format("motion B %d 10 %d 5 5 255 0 0  %d 10 %d 5 5 255 0 0\n",
+          t, t, t + 1, t + 1));
+    }
+    if (declareLast) {
+      sb.append("shape B ellipse\n");
+    }
+    Files.write(file, sb.toString().getBytes(StandardCharsets.US_ASCII));
+  }
+
+  @Test
+  public void testParseFileParallel() throws IOException {
+    Path file = Files.createTempFile("animation", ".txt");
+    try {
+      writeAlternating(file, 5000, false);
+      IAnimationModel sequential = AnimationReader.parseFile(file, new Builder());
+      IAnimationModel parallel = AnimationReader.parseFileParallel(file, new Builder());
+      assertEquals(sequential.getShapes(), parallel.getShapes());
+      assertEquals(5000, parallel.getEventsById("B").size());
+      assertEquals(sequential.getEventsById("A"), parallel.getEventsById("A"));
+      assertEquals(sequential.getEventsById("B"), parallel.getEventsById("B"));
+    }
+    finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  public void testParseFileParallelMotionBeforeShape() throws IOException {
+    Path file = Files.createTempFile("animation", ".txt");
+    try {
+      writeAlternating(file, 5000, true);
+      AnimationReader.parseFileParallel(file, new Builder());
+      fail("Expected an IllegalArgumentException");
+    }
+    catch (IllegalArgumentException e) {
+      assertEquals("Shape does not yet exist in model!", e.getMessage());
+    }
+    finally {
+      Files.delete(file);
+    }
+  }
+
+  /**
+   * Reads the given file both sequentially and in parallel, and checks that both reads fail
+   * with the given message.
+   * @param file file to read
+   * @param message expected error message
+   * @throws IOException if the file cannot be read
+   */
+  private void assertSameError(Path file, String message) throws IOException {
+    try {
+      AnimationReader.parseFile(file, new Builder());
+      fail("Expected an IllegalArgumentException");
+    }
+    catch (IllegalArgumentException e) {
+      assertEquals(message, e.getMessage());
+    }
+    try {
+      AnimationReader.parseFileParallel(file, new Builder());
+      fail("Expected an IllegalArgumentException");
+    }
+    catch (IllegalArgumentException e) {
+      assertEquals(message, e.getMessage());
+    }
+  }
+
+  @Test
+  public void testParseFileParallelReportsFirstError() throws IOException {
+    String[][] cases = {
+        {"motion B 100 10 100 5 5 255 0 0  101 10 101 5 -5 255 0 0", "canvas 0 0 -5 5",
+            "Heights cannot be negative!"},
+        {"canvas 0 0 5 -5", "motion A 4000 4000 10 5 5 0 0 0  4001 4001 10 -5 5 0 0 0",
+            "Height cannot be negative!"},
+        {"motion B -1 10 0 5 5 255 0 0  1 10 1 5 5 255 0 0",
+            "motion A 4001 4001 10 5 5 0 0 0  4000 4000 10 5 5 0 0 0",
+            "Times cannot be negative!"},
+        {"shape C triangle", "motion B 3000 10 3000 -5 5 255 0 0  3001 10 3001 5 5 255 0 0",
+            "Invalid shape type!"}};
+    Path file = Files.createTempFile("animation", ".txt");
+    try {
+      for (String[] c : cases) {
+        writeAlternating(file, 5000, false);
+        List<String> lines = new ArrayList<>(Files.readAllLines(file));
+        lines.add(8000, c[1]);
+        lines.add(200, c[0]);
+        Files.write(file, lines);
+        assertSameError(file, c[2]);
+      }
+    }
+    finally {
+      Files.delete(file);
+    }
+  }
+}
@@ -0,0 +1,227 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import cs3500.animator.model.AnimationModel.Builder;
+import cs3500.animator.model.AnimationSnapshot;
+import cs3500.animator.model.FrameBuffer;
+import cs3500.animator.model.IAnimationModel;
+import cs3500.animator.model.Screen;
+import cs3500.animator.model.events.IEvent;
+import cs3500.animator.model.shapes.Rectangle;
+import cs3500.animator.model.shapes.ShapeType;
+import java.awt.Color;
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.UnaryOperator;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for the AnimationSnapshot.
+ */
+public class AnimationSnapshotTest {
+  IAnimationModel model;
+  AnimationSnapshot empty;
+
+  @Before
+  public void initData() {
+    Builder b = new Builder();
+    b.setBounds(10, 20, 300, 200);
+    b.declareShape("r", "rectangle");
+    b.declareShape("e", "ellipse");
+    b.addMotion("r", 0, 0, 0, 10, 10, 255, 0, 0, 10, 50, 50, 10, 10, 255, 0, 0);
+    b.addMotion("e", 5, 30, 30, 20, 10, 0, 128, 0, 15, 30, 60, 20, 10, 0, 128, 0);
+    model = b.build();
+    empty = new AnimationSnapshot(new Screen(100, 100, new Point2D.Double(0, 0)));
+  }
+
+  @Test
+  public void testSnapshotIgnoresLaterEdits() {
+    AnimationSnapshot before = model.snapshot();
+    List<IEvent> events = before.getEventsById("r");
+    model.addEvent("r", 10, 20, new Point2D.Double(0, 0), Color.BLUE, 5, 5);
+    model.removeShapeByID("e");
+    assertEquals(2, before.getShapes().size());
+    assertEquals(1, before.getEventsById("r").size());
+    assertEquals(1, events.size());
+    assertEquals(2, model.getEventsById("r").size());
+    assertEquals(1, model.getShapes().size());
+    FrameBuffer frame = new FrameBuffer();
+    before.sampleTick(12, frame);
+    assertEquals(1, frame.size());
+    assertEquals("e", frame.getName(0));
+  }
+
+  @Test
+  public void testVersionsAreIndependent() {
+    AnimationSnapshot base = model.snapshot();
+    AnimationSnapshot left = base.withEvent("r", 10, 20, new Point2D.Double(1, 1), Color.BLUE,
+        5, 5);
+    AnimationSnapshot right = base.withEvent("r", 10, 30, new Point2D.Double(2, 2), Color.GREEN,
+        7, 7);
+    assertEquals(1, base.getEventsById("r").size());
+    assertEquals(20, left.getEventsById("r").get(1).getEndTime());
+    assertEquals(30, right.getEventsById("r").get(1).getEndTime());
+    assertEquals(Color.GREEN, right.getEventsById("r").get(1).getEndColor());
+    AnimationSnapshot longer = left.withEvent("r", 20, 25, new Point2D.Double(3, 3), Color.RED,
+        5, 5);
+    assertEquals(20, left.getEventsById("r").get(1).getEndTime());
+    assertEquals(2, left.getEventsById("r").size());
+    assertEquals(3, longer.getEventsById("r").size());
+    assertEquals(30, right.getEventsById("r").get(1).getEndTime());
+    assertEquals(base.getEventsById("e"), left.getEventsById("e"));
+  }
+
+  @Test
+  public void testReadsAreViews() {
+    AnimationSnapshot snapshot = model.snapshot();
+    assertSame(snapshot, snapshot.snapshot());
+    assertSame(snapshot.getScreen(), snapshot.getScreen());
+    Map<String, List<IEvent>> events = snapshot.getEvents();
+    assertEquals(2, events.size());
+    assertTrue(events.containsKey("e"));
+    assertFalse(events.containsKey("x"));
+    assertEquals(snapshot.getEventsById("e"), events.get("e"));
+    assertEquals("r", events.keySet().iterator().next());
+  }
+
+  @Test (expected = UnsupportedOperationException.class)
+  public void testShapesAreReadOnly() {
+    model.getShapes().remove(0);
+  }
+
+  @Test
+  public void testManyShapes() {
+    AnimationSnapshot snapshot = empty;
+    for (int i = 0; i < 3000; i++) {
+      snapshot = snapshot.withShape("s" + i, ShapeType.RECTANGLE, new Point2D.Double(i, 0),
+          Color.BLACK, 1, 1);
+    }
+    snapshot = snapshot.withEvent("s1234", 0, 5, new Point2D.Double(0, 0), Color.RED, 2, 2);
+    assertEquals(3000, snapshot.getShapes().size());
+    assertEquals("s2999", snapshot.getShapes().get(2999).getName());
+    assertEquals(1234.0, snapshot.getShapeByID("s1234").getPosn().getX(), 0);
+    AnimationSnapshot removed = snapshot.withoutShape("s5");
+    assertEquals(2999, removed.getShapes().size());
+    assertEquals("s6", removed.getShapes().get(5).getName());
+    assertEquals(1, removed.getEventsById("s1234").size());
+    assertEquals(3000, snapshot.getShapes().size());
+    assertSame(removed, removed.withoutShape("s5"));
+  }
+
+  /**
+   * Makes a random edit of the given version.
+   * @param random source of the edit
+   * @return the edit
+   */
+  private static UnaryOperator<AnimationSnapshot> randomEdit(Random random) {
+    String id = "s" + random.nextInt(8);
+    String other = "s" + random.nextInt(8);
+    int tick = random.nextInt(60);
+    int length = 1 + random.nextInt(10);
+    Point2D posn = new Point2D.Double(random.nextInt(100), random.nextInt(100));
+    switch (random.nextInt(8)) {
+      case 0:
+      case 1:
+        return v -> {
+          List<IEvent> events = v.getEventsById(id);
+          int start = events.isEmpty() ? tick : events.get(events.size() - 1).getEndTime();
+          return v.withEvent(id, start, start + length, posn, Color.RED, 2, 2);
+        };
+      case 2:
+        return v -> v.withFrame(id, tick, posn, Color.BLUE, 3, 3);
+      case 3:
+        return v -> v.withoutEventAtTick(id, tick);
+      case 4:
+        return v -> v.withoutShape(id);
+      case 5:
+        return v -> v.withShape(id, ShapeType.ELLIPSE, posn, Color.GREEN, 1, 1);
+      case 6:
+        // moves the start of the shape's lifespan
+        return v -> {
+          List<IEvent> events = v.getEventsById(id);
+          if (events.isEmpty()) {
+            throw new IllegalArgumentException("No events to remove!");
+          }
+          return v.withoutEvent(id, events.get(0));
+        };
+      default:
+        return v -> v.withEdits(editor -> {
+          editor.insertFrame(id, tick, posn, Color.BLUE, 3, 3);
+          editor.removeEventAtTick(other, tick + length);
+        });
+    }
+  }
+
+  @Test
+  public void testEditsUpdateTimeline() {
+    Random random = new Random(21);
+    AnimationSnapshot base = empty;
+    for (int s = 0; s < 8; s++) {
+      base = base.withShape("s" + s, ShapeType.RECTANGLE, new Point2D.Double(s, 0), Color.BLACK,
+          1, 1);
+    }
+    List<UnaryOperator<AnimationSnapshot>> edits = new ArrayList<>();
+    AnimationSnapshot sampled = base;
+    FrameBuffer frame = new FrameBuffer();
+    FrameBuffer expectedFrame = new FrameBuffer();
+    for (int i = 0; i < 400; i++) {
+      UnaryOperator<AnimationSnapshot> edit = randomEdit(random);
+      try {
+        sampled = edit.apply(sampled);
+        edits.add(edit);
+      }
+      catch (IllegalArgumentException e) {
+        continue;
+      }
+      // sampling builds the index, which every later version then updates
+      sampled.sampleTick(random.nextInt(80), frame);
+      sampled.nextKeyframeAfter(random.nextInt(80));
+      if (i % 40 == 39) {
+        // versions that are never sampled leave their index to be built from scratch
+        AnimationSnapshot expected = base;
+        for (UnaryOperator<AnimationSnapshot> e : edits) {
+          expected = e.apply(expected);
+        }
+        for (int tick = 0; tick < 80; tick++) {
+          expected.sampleTick(tick, expectedFrame);
+          sampled.sampleTick(tick, frame);
+          assertEquals(expectedFrame.size(), frame.size());
+          for (int k = 0; k < frame.size(); k++) {
+            assertEquals(expectedFrame.getName(k), frame.getName(k));
+            assertEquals(expectedFrame.getX(k), frame.getX(k), 0);
+          }
+          assertEquals(expected.nextKeyframeAfter(tick), sampled.nextKeyframeAfter(tick));
+          assertEquals(expected.previousKeyframeBefore(tick),
+              sampled.previousKeyframeBefore(tick));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testCollidingNames() {
+    // "Aa" and "BB" have the same hash code
+    AnimationSnapshot snapshot = empty.withShape(new Rectangle("Aa"))
+        .withShape(new Rectangle("BB"));
+    snapshot = snapshot.withEvent("BB", 0, 3, new Point2D.Double(1, 1), Color.RED, 2, 2);
+    assertEquals(0, snapshot.getEventsById("Aa").size());
+    assertEquals(1, snapshot.getEventsById("BB").size());
+    assertEquals("BB", snapshot.getShapeByID("BB").getName());
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testDuplicateShape() {
+    empty.withShape(new Rectangle("r")).withShape(new Rectangle("r"));
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testNullScreen() {
+    new AnimationSnapshot(null);
+  }
+}
@@ -0,0 +1,194 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import cs3500.animator.model.AnimationModel.Builder;
+import cs3500.animator.model.IAnimationModel;
+import cs3500.animator.utils.AnimationReader;
+import cs3500.animator.utils.BinaryAnimationReader;
+import cs3500.animator.view.AnimatorViewCreator;
+import cs3500.animator.view.binary.BinaryView;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for the binary view and the binary animation reader.
+ */
+public class BinaryViewTest {
+
+  IAnimationModel model;
+  ByteArrayOutputStream out;
+
+  /**
+   * Initialize some data.
+   */
+  @Before
+  public void initData() {
+    model = new Builder()
+        .setBounds(-20, 10, 400, 300)
+        .declareShape("R", "rectangle")
+        .declareShape("E\u00e9", "ellipse")
+        .declareShape("P", "plus")
+        .addMotion("R", 1, 0, 0, 50, 100, 255, 0, 0, 10, 0, 0, 50, 100, 255, 0, 0)
+        .addMotion("R", 10, 0, 0, 50, 100, 255, 0, 0, 50, -300, 300, 25, 100, 0, 0, 255)
+        .addMotion("E\u00e9", 6, 440, 70, 120, 60, 0, 0, 255, 20, 440, 70, 120, 60, 0, 0, 255)
+        .build();
+    out = new ByteArrayOutputStream();
+  }
+
+  /**
+   * Reads the given bytes back into a model.
+   * @param bytes binary animation
+   * @return the model
+   */
+  private IAnimationModel read(byte[] bytes) {
+    return BinaryAnimationReader.parse(ByteBuffer.wrap(bytes), new Builder());
+  }
+
+  @Test
+  public void testRoundTrip() {
+    new BinaryView(out).render(model);
+    IAnimationModel copy = read(out.toByteArray());
+    assertEquals(model.getScreen(), copy.getScreen());
+    assertEquals(model.getShapes(), copy.getShapes());
+    assertEquals(model.getEventsById("R"), copy.getEventsById("R"));
+    assertEquals(model.getEventsById("E\u00e9"), copy.getEventsById("E\u00e9"));
+    assertEquals(new ArrayList<>(), copy.getEventsById("P"));
+  }
+
+  @Test
+  public void testHeader() {
+    new BinaryView(out).render(model);
+    byte[] bytes = out.toByteArray();
+    assertArrayEquals(new byte[] {'A', 'N', 'I', 'M', 1, 39, 20},
+        Arrays.copyOf(bytes, 7));
+  }
+
+  @Test
+  public void testDeltaEncoding() {
+    IAnimationModel still = new Builder().setBounds(0, 0, 10, 10)
+        .declareShape("S", "rectangle")
+        .addMotion("S", 0, 5, 5, 5, 5, 0, 0, 0, 1, 5, 5, 5, 5, 0, 0, 0)
+        .addMotion("S", 1, 5, 5, 5, 5, 0, 0, 0, 2, 5, 5, 5, 5, 0, 0, 0)
+        .build();
+    new BinaryView(out).render(still);
+    // header (5), canvas (4), table (1 + 2 + 10), runs (1 + 1), keyframes (5 + 2 + 2)
+    assertEquals(33, out.size());
+  }
+
+  @Test
+  public void testParseFileDetectsBinary() throws IOException {
+    Path file = Files.createTempFile("animation", ".bin");
+    try {
+      new BinaryView(out).render(model);
+      Files.write(file, out.toByteArray());
+      assertTrue(BinaryAnimationReader.isBinary(file));
+      assertEquals(model.getEventsById("R"),
+          AnimationReader.parseFile(file, new Builder()).getEventsById("R"));
+      assertEquals(model.getEventsById("R"),
+          AnimationReader.parseFileParallel(file, new Builder()).getEventsById("R"));
+    }
+    finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  public void testNotBinary() {
+    try {
+      read("canvas 0 0 10 10".getBytes());
+      fail("Expected an IllegalStateException");
+    }
+    catch (IllegalStateException e) {
+      assertEquals("Binary: not a binary animation", e.getMessage());
+    }
+  }
+
+  @Test
+  public void testTruncated() {
+    new BinaryView(out).render(model);
+    byte[] bytes = out.toByteArray();
+    try {
+      read(Arrays.copyOf(bytes, bytes.length - 1));
+      fail("Expected an IllegalStateException");
+    }
+    catch (IllegalStateException e) {
+      assertEquals("Binary: unexpected end of input", e.getMessage());
+    }
+  }
+
+  /**
+   * Checks that reading the given bytes fails with the given message.
+   * @param bytes binary animation
+   * @param message expected message of the IllegalStateException
+   */
+  private void assertInvalid(byte[] bytes, String message) {
+    try {
+      read(bytes);
+      fail("Expected an IllegalStateException");
+    }
+    catch (IllegalStateException e) {
+      assertEquals(message, e.getMessage());
+    }
+  }
+
+  @Test
+  public void testCountsBeyondInput() {
+    byte[] header = {'A', 'N', 'I', 'M', 1, 0, 0, 2, 2};
+    byte[] shape = {1, 1, 'S', 9, 'r', 'e', 'c', 't', 'a', 'n', 'g', 'l', 'e'};
+    assertInvalid(concat(header, new byte[] {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF,
+        (byte) 0xFF, 0x07}), "Binary: invalid count 2147483647");
+    assertInvalid(concat(header, shape, new byte[] {(byte) 0xE8, 0x07}),
+        "Binary: invalid count 1000");
+    assertInvalid(concat(header, shape, new byte[] {1, (byte) 0xE8, 0x07}),
+        "Binary: invalid count 1000");
+  }
+
+  /**
+   * Joins the given arrays of bytes.
+   * @param parts arrays to join
+   * @return the joined array
+   */
+  private static byte[] concat(byte[]... parts) {
+    ByteArrayOutputStream joined = new ByteArrayOutputStream();
+    for (byte[] part : parts) {
+      joined.write(part, 0, part.length);
+    }
+    return joined.toByteArray();
+  }
+
+  @Test
+  public void testUnsupportedVersion() {
+    try {
+      read(new byte[] {'A', 'N', 'I', 'M', 2});
+      fail("Expected an IllegalStateException");
+    }
+    catch (IllegalStateException e) {
+      assertEquals("Binary: unsupported version 2", e.getMessage());
+    }
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testNullStream() {
+    new BinaryView(null);
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testCreatorNeedsStream() {
+    AnimatorViewCreator.create("binary", new StringBuilder(), 1, 0, new ArrayList<>());
+  }
+
+  @Test
+  public void testCreator() {
+    assertTrue(AnimatorViewCreator.create("binary", System.out, 1, 0, new ArrayList<>())
+        instanceof BinaryView);
+  }
+}
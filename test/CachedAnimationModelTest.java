@@ -0,0 +1,152 @@
+import static org.junit.Assert.assertEquals;
+
+import cs3500.animator.model.AnimationModel;
+import cs3500.animator.model.CachedAnimationModel;
+import cs3500.animator.model.FrameBuffer;
+import cs3500.animator.model.IAnimationModel;
+import java.awt.Color;
+import java.awt.geom.Point2D;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for the CachedAnimationModel.
+ */
+public class CachedAnimationModelTest {
+  IAnimationModel model;
+  CachedAnimationModel cached;
+  FrameBuffer expected;
+  FrameBuffer actual;
+
+  @Before
+  public void initData() {
+    AnimationModel.Builder b = new AnimationModel.Builder();
+    b.setBounds(0, 0, 100, 100);
+    b.declareShape("r", "rectangle");
+    b.declareShape("e", "ellipse");
+    b.addMotion("r", 0, 0, 0, 10, 10, 255, 0, 0, 10, 10, 0, 10, 10, 255, 0, 0);
+    b.addMotion("r", 10, 10, 0, 10, 10, 255, 0, 0, 20, 10, 20, 20, 10, 0, 255, 0);
+    b.addMotion("r", 20, 10, 20, 20, 10, 0, 255, 0, 30, 0, 0, 10, 10, 0, 0, 255);
+    b.addMotion("e", 5, 50, 50, 5, 5, 0, 0, 0, 25, 70, 30, 15, 5, 100, 100, 100);
+    model = b.build();
+    cached = new CachedAnimationModel(model, 1 << 20);
+    expected = new FrameBuffer();
+    actual = new FrameBuffer();
+  }
+
+  /**
+   * Checks that the cached model samples the same frame as the underlying model at every tick.
+   */
+  private void assertSameFrames() {
+    for (int tick = 0; tick <= 31; tick++) {
+      model.sampleTick(tick, expected);
+      cached.sampleTick(tick, actual);
+      assertEquals(expected.getTick(), actual.getTick());
+      assertEquals(expected.size(), actual.size());
+      for (int i = 0; i < expected.size(); i++) {
+        assertEquals(expected.getId(i), actual.getId(i));
+        assertEquals(expected.getName(i), actual.getName(i));
+        assertEquals(expected.getType(i), actual.getType(i));
+        assertEquals(expected.getX(i), actual.getX(i), 0);
+        assertEquals(expected.getY(i), actual.getY(i), 0);
+        assertEquals(expected.getWidth(i), actual.getWidth(i));
+        assertEquals(expected.getHeight(i), actual.getHeight(i));
+        assertEquals(expected.getRGB(i), actual.getRGB(i));
+      }
+    }
+  }
+
+  @Test
+  public void testCachedFramesMatch() {
+    assertSameFrames();
+    assertEquals(32, cached.getCachedFrames());
+    assertSameFrames();
+    assertEquals(32, cached.getCachedFrames());
+    assertEquals(model.getShapesAtTick(12), cached.getShapesAtTick(12));
+  }
+
+  @Test
+  public void testFramesBetweenTicksAreNotCached() {
+    cached.sampleTime(12.5, actual);
+    model.sampleTime(12.5, expected);
+    assertEquals(0, cached.getCachedFrames());
+    assertEquals(expected.getX(0), actual.getX(0), 0);
+    assertEquals(12.5, actual.getTime(), 0);
+    cached.sampleTime(12, actual);
+    assertEquals(1, cached.getCachedFrames());
+  }
+
+  @Test
+  public void testBudgetEvictsLeastRecentlyUsed() {
+    cached.sampleTick(5, actual);
+    long frameBytes = cached.getCachedBytes();
+    cached = new CachedAnimationModel(model, frameBytes * 3);
+    cached.sampleTick(5, actual);
+    cached.sampleTick(6, actual);
+    cached.sampleTick(7, actual);
+    cached.sampleTick(5, actual);
+    cached.sampleTick(8, actual);
+    assertEquals(3, cached.getCachedFrames());
+    assertEquals(frameBytes * 3, cached.getCachedBytes());
+    cached.insertFrame("e", 6, new Point2D.Double(0, 0), Color.RED, 1, 1);
+    assertEquals(0, cached.getCachedFrames());
+    assertSameFrames();
+  }
+
+  @Test
+  public void testZeroBudget() {
+    cached = new CachedAnimationModel(model, 0);
+    assertSameFrames();
+    assertEquals(0, cached.getCachedFrames());
+  }
+
+  @Test
+  public void testInsertFrameInvalidatesSplitEvent() {
+    assertSameFrames();
+    cached.insertFrame("r", 15, new Point2D.Double(40, 40), Color.CYAN, 3, 3);
+    assertEquals(32 - 11, cached.getCachedFrames());
+    assertSameFrames();
+  }
+
+  @Test
+  public void testRemoveEventInvalidatesMergedEvents() {
+    assertSameFrames();
+    cached.removeEvent("r", model.getEventsById("r").get(1));
+    assertEquals(32 - 21, cached.getCachedFrames());
+    assertSameFrames();
+    cached.removeEventAtTick("e", 10);
+    assertSameFrames();
+  }
+
+  @Test
+  public void testAddEventInvalidatesItsTicks() {
+    assertSameFrames();
+    cached.addEvent("r", 30, 40, new Point2D.Double(5, 5), Color.BLACK, 1, 1);
+    assertEquals(30, cached.getCachedFrames());
+    assertSameFrames();
+  }
+
+  @Test
+  public void testRemoveShapeInvalidatesEverything() {
+    assertSameFrames();
+    cached.removeShapeByID("r");
+    assertEquals(0, cached.getCachedFrames());
+    assertEquals(0, cached.getCachedBytes());
+    assertSameFrames();
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testNullModel() {
+    new CachedAnimationModel(null, 10);
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testNegativeBudget() {
+    new CachedAnimationModel(model, -1);
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testNullFrame() {
+    cached.sampleTick(0, null);
+  }
+}
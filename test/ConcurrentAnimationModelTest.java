@@ -0,0 +1,195 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import cs3500.animator.model.AnimationModel;
+import cs3500.animator.model.AnimationSnapshot;
+import cs3500.animator.model.ConcurrentAnimationModel;
+import cs3500.animator.model.FrameBuffer;
+import cs3500.animator.model.IAnimationModel;
+import cs3500.animator.model.events.IEvent;
+import cs3500.animator.model.shapes.IReadOnlyShape;
+import cs3500.animator.model.shapes.ShapeType;
+import java.awt.Color;
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for the ConcurrentAnimationModel.
+ */
+public class ConcurrentAnimationModelTest {
+  IAnimationModel model;
+  ConcurrentAnimationModel concurrent;
+
+  @Before
+  public void initData() {
+    AnimationModel.Builder b = new AnimationModel.Builder();
+    b.setBounds(0, 0, 100, 100);
+    b.declareShape("r", "rectangle");
+    b.declareShape("e", "ellipse");
+    b.addMotion("r", 0, 0, 0, 10, 10, 255, 0, 0, 10, 10, 0, 10, 10, 255, 0, 0);
+    b.addMotion("r", 10, 10, 0, 10, 10, 255, 0, 0, 20, 10, 20, 20, 10, 0, 255, 0);
+    b.addMotion("e", 5, 50, 50, 5, 5, 0, 0, 0, 25, 70, 30, 15, 5, 100, 100, 100);
+    model = b.build();
+    concurrent = new ConcurrentAnimationModel(model, 4);
+  }
+
+  /**
+   * Checks that the two models have the same shapes and events.
+   */
+  private void assertSameAnimation() {
+    assertEquals(model.getShapes().size(), concurrent.getShapes().size());
+    for (int i = 0; i < model.getShapes().size(); i++) {
+      String id = model.getShapes().get(i).getName();
+      assertEquals(id, concurrent.getShapes().get(i).getName());
+      assertEquals(model.getEventsById(id), concurrent.getEventsById(id));
+    }
+  }
+
+  /**
+   * Checks that the events of every shape of the given version follow each other without gaps.
+   * @param snapshot the version to check
+   */
+  private static void assertContinuous(AnimationSnapshot snapshot) {
+    for (IReadOnlyShape shape : snapshot.getShapes()) {
+      List<IEvent> events = snapshot.getEventsById(shape.getName());
+      for (int i = 1; i < events.size(); i++) {
+        assertEquals(events.get(i - 1).getEndTime(), events.get(i).getStartTime());
+        assertEquals(events.get(i - 1).getEndPosn(), events.get(i).getStartPosn());
+      }
+    }
+  }
+
+  @Test
+  public void testSameEditsAsModel() {
+    assertSameAnimation();
+    for (IAnimationModel m : new IAnimationModel[] {model, concurrent}) {
+      m.addEvent("r", 20, 30, new Point2D.Double(5, 5), Color.BLUE, 10, 10);
+      m.insertFrame("r", 15, new Point2D.Double(1, 2), Color.BLACK, 3, 4);
+      m.removeEventAtTick("e", 10);
+      m.addShape("p", ShapeType.PLUS, new Point2D.Double(0, 0), Color.RED, 5, 5);
+      m.addEvent("p", 0, 8, new Point2D.Double(8, 8), Color.RED, 5, 5);
+      m.removeEvent("r", m.getEventsById("r").get(0));
+      m.removeShapeByID("e");
+    }
+    assertSameAnimation();
+    FrameBuffer expected = new FrameBuffer();
+    FrameBuffer actual = new FrameBuffer();
+    for (int tick = 0; tick <= 30; tick++) {
+      model.sampleTick(tick, expected);
+      concurrent.sampleTick(tick, actual);
+      assertEquals(expected.size(), actual.size());
+      for (int i = 0; i < expected.size(); i++) {
+        assertEquals(expected.getX(i), actual.getX(i), 0);
+        assertEquals(expected.getRGB(i), actual.getRGB(i));
+      }
+    }
+  }
+
+  @Test
+  public void testEditsAreIndependentOfSource() {
+    model.addEvent("e", 25, 30, new Point2D.Double(0, 0), Color.RED, 1, 1);
+    concurrent.addEvent("e", 25, 40, new Point2D.Double(9, 9), Color.GREEN, 2, 2);
+    assertEquals(30, model.getEventsById("e").get(1).getEndTime());
+    assertEquals(40, concurrent.getEventsById("e").get(1).getEndTime());
+  }
+
+  @Test
+  public void testSnapshotIsStable() {
+    AnimationSnapshot before = concurrent.snapshot();
+    assertSame(before, concurrent.snapshot());
+    concurrent.removeShapeByID("r");
+    assertEquals(2, before.getShapes().size());
+    assertEquals(1, concurrent.getShapes().size());
+  }
+
+  @Test
+  public void testConcurrentEdits() throws InterruptedException {
+    int writers = 4;
+    int edits = 300;
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    AtomicBoolean done = new AtomicBoolean(false);
+    List<Thread> threads = new ArrayList<>();
+    for (int w = 0; w < writers; w++) {
+      String id = "s" + w;
+      threads.add(new Thread(() -> {
+        try {
+          concurrent.addShape(id, ShapeType.RECTANGLE, new Point2D.Double(0, 0), Color.RED, 1, 1);
+          for (int t = 0; t < edits; t++) {
+            concurrent.addEvent(id, 2 * t, 2 * t + 2, new Point2D.Double(t, 0), Color.RED, 1, 1);
+          }
+          concurrent.insertFrame(id, edits + 1, new Point2D.Double(0, 0), Color.RED, 1, 1);
+          concurrent.removeEventAtTick(id, 0);
+        }
+        catch (Throwable e) {
+          failure.compareAndSet(null, e);
+        }
+      }));
+    }
+    threads.add(new Thread(() -> {
+      for (int i = 0; i < 100; i++) {
+        concurrent.addShape("x" + i, ShapeType.ELLIPSE, new Point2D.Double(0, 0), Color.RED,
+            1, 1);
+        concurrent.removeShapeByID("x" + i);
+      }
+    }));
+    Thread reader = new Thread(() -> {
+      FrameBuffer frame = new FrameBuffer();
+      try {
+        while (!done.get()) {
+          AnimationSnapshot snapshot = concurrent.snapshot();
+          assertContinuous(snapshot);
+          snapshot.sampleTick(edits / 3, frame);
+        }
+      }
+      catch (Throwable e) {
+        failure.compareAndSet(null, e);
+      }
+    });
+    reader.start();
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    done.set(true);
+    reader.join();
+    assertNull(failure.get());
+    assertEquals(2 + writers, concurrent.getShapes().size());
+    for (int w = 0; w < writers; w++) {
+      List<IEvent> events = concurrent.getEventsById("s" + w);
+      assertEquals(edits, events.size());
+      assertEquals(2, events.get(0).getStartTime());
+      assertEquals(2 * edits, events.get(edits - 1).getEndTime());
+    }
+    assertContinuous(concurrent.snapshot());
+    assertTrue(concurrent.getEvents().containsKey("r"));
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testNullModel() {
+    new ConcurrentAnimationModel(null);
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testNoStripes() {
+    new ConcurrentAnimationModel(model, 0);
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testNullId() {
+    concurrent.addEvent(null, 0, 1, new Point2D.Double(0, 0), Color.RED, 1, 1);
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testDuplicateShape() {
+    concurrent.addShape("r", ShapeType.RECTANGLE, new Point2D.Double(0, 0), Color.RED, 1, 1);
+  }
+}
@@ -0,0 +1,168 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import cs3500.animator.model.AnimationModel;
+import cs3500.animator.model.FrameBuffer;
+import cs3500.animator.model.IAnimationModel;
+import cs3500.animator.view.FramePipeline;
+import java.awt.Color;
+import java.awt.geom.Point2D;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for the FramePipeline.
+ */
+public class FramePipelineTest {
+  IAnimationModel model;
+  FrameBuffer expected;
+  FrameBuffer actual;
+
+  @Before
+  public void initData() {
+    AnimationModel.Builder b = new AnimationModel.Builder();
+    b.setBounds(0, 0, 100, 100);
+    b.declareShape("r", "rectangle");
+    b.declareShape("e", "ellipse");
+    b.addMotion("r", 0, 0, 0, 10, 10, 255, 0, 0, 50, 50, 0, 10, 10, 255, 0, 0);
+    b.addMotion("e", 20, 50, 50, 5, 5, 0, 0, 0, 80, 70, 30, 15, 5, 100, 100, 100);
+    model = b.build();
+    expected = new FrameBuffer();
+    actual = new FrameBuffer();
+  }
+
+  /**
+   * Checks that the pipeline gives the same frame as the model at the given tick.
+   * @param pipeline pipeline to take the frame from
+   * @param tick tick to take
+   */
+  private void assertTakes(FramePipeline pipeline, int tick) {
+    model.sampleTick(tick, expected);
+    pipeline.take(tick, actual);
+    assertEquals(tick, actual.getTick());
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(expected.getName(i), actual.getName(i));
+      assertEquals(expected.getX(i), actual.getX(i), 0);
+      assertEquals(expected.getY(i), actual.getY(i), 0);
+      assertEquals(expected.getWidth(i), actual.getWidth(i));
+      assertEquals(expected.getRGB(i), actual.getRGB(i));
+    }
+  }
+
+  @Test
+  public void testSequentialPlayback() {
+    FramePipeline pipeline = new FramePipeline(model, 4);
+    for (int tick = 0; tick <= 90; tick++) {
+      assertTakes(pipeline, tick);
+    }
+    assertEquals(91, pipeline.getHits() + pipeline.getMisses());
+    pipeline.close();
+  }
+
+  @Test
+  public void testJumps() {
+    FramePipeline pipeline = new FramePipeline(model, 8);
+    int[] ticks = {0, 1, 2, 40, 41, 1, 2, 3, 79, 80, 0, 0, 5};
+    for (int tick : ticks) {
+      assertTakes(pipeline, tick);
+    }
+    assertEquals(ticks.length, pipeline.getHits() + pipeline.getMisses());
+    pipeline.close();
+  }
+
+  @Test
+  public void testSamplesAhead() throws InterruptedException {
+    FramePipeline pipeline = new FramePipeline(model, 8);
+    assertTakes(pipeline, 10);
+    assertEquals(1, pipeline.getMisses());
+    Thread.sleep(500);
+    for (int tick = 11; tick <= 18; tick++) {
+      assertTakes(pipeline, tick);
+    }
+    assertEquals(8, pipeline.getHits());
+    pipeline.close();
+  }
+
+  @Test
+  public void testSkipsAhead() throws InterruptedException {
+    FramePipeline pipeline = new FramePipeline(model, 8);
+    assertTakes(pipeline, 10);
+    Thread.sleep(500);
+    assertTakes(pipeline, 13);
+    assertTakes(pipeline, 14);
+    assertTakes(pipeline, 18);
+    assertEquals(3, pipeline.getHits());
+    assertTakes(pipeline, 30);
+    assertEquals(2, pipeline.getMisses());
+    pipeline.close();
+  }
+
+  @Test
+  public void testFramesBetweenTicks() throws InterruptedException {
+    FramePipeline pipeline = new FramePipeline(model, 8);
+    pipeline.setFrameTimes(frame -> frame / 4.0);
+    pipeline.take(40, actual);
+    Thread.sleep(500);
+    for (int frame = 41; frame <= 48; frame++) {
+      model.sampleTime(frame / 4.0, expected);
+      pipeline.take(frame, actual);
+      assertEquals(frame / 4.0, actual.getTime(), 0);
+      assertEquals(expected.size(), actual.size());
+      for (int i = 0; i < expected.size(); i++) {
+        assertEquals(expected.getX(i), actual.getX(i), 0);
+        assertEquals(expected.getY(i), actual.getY(i), 0);
+      }
+    }
+    assertEquals(8, pipeline.getHits());
+    pipeline.setFrameTimes(frame -> frame);
+    assertTakes(pipeline, 49);
+    pipeline.close();
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testNullFrameTimes() {
+    new FramePipeline(model, 4).setFrameTimes(null);
+  }
+
+  @Test
+  public void testEditDiscardsFrames() throws InterruptedException {
+    FramePipeline pipeline = new FramePipeline(model, 8);
+    assertTakes(pipeline, 10);
+    Thread.sleep(500);
+    model.insertFrame("r", 15, new Point2D.Double(90, 90), Color.BLUE, 30, 30);
+    for (int tick = 11; tick <= 18; tick++) {
+      assertTakes(pipeline, tick);
+    }
+    assertTrue(pipeline.getMisses() >= 2);
+    Thread.sleep(500);
+    model.removeShapeByID("e");
+    for (int tick = 19; tick <= 26; tick++) {
+      assertTakes(pipeline, tick);
+    }
+    pipeline.close();
+  }
+
+  @Test (expected = IllegalStateException.class)
+  public void testClosed() {
+    FramePipeline pipeline = new FramePipeline(model, 2);
+    pipeline.take(0, actual);
+    pipeline.close();
+    pipeline.take(1, actual);
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testNoDepth() {
+    new FramePipeline(model, 0);
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testNullModel() {
+    new FramePipeline(null, 4);
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testNullFrame() {
+    new FramePipeline(model, 4).take(0, null);
+  }
+}
@@ -0,0 +1,130 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import cs3500.animator.model.AnimationModel.Builder;
+import cs3500.animator.model.FrameBuffer;
+import cs3500.animator.model.IAnimationModel;
+import cs3500.animator.utils.AnimationReader;
+import cs3500.animator.view.panels.FrameRaster;
+import java.awt.Color;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for the FrameRaster.
+ */
+public class FrameRasterTest {
+  IAnimationModel model;
+  FrameRaster raster;
+  FrameBuffer frame;
+
+  @Before
+  public void initData() {
+    Builder b = new Builder();
+    b.setBounds(0, 0, 200, 100);
+    b.declareShape("r", "rectangle");
+    b.declareShape("e", "ellipse");
+    b.addMotion("r", 0, 10, 10, 20, 20, 255, 0, 0, 10, 10, 10, 20, 20, 255, 0, 0);
+    b.addMotion("e", 0, 100, 50, 10, 10, 0, 0, 255, 10, 150, 50, 10, 10, 0, 0, 255);
+    model = b.build();
+    raster = new FrameRaster(Color.WHITE);
+    frame = new FrameBuffer();
+  }
+
+  /**
+   * Draws the given frame from scratch.
+   * @param frame frame to draw
+   * @param outline whether the shapes are outlined
+   * @param width width of the image
+   * @param height height of the image
+   * @return the pixels of the image
+   */
+  private int[] fullDraw(FrameBuffer frame, boolean outline, int width, int height) {
+    FrameRaster fresh = new FrameRaster(Color.WHITE);
+    fresh.update(frame, 0, 0, outline, width, height);
+    return pixels(fresh.getImage());
+  }
+
+  /**
+   * Returns the pixels of the given image.
+   * @param image image to read
+   * @return the packed RGB values of its pixels
+   */
+  private int[] pixels(BufferedImage image) {
+    return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+  }
+
+  @Test
+  public void testFirstFrameIsFull() {
+    model.sampleTick(0, frame);
+    List<Rectangle> dirty = raster.update(frame, 0, 0, false, 200, 100);
+    assertEquals(1, dirty.size());
+    assertEquals(new Rectangle(0, 0, 200, 100), dirty.get(0));
+    assertEquals(Color.RED.getRGB(), raster.getImage().getRGB(15, 15));
+    assertEquals(Color.WHITE.getRGB(), raster.getImage().getRGB(50, 50));
+  }
+
+  @Test
+  public void testOnlyChangesAreRedrawn() {
+    model.sampleTick(0, frame);
+    raster.update(frame, 0, 0, false, 200, 100);
+    model.sampleTick(0, frame);
+    assertTrue(raster.update(frame, 0, 0, false, 200, 100).isEmpty());
+    model.sampleTick(5, frame);
+    List<Rectangle> dirty = raster.update(frame, 0, 0, false, 200, 100);
+    assertEquals(2, dirty.size());
+    assertEquals(new Rectangle(100, 50, 11, 11), dirty.get(0));
+    assertEquals(new Rectangle(125, 50, 11, 11), dirty.get(1));
+    assertArrayEquals(fullDraw(frame, false, 200, 100), pixels(raster.getImage()));
+  }
+
+  @Test
+  public void testModeAndSizeChangesAreFull() {
+    model.sampleTick(3, frame);
+    raster.update(frame, 0, 0, false, 200, 100);
+    assertEquals(new Rectangle(0, 0, 200, 100),
+        raster.update(frame, 0, 0, true, 200, 100).get(0));
+    assertArrayEquals(fullDraw(frame, true, 200, 100), pixels(raster.getImage()));
+    assertEquals(new Rectangle(0, 0, 300, 100),
+        raster.update(frame, 0, 0, true, 300, 100).get(0));
+  }
+
+  @Test
+  public void testIncrementalMatchesFullDraw() throws IOException {
+    StringWriter scene = new StringWriter();
+    new SceneGenerator(SceneGenerator.Workload.WALK, 40, 20,
+        SceneGenerator.parseMix("rectangle,ellipse,plus"), 160, 120, 11, scene).generate();
+    IAnimationModel walk = AnimationReader.parseFile(new StringReader(scene.toString()),
+        new Builder());
+    for (boolean outline : new boolean[] {false, true}) {
+      raster = new FrameRaster(Color.WHITE);
+      for (int tick = 0; tick < 300; tick += 3) {
+        walk.sampleTick(tick, frame);
+        raster.update(frame, 0, 0, outline, 160, 120);
+        assertArrayEquals(fullDraw(frame, outline, 160, 120), pixels(raster.getImage()));
+      }
+    }
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testNullFrame() {
+    raster.update(null, 0, 0, false, 10, 10);
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testEmptyImage() {
+    raster.update(frame, 0, 0, false, 0, 10);
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testNullBackground() {
+    new FrameRaster(null);
+  }
+}
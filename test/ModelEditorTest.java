@@ -0,0 +1,359 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import cs3500.animator.model.AnimationModel;
+import cs3500.animator.model.AnimationSnapshot;
+import cs3500.animator.model.CachedAnimationModel;
+import cs3500.animator.model.ConcurrentAnimationModel;
+import cs3500.animator.model.FrameBuffer;
+import cs3500.animator.model.IAnimationModel;
+import cs3500.animator.model.ModelEditor;
+import cs3500.animator.model.events.IEvent;
+import cs3500.animator.model.shapes.IShape;
+import cs3500.animator.model.shapes.ShapeType;
+import java.awt.Color;
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+import org.junit.Test;
+
+/**
+ * Tests for batches of edits made through a ModelEditor.
+ */
+public class ModelEditorTest {
+
+  /**
+   * A ModelEditor that makes every edit on a model right away.
+   */
+  private static final class SingleEdits implements ModelEditor {
+    private final IAnimationModel model;
+
+    private SingleEdits(IAnimationModel model) {
+      this.model = model;
+    }
+
+    @Override
+    public void addShape(IShape shape) {
+      model.addShape(shape);
+    }
+
+    @Override
+    public void addShape(String id, ShapeType type, Point2D posn, Color color, int width,
+        int height) {
+      model.addShape(id, type, posn, color, width, height);
+    }
+
+    @Override
+    public void addEvent(String id, IEvent event) {
+      model.addEvent(id, event);
+    }
+
+    @Override
+    public void addEvent(String id, int startTime, int endTime, Point2D endPosn, Color endColor,
+        int endWidth, int endHeight) {
+      model.addEvent(id, startTime, endTime, endPosn, endColor, endWidth, endHeight);
+    }
+
+    @Override
+    public void insertFrame(String id, int tick, Point2D posn, Color color, int width,
+        int height) {
+      model.insertFrame(id, tick, posn, color, width, height);
+    }
+
+    @Override
+    public void removeShape(IShape shape) {
+      model.removeShape(shape);
+    }
+
+    @Override
+    public void removeShapeByID(String id) {
+      model.removeShapeByID(id);
+    }
+
+    @Override
+    public void removeEvent(String id, IEvent event) {
+      model.removeEvent(id, event);
+    }
+
+    @Override
+    public void removeEventAtTick(String id, int tick) {
+      model.removeEventAtTick(id, tick);
+    }
+  }
+
+  /**
+   * Builds a model of five shapes with random events.
+   * @param seed seed of the events
+   * @return the model
+   */
+  private static IAnimationModel randomModel(long seed) {
+    Random random = new Random(seed);
+    AnimationModel.Builder b = new AnimationModel.Builder();
+    b.setBounds(0, 0, 200, 200);
+    for (int s = 0; s < 5; s++) {
+      String id = "s" + s;
+      b.declareShape(id, s % 2 == 0 ? "rectangle" : "ellipse");
+      int t = random.nextInt(10);
+      int x = random.nextInt(200);
+      int events = random.nextInt(15);
+      for (int i = 0; i < events; i++) {
+        int t2 = t + random.nextInt(8);
+        int x2 = random.nextInt(200);
+        b.addMotion(id, t, x, 0, 5, 5, 0, 0, 0, t2, x2, 0, 5, 5, 0, 0, 0);
+        t = t2;
+        x = x2;
+      }
+    }
+    return b.build();
+  }
+
+  /**
+   * Checks that two models hold the same shapes, in the same order, with the same events.
+   * @param expected the expected model
+   * @param actual the actual model
+   */
+  private static void assertSameAnimation(IAnimationModel expected, IAnimationModel actual) {
+    assertEquals(expected.getShapes().size(), actual.getShapes().size());
+    for (int i = 0; i < expected.getShapes().size(); i++) {
+      String id = expected.getShapes().get(i).getName();
+      assertEquals(id, actual.getShapes().get(i).getName());
+      assertEquals(expected.getEventsById(id), actual.getEventsById(id));
+    }
+  }
+
+  /**
+   * Makes the given edit on the model right away, and keeps it for the batch if it is valid.
+   * @param model model edited one edit at a time
+   * @param batch edits kept for the batch
+   * @param edit the edit
+   */
+  private static void tryEdit(IAnimationModel model, List<Consumer<ModelEditor>> batch,
+      Consumer<ModelEditor> edit) {
+    try {
+      edit.accept(new SingleEdits(model));
+      batch.add(edit);
+    }
+    catch (IllegalArgumentException e) {
+      // an invalid edit is left out of the batch as well
+    }
+  }
+
+  @Test
+  public void testBatchMatchesSingleEdits() {
+    Random random = new Random(42);
+    for (int trial = 0; trial < 200; trial++) {
+      IAnimationModel single = randomModel(trial);
+      IAnimationModel batched = trial % 2 == 0 ? randomModel(trial)
+          : new ConcurrentAnimationModel(randomModel(trial));
+      List<Consumer<ModelEditor>> batch = new ArrayList<>();
+      // removals, then additions, then frames, the order a batch applies in one pass
+      for (int i = random.nextInt(6); i > 0; i--) {
+        String id = "s" + random.nextInt(5);
+        int tick = random.nextInt(60);
+        if (random.nextBoolean()) {
+          tryEdit(single, batch, e -> e.removeEventAtTick(id, tick));
+        }
+        else if (random.nextInt(8) == 0) {
+          tryEdit(single, batch, e -> e.removeShapeByID(id));
+        }
+        else {
+          List<IEvent> events = single.getShapes().stream().anyMatch(
+              s -> s.getName().equals(id)) ? single.getEventsById(id) : new ArrayList<>();
+          if (!events.isEmpty()) {
+            IEvent event = events.get(random.nextInt(events.size())).copy();
+            tryEdit(single, batch, e -> e.removeEvent(id, event));
+          }
+        }
+      }
+      if (random.nextBoolean()) {
+        tryEdit(single, batch, e -> e.addShape("n", ShapeType.PLUS, new Point2D.Double(1, 2),
+            Color.ORANGE, 3, 4));
+      }
+      for (int i = random.nextInt(6); i > 0; i--) {
+        String id = random.nextInt(6) == 5 ? "n" : "s" + random.nextInt(5);
+        int start = random.nextInt(60);
+        int end = start + random.nextInt(5);
+        Point2D posn = new Point2D.Double(random.nextInt(200), 0);
+        tryEdit(single, batch, e -> e.addEvent(id, start, end, posn, Color.BLACK, 5, 5));
+      }
+      for (int i = random.nextInt(10); i > 0; i--) {
+        String id = random.nextInt(6) == 5 ? "n" : "s" + random.nextInt(5);
+        int tick = random.nextInt(60);
+        Point2D posn = new Point2D.Double(random.nextInt(200), 7);
+        tryEdit(single, batch, e -> e.insertFrame(id, tick, posn, Color.BLUE, 9, 9));
+      }
+      batched.edit(e -> {
+        for (Consumer<ModelEditor> edit : batch) {
+          edit.accept(e);
+        }
+      });
+      assertSameAnimation(single, batched);
+    }
+  }
+
+  @Test
+  public void testOutOfOrderBatchMatchesSingleEdits() {
+    Random random = new Random(7);
+    for (int trial = 0; trial < 200; trial++) {
+      IAnimationModel single = randomModel(trial);
+      IAnimationModel batched = trial % 2 == 0 ? randomModel(trial)
+          : new ConcurrentAnimationModel(randomModel(trial));
+      List<Consumer<ModelEditor>> batch = new ArrayList<>();
+      for (int i = random.nextInt(20); i > 0; i--) {
+        String id = "s" + random.nextInt(3);
+        int tick = random.nextInt(60);
+        Point2D posn = new Point2D.Double(random.nextInt(200), 0);
+        switch (random.nextInt(4)) {
+          case 0:
+            tryEdit(single, batch, e -> e.removeEventAtTick(id, tick));
+            break;
+          case 1:
+            List<IEvent> events = single.getEventsById(id);
+            if (!events.isEmpty()) {
+              IEvent event = events.get(random.nextInt(events.size())).copy();
+              tryEdit(single, batch, e -> e.removeEvent(id, event));
+            }
+            break;
+          case 2:
+            List<IEvent> before = single.getEventsById(id);
+            int start = before.isEmpty() ? tick : before.get(before.size() - 1).getEndTime();
+            int end = start + random.nextInt(5);
+            tryEdit(single, batch, e -> e.addEvent(id, start, end, posn, Color.BLACK, 5, 5));
+            break;
+          default:
+            tryEdit(single, batch, e -> e.insertFrame(id, tick, posn, Color.BLUE, 9, 9));
+        }
+      }
+      batched.edit(e -> {
+        for (Consumer<ModelEditor> edit : batch) {
+          edit.accept(e);
+        }
+      });
+      assertSameAnimation(single, batched);
+    }
+  }
+
+  @Test
+  public void testRemoveAddedEventInOneBatch() {
+    IAnimationModel model = randomModel(6);
+    model.addShape("n", ShapeType.RECTANGLE, new Point2D.Double(0, 0), Color.RED, 1, 1);
+    model.edit(e -> {
+      e.addEvent("n", 0, 10, new Point2D.Double(10, 0), Color.RED, 1, 1);
+      e.insertFrame("n", 5, new Point2D.Double(0, 5), Color.RED, 1, 1);
+      e.addEvent("n", 10, 20, new Point2D.Double(20, 0), Color.RED, 1, 1);
+      e.removeEventAtTick("n", 2);
+      e.insertFrame("n", 15, new Point2D.Double(15, 15), Color.RED, 1, 1);
+    });
+    List<IEvent> events = model.getEventsById("n");
+    assertEquals(3, events.size());
+    assertEquals(5, events.get(0).getStartTime());
+    assertEquals(new Point2D.Double(0, 5), events.get(0).getStartPosn());
+    assertEquals(10, events.get(1).getStartTime());
+    assertEquals(15, events.get(2).getStartTime());
+    assertEquals(new Point2D.Double(15, 15), events.get(2).getStartPosn());
+  }
+
+  @Test
+  public void testManyFramesInOneBatch() {
+    IAnimationModel model = randomModel(0);
+    model.addShape("long", ShapeType.RECTANGLE, new Point2D.Double(0, 0), Color.RED, 1, 1);
+    model.addEvent("long", 0, 100000, new Point2D.Double(100000, 0), Color.RED, 1, 1);
+    model.edit(e -> {
+      for (int tick = 99999; tick > 0; tick -= 2) {
+        e.insertFrame("long", tick, new Point2D.Double(tick, 1), Color.BLUE, 1, 1);
+      }
+      e.insertFrame("long", 1, new Point2D.Double(0, 0), Color.GREEN, 1, 1);
+    });
+    List<IEvent> events = model.getEventsById("long");
+    assertEquals(50001, events.size());
+    assertEquals(Color.BLUE, events.get(0).getEndColor());
+    for (int i = 1; i < events.size(); i++) {
+      assertEquals(events.get(i - 1).getEndTime(), events.get(i).getStartTime());
+    }
+  }
+
+  @Test
+  public void testAddShapeAndEventsInOneBatch() {
+    IAnimationModel model = randomModel(1);
+    model.edit(e -> {
+      e.removeShapeByID("s0");
+      e.addShape("s0", ShapeType.ELLIPSE, new Point2D.Double(3, 3), Color.RED, 2, 2);
+      e.addEvent("s0", 4, 8, new Point2D.Double(5, 5), Color.RED, 2, 2);
+      e.addEvent("s0", 8, 9, new Point2D.Double(6, 6), Color.RED, 2, 2);
+      e.insertFrame("s0", 6, new Point2D.Double(0, 0), Color.RED, 2, 2);
+    });
+    assertEquals("s0", model.getShapes().get(4).getName());
+    assertEquals(ShapeType.ELLIPSE, model.getShapeByID("s0").getType());
+    List<IEvent> events = model.getEventsById("s0");
+    assertEquals(3, events.size());
+    assertEquals(new Point2D.Double(3, 3), events.get(0).getStartPosn());
+    assertEquals(6, events.get(0).getEndTime());
+  }
+
+  @Test
+  public void testInvalidBatchChangesNothing() {
+    IAnimationModel model = randomModel(2);
+    AnimationSnapshot before = model.snapshot();
+    int end = model.getEventsById("s1").get(model.getEventsById("s1").size() - 1).getEndTime();
+    try {
+      model.edit(e -> {
+        e.removeShapeByID("s0");
+        e.addEvent("s1", end + 1, end + 5, new Point2D.Double(0, 0), Color.RED, 1, 1);
+      });
+      fail("A gap between events should not be allowed!");
+    }
+    catch (IllegalArgumentException e) {
+      assertSame(before, model.snapshot());
+    }
+    try {
+      model.edit(e -> {
+        e.removeShapeByID("s0");
+        e.insertFrame("s0", 1, new Point2D.Double(0, 0), Color.RED, 1, 1);
+      });
+      fail("A removed shape should not be edited!");
+    }
+    catch (IllegalArgumentException e) {
+      assertSame(before, model.snapshot());
+    }
+  }
+
+  @Test
+  public void testCachedModelDiscardsFrames() {
+    IAnimationModel model = randomModel(3);
+    CachedAnimationModel cached = new CachedAnimationModel(randomModel(3), 1 << 20);
+    FrameBuffer frame = new FrameBuffer();
+    for (int tick = 0; tick < 60; tick++) {
+      cached.sampleTick(tick, frame);
+    }
+    Consumer<ModelEditor> edits = e -> {
+      e.removeShapeByID("s2");
+      e.insertFrame("s3", 12, new Point2D.Double(0, 0), Color.RED, 1, 1);
+    };
+    model.edit(edits);
+    cached.edit(edits);
+    assertEquals(0, cached.getCachedFrames());
+    FrameBuffer expected = new FrameBuffer();
+    for (int tick = 0; tick < 60; tick++) {
+      model.sampleTick(tick, expected);
+      cached.sampleTick(tick, frame);
+      assertEquals(expected.size(), frame.size());
+      for (int i = 0; i < expected.size(); i++) {
+        assertEquals(expected.getX(i), frame.getX(i), 0);
+      }
+    }
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testNullEdits() {
+    randomModel(4).edit(null);
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testDuplicateShapeInBatch() {
+    randomModel(5).edit(e -> e.addShape("s1", ShapeType.PLUS, new Point2D.Double(0, 0),
+        Color.RED, 1, 1));
+  }
+}
@@ -0,0 +1,164 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import cs3500.animator.view.PlaybackClock;
+import cs3500.animator.view.TimeWarp;
+import java.util.function.IntToDoubleFunction;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for the PlaybackClock.
+ */
+public class PlaybackClockTest {
+  long now;
+  PlaybackClock clock;
+
+  @Before
+  public void initData() {
+    now = 5_000_000_000L;
+    clock = new PlaybackClock(20, () -> now);
+  }
+
+  /**
+   * Advances the fake time.
+   * @param millis milliseconds to advance by
+   */
+  private void elapse(long millis) {
+    now += millis * 1_000_000L;
+  }
+
+  @Test
+  public void testPausedClockStands() {
+    assertFalse(clock.isRunning());
+    elapse(1000);
+    assertEquals(0, clock.getTick());
+    clock.seek(7);
+    elapse(1000);
+    assertEquals(7, clock.getTick());
+  }
+
+  @Test
+  public void testFollowsRealTime() {
+    clock.start();
+    assertTrue(clock.isRunning());
+    elapse(49);
+    assertEquals(0, clock.getTick());
+    elapse(1);
+    assertEquals(1, clock.getTick());
+    // a late reading skips the ticks it missed
+    elapse(1000);
+    assertEquals(21, clock.getTick());
+    assertEquals(21.0, clock.getPosition(), 1e-9);
+  }
+
+  @Test
+  public void testPauseAndResume() {
+    clock.start();
+    elapse(500);
+    clock.pause();
+    elapse(10_000);
+    assertEquals(10, clock.getTick());
+    clock.start();
+    elapse(100);
+    assertEquals(12, clock.getTick());
+  }
+
+  @Test
+  public void testSpeedChangeKeepsPosition() {
+    clock.start();
+    elapse(500);
+    clock.setTicksPerSecond(100);
+    assertEquals(10, clock.getTick());
+    elapse(100);
+    assertEquals(20, clock.getTick());
+    assertEquals(100, clock.getTicksPerSecond(), 0);
+  }
+
+  @Test
+  public void testSeekWhileRunning() {
+    clock.start();
+    elapse(300);
+    clock.seek(1);
+    assertEquals(1, clock.getTick());
+    elapse(50);
+    assertEquals(2, clock.getTick());
+  }
+
+  @Test
+  public void testTimeWarp() {
+    clock.setTimeWarp(new TimeWarp.Builder().addSegment(10, 20, 0.5).build());
+    clock.start();
+    elapse(500);
+    assertEquals(10, clock.getTick());
+    assertEquals(10, clock.getCurrentSpeed(), 1e-9);
+    elapse(500);
+    assertEquals(15, clock.getTick());
+    elapse(500);
+    assertEquals(20, clock.getTick());
+    assertEquals(20, clock.getCurrentSpeed(), 1e-9);
+    clock.seek(12);
+    assertEquals(12, clock.getTick());
+    elapse(100);
+    assertEquals(13, clock.getTick());
+  }
+
+  @Test
+  public void testFrames() {
+    IntToDoubleFunction times = clock.frameTimes(60);
+    clock.seek(1);
+    assertEquals(3, clock.getFrame(60));
+    clock.start();
+    elapse(40);
+    assertEquals(5, clock.getFrame(60));
+    assertEquals(5 / 3.0, times.applyAsDouble(5), 1e-9);
+    assertTrue(times.applyAsDouble(5) <= clock.getPosition());
+    // at more ticks per second than frames, frames show whole ticks
+    clock.setTicksPerSecond(100);
+    times = clock.frameTimes(60);
+    elapse(100);
+    assertEquals(11.8, clock.getPosition(), 1e-9);
+    assertEquals(7, clock.getFrame(60));
+    assertEquals(11, times.applyAsDouble(7), 0);
+  }
+
+  @Test
+  public void testFramesWithTimeWarp() {
+    clock.setTimeWarp(new TimeWarp.Builder().addSegment(10, 20, 0.5).build());
+    clock.setTicksPerSecond(120);
+    IntToDoubleFunction times = clock.frameTimes(60);
+    clock.start();
+    elapse(100);
+    assertEquals(6, clock.getFrame(60));
+    assertEquals(10, times.applyAsDouble(5), 0);
+    // the slow segment plays 60 ticks per second, no faster than the frames
+    assertEquals(11, times.applyAsDouble(6), 1e-9);
+    elapse(5);
+    assertEquals(6, clock.getFrame(60));
+    elapse(12);
+    assertEquals(7, clock.getFrame(60));
+    assertEquals(12, times.applyAsDouble(7), 1e-9);
+  }
+
+  @Test (expected = IllegalStateException.class)
+  public void testNoFramesWhenStopped() {
+    clock.setTicksPerSecond(0);
+    clock.getFrame(60);
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testNegativeSpeed() {
+    new PlaybackClock(-1);
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testNaNSpeed() {
+    clock.setTicksPerSecond(Double.NaN);
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testNullTime() {
+    new PlaybackClock(1, null);
+  }
+}
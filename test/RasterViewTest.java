@@ -0,0 +1,187 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import cs3500.animator.model.AnimationModel.Builder;
+import cs3500.animator.model.FrameBuffer;
+import cs3500.animator.model.IAnimationModel;
+import cs3500.animator.view.panels.FrameRaster;
+import cs3500.animator.view.raster.GifSink;
+import cs3500.animator.view.raster.PngSequenceSink;
+import cs3500.animator.view.raster.RasterView;
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for the RasterView and its sinks.
+ */
+public class RasterViewTest {
+  IAnimationModel model;
+  ForkJoinPool pool;
+
+  @Before
+  public void initData() {
+    Builder b = new Builder();
+    b.setBounds(10, 20, 60, 40);
+    b.declareShape("r", "rectangle");
+    b.declareShape("e", "ellipse");
+    b.addMotion("r", 0, 10, 20, 10, 10, 255, 0, 0, 8, 50, 40, 10, 10, 0, 0, 255);
+    b.addMotion("e", 3, 30, 30, 20, 10, 0, 128, 0, 12, 30, 50, 20, 10, 0, 128, 0);
+    model = b.build();
+    pool = new ForkJoinPool(4);
+  }
+
+  /**
+   * Draws the frame at the given tick from scratch.
+   * @param model model to draw
+   * @param tick tick to draw
+   * @return the pixels of the frame
+   */
+  private int[] expected(IAnimationModel model, int tick) {
+    FrameBuffer frame = new FrameBuffer();
+    model.sampleTick(tick, frame);
+    FrameRaster raster = new FrameRaster(Color.WHITE);
+    raster.update(frame, model.getScreen().getOrigin().getX(),
+        model.getScreen().getOrigin().getY(), false, model.getScreen().getWidth(),
+        model.getScreen().getHeight());
+    return pixels(raster.getImage());
+  }
+
+  /**
+   * Returns the pixels of the given image.
+   * @param image image to read
+   * @return the packed RGB values of its pixels
+   */
+  private int[] pixels(BufferedImage image) {
+    return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+  }
+
+  /**
+   * Decodes every frame of a GIF.
+   * @param gif bytes of the GIF
+   * @return the reader, positioned on the decoded GIF
+   * @throws IOException if the GIF cannot be read
+   */
+  private ImageReader readGif(byte[] gif) throws IOException {
+    ImageInputStream in = ImageIO.createImageInputStream(new ByteArrayInputStream(gif));
+    ImageReader reader = ImageIO.getImageReadersByFormatName("gif").next();
+    reader.setInput(in);
+    return reader;
+  }
+
+  @Test
+  public void testGifFrames() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new RasterView(new GifSink(out, 20), pool).render(model);
+    ImageReader reader = readGif(out.toByteArray());
+    assertEquals(13, reader.getNumImages(true));
+    for (int tick = 0; tick <= 12; tick++) {
+      BufferedImage image = reader.read(tick);
+      assertEquals(60, image.getWidth());
+      assertEquals(40, image.getHeight());
+      assertArrayEquals(expected(model, tick), pixels(image));
+    }
+  }
+
+  @Test
+  public void testParallelMatchesSequential() throws IOException {
+    ByteArrayOutputStream sequential = new ByteArrayOutputStream();
+    new RasterView(new GifSink(sequential, 7)).render(model);
+    ByteArrayOutputStream parallel = new ByteArrayOutputStream();
+    new RasterView(new GifSink(parallel, 7), pool).render(model);
+    assertArrayEquals(sequential.toByteArray(), parallel.toByteArray());
+  }
+
+  @Test
+  public void testRangesMatchSequential() throws IOException {
+    Builder b = new Builder();
+    b.setBounds(0, 0, 80, 60);
+    b.declareShape("r", "rectangle");
+    b.declareShape("e", "ellipse");
+    b.addMotion("r", 0, 0, 0, 10, 10, 255, 0, 0, 150, 70, 50, 10, 10, 0, 0, 255);
+    b.addMotion("e", 40, 70, 0, 20, 10, 0, 128, 0, 210, 0, 50, 5, 30, 200, 200, 0);
+    IAnimationModel longer = b.build();
+    ByteArrayOutputStream sequential = new ByteArrayOutputStream();
+    new RasterView(new GifSink(sequential, 30)).render(longer);
+    ByteArrayOutputStream parallel = new ByteArrayOutputStream();
+    new RasterView(new GifSink(parallel, 30), pool).render(longer);
+    assertArrayEquals(sequential.toByteArray(), parallel.toByteArray());
+    ImageReader reader = readGif(parallel.toByteArray());
+    assertEquals(211, reader.getNumImages(true));
+    for (int tick = 0; tick <= 210; tick += 15) {
+      assertArrayEquals(expected(longer, tick), pixels(reader.read(tick)));
+    }
+  }
+
+  @Test
+  public void testGifManyColors() throws IOException {
+    Builder b = new Builder();
+    b.setBounds(0, 0, 300, 200);
+    for (int i = 0; i < 400; i++) {
+      b.declareShape("s" + i, "rectangle");
+      b.addMotion("s" + i, 0, (i * 7) % 290, (i * 13) % 190, 10, 10, i % 256, (i * 3) % 256,
+          (i * 11) % 256, 1, (i * 7) % 290, (i * 13) % 190, 10, 10, i % 256, (i * 3) % 256,
+          (i * 11) % 256);
+    }
+    IAnimationModel busy = b.build();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new RasterView(new GifSink(out, 1), pool).render(busy);
+    ImageReader reader = readGif(out.toByteArray());
+    assertEquals(2, reader.getNumImages(true));
+    int[] actual = pixels(reader.read(1));
+    int[] wanted = expected(busy, 1);
+    for (int i = 0; i < wanted.length; i++) {
+      for (int shift = 0; shift <= 16; shift += 8) {
+        assertTrue(Math.abs((actual[i] >> shift & 0xFF) - (wanted[i] >> shift & 0xFF)) <= 26);
+      }
+    }
+  }
+
+  @Test
+  public void testPngSequence() throws IOException {
+    Path dir = Files.createTempDirectory("frames");
+    String name = new File(dir.toFile(), "anim.png").getPath();
+    PngSequenceSink sink = new PngSequenceSink(name);
+    new RasterView(sink, pool).render(model);
+    assertEquals(new File(dir.toFile(), "anim-00012.png").getPath(), sink.getFileName(12));
+    assertEquals(13, dir.toFile().list().length);
+    for (int tick = 0; tick <= 12; tick++) {
+      File file = new File(sink.getFileName(tick));
+      assertArrayEquals(expected(model, tick), pixels(ImageIO.read(file)));
+      file.delete();
+    }
+    dir.toFile().delete();
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testNullSink() {
+    new RasterView(null);
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testNullModel() {
+    new RasterView(new GifSink(new ByteArrayOutputStream(), 1)).render(null);
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testNoTempo() {
+    new GifSink(new ByteArrayOutputStream(), 0);
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testNoName() {
+    new PngSequenceSink("");
+  }
+}
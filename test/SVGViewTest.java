@@ -16,6 +16,8 @@ import java.awt.Color;
 import java.awt.geom.Point2D;
 import java.awt.geom.Point2D.Double;
 import java.io.IOException;
+import java.io.StringWriter;
+import java.util.concurrent.ForkJoinPool;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -244,4 +246,105 @@ public class SVGViewTest {
         + "</polygon>\n"
         + "</svg>", out.toString());
   }
+
+  @Test
+  public void testRenderStreamsToAnyAppendable() {
+    initData();
+    testAModel.addShape(e1);
+    testAModel.addShape(r1);
+    for (int t = 0; t < 2000; t += 10) {
+      testAModel.addEvent("e1", new Event(t, new Double(t, t / 4.0 - 0.5), Color.BLACK, 10, 5,
+          t + 10, new Double(t + 10, (t + 10) / 4.0 - 0.5), Color.BLACK, 10, 5));
+    }
+    testAModel.addEvent("r1", r1ev1);
+    view.render(testAModel);
+    StringWriter writer = new StringWriter();
+    new SVGView(writer, 120).render(testAModel);
+    StringBuilder other = new StringBuilder();
+    new SVGView(new Appendable() {
+      @Override
+      public Appendable append(CharSequence csq) {
+        other.append(csq);
+        return this;
+      }
+
+      @Override
+      public Appendable append(CharSequence csq, int start, int end) {
+        other.append(csq, start, end);
+        return this;
+      }
+
+      @Override
+      public Appendable append(char c) {
+        other.append(c);
+        return this;
+      }
+    }, 120).render(testAModel);
+    assertEquals(out.toString(), writer.toString());
+    assertEquals(out.toString(), other.toString());
+  }
+
+  @Test (expected = IllegalStateException.class)
+  public void testRenderFailingAppendable() {
+    initData();
+    testAModel.addShape(e1);
+    new SVGView(new Appendable() {
+      @Override
+      public Appendable append(CharSequence csq) throws IOException {
+        throw new IOException();
+      }
+
+      @Override
+      public Appendable append(CharSequence csq, int start, int end) throws IOException {
+        throw new IOException();
+      }
+
+      @Override
+      public Appendable append(char c) throws IOException {
+        throw new IOException();
+      }
+    }, 120).render(testAModel);
+  }
+
+  /**
+   * Builds a model of many shapes with several events each.
+   * @return the model
+   */
+  private IAnimationModel manyShapes() {
+    Builder builder = new Builder();
+    builder.setBounds(10, 20, 300, 300);
+    for (int i = 0; i < 50; i++) {
+      builder.declareShape("s" + i, i % 3 == 0 ? "ellipse" : i % 3 == 1 ? "rectangle" : "plus");
+      for (int t = 0; t < 30; t += 3) {
+        builder.addMotion("s" + i, t, i + t, i, 10, 5 + t, i, 0, t, t + 3, i + t + 3, i, 10,
+            8 + t, i, 0, t + 3);
+      }
+    }
+    return builder.build();
+  }
+
+  @Test
+  public void testRenderParallel() {
+    IAnimationModel model = manyShapes();
+    StringBuilder sequential = new StringBuilder();
+    new SVGView(sequential, 7).render(model);
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      StringBuilder parallel = new StringBuilder();
+      IAnimationView parallelView = new SVGView(parallel, 7, pool);
+      parallelView.render(model);
+      assertEquals(sequential.toString(), parallel.toString());
+      parallel.setLength(0);
+      parallelView.render(model);
+      assertEquals(sequential.toString(), parallel.toString());
+    }
+    finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testNullPool() {
+    view = new SVGView(new StringBuilder(), 10, null);
+  }
 }
@@ -0,0 +1,120 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import cs3500.animator.model.AnimationModel.Builder;
+import cs3500.animator.model.IAnimationModel;
+import cs3500.animator.model.events.IEvent;
+import cs3500.animator.model.shapes.IReadOnlyShape;
+import cs3500.animator.model.shapes.ShapeType;
+import cs3500.animator.utils.AnimationReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+/**
+ * Tests for the SceneGenerator.
+ */
+public class SceneGeneratorTest {
+
+  /**
+   * Generates a scene with the given parameters.
+   * @param workload kind of scene
+   * @param shapes number of shapes
+   * @param motions number of motions of each shape
+   * @param mix shape mix
+   * @param seed random seed
+   * @return the animation file
+   */
+  private String generate(SceneGenerator.Workload workload, int shapes, int motions, String mix,
+      long seed) {
+    StringWriter out = new StringWriter();
+    try {
+      new SceneGenerator(workload, shapes, motions, SceneGenerator.parseMix(mix), 400, 200, seed,
+          out).generate();
+    }
+    catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+    return out.toString();
+  }
+
+  /**
+   * Reads a generated scene into a model.
+   * @param scene the animation file
+   * @return the model
+   */
+  private IAnimationModel read(String scene) {
+    return AnimationReader.parseFile(new StringReader(scene), new Builder());
+  }
+
+  @Test
+  public void testRepeatable() {
+    assertEquals(generate(SceneGenerator.Workload.WALK, 20, 5, "rectangle,ellipse", 7),
+        generate(SceneGenerator.Workload.WALK, 20, 5, "rectangle,ellipse", 7));
+    assertNotEquals(generate(SceneGenerator.Workload.WALK, 20, 5, "rectangle,ellipse", 7),
+        generate(SceneGenerator.Workload.WALK, 20, 5, "rectangle,ellipse", 8));
+  }
+
+  @Test
+  public void testWalk() {
+    IAnimationModel model = read(generate(SceneGenerator.Workload.WALK, 50, 12, "plus", 1));
+    assertEquals(400, model.getScreen().getWidth());
+    assertEquals(50, model.getShapes().size());
+    for (IReadOnlyShape shape : model.getShapes()) {
+      assertEquals(ShapeType.PLUS, shape.getType());
+      List<IEvent> events = model.getEventsById(shape.getName());
+      assertEquals(12, events.size());
+      for (IEvent event : events) {
+        assertTrue(event.getEndPosn().getX() >= 0);
+        assertTrue(event.getEndPosn().getX() + event.getEndWidth() <= 400);
+      }
+    }
+  }
+
+  @Test
+  public void testSortFinishes() {
+    int shapes = 30;
+    IAnimationModel model = read(generate(SceneGenerator.Workload.SORT, shapes, shapes,
+        "rectangle", 3));
+    List<IEvent> last = new ArrayList<>();
+    for (IReadOnlyShape shape : model.getShapes()) {
+      List<IEvent> events = model.getEventsById(shape.getName());
+      assertEquals(shapes, events.size());
+      last.add(events.get(shapes - 1));
+    }
+    last.sort((a, b) -> Double.compare(a.getEndPosn().getX(), b.getEndPosn().getX()));
+    for (int i = 1; i < shapes; i++) {
+      assertTrue(last.get(i - 1).getEndPosn().getX() < last.get(i).getEndPosn().getX());
+      assertTrue(last.get(i - 1).getEndHeight() <= last.get(i).getEndHeight());
+    }
+  }
+
+  @Test
+  public void testParseMix() {
+    Map<ShapeType, Integer> expected = new EnumMap<>(ShapeType.class);
+    expected.put(ShapeType.RECTANGLE, 2);
+    expected.put(ShapeType.PLUS, 1);
+    assertEquals(expected, SceneGenerator.parseMix("rectangle=2, plus"));
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testEmptyMix() {
+    generate(SceneGenerator.Workload.WALK, 5, 5, "ellipse=0", 1);
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testNoShapes() {
+    generate(SceneGenerator.Workload.SORT, 0, 5, "rectangle", 1);
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testInvalidArgs() {
+    SceneGenerator.main(new String[] {"-shapes"});
+  }
+}
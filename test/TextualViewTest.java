@@ -13,6 +13,8 @@ import cs3500.animator.view.text.TextualView;
 import java.awt.Color;
 import java.awt.geom.Point2D;
 import java.awt.geom.Point2D.Double;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -175,4 +177,83 @@ public class TextualViewTest {
         + "   0.25 16.0 0.0  10   5    0    0    0    \n",
         out.toString());
   }
+
+  /**
+   * Builds a model of many shapes with several events each.
+   * @return the model
+   */
+  private IAnimationModel manyShapes() {
+    Builder builder = new Builder();
+    builder.setBounds(10, 20, 300, 300);
+    for (int i = 0; i < 50; i++) {
+      builder.declareShape("s" + i, i % 3 == 0 ? "ellipse" : i % 3 == 1 ? "rectangle" : "plus");
+      for (int t = 0; t < 30; t += 3) {
+        builder.addMotion("s" + i, t, i + t, i, 10, 5 + t, i, 0, t, t + 3, i + t + 3, i, 10,
+            8 + t, i, 0, t + 3);
+      }
+    }
+    return builder.build();
+  }
+
+  @Test
+  public void testRenderParallel() {
+    IAnimationModel model = manyShapes();
+    StringBuilder sequential = new StringBuilder();
+    new TextualView(sequential, 7).render(model);
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      StringBuilder parallel = new StringBuilder();
+      IAnimationView parallelView = new TextualView(parallel, 7, pool);
+      parallelView.render(model);
+      assertEquals(sequential.toString(), parallel.toString());
+      parallel.setLength(0);
+      parallelView.render(model);
+      assertEquals(sequential.toString(), parallel.toString());
+    }
+    finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testNullPool() {
+    view = new TextualView(new StringBuilder(), 10, null);
+  }
+
+  @Test
+  public void testColumnsAndRounding() {
+    IAnimationModel model = new Builder()
+        .declareShape("averylongname", "rectangle")
+        .addMotion("averylongname", 1, -12345, 7, 100000, 5, 255, 0, 0,
+            3, 1, 2, 3, 4, 5, 6, 7)
+        .addMotion("averylongname", 3, 1, 2, 3, 4, 5, 6, 7, 12, 1, 2, 3, 4, 5, 6, 7)
+        .build();
+    StringBuilder text = new StringBuilder();
+    new TextualView(text, 8).render(model);
+    String[] lines = text.toString().split("\n");
+    assertEquals("motion averylongname0.12 -12345.0 7.0  100000 5    255  0    0     "
+        + "0.38 1.0  2.0  3    4    5    6    7    ", lines[lines.length - 2]);
+    assertEquals("motion averylongname0.38 1.0  2.0  3    4    5    6    7     "
+        + "1.5  1.0  2.0  3    4    5    6    7    ", lines[lines.length - 1]);
+  }
+
+  @Test
+  public void testLocaleDecimalSeparator() {
+    Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+    try {
+      Locale.setDefault(Locale.Category.FORMAT, Locale.GERMANY);
+      IAnimationModel model = new Builder()
+          .declareShape("R", "rectangle")
+          .addMotion("R", 1, 0, 0, 1, 1, 0, 0, 0, 2, 0, 0, 1, 1, 0, 0, 0)
+          .build();
+      StringBuilder text = new StringBuilder();
+      new TextualView(text, 4).render(model);
+      assertEquals("motion R         0,25 0.0  0.0  1    1    0    0    0     "
+          + "0,5  0.0  0.0  1    1    0    0    0    \n",
+          text.substring(text.lastIndexOf("motion")));
+    }
+    finally {
+      Locale.setDefault(Locale.Category.FORMAT, locale);
+    }
+  }
 }
@@ -0,0 +1,123 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import cs3500.animator.view.TimeWarp;
+import cs3500.animator.view.TimeWarp.Builder;
+import java.awt.Point;
+import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Test;
+
+/**
+ * Tests for the TimeWarp.
+ */
+public class TimeWarpTest {
+
+  @Test
+  public void testNoSegments() {
+    assertEquals(0, TimeWarp.NONE.size());
+    assertEquals(12.5, TimeWarp.NONE.playTime(12.5), 0);
+    assertEquals(12.5, TimeWarp.NONE.tickAt(12.5), 0);
+    assertEquals(1, TimeWarp.NONE.rateAt(3), 0);
+  }
+
+  @Test
+  public void testSlowSegment() {
+    TimeWarp warp = new Builder().addSegment(10, 20, 0.5).build();
+    assertEquals(2, warp.size());
+    assertEquals(5, warp.playTime(5), 0);
+    assertEquals(20, warp.playTime(15), 0);
+    assertEquals(35, warp.playTime(25), 0);
+    assertEquals(15, warp.tickAt(20), 0);
+    assertEquals(25, warp.tickAt(35), 0);
+    assertEquals(0.5, warp.rateAt(12), 0);
+    assertEquals(1, warp.rateAt(20), 0);
+  }
+
+  @Test
+  public void testOverlappingSegmentsMultiply() {
+    TimeWarp warp = new Builder().addSegment(0, 10, 0.5).addSegment(5, 15, 4).build();
+    assertEquals(4, warp.size());
+    assertEquals(0.5, warp.rateAt(4), 0);
+    assertEquals(2, warp.rateAt(5), 0);
+    assertEquals(4, warp.rateAt(14.5), 0);
+    assertEquals(12.5, warp.playTime(10), 0);
+    assertEquals(13.75, warp.playTime(15), 0);
+    assertEquals(18.75, warp.playTime(20), 0);
+    assertEquals(7, warp.tickAt(11), 0);
+    for (double tick = 0; tick < 30; tick += 0.25) {
+      assertEquals(tick, warp.tickAt(warp.playTime(tick)), 1e-9);
+    }
+  }
+
+  @Test
+  public void testAdjacentEqualRatesMerge() {
+    TimeWarp warp = new Builder().addSegment(0, 10, 2).addSegment(10, 20, 2).build();
+    assertEquals(2, warp.size());
+    assertEquals(10, warp.playTime(20), 0);
+  }
+
+  @Test
+  public void testFromIntervals() {
+    TimeWarp warp = TimeWarp.fromIntervals(20, 5, Arrays.asList(new Point(10, 19)));
+    assertEquals(0.25, warp.rateAt(19), 0);
+    assertEquals(1, warp.rateAt(20), 0);
+    assertEquals(50, warp.playTime(20), 0);
+    assertEquals(0, TimeWarp.fromIntervals(0, 0, Collections.emptyList()).size());
+  }
+
+  @Test
+  public void testParse() {
+    TimeWarp warp = TimeWarp.parse(new StringReader("200\nslomo 30 50\n\nslomo 90 200\n"), 20);
+    assertEquals(10, warp.rateAt(30), 0);
+    assertEquals(1, warp.rateAt(51), 0);
+    assertEquals(10, warp.rateAt(200), 0);
+    warp = TimeWarp.parse(new StringReader("warp 0 9 0.25\nslomo 5 14 5\n"), 10);
+    assertEquals(0.25, warp.rateAt(0), 0);
+    assertEquals(0.125, warp.rateAt(5), 0);
+    assertEquals(0.5, warp.rateAt(10), 0);
+    assertEquals(1, warp.rateAt(15), 0);
+  }
+
+  @Test
+  public void testBundledSlomoExample() throws FileNotFoundException {
+    for (int tempo : new int[] {1, 20, 500}) {
+      TimeWarp warp = TimeWarp.parse(new FileReader("files/slomo-buildings-ex.txt"), tempo);
+      assertEquals(1, warp.rateAt(29), 0);
+      assertTrue(warp.rateAt(30) < 1);
+      assertTrue(warp.rateAt(50) < 1);
+      assertEquals(1, warp.rateAt(51), 0);
+      assertTrue(warp.rateAt(90) < 1);
+      assertTrue(warp.rateAt(200) < 1);
+      assertEquals(1, warp.rateAt(201), 0);
+    }
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testParseUnknownLine() {
+    TimeWarp.parse(new StringReader("200\nfast 1 2\n"), 20);
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testParseMissingTempo() {
+    TimeWarp.parse(new StringReader("slomo 1 2\n"), 20);
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testEmptySegment() {
+    new Builder().addSegment(5, 5, 1);
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testZeroRate() {
+    new Builder().addSegment(0, 5, 0);
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testNegativeSlomo() {
+    TimeWarp.fromIntervals(10, -1, Collections.emptyList());
+  }
+}